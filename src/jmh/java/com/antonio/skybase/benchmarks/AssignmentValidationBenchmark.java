@@ -0,0 +1,116 @@
+package com.antonio.skybase.benchmarks;
+
+import com.antonio.skybase.dtos.AircraftAssignmentDTO;
+import com.antonio.skybase.dtos.EmployeeAssignmentDTO;
+import com.antonio.skybase.entities.EmployeeAssignmentId;
+import com.antonio.skybase.exceptions.BadRequestException;
+import com.antonio.skybase.responses.BulkItemResult;
+import com.antonio.skybase.repositories.EmployeeAssignmentRepository;
+import com.antonio.skybase.services.AircraftAssignmentService;
+import com.antonio.skybase.services.AircraftService;
+import com.antonio.skybase.services.EmployeeAssignmentService;
+import com.antonio.skybase.services.EmployeeService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+// Validarea si salvarea asignarilor prin servicii. Fiecare apel ruleaza intr-o tranzactie anulata la final,
+// deci baza de date ramane identica intre iteratii.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AssignmentValidationBenchmark {
+    private static final int BULK_SIZE = 100;
+
+    private BenchmarkData data;
+    private TransactionTemplate transactionTemplate;
+    private EmployeeAssignmentService employeeAssignmentService;
+    private AircraftAssignmentService aircraftAssignmentService;
+    private EmployeeAssignmentDTO freeEmployeeSlot;
+    private EmployeeAssignmentDTO occupiedEmployeeSlot;
+    private AircraftAssignmentDTO freeAircraftSlot;
+    private List<EmployeeAssignmentDTO> freeEmployeeSlots;
+
+    @Param("small")
+    public String dataset;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        data = BenchmarkData.start(dataset);
+        transactionTemplate = data.bean(TransactionTemplate.class);
+        employeeAssignmentService = data.bean(EmployeeAssignmentService.class);
+        aircraftAssignmentService = data.bean(AircraftAssignmentService.class);
+
+        // Zilele libere si ocupate ale fiecarei resurse sunt citite din setul de date generat; zborul cel mai scurt
+        // poate fi operat de orice aeronava
+        EmployeeService employeeService = data.bean(EmployeeService.class);
+        Integer flightId = data.bean(JdbcTemplate.class).queryForObject(
+                "SELECT id FROM flights WHERE id BETWEEN ? AND ? ORDER BY distance LIMIT 1", Integer.class,
+                data.dataset.flights().first(), data.dataset.flights().get(data.dataset.flights().count() - 1));
+        Integer employeeId = data.employeeIds.get(0);
+        freeEmployeeSlot = new EmployeeAssignmentDTO(employeeId, flightId, firstFreeDay(employeeService.getFirstEmployeeAvailabilities(employeeId, data.startDate, data.endDate, 1)));
+        occupiedEmployeeSlot = new EmployeeAssignmentDTO(employeeId, flightId,
+                data.bean(EmployeeAssignmentRepository.class).findAssignedDates(employeeId, data.startDate, data.endDate).get(0));
+        Integer aircraftId = data.aircraftIds.get(0);
+        freeAircraftSlot = new AircraftAssignmentDTO(aircraftId, flightId,
+                firstFreeDay(data.bean(AircraftService.class).getFirstAircraftAvailabilities(aircraftId, data.startDate, data.endDate, 1)));
+
+        freeEmployeeSlots = new ArrayList<>();
+        employeeService.getEmployeeAvailabilities(data.employeeIds.subList(0, BULK_SIZE), data.startDate, data.endDate)
+                .forEach((id, freeDays) -> freeEmployeeSlots.add(new EmployeeAssignmentDTO(id, flightId, firstFreeDay(freeDays))));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        data.close();
+    }
+
+    @Benchmark
+    public Object createEmployeeAssignment() {
+        return inRolledBackTransaction(() -> employeeAssignmentService.create(freeEmployeeSlot));
+    }
+
+    @Benchmark
+    public Object rejectOccupiedEmployee() {
+        return inRolledBackTransaction(() -> {
+            try {
+                return employeeAssignmentService.create(occupiedEmployeeSlot);
+            } catch (BadRequestException ex) {
+                return ex;
+            }
+        });
+    }
+
+    @Benchmark
+    public Object createAircraftAssignment() {
+        return inRolledBackTransaction(() -> aircraftAssignmentService.create(freeAircraftSlot));
+    }
+
+    @Benchmark
+    public List<BulkItemResult<EmployeeAssignmentId>> createEmployeeAssignmentsInBulk() {
+        return inRolledBackTransaction(() -> employeeAssignmentService.createAll(freeEmployeeSlots));
+    }
+
+    private static LocalDate firstFreeDay(List<LocalDate> freeDays) {
+        if (freeDays.isEmpty()) {
+            throw new IllegalStateException("Dataset has a resource without free days, lower its assignment density");
+        }
+        return freeDays.get(0);
+    }
+
+    private <T> T inRolledBackTransaction(Supplier<T> action) {
+        return transactionTemplate.execute(status -> {
+            status.setRollbackOnly();
+            return action.get();
+        });
+    }
+}
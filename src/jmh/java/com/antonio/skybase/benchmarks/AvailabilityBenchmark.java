@@ -0,0 +1,67 @@
+package com.antonio.skybase.benchmarks;
+
+import com.antonio.skybase.repositories.EmployeeAssignmentRepository;
+import com.antonio.skybase.services.AircraftService;
+import com.antonio.skybase.services.AvailabilityCalendar;
+import com.antonio.skybase.services.EmployeeService;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Disponibilitatile pe tot intervalul setului de date: calculul pur (calendarul) si drumul complet prin servicii, cu citirea din baza de date
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AvailabilityBenchmark {
+    private BenchmarkData data;
+    private AircraftService aircraftService;
+    private EmployeeService employeeService;
+    private List<Integer> employeeBatch;
+    private List<LocalDate> occupiedDates;
+
+    @Param("small")
+    public String dataset;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        data = BenchmarkData.start(dataset);
+        aircraftService = data.bean(AircraftService.class);
+        employeeService = data.bean(EmployeeService.class);
+        employeeBatch = data.employeeIds.subList(0, 50);
+
+        occupiedDates = data.bean(EmployeeAssignmentRepository.class).findAssignedDates(data.employeeIds.get(0), data.startDate, data.endDate);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        data.close();
+    }
+
+    @Benchmark
+    public List<LocalDate> calendarFreeDays() {
+        AvailabilityCalendar calendar = new AvailabilityCalendar(data.startDate, data.endDate);
+        occupiedDates.forEach(calendar::occupy);
+        return calendar.getFreeDays();
+    }
+
+    @Benchmark
+    public List<LocalDate> aircraftAvailabilities() {
+        return aircraftService.getAircraftAvailabilities(data.aircraftIds.get(0), data.startDate, data.endDate);
+    }
+
+    @Benchmark
+    public List<LocalDate> employeeAvailabilities() {
+        return employeeService.getEmployeeAvailabilities(data.employeeIds.get(0), data.startDate, data.endDate);
+    }
+
+    @Benchmark
+    public Map<Integer, List<LocalDate>> employeeAvailabilitiesBatch() {
+        return employeeService.getEmployeeAvailabilities(employeeBatch, data.startDate, data.endDate);
+    }
+}
@@ -0,0 +1,88 @@
+package com.antonio.skybase.benchmarks;
+
+import com.antonio.skybase.SkybaseApplication;
+import com.antonio.skybase.dataset.DatasetGenerator;
+import com.antonio.skybase.dataset.DatasetSpec;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Porneste aplicatia fara server web, pe o baza H2 in memorie, si o umple cu setul de date sintetic ales prin
+// parametrul JMH dataset (small, medium sau large), mereu cu acelasi seed, ca rezultatele sa poata fi comparate
+// intre build-uri. Setul large are nevoie de cativa GB de heap in fork-ul JMH (-jvmArgsAppend -Xmx...).
+public class BenchmarkData {
+    public static final long SEED = 42;
+
+    public final ConfigurableApplicationContext context;
+    public final DatasetGenerator.Dataset dataset;
+    public final LocalDate startDate;
+    public final LocalDate endDate;
+    public final List<Integer> employeeIds;
+    public final List<Integer> aircraftIds;
+    public final List<Integer> flightIds;
+
+    private BenchmarkData(ConfigurableApplicationContext context, DatasetGenerator.Dataset dataset) {
+        this.context = context;
+        this.dataset = dataset;
+        this.startDate = dataset.spec().startDate();
+        this.endDate = dataset.spec().endDate();
+        this.employeeIds = dataset.flightCrew().toList();
+        this.aircraftIds = dataset.aircraft().toList();
+        this.flightIds = dataset.flights().toList();
+    }
+
+    public static BenchmarkData start(String datasetName) {
+        return start(datasetName, WebApplicationType.NONE, Map.of());
+    }
+
+    // Varianta cu server HTTP pe un port liber; properties suprascriu configurarea aplicatiei
+    public static BenchmarkData startServer(String datasetName, Map<String, String> properties) {
+        Map<String, String> serverProperties = new LinkedHashMap<>(properties);
+        serverProperties.put("server.port", "0");
+        serverProperties.put("management.server.port", "0");
+        return start(datasetName, WebApplicationType.SERVLET, serverProperties);
+    }
+
+    private static BenchmarkData start(String datasetName, WebApplicationType type, Map<String, String> properties) {
+        SpringApplication application = new SpringApplication(SkybaseApplication.class);
+        application.setWebApplicationType(type);
+        application.setDefaultProperties(Map.of(
+                "spring.datasource.url", "jdbc:h2:mem:skybase_benchmarks;DB_CLOSE_DELAY=-1",
+                "spring.jpa.show-sql", "false",
+                "spring.docker.compose.enabled", "false",
+                "logging.level.root", "WARN"
+        ));
+        String[] args = properties.entrySet().stream().map(entry -> "--" + entry.getKey() + "=" + entry.getValue()).toArray(String[]::new);
+        ConfigurableApplicationContext context = application.run(args);
+        try {
+            DatasetGenerator generator = new DatasetGenerator(context.getBean(DataSource.class));
+            return new BenchmarkData(context, generator.generate(DatasetSpec.named(datasetName, SEED)));
+        } catch (SQLException ex) {
+            context.close();
+            throw new IllegalStateException("Could not generate the " + datasetName + " dataset", ex);
+        }
+    }
+
+    public LocalDate middleDate() {
+        return startDate.plusDays(dataset.spec().days() / 2);
+    }
+
+    public int port() {
+        return context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+    }
+
+    public <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    public void close() {
+        context.close();
+    }
+}
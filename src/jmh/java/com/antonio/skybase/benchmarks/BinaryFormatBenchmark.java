@@ -0,0 +1,77 @@
+package com.antonio.skybase.benchmarks;
+
+import com.antonio.skybase.config.JacksonConfig;
+import com.antonio.skybase.responses.EmployeeAssignmentView;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Dimensiunea si timpul de codare/decodare al unei liste de asignari in JSON, CBOR si Smile, cu acelasi
+// ObjectMapper ca aplicatia. Dimensiunea payload-ului este afisata la inceputul fiecarui trial.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BinaryFormatBenchmark {
+    private static final LocalDate DATE = LocalDate.of(2025, 1, 1);
+
+    @Param({"json", "cbor", "smile"})
+    public String format;
+
+    @Param({"50", "500"})
+    public int rows;
+
+    private ObjectMapper mapper;
+    private JavaType type;
+    private List<EmployeeAssignmentView> views;
+    private byte[] payload;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+                .modulesToInstall(new JacksonConfig().hibernate6Module())
+                .build();
+        mapper = switch (format) {
+            case "cbor" -> objectMapper.copyWith(new CBORFactory());
+            case "smile" -> objectMapper.copyWith(new SmileFactory());
+            default -> objectMapper;
+        };
+        type = mapper.getTypeFactory().constructCollectionType(List.class, EmployeeAssignmentView.class);
+
+        views = new ArrayList<>();
+        for (int i = 0; i < rows; i++) {
+            EmployeeAssignmentView view = new EmployeeAssignmentView();
+            view.setEmployeeId(i);
+            view.setFlightId(i % 40);
+            view.setDate(DATE.plusDays(i % 7));
+            view.setFirstName("First " + i);
+            view.setLastName("Last " + i);
+            view.setJobId(i % 5);
+            view.setFlightNumber("BF" + i % 40);
+            views.add(view);
+        }
+        payload = mapper.writeValueAsBytes(views);
+        System.out.printf("%n%s, %d rows: %d bytes%n", format, rows, payload.length);
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        return mapper.writeValueAsBytes(views);
+    }
+
+    @Benchmark
+    public List<EmployeeAssignmentView> decode() throws IOException {
+        return mapper.readValue(payload, type);
+    }
+}
@@ -0,0 +1,100 @@
+package com.antonio.skybase.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Costul logarii pe request-uri HTTP reale: legacy este configurarea veche (SQL-ul afisat si formatat de Hibernate,
+// logurile DEBUG pentru web, scrise sincron ca text), async este pipeline-ul actual (JSON scris asincron, doar
+// instructiunile lente si un esantion din request-uri). Logurile sunt redirectionate in target/logging-benchmark-<mode>.log.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LoggingBenchmark {
+    private static final Map<String, Map<String, String>> MODES = Map.of(
+            "legacy", Map.of(
+                    "spring.profiles.active", "text-logs",
+                    "spring.jpa.show-sql", "true",
+                    "spring.jpa.properties.hibernate.format_sql", "true",
+                    "logging.level.root", "INFO",
+                    "logging.level.web", "debug",
+                    "skybase.access-log.enabled", "false",
+                    "skybase.queries.slow-threshold", "0ms"
+            ),
+            "async", Map.of(
+                    "spring.profiles.active", "default",
+                    "logging.level.root", "INFO",
+                    "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener", "WARN",
+                    "skybase.queries.slow-threshold", "100ms",
+                    "skybase.access-log.sample-rate", "0.01"
+            )
+    );
+
+    private BenchmarkData data;
+    private PrintStream originalOut;
+    private PrintStream logOut;
+    private HttpClient client;
+    private URI availabilities;
+    private URI assignments;
+
+    @Param({"legacy", "async"})
+    public String mode;
+
+    @Param("small")
+    public String dataset;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Path log = Path.of("target", "logging-benchmark-" + mode + ".log");
+        Files.createDirectories(log.getParent());
+        originalOut = System.out;
+        logOut = new PrintStream(new BufferedOutputStream(new FileOutputStream(log.toFile())), false);
+        System.setOut(logOut);
+
+        data = BenchmarkData.startServer(dataset, MODES.get(mode));
+        client = HttpClient.newHttpClient();
+        URI base = URI.create("http://localhost:" + data.port());
+        int employeeId = data.employeeIds.get(0);
+        LocalDate startDate = data.middleDate();
+        LocalDate endDate = startDate.plusDays(29);
+        availabilities = base.resolve("/employees/" + employeeId + "/availabilities?startDate=" + startDate + "&endDate=" + endDate);
+        assignments = base.resolve("/employee-assignments/by-employee?employeeId=" + employeeId + "&startDate=" + startDate + "&endDate=" + endDate);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        data.close();
+        client.close();
+        System.setOut(originalOut);
+        logOut.close();
+    }
+
+    @Benchmark
+    public int employeeAvailabilities() throws Exception {
+        return get(availabilities);
+    }
+
+    @Benchmark
+    public int employeeAssignments() throws Exception {
+        return get(assignments);
+    }
+
+    private int get(URI uri) throws Exception {
+        return client.send(HttpRequest.newBuilder(uri).GET().build(), HttpResponse.BodyHandlers.ofByteArray()).statusCode();
+    }
+}
@@ -0,0 +1,102 @@
+package com.antonio.skybase.benchmarks;
+
+import com.antonio.skybase.dtos.EmployeeAssignmentDTO;
+import com.antonio.skybase.entities.AircraftAssignment;
+import com.antonio.skybase.entities.Department;
+import com.antonio.skybase.entities.Employee;
+import com.antonio.skybase.entities.EmployeeAssignment;
+import com.antonio.skybase.repositories.AircraftAssignmentRepository;
+import com.antonio.skybase.repositories.EmployeeAssignmentRepository;
+import com.antonio.skybase.repositories.EmployeeRepository;
+import com.antonio.skybase.responses.AircraftAssignmentView;
+import com.antonio.skybase.responses.EmployeeAssignmentView;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Interogarile din repository-urile cele mai folosite, pe baza H2 in memorie. Ruleaza pe setul small si pe medium
+// (aproximativ 1,5 milioane de asignari), unde diferentele de plan se vad in timp, cu si fara indexurile secundare ale
+// asignarilor (parametrul indexes), ca efectul lor sa poata fi comparat in acelasi raport. Cheile primare si
+// constrangerile unice raman in ambele variante.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RepositoryBenchmark {
+    private BenchmarkData data;
+    private EmployeeRepository employeeRepository;
+    private EmployeeAssignmentRepository employeeAssignmentRepository;
+    private AircraftAssignmentRepository aircraftAssignmentRepository;
+    private LocalDate date;
+
+    @Param({"small", "medium"})
+    public String dataset;
+
+    @Param({"true", "false"})
+    public boolean indexes;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        data = BenchmarkData.start(dataset);
+        employeeRepository = data.bean(EmployeeRepository.class);
+        employeeAssignmentRepository = data.bean(EmployeeAssignmentRepository.class);
+        aircraftAssignmentRepository = data.bean(AircraftAssignmentRepository.class);
+        date = data.middleDate();
+        if (!indexes) {
+            dropAssignmentIndexes(data.bean(JdbcTemplate.class));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        data.close();
+    }
+
+    @Benchmark
+    public List<EmployeeAssignment> employeeAssignmentsByDate() {
+        return employeeAssignmentRepository.findByIdDate(date);
+    }
+
+    @Benchmark
+    public List<EmployeeAssignmentView> employeeAssignmentViewsByDate() {
+        return employeeAssignmentRepository.findViewsByDate(null, date);
+    }
+
+    @Benchmark
+    public List<EmployeeAssignmentView> employeeAssignmentKeysByDate() {
+        return employeeAssignmentRepository.findViewsByDate("date", date);
+    }
+
+    @Benchmark
+    public List<AircraftAssignment> aircraftAssignmentsByDate() {
+        return aircraftAssignmentRepository.findByIdDate(date);
+    }
+
+    @Benchmark
+    public List<AircraftAssignmentView> aircraftAssignmentViewsByDate() {
+        return aircraftAssignmentRepository.findViewsByDate(null, date);
+    }
+
+    @Benchmark
+    public List<Employee> availableEmployeesByDate() {
+        return employeeRepository.findAvailableEmployeesByDate(date, Department.FLIGHT_DEPARTMENT_IDS, 0, Limit.of(50));
+    }
+
+    @Benchmark
+    public List<EmployeeAssignmentDTO> assignedKeysForEmployeeBatch() {
+        return employeeAssignmentRepository.findKeysByEmployeeIdsAndDateRange(data.employeeIds.subList(0, Math.min(1000, data.employeeIds.size())), data.startDate, data.endDate);
+    }
+
+    // Indexurile idx_* create de Hibernate din @Index pe tabelele de asignari
+    private static void dropAssignmentIndexes(JdbcTemplate jdbcTemplate) {
+        List<String> names = jdbcTemplate.queryForList("SELECT index_name FROM information_schema.indexes"
+                + " WHERE table_name IN ('EMPLOYEE_ASSIGNMENTS', 'AIRCRAFT_ASSIGNMENTS') AND index_name LIKE 'IDX\\_%'", String.class);
+        names.forEach(name -> jdbcTemplate.execute("DROP INDEX " + name));
+    }
+}
@@ -0,0 +1,143 @@
+package com.antonio.skybase.benchmarks;
+
+import com.antonio.skybase.config.JacksonConfig;
+import com.antonio.skybase.entities.*;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Serializarea grafurilor complete de entitati (zbor -> aeroport -> oras -> tara, asignare -> angajat -> job ->
+// departament si manager) comparata cu aceleasi date intr-o forma plata. Nu foloseste baza de date.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+    private static final int ROWS = 200;
+    private static final LocalDate DATE = LocalDate.of(2025, 1, 1);
+
+    public record FlatFlight(Integer id, String number, String departureAirportCode, String arrivalAirportCode,
+                             LocalTime departureTime, LocalTime arrivalTime, Integer distance) {
+    }
+
+    public record FlatEmployeeAssignment(Integer employeeId, String firstName, String lastName, String jobTitle,
+                                         Integer flightId, String flightNumber, LocalDate date) {
+    }
+
+    private ObjectMapper objectMapper;
+    private List<Flight> flights;
+    private List<FlatFlight> flatFlights;
+    private List<EmployeeAssignment> employeeAssignments;
+    private List<FlatEmployeeAssignment> flatEmployeeAssignments;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .modulesToInstall(new JacksonConfig().hibernate6Module())
+                .build();
+
+        Department department = new Department();
+        department.setId(1);
+        department.setName("Pilots");
+
+        Job job = new Job();
+        job.setId(1);
+        job.setTitle("Captain");
+        job.setMinSalary(1000.0);
+        job.setMaxSalary(20000.0);
+        job.setDepartment(department);
+
+        flights = new ArrayList<>();
+        flatFlights = new ArrayList<>();
+        employeeAssignments = new ArrayList<>();
+        flatEmployeeAssignments = new ArrayList<>();
+        Employee manager = null;
+        for (int i = 0; i < ROWS; i++) {
+            Flight flight = new Flight();
+            flight.setId(i);
+            flight.setNumber("BF" + i);
+            flight.setDepartureAirport(airport(2 * i));
+            flight.setArrivalAirport(airport(2 * i + 1));
+            flight.setDepartureTime(LocalTime.of(8, 0));
+            flight.setArrivalTime(LocalTime.of(10, 30));
+            flight.setDistance(1200);
+            flights.add(flight);
+            flatFlights.add(new FlatFlight(flight.getId(), flight.getNumber(), flight.getDepartureAirport().getCode(),
+                    flight.getArrivalAirport().getCode(), flight.getDepartureTime(), flight.getArrivalTime(), flight.getDistance()));
+
+            Employee employee = new Employee();
+            employee.setId(i);
+            employee.setFirstName("First " + i);
+            employee.setLastName("Last " + i);
+            employee.setPhoneNumber("0700000000");
+            employee.setEmail("benchmark" + i + "@skybase.com");
+            employee.setSalary(5000);
+            employee.setJob(job);
+            employee.setManager(manager);
+            if (i % 10 == 0) {
+                manager = employee;
+            }
+
+            EmployeeAssignmentId id = new EmployeeAssignmentId();
+            id.setEmployeeId(employee.getId());
+            id.setFlightId(flight.getId());
+            id.setDate(DATE);
+
+            EmployeeAssignment employeeAssignment = new EmployeeAssignment();
+            employeeAssignment.setId(id);
+            employeeAssignment.setEmployee(employee);
+            employeeAssignment.setFlight(flight);
+            employeeAssignments.add(employeeAssignment);
+            flatEmployeeAssignments.add(new FlatEmployeeAssignment(employee.getId(), employee.getFirstName(), employee.getLastName(),
+                    job.getTitle(), flight.getId(), flight.getNumber(), id.getDate()));
+        }
+    }
+
+    @Benchmark
+    public byte[] deepFlights() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(flights);
+    }
+
+    @Benchmark
+    public byte[] flatFlights() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(flatFlights);
+    }
+
+    @Benchmark
+    public byte[] deepEmployeeAssignments() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(employeeAssignments);
+    }
+
+    @Benchmark
+    public byte[] flatEmployeeAssignments() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(flatEmployeeAssignments);
+    }
+
+    private static Airport airport(int index) {
+        Country country = new Country();
+        country.setId(index);
+        country.setName("Country " + index);
+        country.setCode("C" + index % 10);
+
+        City city = new City();
+        city.setId(index);
+        city.setName("City " + index);
+        city.setCountry(country);
+
+        Airport airport = new Airport();
+        airport.setId(index);
+        airport.setName("Airport " + index);
+        airport.setCode("A" + index);
+        airport.setCity(city);
+        return airport;
+    }
+}
@@ -1,14 +1,18 @@
 package com.antonio.skybase.advice;
 
 import com.antonio.skybase.exceptions.BadRequestException;
+import com.antonio.skybase.exceptions.BulkheadRejectedException;
 import com.antonio.skybase.responses.ErrorResponse;
 import com.antonio.skybase.exceptions.NotFoundException;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
 import org.springframework.context.support.DefaultMessageSourceResolvable;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -101,4 +105,33 @@ public class GlobalExceptionHandler {
 
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
     }
+
+    // Bulkhead-ul nu a eliberat nicio conexiune in timp util: baza de date este ocupata si clientul poate reincerca.
+    // Celelalte erori de conexiune (baza de date oprita, retea) primesc 503 fara Retry-After
+    @ExceptionHandler({DataAccessResourceFailureException.class, CannotCreateTransactionException.class})
+    public ResponseEntity<ErrorResponse> handleDatabaseUnavailableExceptions(RuntimeException ex, WebRequest request) {
+        boolean busy = isBulkheadRejection(ex);
+        ErrorResponse errorResponse = new ErrorResponse(
+                LocalDateTime.now(),
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                HttpStatus.SERVICE_UNAVAILABLE.getReasonPhrase(),
+                request.getDescription(false).substring(4),
+                List.of(busy ? "Database is busy, please retry" : "Database is unavailable")
+        );
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE);
+        if (busy) {
+            response.header(HttpHeaders.RETRY_AFTER, "1");
+        }
+        return response.body(errorResponse);
+    }
+
+    private static boolean isBulkheadRejection(Throwable ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof BulkheadRejectedException) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
@@ -0,0 +1,83 @@
+package com.antonio.skybase.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.DoubleSupplier;
+
+// Log de acces esantionat: se logheaza doar o fractie sampleRate din request-uri, plus toate request-urile mai lente
+// decat slowThreshold si toate cele terminate cu 5xx. Fiecare intrare are metoda, calea, statusul, durata si, cand
+// ruleaza in interiorul QueryCountFilter, numarul de instructiuni SQL si timpul petrecut in baza de date.
+public class AccessLogFilter extends OncePerRequestFilter implements Ordered {
+    public static final int ORDER = QueryCountFilter.ORDER + 1;
+
+    private static final Logger logger = LoggerFactory.getLogger(AccessLogFilter.class);
+
+    private final double sampleRate;
+    private final long slowThresholdNanos;
+    private final DoubleSupplier random;
+
+    public AccessLogFilter(double sampleRate, Duration slowThreshold) {
+        this(sampleRate, slowThreshold, () -> ThreadLocalRandom.current().nextDouble());
+    }
+
+    AccessLogFilter(double sampleRate, Duration slowThreshold, DoubleSupplier random) {
+        this.sampleRate = sampleRate;
+        this.slowThresholdNanos = slowThreshold.toNanos();
+        this.random = random;
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } catch (ServletException | IOException | RuntimeException ex) {
+            // Exceptia nu a fost tratata de Spring MVC, deci statusul din raspuns nu a fost inca setat; containerul va
+            // raspunde cu 500
+            log(request, HttpServletResponse.SC_INTERNAL_SERVER_ERROR, System.nanoTime() - start);
+            throw ex;
+        }
+        long elapsed = System.nanoTime() - start;
+        int status = response.getStatus();
+        if (status >= 500 || (slowThresholdNanos > 0 && elapsed >= slowThresholdNanos) || random.getAsDouble() < sampleRate) {
+            log(request, status, elapsed);
+        }
+    }
+
+    private void log(HttpServletRequest request, int status, long elapsedNanos) {
+        long millis = elapsedNanos / 1_000_000;
+        QueryStatistics statistics = QueryStatistics.current();
+        int statements = statistics == null ? 0 : statistics.getCount();
+        long databaseMillis = statistics == null ? 0 : statistics.getTime().toMillis();
+        logger.atInfo()
+                .setMessage("{} {} {} in {} ms ({} SQL statements, {} ms)")
+                .addArgument(request.getMethod())
+                .addArgument(request.getRequestURI())
+                .addArgument(status)
+                .addArgument(millis)
+                .addArgument(statements)
+                .addArgument(databaseMillis)
+                .addKeyValue("http.request.method", request.getMethod())
+                .addKeyValue("url.path", request.getRequestURI())
+                .addKeyValue("http.response.status_code", status)
+                .addKeyValue("http.duration_ms", millis)
+                .addKeyValue("sql.statements", statements)
+                .addKeyValue("sql.duration_ms", databaseMillis)
+                .log();
+    }
+}
@@ -0,0 +1,127 @@
+package com.antonio.skybase.config;
+
+import com.antonio.skybase.exceptions.BulkheadRejectedException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Limiteaza numarul de conexiuni luate simultan dintr-un pool. Cu thread-uri virtuale, fiecare request are thread-ul lui,
+// deci sute de request-uri pot cere conexiuni in acelasi timp: ele asteapta aici, in ordinea sosirii, si renunta
+// dupa timeout, in loc sa se inghesuie toate in pool. Permisiunea este eliberata la inchiderea conexiunii.
+public class BulkheadDataSource extends DelegatingDataSource implements MeterBinder {
+    // Clasa SQLSTATE pentru erori de conexiune, tradusa de Hibernate si Spring in DataAccessResourceFailureException
+    private static final String CONNECTION_FAILURE_STATE = "08001";
+
+    private final String name;
+    private final Semaphore permits;
+    private final int maxConcurrent;
+    private final Duration timeout;
+    private final AtomicLong rejected = new AtomicLong();
+
+    public BulkheadDataSource(String name, DataSource targetDataSource, int maxConcurrent, Duration timeout) {
+        super(targetDataSource);
+        this.name = name;
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.maxConcurrent = maxConcurrent;
+        this.timeout = timeout;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        try {
+            return releasingOnClose(super.getConnection());
+        } catch (SQLException | RuntimeException ex) {
+            permits.release();
+            throw ex;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        try {
+            return releasingOnClose(super.getConnection(username, password));
+        } catch (SQLException | RuntimeException ex) {
+            permits.release();
+            throw ex;
+        }
+    }
+
+    public int getActiveConnections() {
+        return maxConcurrent - permits.availablePermits();
+    }
+
+    public int getWaitingThreads() {
+        return permits.getQueueLength();
+    }
+
+    public long getRejectedConnections() {
+        return rejected.get();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("skybase.datasource.bulkhead.active", this, BulkheadDataSource::getActiveConnections)
+                .tag("pool", name)
+                .description("Connections currently held through the bulkhead")
+                .register(registry);
+        Gauge.builder("skybase.datasource.bulkhead.max", this, bulkhead -> bulkhead.maxConcurrent)
+                .tag("pool", name)
+                .register(registry);
+        Gauge.builder("skybase.datasource.bulkhead.waiting", this, BulkheadDataSource::getWaitingThreads)
+                .tag("pool", name)
+                .description("Threads waiting for a connection permit")
+                .register(registry);
+        FunctionCounter.builder("skybase.datasource.bulkhead.rejected", this, BulkheadDataSource::getRejectedConnections)
+                .tag("pool", name)
+                .description("Connection requests that timed out waiting for a permit")
+                .register(registry);
+    }
+
+    private void acquire() throws SQLException {
+        try {
+            if (!permits.tryAcquire(timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                rejected.incrementAndGet();
+                throw new BulkheadRejectedException("No database connection available within " + timeout.toMillis() + "ms (" + maxConcurrent + " in use)", CONNECTION_FAILURE_STATE);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a database connection", CONNECTION_FAILURE_STATE, ex);
+        }
+    }
+
+    private Connection releasingOnClose(Connection connection) {
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+            if (method.getName().equals("close") && released.compareAndSet(false, true)) {
+                try {
+                    return method.invoke(connection, args);
+                } catch (InvocationTargetException ex) {
+                    throw ex.getTargetException();
+                } finally {
+                    permits.release();
+                }
+            }
+            try {
+                return method.invoke(connection, args);
+            } catch (InvocationTargetException ex) {
+                throw ex.getTargetException();
+            }
+        });
+    }
+}
@@ -0,0 +1,64 @@
+package com.antonio.skybase.config;
+
+import com.antonio.skybase.services.EncodedJson;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.util.List;
+
+// Cache in memorie pentru datele de referinta (tari, orase, aeroporturi, departamente, job-uri), care se modifica rar.
+// Fiecare cache are dimensiune maxima si TTL, configurabile prin skybase.cache.specs.<nume> (format CaffeineSpec),
+// si inregistreaza statistici de hit/miss. Serviciile golesc cache-urile afectate la fiecare scriere. Paginile tuturor
+// datelor de referinta au in cheie versiunea din ResourceVersions, deci nu raman vechi dupa scrierile altor instante.
+// Cache-ul RESPONSES pastreaza paginile endpoint-urilor de date de referinta deja serializate (JSON si gzip).
+// Golirile facute de @CacheEvict intr-o tranzactie ruleaza abia dupa commit, ca un request concurent sa nu puna inapoi
+// in cache datele de dinaintea scrierii.
+@Configuration
+@EnableCaching
+public class CacheConfig {
+    public static final String COUNTRIES = "countries";
+    public static final String CITIES = "cities";
+    public static final String AIRPORTS = "airports";
+    public static final String DEPARTMENTS = "departments";
+    public static final String JOBS = "jobs";
+    public static final String RESPONSES = "responses";
+
+    public static final List<String> CACHE_NAMES = List.of(COUNTRIES, CITIES, AIRPORTS, DEPARTMENTS, JOBS, RESPONSES);
+
+    private static final String DEFAULT_SPEC = "maximumSize=1000,expireAfterWrite=1h";
+    private static final String RESPONSES_SPEC = "maximumWeight=33554432,expireAfterWrite=1h";
+
+    @Bean
+    public CacheManager cacheManager(Environment environment) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setAllowNullValues(false);
+        String defaultSpec = environment.getProperty("skybase.cache.default-spec", DEFAULT_SPEC);
+        for (String cacheName : CACHE_NAMES) {
+            if (cacheName.equals(RESPONSES)) {
+                // Raspunsurile serializate sunt limitate dupa numarul total de octeti (maximumWeight), nu de intrari
+                String spec = environment.getProperty("skybase.cache.specs." + RESPONSES, RESPONSES_SPEC);
+                cacheManager.registerCustomCache(RESPONSES, Caffeine.from(spec)
+                        .weigher((Object key, Object value) -> ((EncodedJson) value).size())
+                        .recordStats()
+                        .build());
+                continue;
+            }
+            String spec = environment.getProperty("skybase.cache.specs." + cacheName, defaultSpec);
+            cacheManager.registerCustomCache(cacheName, Caffeine.from(spec).recordStats().build());
+        }
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+
+    // Cache-ul Caffeine din spatele unui cache Spring, decorat pentru tranzactii
+    @SuppressWarnings("unchecked")
+    public static Cache<Object, Object> nativeCache(CacheManager cacheManager, String name) {
+        return (Cache<Object, Object>) cacheManager.getCache(name).getNativeCache();
+    }
+}
@@ -0,0 +1,83 @@
+package com.antonio.skybase.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+// Doua pool-uri de conexiuni: baza principala (spring.datasource.*) si, optional, o replica (skybase.datasource.replica.*).
+// Tranzactiile read-only (metodele get* din servicii si citirile facute direct prin repository-uri) merg pe replica,
+// restul pe baza principala. Conexiunea fizica este luata abia la prima instructiune SQL, cand se stie deja daca
+// tranzactia este read-only. Fara skybase.datasource.replica.url, toate conexiunile merg pe baza principala.
+// In fata fiecarui pool sta un BulkheadDataSource cu atatea permisiuni cate conexiuni are pool-ul (maximum-pool-size)
+// si acelasi timeout ca pool-ul (connection-timeout). Cu skybase.queries.enabled, instructiunile SQL sunt numarate
+// pentru fiecare request de QueryCountingDataSource, pus deasupra rutarii, iar cele mai lente decat
+// skybase.queries.slow-threshold sunt logate.
+@Configuration
+public class DataSourceConfig {
+    public static final String PRIMARY_POOL = "skybase-primary";
+    public static final String REPLICA_POOL = "skybase-replica";
+    public static final int DEFAULT_POOL_SIZE = 10;
+
+    @Bean
+    @Primary
+    @ConfigurationProperties("spring.datasource")
+    public DataSourceProperties primaryDataSourceProperties() {
+        return new DataSourceProperties();
+    }
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(@Qualifier("primaryDataSourceProperties") DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName(PRIMARY_POOL);
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("skybase.datasource.replica")
+    public DataSourceProperties replicaDataSourceProperties() {
+        return new DataSourceProperties();
+    }
+
+    @Bean
+    @ConditionalOnProperty("skybase.datasource.replica.url")
+    @ConfigurationProperties("skybase.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(@Qualifier("replicaDataSourceProperties") DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName(REPLICA_POOL);
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") HikariDataSource primaryDataSource,
+                                 @Qualifier("replicaDataSource") ObjectProvider<HikariDataSource> replicaDataSource,
+                                 ObjectProvider<MeterRegistry> meterRegistry,
+                                 @Value("${skybase.queries.enabled:true}") boolean countQueries,
+                                 @Value("${skybase.queries.slow-threshold:100ms}") Duration slowThreshold) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(bulkhead(primaryDataSource, meterRegistry));
+        replicaDataSource.ifAvailable(replica -> dataSource.setReadOnlyDataSource(bulkhead(replica, meterRegistry)));
+        return countQueries ? new QueryCountingDataSource(dataSource, slowThreshold) : dataSource;
+    }
+
+    private static BulkheadDataSource bulkhead(HikariDataSource pool, ObjectProvider<MeterRegistry> meterRegistry) {
+        // Hikari completeaza dimensiunea implicita abia la pornirea pool-ului
+        int maxConcurrent = pool.getMaximumPoolSize() > 0 ? pool.getMaximumPoolSize() : DEFAULT_POOL_SIZE;
+        BulkheadDataSource bulkhead = new BulkheadDataSource(pool.getPoolName(), pool, maxConcurrent, Duration.ofMillis(pool.getConnectionTimeout()));
+        meterRegistry.ifAvailable(bulkhead::bindTo);
+        return bulkhead;
+    }
+}
@@ -0,0 +1,69 @@
+package com.antonio.skybase.config;
+
+import com.antonio.skybase.entities.IdGenerators;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
+import jakarta.persistence.metamodel.EntityType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Field;
+
+// La pornire, randurile din tabelul de id-uri sunt aduse peste cel mai mare id existent in tabelul fiecarei entitati.
+// Este necesar pentru bazele de date create cat timp entitatile foloseau IDENTITY: altfel generatorul ar porni de la 1
+// si ar aloca id-uri deja folosite. Ruleaza inainte de pornirea serverului web, dupa ce Hibernate a actualizat schema.
+@Component
+public class IdGeneratorInitializer {
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    public void alignWithExistingIds() {
+        for (EntityType<?> entityType : entityManagerFactory.getMetamodel().getEntities()) {
+            TableGenerator generator = findTableGenerator(entityType.getJavaType());
+            if (generator == null) {
+                continue;
+            }
+
+            String table = entityType.getJavaType().getAnnotation(Table.class).name();
+            Integer maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + table, Integer.class);
+            if (maxId == null) {
+                // Tabel gol, generatorul porneste de la valoarea initiala
+                continue;
+            }
+
+            // Optimizatorul pooled foloseste valoarea citita drept capatul de sus al blocului alocat,
+            // asa ca se lasa un bloc intreg deasupra celui mai mare id existent
+            long nextValue = (long) maxId + 1 + generator.allocationSize();
+            Integer rows = jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM " + IdGenerators.TABLE + " WHERE " + IdGenerators.SEGMENT_COLUMN + " = ?",
+                    Integer.class, generator.pkColumnValue());
+            if (rows == null || rows == 0) {
+                jdbcTemplate.update(
+                        "INSERT INTO " + IdGenerators.TABLE + " (" + IdGenerators.SEGMENT_COLUMN + ", " + IdGenerators.VALUE_COLUMN + ") VALUES (?, ?)",
+                        generator.pkColumnValue(), nextValue);
+            } else {
+                jdbcTemplate.update(
+                        "UPDATE " + IdGenerators.TABLE + " SET " + IdGenerators.VALUE_COLUMN + " = ? " +
+                                "WHERE " + IdGenerators.SEGMENT_COLUMN + " = ? AND " + IdGenerators.VALUE_COLUMN + " < ?",
+                        nextValue, generator.pkColumnValue(), nextValue);
+            }
+        }
+    }
+
+    private static TableGenerator findTableGenerator(Class<?> entityClass) {
+        for (Field field : entityClass.getDeclaredFields()) {
+            TableGenerator generator = field.getAnnotation(TableGenerator.class);
+            if (generator != null) {
+                return generator;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,43 @@
+package com.antonio.skybase.config;
+
+import com.antonio.skybase.services.ExportMappers;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.datatype.hibernate6.Hibernate6Module;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+@Configuration
+public class JacksonConfig {
+
+    // Asocierile LAZY care nu au fost incarcate de entity graph-ul query-ului sunt serializate
+    // doar prin ID ({"id": ...}), fara a declansa select-uri suplimentare in timpul serializarii
+    @Bean
+    public Hibernate6Module hibernate6Module() {
+        return new Hibernate6Module()
+                .enable(Hibernate6Module.Feature.SERIALIZE_IDENTIFIER_FOR_LAZY_NOT_LOADED_OBJECTS);
+    }
+
+    // Raspunsurile binare (Accept: application/cbor sau application/x-jackson-smile) folosesc o copie a
+    // ObjectMapper-ului pentru JSON, deci aceleasi module si aceeasi schema. Convertorii inlocuiesc pe loc pe cei
+    // impliciti, asa ca JSON ramane formatul ales pentru */* sau in lipsa header-ului Accept
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(ObjectMapper objectMapper) {
+        return new MappingJackson2CborHttpMessageConverter(objectMapper.copyWith(new CBORFactory()));
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(ObjectMapper objectMapper) {
+        return new MappingJackson2SmileHttpMessageConverter(objectMapper.copyWith(new SmileFactory()));
+    }
+
+    // Exporturile in flux refolosesc ObjectMapper-ele convertorilor, in loc sa copieze ObjectMapper-ul la fiecare request
+    @Bean
+    public ExportMappers exportMappers(ObjectMapper objectMapper, MappingJackson2CborHttpMessageConverter cborHttpMessageConverter,
+                                       MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter) {
+        return new ExportMappers(objectMapper, cborHttpMessageConverter.getObjectMapper(), smileHttpMessageConverter.getObjectMapper());
+    }
+}
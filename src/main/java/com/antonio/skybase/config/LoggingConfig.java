@@ -0,0 +1,21 @@
+package com.antonio.skybase.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+// Logurile sunt scrise asincron (logback-spring.xml), ca JSON structurat; instructiunile SQL lente sunt logate de
+// QueryCountingDataSource, iar request-urile de AccessLogFilter.
+@Configuration
+@ConditionalOnProperty(name = "skybase.access-log.enabled", matchIfMissing = true)
+public class LoggingConfig {
+
+    @Bean
+    public AccessLogFilter accessLogFilter(@Value("${skybase.access-log.sample-rate:0.01}") double sampleRate,
+                                           @Value("${skybase.access-log.slow-threshold:500ms}") Duration slowThreshold) {
+        return new AccessLogFilter(sampleRate, slowThreshold);
+    }
+}
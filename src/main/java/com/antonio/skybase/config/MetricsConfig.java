@@ -0,0 +1,34 @@
+package com.antonio.skybase.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.server.observation.ServerRequestObservationConvention;
+
+// Metricile sunt expuse de Actuator pe portul de management (management.server.port), doar local:
+// /actuator/prometheus si /actuator/metrics. Pe langa metricile JVM, GC, HikariCP si Hibernate configurate automat,
+// latenta request-urilor are tag-uri pentru resursa si metoda din controller, iar bulkhead-ul conexiunilor si
+// monitorul de thread-uri virtuale isi inregistreaza propriile metrici. Pentru cache-urile Caffeine, Spring Boot
+// inregistreaza numarul de intrari si de hit-uri/miss-uri (cache.size, cache.gets); pentru cache-ul de raspunsuri
+// serializate se adauga si numarul de octeti ocupati.
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public ServerRequestObservationConvention resourceObservationConvention() {
+        return new ResourceObservationConvention();
+    }
+
+    @Bean
+    public MeterBinder responseCacheMetrics(CacheManager cacheManager) {
+        Cache<Object, Object> cache = CacheConfig.nativeCache(cacheManager, CacheConfig.RESPONSES);
+        return registry -> Gauge.builder("skybase.cache.responses.size", cache,
+                        responses -> responses.policy().eviction().map(eviction -> eviction.weightedSize().orElse(0L)).orElse(0L))
+                .baseUnit("bytes")
+                .description("Bytes held by pre-serialized responses")
+                .register(registry);
+    }
+}
@@ -0,0 +1,18 @@
+package com.antonio.skybase.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnProperty(name = "skybase.queries.enabled", matchIfMissing = true)
+public class QueryCountConfig {
+
+    @Bean
+    public QueryCountFilter queryCountFilter(@Value("${skybase.queries.warn-threshold:20}") int warnThreshold,
+                                             @Value("${skybase.queries.repeat-threshold:5}") int repeatThreshold,
+                                             @Value("${skybase.queries.headers:false}") boolean headers) {
+        return new QueryCountFilter(warnThreshold, repeatThreshold, headers);
+    }
+}
@@ -0,0 +1,120 @@
+package com.antonio.skybase.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Locale;
+import java.util.Map;
+
+// Numara instructiunile SQL executate pentru fiecare request HTTP. Request-urile care depasesc warn-threshold
+// instructiuni si formele de instructiuni repetate de cel putin repeat-threshold ori (N+1) sunt logate. Cu headers
+// activat, numarul, timpul in baza de date si numarul de forme repetate sunt trimise si ca headere de raspuns,
+// scrise inainte de primul byte din body; instructiunile executate dupa aceea (de exemplu la export) apar doar in log.
+public class QueryCountFilter extends OncePerRequestFilter implements Ordered {
+    public static final int ORDER = Ordered.HIGHEST_PRECEDENCE + 10;
+    public static final String COUNT_HEADER = "X-Query-Count";
+    public static final String TIME_HEADER = "X-Query-Time";
+    public static final String REPEATED_HEADER = "X-Query-Repeated";
+
+    private static final Logger logger = LoggerFactory.getLogger(QueryCountFilter.class);
+
+    private final int warnThreshold;
+    private final int repeatThreshold;
+    private final boolean headers;
+
+    public QueryCountFilter(int warnThreshold, int repeatThreshold, boolean headers) {
+        this.warnThreshold = warnThreshold;
+        this.repeatThreshold = repeatThreshold;
+        this.headers = headers;
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        try (QueryStatistics statistics = QueryStatistics.start()) {
+            HeaderWritingResponse wrapped = new HeaderWritingResponse(response, statistics);
+            try {
+                filterChain.doFilter(request, headers ? wrapped : response);
+            } finally {
+                if (headers) {
+                    wrapped.writeHeaders();
+                }
+                report(request, statistics);
+            }
+        }
+    }
+
+    private void report(HttpServletRequest request, QueryStatistics statistics) {
+        String path = request.getMethod() + " " + request.getRequestURI();
+        if (statistics.getCount() > warnThreshold) {
+            logger.warn("{} executed {} SQL statements in {} ms", path, statistics.getCount(), statistics.getTime().toMillis());
+        }
+        for (Map.Entry<String, Integer> repeated : statistics.getRepeatedShapes(repeatThreshold).entrySet()) {
+            logger.warn("Possible N+1 in {}: statement executed {} times: {}", path, repeated.getValue(), repeated.getKey());
+        }
+    }
+
+    private class HeaderWritingResponse extends HttpServletResponseWrapper {
+        private final QueryStatistics statistics;
+        private boolean written;
+
+        HeaderWritingResponse(HttpServletResponse response, QueryStatistics statistics) {
+            super(response);
+            this.statistics = statistics;
+        }
+
+        void writeHeaders() {
+            if (written || isCommitted()) {
+                return;
+            }
+            written = true;
+            setHeader(COUNT_HEADER, String.valueOf(statistics.getCount()));
+            setHeader(TIME_HEADER, String.format(Locale.ROOT, "%.3f", statistics.getTime().toNanos() / 1e6));
+            setHeader(REPEATED_HEADER, String.valueOf(statistics.getRepeatedShapes(repeatThreshold).size()));
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            writeHeaders();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            writeHeaders();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            writeHeaders();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            writeHeaders();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            writeHeaders();
+            super.sendError(sc);
+        }
+    }
+}
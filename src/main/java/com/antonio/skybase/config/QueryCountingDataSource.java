@@ -0,0 +1,117 @@
+package com.antonio.skybase.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Masoara fiecare executie de instructiune SQL (execute*, inclusiv batch-urile) si o adauga la QueryStatistics-ul
+// thread-ului curent. Conexiunile si instructiunile sunt invelite in proxy-uri; restul apelurilor trec neschimbate.
+// Instructiunile mai lente decat slowThreshold sunt logate cu parametrii lor (pentru batch-uri, cei ai ultimului rand).
+public class QueryCountingDataSource extends DelegatingDataSource {
+    private static final Logger logger = LoggerFactory.getLogger(QueryCountingDataSource.class);
+    private static final int MAX_PARAMETER_LENGTH = 100;
+
+    private final long slowThresholdNanos;
+
+    // Cu un prag zero instructiunile lente nu sunt logate si parametrii nu sunt retinuti
+    public QueryCountingDataSource(DataSource targetDataSource, Duration slowThreshold) {
+        super(targetDataSource);
+        this.slowThresholdNanos = slowThreshold.toNanos();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return counting(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return counting(super.getConnection(username, password));
+    }
+
+    private Connection counting(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+            Object result = invoke(connection, method, args);
+            return switch (result) {
+                case CallableStatement statement when method.getName().equals("prepareCall") ->
+                        counting(statement, CallableStatement.class, (String) args[0]);
+                case PreparedStatement statement when method.getName().equals("prepareStatement") ->
+                        counting(statement, PreparedStatement.class, (String) args[0]);
+                case Statement statement when method.getName().equals("createStatement") ->
+                        counting(statement, Statement.class, null);
+                case null, default -> result;
+            };
+        });
+    }
+
+    // Pentru instructiunile pregatite SQL-ul este cel de la prepare; pentru Statement este argumentul lui execute
+    private Statement counting(Statement statement, Class<? extends Statement> type, String preparedSql) {
+        Map<Integer, Object> parameters = slowThresholdNanos > 0 && preparedSql != null ? new TreeMap<>() : null;
+        return (Statement) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            String name = method.getName();
+            if (!name.startsWith("execute")) {
+                if (parameters != null) {
+                    if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                        parameters.put(index, name.equals("setNull") ? null : args[1]);
+                    } else if (name.equals("clearParameters")) {
+                        parameters.clear();
+                    }
+                }
+                return invoke(statement, method, args);
+            }
+
+            String sql = args != null && args.length > 0 && args[0] instanceof String executed ? executed : preparedSql;
+            long start = System.nanoTime();
+            try {
+                return invoke(statement, method, args);
+            } finally {
+                long elapsed = System.nanoTime() - start;
+                QueryStatistics.record(sql, elapsed);
+                if (slowThresholdNanos > 0 && elapsed >= slowThresholdNanos) {
+                    logSlow(sql, parameters, elapsed);
+                }
+            }
+        });
+    }
+
+    private static void logSlow(String sql, Map<Integer, Object> parameters, long elapsedNanos) {
+        List<String> values = parameters == null ? List.of() : parameters.values().stream().map(QueryCountingDataSource::format).toList();
+        long millis = elapsedNanos / 1_000_000;
+        logger.atWarn()
+                .setMessage("Slow SQL statement ({} ms): {} {}")
+                .addArgument(millis)
+                .addArgument(sql)
+                .addArgument(values)
+                .addKeyValue("sql.duration_ms", millis)
+                .addKeyValue("sql.statement", sql)
+                .addKeyValue("sql.parameters", values)
+                .log();
+    }
+
+    private static String format(Object value) {
+        String text = String.valueOf(value);
+        return text.length() > MAX_PARAMETER_LENGTH ? text.substring(0, MAX_PARAMETER_LENGTH) + "..." : text;
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getTargetException();
+        }
+    }
+}
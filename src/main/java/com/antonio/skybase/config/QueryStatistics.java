@@ -0,0 +1,87 @@
+package com.antonio.skybase.config;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+// Instructiunile SQL executate pe thread-ul curent intre start() si close(): numarul lor, timpul petrecut in baza de
+// date si de cate ori a aparut fiecare forma de instructiune (SQL-ul cu valorile literale inlocuite cu ?).
+// O forma repetata de multe ori in acelasi request indica de obicei un N+1.
+public class QueryStatistics implements AutoCloseable {
+    private static final ThreadLocal<QueryStatistics> CURRENT = new ThreadLocal<>();
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("(?<![\\w.])-?\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final QueryStatistics previous;
+    private int count;
+    private long nanos;
+    private final Map<String, Integer> shapes = new HashMap<>();
+
+    private QueryStatistics(QueryStatistics previous) {
+        this.previous = previous;
+    }
+
+    public static QueryStatistics start() {
+        QueryStatistics statistics = new QueryStatistics(CURRENT.get());
+        CURRENT.set(statistics);
+        return statistics;
+    }
+
+    // Statisticile request-ului curent sau null in afara unui request
+    public static QueryStatistics current() {
+        return CURRENT.get();
+    }
+
+    static void record(String sql, long elapsedNanos) {
+        QueryStatistics statistics = CURRENT.get();
+        if (statistics != null) {
+            statistics.add(sql, elapsedNanos);
+        }
+    }
+
+    public static String shape(String sql) {
+        String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        shape = IN_LIST.matcher(shape).replaceAll("(?)");
+        return WHITESPACE.matcher(shape).replaceAll(" ").trim();
+    }
+
+    private synchronized void add(String sql, long elapsedNanos) {
+        count++;
+        nanos += elapsedNanos;
+        if (sql != null) {
+            shapes.merge(shape(sql), 1, Integer::sum);
+        }
+    }
+
+    public synchronized int getCount() {
+        return count;
+    }
+
+    public synchronized Duration getTime() {
+        return Duration.ofNanos(nanos);
+    }
+
+    // Formele executate de cel putin threshold ori, de la cea mai frecventa
+    public synchronized Map<String, Integer> getRepeatedShapes(int threshold) {
+        Map<String, Integer> repeated = new LinkedHashMap<>();
+        shapes.entrySet().stream()
+                .filter(entry -> entry.getValue() >= threshold)
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                .forEach(entry -> repeated.put(entry.getKey(), entry.getValue()));
+        return repeated;
+    }
+
+    @Override
+    public void close() {
+        if (previous != null) {
+            CURRENT.set(previous);
+        } else {
+            CURRENT.remove();
+        }
+    }
+}
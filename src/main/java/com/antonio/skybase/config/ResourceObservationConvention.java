@@ -0,0 +1,36 @@
+package com.antonio.skybase.config;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.common.KeyValues;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+// Adauga metricii http.server.requests doua tag-uri: resursa (primul segment din ruta, de exemplu flights sau
+// employee-assignments) si metoda din controller care a tratat request-ul (de exemplu FlightController.getById)
+public class ResourceObservationConvention extends DefaultServerRequestObservationConvention {
+    private static final String NONE = "none";
+
+    @Override
+    public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+        return super.getLowCardinalityKeyValues(context).and(resource(context), handler(context));
+    }
+
+    private KeyValue resource(ServerRequestObservationContext context) {
+        String pattern = context.getPathPattern();
+        if (pattern == null || pattern.length() < 2) {
+            return KeyValue.of("resource", NONE);
+        }
+        int end = pattern.indexOf('/', 1);
+        return KeyValue.of("resource", end < 0 ? pattern.substring(1) : pattern.substring(1, end));
+    }
+
+    private KeyValue handler(ServerRequestObservationContext context) {
+        if (context.getCarrier() != null
+                && context.getCarrier().getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE) instanceof HandlerMethod handlerMethod) {
+            return KeyValue.of("handler", handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName());
+        }
+        return KeyValue.of("handler", NONE);
+    }
+}
@@ -0,0 +1,91 @@
+package com.antonio.skybase.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+// Cand request-urile ruleaza pe thread-uri virtuale (spring.threads.virtual.enabled=true), urmareste prin JFR
+// momentele in care un thread virtual ramane fixat pe thread-ul purtator (de exemplu un bloc synchronized in jurul
+// unui apel blocant). Fiecare fixare mai lunga decat skybase.threads.pinning-threshold este logata cu primele cadre
+// din stiva; cele care trec prin driverul MySQL sunt numarate separat.
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadPinningMonitor implements MeterBinder {
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final String DRIVER_PACKAGE = "com.mysql.";
+    private static final int LOGGED_FRAMES = 8;
+
+    private final Duration threshold;
+    private final AtomicLong pinnedEvents = new AtomicLong();
+    private final AtomicLong driverPinnedEvents = new AtomicLong();
+    private RecordingStream recordingStream;
+
+    public VirtualThreadPinningMonitor(@Value("${skybase.threads.pinning-threshold:20ms}") Duration threshold) {
+        this.threshold = threshold;
+    }
+
+    @PostConstruct
+    public void start() {
+        recordingStream = new RecordingStream();
+        recordingStream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        recordingStream.onEvent(PINNED_EVENT, this::record);
+        recordingStream.startAsync();
+    }
+
+    @PreDestroy
+    public void stop() {
+        recordingStream.close();
+    }
+
+    public long getPinnedEvents() {
+        return pinnedEvents.get();
+    }
+
+    public long getDriverPinnedEvents() {
+        return driverPinnedEvents.get();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("skybase.threads.pinned", pinnedEvents, AtomicLong::get)
+                .description("Virtual thread pinnings longer than the threshold")
+                .register(registry);
+        FunctionCounter.builder("skybase.threads.pinned.driver", driverPinnedEvents, AtomicLong::get)
+                .description("Virtual thread pinnings inside the MySQL driver")
+                .register(registry);
+    }
+
+    private void record(RecordedEvent event) {
+        pinnedEvents.incrementAndGet();
+        List<RecordedFrame> frames = event.getStackTrace() == null ? List.of() : event.getStackTrace().getFrames();
+        boolean inDriver = frames.stream().anyMatch(frame -> frame.getMethod().getType().getName().startsWith(DRIVER_PACKAGE));
+        if (inDriver) {
+            driverPinnedEvents.incrementAndGet();
+        }
+
+        logger.warn("Virtual thread pinned for {} ms{}:\n\t{}",
+                event.getDuration().toMillis(),
+                inDriver ? " inside the MySQL driver" : "",
+                frames.stream()
+                        .limit(LOGGED_FRAMES)
+                        .map(frame -> frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber())
+                        .collect(Collectors.joining("\n\t")));
+    }
+}
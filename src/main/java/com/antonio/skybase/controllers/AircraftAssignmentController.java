@@ -3,20 +3,31 @@ package com.antonio.skybase.controllers;
 import com.antonio.skybase.dtos.AircraftAssignmentDTO;
 import com.antonio.skybase.entities.AircraftAssignment;
 import com.antonio.skybase.entities.AircraftAssignmentId;
+import com.antonio.skybase.responses.AircraftAssignmentView;
+import com.antonio.skybase.responses.BulkItemResult;
+import com.antonio.skybase.responses.CursorPage;
 import com.antonio.skybase.responses.ErrorResponse;
+import com.antonio.skybase.responses.MultiGetResult;
 import com.antonio.skybase.services.AircraftAssignmentService;
+import com.antonio.skybase.services.ExportFormat;
+import com.antonio.skybase.services.MultiGet;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.IOException;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -24,6 +35,9 @@ import java.util.List;
 @RestController
 @RequestMapping("/aircraft-assignments")
 public class AircraftAssignmentController {
+    private static final String FIELDS_DESCRIPTION = "Assignments are returned as views that reference the aircraft and the flight by ID. " +
+            "The optional fields parameter selects a subset of the view fields, for example fields=registration,flightNumber; the key fields are always included";
+
     @Autowired
     private AircraftAssignmentService aircraftAssignmentService;
 
@@ -52,25 +66,90 @@ public class AircraftAssignmentController {
                 .toUri()).body(createdAircraftAssignment);
     }
 
-    @Operation(summary = "Get all aircraft assignments", description = "Get all aircraft assignments")
+    @Operation(summary = "Create several aircraft assignments", description = "Create up to " + AircraftAssignmentService.MAX_BULK_SIZE + " aircraft assignments in one request. Each row is validated separately and the response holds one result per row, in request order")
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Result of each row",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = BulkItemResult.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Bad request",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
+            )
+    })
+    @PostMapping("/bulk")
+    public ResponseEntity<List<BulkItemResult<AircraftAssignmentId>>> createAll(@RequestBody List<AircraftAssignmentDTO> aircraftAssignmentDTOs) {
+        return ResponseEntity.ok(aircraftAssignmentService.createAll(aircraftAssignmentDTOs));
+    }
+
+    @Operation(summary = "Get all aircraft assignments", description = "Get all aircraft assignments, one page at a time, ordered by ID. " + FIELDS_DESCRIPTION)
     @ApiResponses({
             @ApiResponse(
                     responseCode = "200",
-                    description = "List of aircraft assignments",
-                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = AircraftAssignment.class))
+                    description = "Page of aircraft assignments",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = AircraftAssignmentView.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Bad request",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
             )
     })
     @GetMapping
-    public ResponseEntity<List<AircraftAssignment>> getAll() {
-        return ResponseEntity.ok(aircraftAssignmentService.getAll());
+    public ResponseEntity<CursorPage<AircraftAssignmentView>> getAll(@RequestParam(value = "cursor", required = false) String cursor,
+                                                                     @RequestParam(value = "size", required = false) Integer size,
+                                                                     @RequestParam(value = "fields", required = false) String fields) {
+        return ResponseEntity.ok(aircraftAssignmentService.getPage(cursor, size, fields));
+    }
+
+    @Operation(summary = "Export all aircraft assignments", description = "Stream all aircraft assignments as newline-delimited JSON, one assignment per line, or as a sequence of CBOR or Smile objects, depending on the Accept header")
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Stream of aircraft assignments",
+                    content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE, schema = @Schema(implementation = AircraftAssignmentDTO.class))
+            ),
+            @ApiResponse(responseCode = "406", description = "None of the export formats is acceptable")
+    })
+    @GetMapping(value = "/export", produces = {MediaType.APPLICATION_NDJSON_VALUE, ExportFormat.CBOR_SEQ_VALUE, ExportFormat.SMILE_VALUE})
+    public void export(@RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept, HttpServletResponse response) throws IOException, HttpMediaTypeNotAcceptableException {
+        ExportFormat format = ExportFormat.negotiate(accept);
+        response.setContentType(format.getMediaType().toString());
+        aircraftAssignmentService.export(response.getOutputStream(), format);
+    }
+
+    @Operation(summary = "Get aircraft assignments by IDs", description = "Get the aircraft assignments with the given IDs (ids=aircraftId/flightId/date keys separated by commas, at most " + MultiGet.MAX_IDS + ") with one query, in the order of the IDs. IDs that were not found are listed in missing. " + FIELDS_DESCRIPTION)
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Found aircraft assignments and missing IDs",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = MultiGetResult.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Bad request",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
+            )
+    })
+    @GetMapping(params = "ids")
+    public ResponseEntity<MultiGetResult<AircraftAssignmentView, AircraftAssignmentId>> getByIds(@RequestParam("ids") List<String> ids,
+                                                                                                 @RequestParam(value = "fields", required = false) String fields) {
+        return ResponseEntity.ok(aircraftAssignmentService.getViewsByIds(ids, fields));
     }
 
-    @Operation(summary = "Get an aircraft assignment by ID", description = "Get an aircraft assignment by ID")
+    @Operation(summary = "Get an aircraft assignment by ID", description = "Get an aircraft assignment by ID. " + FIELDS_DESCRIPTION)
     @ApiResponses({
             @ApiResponse(
                     responseCode = "200",
                     description = "Aircraft assignment found",
-                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = AircraftAssignment.class))
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = AircraftAssignmentView.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Bad request",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
             ),
             @ApiResponse(
                     responseCode = "404",
@@ -79,22 +158,23 @@ public class AircraftAssignmentController {
             )
     })
     @GetMapping("/{aircraftId}/{flightId}/{date}")
-    public ResponseEntity<AircraftAssignment> getById(@PathVariable("aircraftId") Integer aircraftId,
-                                                      @PathVariable("flightId") Integer flightId,
-                                                      @PathVariable("date") LocalDate date) {
+    public ResponseEntity<AircraftAssignmentView> getById(@PathVariable("aircraftId") Integer aircraftId,
+                                                          @PathVariable("flightId") Integer flightId,
+                                                          @PathVariable("date") LocalDate date,
+                                                          @RequestParam(value = "fields", required = false) String fields) {
         AircraftAssignmentId id = new AircraftAssignmentId();
         id.setAircraftId(aircraftId);
         id.setFlightId(flightId);
         id.setDate(date);
-        return ResponseEntity.ok(aircraftAssignmentService.getById(id));
+        return ResponseEntity.ok(aircraftAssignmentService.getViewById(id, fields));
     }
 
-    @Operation(summary = "Get aircraft assignments by date", description = "Get aircraft assignments by date")
+    @Operation(summary = "Get aircraft assignments by date", description = "Get aircraft assignments by date. " + FIELDS_DESCRIPTION)
     @ApiResponses({
             @ApiResponse(
                     responseCode = "200",
                     description = "List of aircraft assignments",
-                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = AircraftAssignment.class))
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = AircraftAssignmentView.class))
             ),
             @ApiResponse(
                     responseCode = "400",
@@ -108,16 +188,17 @@ public class AircraftAssignmentController {
             )
     })
     @GetMapping("/by-date")
-    public ResponseEntity<List<AircraftAssignment>> getAssignmentsByDate(@RequestParam("date") LocalDate date) {
-        return ResponseEntity.ok(aircraftAssignmentService.getAssignmentsByDate(date));
+    public ResponseEntity<List<AircraftAssignmentView>> getAssignmentsByDate(@RequestParam("date") LocalDate date,
+                                                                             @RequestParam(value = "fields", required = false) String fields) {
+        return ResponseEntity.ok(aircraftAssignmentService.getAssignmentsByDate(date, fields));
     }
 
-    @Operation(summary = "Get aircraft assignments by aircraft and date range", description = "Get aircraft assignments by aircraft and date range")
+    @Operation(summary = "Get aircraft assignments by aircraft and date range", description = "Get aircraft assignments by aircraft and date range. " + FIELDS_DESCRIPTION)
     @ApiResponses({
             @ApiResponse(
                     responseCode = "200",
                     description = "List of aircraft assignments",
-                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = AircraftAssignment.class))
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = AircraftAssignmentView.class))
             ),
             @ApiResponse(
                     responseCode = "400",
@@ -131,18 +212,19 @@ public class AircraftAssignmentController {
             )
     })
     @GetMapping("/by-aircraft")
-    public ResponseEntity<List<AircraftAssignment>> getAssignmentsByAircraftAndDateRange(@RequestParam("aircraftId") Integer aircraftId,
-                                                                                         @RequestParam("startDate") LocalDate startDate,
-                                                                                         @RequestParam("endDate") LocalDate endDate) {
-        return ResponseEntity.ok(aircraftAssignmentService.getAssignmentsByAircraftAndDateRange(aircraftId, startDate, endDate));
+    public ResponseEntity<List<AircraftAssignmentView>> getAssignmentsByAircraftAndDateRange(@RequestParam("aircraftId") Integer aircraftId,
+                                                                                             @RequestParam("startDate") LocalDate startDate,
+                                                                                             @RequestParam("endDate") LocalDate endDate,
+                                                                                             @RequestParam(value = "fields", required = false) String fields) {
+        return ResponseEntity.ok(aircraftAssignmentService.getAssignmentsByAircraftAndDateRange(aircraftId, startDate, endDate, fields));
     }
 
-    @Operation(summary = "Get aircraft assignments by flight and date range", description = "Get aircraft assignments by flight and date range")
+    @Operation(summary = "Get aircraft assignments by flight and date range", description = "Get aircraft assignments by flight and date range. " + FIELDS_DESCRIPTION)
     @ApiResponses({
             @ApiResponse(
                     responseCode = "200",
                     description = "List of aircraft assignments",
-                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = AircraftAssignment.class))
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = AircraftAssignmentView.class))
             ),
             @ApiResponse(
                     responseCode = "400",
@@ -156,10 +238,11 @@ public class AircraftAssignmentController {
             )
     })
     @GetMapping("/by-flight")
-    public ResponseEntity<List<AircraftAssignment>> getAssignmentsByFlightAndDateRange(@RequestParam("flightId") Integer flightId,
-                                                                                         @RequestParam("startDate") LocalDate startDate,
-                                                                                         @RequestParam("endDate") LocalDate endDate) {
-        return ResponseEntity.ok(aircraftAssignmentService.getAssignmentsByFlightAndDateRange(flightId, startDate, endDate));
+    public ResponseEntity<List<AircraftAssignmentView>> getAssignmentsByFlightAndDateRange(@RequestParam("flightId") Integer flightId,
+                                                                                           @RequestParam("startDate") LocalDate startDate,
+                                                                                           @RequestParam("endDate") LocalDate endDate,
+                                                                                           @RequestParam(value = "fields", required = false) String fields) {
+        return ResponseEntity.ok(aircraftAssignmentService.getAssignmentsByFlightAndDateRange(flightId, startDate, endDate, fields));
     }
 
     @Operation(summary = "Update an aircraft assignment", description = "Update an aircraft assignment")
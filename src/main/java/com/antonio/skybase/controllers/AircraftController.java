@@ -1,8 +1,11 @@
 package com.antonio.skybase.controllers;
 
 import com.antonio.skybase.entities.Aircraft;
+import com.antonio.skybase.responses.CursorPage;
 import com.antonio.skybase.responses.ErrorResponse;
+import com.antonio.skybase.responses.MultiGetResult;
 import com.antonio.skybase.services.AircraftService;
+import com.antonio.skybase.services.MultiGet;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -17,6 +20,7 @@ import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 
 @Tag(name = "Aircraft controller")
 @RestController
@@ -48,17 +52,41 @@ public class AircraftController {
                 .toUri()).body(createdAircraft);
     }
 
-    @Operation(summary = "Get all aircraft", description = "Get all aircraft")
+    @Operation(summary = "Get all aircraft", description = "Get all aircraft, one page at a time, ordered by ID")
     @ApiResponses({
             @ApiResponse(
                     responseCode = "200",
-                    description = "List of aircraft",
+                    description = "Page of aircraft",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = Aircraft.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Bad request",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
             )
     })
     @GetMapping
-    public ResponseEntity<List<Aircraft>> getAll() {
-        return ResponseEntity.ok(aircraftService.getAll());
+    public ResponseEntity<CursorPage<Aircraft>> getAll(@RequestParam(value = "cursor", required = false) String cursor,
+                                                       @RequestParam(value = "size", required = false) Integer size) {
+        return ResponseEntity.ok(aircraftService.getPage(cursor, size));
+    }
+
+    @Operation(summary = "Get aircraft by IDs", description = "Get the aircraft with the given IDs (ids=1,2,3, at most " + MultiGet.MAX_IDS + ") with one query, in the order of the IDs. IDs that were not found are listed in missing")
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Found aircraft and missing IDs",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = MultiGetResult.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Bad request",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
+            )
+    })
+    @GetMapping(params = "ids")
+    public ResponseEntity<MultiGetResult<Aircraft, Integer>> getByIds(@RequestParam("ids") List<Integer> ids) {
+        return ResponseEntity.ok(aircraftService.getByIds(ids));
     }
 
     @Operation(summary = "Get an aircraft by id", description = "Get an aircraft by id")
@@ -79,11 +107,11 @@ public class AircraftController {
         return ResponseEntity.ok(aircraftService.getById(id));
     }
 
-    @Operation(summary = "Get available aircraft by date", description = "Get available aircraft by date")
+    @Operation(summary = "Get available aircraft by date", description = "Get available aircraft by date, paginated; with flightId, only aircraft whose range covers the flight distance")
     @ApiResponses({
             @ApiResponse(
                     responseCode = "200",
-                    description = "List of available aircraft",
+                    description = "Page of available aircraft",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = Aircraft.class))
             ),
             @ApiResponse(
@@ -93,11 +121,14 @@ public class AircraftController {
             )
     })
     @GetMapping("/available")
-    public ResponseEntity<List<Aircraft>> getAvailableAircraft(@RequestParam("date") LocalDate date) {
-        return ResponseEntity.ok(aircraftService.getAvailableAircraftByDate(date));
+    public ResponseEntity<CursorPage<Aircraft>> getAvailableAircraft(@RequestParam("date") LocalDate date,
+                                                                     @RequestParam(value = "flightId", required = false) Integer flightId,
+                                                                     @RequestParam(value = "cursor", required = false) String cursor,
+                                                                     @RequestParam(value = "size", required = false) Integer size) {
+        return ResponseEntity.ok(aircraftService.getAvailableAircraftByDate(date, flightId, cursor, size));
     }
 
-    @Operation(summary = "Get aircraft availabilities by ID and date range", description = "Get aircraft availabilities by ID")
+    @Operation(summary = "Get aircraft availabilities by ID and date range", description = "Get aircraft availabilities by ID; with limit, only the first free days")
     @ApiResponses({
             @ApiResponse(
                     responseCode = "200",
@@ -116,10 +147,32 @@ public class AircraftController {
             )
     })
     @GetMapping("/{id}/availabilities")
-    public ResponseEntity<List<LocalDate>> getAircraftAvailabilities(@PathVariable("id") Integer id, @RequestParam("startDate") LocalDate startDate, @RequestParam("endDate") LocalDate endDate) {
+    public ResponseEntity<List<LocalDate>> getAircraftAvailabilities(@PathVariable("id") Integer id, @RequestParam("startDate") LocalDate startDate, @RequestParam("endDate") LocalDate endDate,
+                                                                     @RequestParam(value = "limit", required = false) Integer limit) {
+        if (limit != null) {
+            return ResponseEntity.ok(aircraftService.getFirstAircraftAvailabilities(id, startDate, endDate, limit));
+        }
         return ResponseEntity.ok(aircraftService.getAircraftAvailabilities(id, startDate, endDate));
     }
 
+    @Operation(summary = "Get availabilities of several aircraft by date range", description = "Get the free days of each requested aircraft, keyed by aircraft ID")
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Map from aircraft ID to the list of dates representing its availabilities",
+                    content = @Content(mediaType = "application/json")
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Bad request",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
+            )
+    })
+    @GetMapping("/availabilities")
+    public ResponseEntity<Map<Integer, List<LocalDate>>> getAircraftAvailabilities(@RequestParam("ids") List<Integer> ids, @RequestParam("startDate") LocalDate startDate, @RequestParam("endDate") LocalDate endDate) {
+        return ResponseEntity.ok(aircraftService.getAircraftAvailabilities(ids, startDate, endDate));
+    }
+
     @Operation(summary = "Update an aircraft", description = "Update an aircraft")
     @ApiResponses({
             @ApiResponse(
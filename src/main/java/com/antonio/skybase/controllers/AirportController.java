@@ -3,7 +3,11 @@ package com.antonio.skybase.controllers;
 import com.antonio.skybase.dtos.AirportDTO;
 import com.antonio.skybase.entities.Airport;
 import com.antonio.skybase.responses.ErrorResponse;
+import com.antonio.skybase.responses.MultiGetResult;
 import com.antonio.skybase.services.AirportService;
+import com.antonio.skybase.services.EncodedJson;
+import com.antonio.skybase.services.MultiGet;
+import com.antonio.skybase.services.ResourceVersions;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -12,8 +16,10 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.util.List;
@@ -25,6 +31,9 @@ public class AirportController {
     @Autowired
     private AirportService airportService;
 
+    @Autowired
+    private ResourceVersions resourceVersions;
+
     @Operation(summary = "Create a new airport", description = "Create a new airport")
     @ApiResponses({
             @ApiResponse(
@@ -48,17 +57,50 @@ public class AirportController {
                 .toUri()).body(createdAirport);
     }
 
-    @Operation(summary = "Get all airports", description = "Get all airports")
+    @Operation(summary = "Get all airports", description = "Get all airports, one page at a time, ordered by ID")
     @ApiResponses({
             @ApiResponse(
                     responseCode = "200",
-                    description = "List of airports",
+                    description = "Page of airports",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = Airport.class))
+            ),
+            @ApiResponse(responseCode = "304", description = "Not modified since the ETag sent in If-None-Match"),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Bad request",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
             )
     })
     @GetMapping
-    public ResponseEntity<List<Airport>> getAll() {
-        return ResponseEntity.ok(airportService.getAll());
+    public ResponseEntity<?> getAll(@RequestParam(value = "cursor", required = false) String cursor,
+                                    @RequestParam(value = "size", required = false) Integer size,
+                                    WebRequest request) {
+        String etag = resourceVersions.etag(request, ResourceVersions.COUNTRIES, ResourceVersions.CITIES, ResourceVersions.AIRPORTS);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        if (EncodedJson.isAcceptable(request)) {
+            return airportService.getEncodedPage(cursor, size).toResponse(request, etag);
+        }
+        return ResponseEntity.ok().eTag(etag).varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING).body(airportService.getPage(cursor, size));
+    }
+
+    @Operation(summary = "Get airports by IDs", description = "Get the airports with the given IDs (ids=1,2,3, at most " + MultiGet.MAX_IDS + ") with one query, in the order of the IDs. IDs that were not found are listed in missing")
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Found airports and missing IDs",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = MultiGetResult.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Bad request",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
+            )
+    })
+    @GetMapping(params = "ids")
+    public ResponseEntity<MultiGetResult<Airport, Integer>> getByIds(@RequestParam("ids") List<Integer> ids) {
+        return ResponseEntity.ok(airportService.getByIds(ids));
     }
 
     @Operation(summary = "Get an airport by id", description = "Get an airport by id")
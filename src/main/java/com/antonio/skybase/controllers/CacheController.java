@@ -0,0 +1,52 @@
+package com.antonio.skybase.controllers;
+
+import com.antonio.skybase.responses.CacheStatistics;
+import com.antonio.skybase.responses.RegionStatistics;
+import com.antonio.skybase.services.CacheService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@Tag(name = "Cache controller")
+@RestController
+@RequestMapping("/caches")
+public class CacheController {
+    @Autowired
+    private CacheService cacheService;
+
+    @Operation(summary = "Get cache statistics", description = "Get size, hit and miss counts of the reference data caches kept by the services")
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Statistics of each cache",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = CacheStatistics.class))
+            )
+    })
+    @GetMapping
+    public ResponseEntity<List<CacheStatistics>> getStatistics() {
+        return ResponseEntity.ok(cacheService.getStatistics());
+    }
+
+    @Operation(summary = "Get second-level cache statistics", description = "Get size, hit, miss and put counts of the Hibernate second-level cache regions, including the query cache")
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Statistics of each region",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = RegionStatistics.class))
+            )
+    })
+    @GetMapping("/second-level")
+    public ResponseEntity<List<RegionStatistics>> getSecondLevelStatistics() {
+        return ResponseEntity.ok(cacheService.getSecondLevelStatistics());
+    }
+}
@@ -2,7 +2,11 @@ package com.antonio.skybase.controllers;
 
 import com.antonio.skybase.entities.Country;
 import com.antonio.skybase.responses.ErrorResponse;
+import com.antonio.skybase.responses.MultiGetResult;
 import com.antonio.skybase.services.CountryService;
+import com.antonio.skybase.services.EncodedJson;
+import com.antonio.skybase.services.MultiGet;
+import com.antonio.skybase.services.ResourceVersions;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -11,8 +15,10 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.util.List;
@@ -24,6 +30,9 @@ public class CountryController {
     @Autowired
     private CountryService countryService;
 
+    @Autowired
+    private ResourceVersions resourceVersions;
+
     @Operation(summary = "Create a new country", description = "Create a new country")
     @ApiResponses({
             @ApiResponse(
@@ -47,17 +56,50 @@ public class CountryController {
                 .toUri()).body(createdCountry);
     }
 
-    @Operation(summary = "Get all countries", description = "Get all countries")
+    @Operation(summary = "Get all countries", description = "Get all countries, one page at a time, ordered by ID")
     @ApiResponses({
             @ApiResponse(
                     responseCode = "200",
-                    description = "List of countries",
+                    description = "Page of countries",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = Country.class))
+            ),
+            @ApiResponse(responseCode = "304", description = "Not modified since the ETag sent in If-None-Match"),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Bad request",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
             )
     })
     @GetMapping
-    public ResponseEntity<List<Country>> getAll() {
-        return ResponseEntity.ok(countryService.getAll());
+    public ResponseEntity<?> getAll(@RequestParam(value = "cursor", required = false) String cursor,
+                                    @RequestParam(value = "size", required = false) Integer size,
+                                    WebRequest request) {
+        String etag = resourceVersions.etag(request, ResourceVersions.COUNTRIES);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        if (EncodedJson.isAcceptable(request)) {
+            return countryService.getEncodedPage(cursor, size).toResponse(request, etag);
+        }
+        return ResponseEntity.ok().eTag(etag).varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING).body(countryService.getPage(cursor, size));
+    }
+
+    @Operation(summary = "Get countries by IDs", description = "Get the countries with the given IDs (ids=1,2,3, at most " + MultiGet.MAX_IDS + ") with one query, in the order of the IDs. IDs that were not found are listed in missing")
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Found countries and missing IDs",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = MultiGetResult.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Bad request",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
+            )
+    })
+    @GetMapping(params = "ids")
+    public ResponseEntity<MultiGetResult<Country, Integer>> getByIds(@RequestParam("ids") List<Integer> ids) {
+        return ResponseEntity.ok(countryService.getByIds(ids));
     }
 
     @Operation(summary = "Get a country by id", description = "Get a country by id")
@@ -2,7 +2,10 @@ package com.antonio.skybase.controllers;
 
 import com.antonio.skybase.entities.Department;
 import com.antonio.skybase.responses.ErrorResponse;
+import com.antonio.skybase.responses.MultiGetResult;
 import com.antonio.skybase.services.DepartmentService;
+import com.antonio.skybase.services.EncodedJson;
+import com.antonio.skybase.services.MultiGet;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -13,6 +16,7 @@ import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.util.List;
@@ -47,17 +51,45 @@ public class DepartmentController {
                 .toUri()).body(createdDepartment);
     }
 
-    @Operation(summary = "Get all departments", description = "Get all departments")
+    @Operation(summary = "Get all departments", description = "Get all departments, one page at a time, ordered by ID")
     @ApiResponses({
             @ApiResponse(
                     responseCode = "200",
-                    description = "List of departments",
+                    description = "Page of departments",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = Department.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Bad request",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
             )
     })
     @GetMapping
-    public ResponseEntity<List<Department>> getAll() {
-        return ResponseEntity.ok(departmentService.getAll());
+    public ResponseEntity<?> getAll(@RequestParam(value = "cursor", required = false) String cursor,
+                                    @RequestParam(value = "size", required = false) Integer size,
+                                    WebRequest request) {
+        if (EncodedJson.isAcceptable(request)) {
+            return departmentService.getEncodedPage(cursor, size).toResponse(request, null);
+        }
+        return ResponseEntity.ok(departmentService.getPage(cursor, size));
+    }
+
+    @Operation(summary = "Get departments by IDs", description = "Get the departments with the given IDs (ids=1,2,3, at most " + MultiGet.MAX_IDS + ") with one query, in the order of the IDs. IDs that were not found are listed in missing")
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Found departments and missing IDs",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = MultiGetResult.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Bad request",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
+            )
+    })
+    @GetMapping(params = "ids")
+    public ResponseEntity<MultiGetResult<Department, Integer>> getByIds(@RequestParam("ids") List<Integer> ids) {
+        return ResponseEntity.ok(departmentService.getByIds(ids));
     }
 
     @Operation(summary = "Get a department by id", description = "Get a department by id")
@@ -3,20 +3,33 @@ package com.antonio.skybase.controllers;
 import com.antonio.skybase.dtos.EmployeeAssignmentDTO;
 import com.antonio.skybase.entities.EmployeeAssignment;
 import com.antonio.skybase.entities.EmployeeAssignmentId;
+import com.antonio.skybase.responses.BulkItemResult;
+import com.antonio.skybase.responses.CursorPage;
+import com.antonio.skybase.responses.EmployeeAssignmentView;
 import com.antonio.skybase.responses.ErrorResponse;
+import com.antonio.skybase.responses.MultiGetResult;
 import com.antonio.skybase.services.EmployeeAssignmentService;
+import com.antonio.skybase.services.ExportFormat;
+import com.antonio.skybase.services.MultiGet;
+import com.antonio.skybase.services.ResourceVersions;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.IOException;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -24,9 +37,15 @@ import java.util.List;
 @RestController
 @RequestMapping("/employee-assignments")
 public class EmployeeAssignmentController {
+    private static final String FIELDS_DESCRIPTION = "Assignments are returned as views that reference the employee and the flight by ID. " +
+            "The optional fields parameter selects a subset of the view fields, for example fields=firstName,lastName; the key fields are always included";
+
     @Autowired
     private EmployeeAssignmentService employeeAssignmentService;
 
+    @Autowired
+    private ResourceVersions resourceVersions;
+
     @Operation(summary = "Create a new employee assignment", description = "Create a new employee assignment")
     @ApiResponses(value = {
             @ApiResponse(
@@ -52,25 +71,90 @@ public class EmployeeAssignmentController {
                 .toUri()).body(createdEmployeeAssignment);
     }
 
-    @Operation(summary = "Get all employee assignments", description = "Get all employee assignments")
+    @Operation(summary = "Create several employee assignments", description = "Create up to " + EmployeeAssignmentService.MAX_BULK_SIZE + " employee assignments in one request. Each row is validated separately and the response holds one result per row, in request order")
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Result of each row",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = BulkItemResult.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Bad request",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
+            )
+    })
+    @PostMapping("/bulk")
+    public ResponseEntity<List<BulkItemResult<EmployeeAssignmentId>>> createAll(@RequestBody List<EmployeeAssignmentDTO> employeeAssignmentDTOs) {
+        return ResponseEntity.ok(employeeAssignmentService.createAll(employeeAssignmentDTOs));
+    }
+
+    @Operation(summary = "Get all employee assignments", description = "Get all employee assignments, one page at a time, ordered by ID. " + FIELDS_DESCRIPTION)
     @ApiResponses({
             @ApiResponse(
                     responseCode = "200",
-                    description = "List of employee assignments",
-                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = EmployeeAssignment.class))
+                    description = "Page of employee assignments",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = EmployeeAssignmentView.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Bad request",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
             )
     })
     @GetMapping
-    public ResponseEntity<List<EmployeeAssignment>> getAll() {
-        return ResponseEntity.ok(employeeAssignmentService.getAll());
+    public ResponseEntity<CursorPage<EmployeeAssignmentView>> getAll(@RequestParam(value = "cursor", required = false) String cursor,
+                                                                     @RequestParam(value = "size", required = false) Integer size,
+                                                                     @RequestParam(value = "fields", required = false) String fields) {
+        return ResponseEntity.ok(employeeAssignmentService.getPage(cursor, size, fields));
+    }
+
+    @Operation(summary = "Export all employee assignments", description = "Stream all employee assignments as newline-delimited JSON, one assignment per line, or as a sequence of CBOR or Smile objects, depending on the Accept header")
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Stream of employee assignments",
+                    content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE, schema = @Schema(implementation = EmployeeAssignmentDTO.class))
+            ),
+            @ApiResponse(responseCode = "406", description = "None of the export formats is acceptable")
+    })
+    @GetMapping(value = "/export", produces = {MediaType.APPLICATION_NDJSON_VALUE, ExportFormat.CBOR_SEQ_VALUE, ExportFormat.SMILE_VALUE})
+    public void export(@RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept, HttpServletResponse response) throws IOException, HttpMediaTypeNotAcceptableException {
+        ExportFormat format = ExportFormat.negotiate(accept);
+        response.setContentType(format.getMediaType().toString());
+        employeeAssignmentService.export(response.getOutputStream(), format);
     }
 
-    @Operation(summary = "Get an employee assignment by ID", description = "Get an employee assignment by ID")
+    @Operation(summary = "Get employee assignments by IDs", description = "Get the employee assignments with the given IDs (ids=employeeId/flightId/date keys separated by commas, at most " + MultiGet.MAX_IDS + ") with one query, in the order of the IDs. IDs that were not found are listed in missing. " + FIELDS_DESCRIPTION)
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Found employee assignments and missing IDs",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = MultiGetResult.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Bad request",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
+            )
+    })
+    @GetMapping(params = "ids")
+    public ResponseEntity<MultiGetResult<EmployeeAssignmentView, EmployeeAssignmentId>> getByIds(@RequestParam("ids") List<String> ids,
+                                                                                                 @RequestParam(value = "fields", required = false) String fields) {
+        return ResponseEntity.ok(employeeAssignmentService.getViewsByIds(ids, fields));
+    }
+
+    @Operation(summary = "Get an employee assignment by ID", description = "Get an employee assignment by ID. " + FIELDS_DESCRIPTION)
     @ApiResponses({
             @ApiResponse(
                     responseCode = "200",
                     description = "Employee assignment found",
-                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = EmployeeAssignment.class))
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = EmployeeAssignmentView.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Bad request",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
             ),
             @ApiResponse(
                     responseCode = "404",
@@ -79,23 +163,25 @@ public class EmployeeAssignmentController {
             )
     })
     @GetMapping("/{employeeId}/{flightId}/{date}")
-    public ResponseEntity<EmployeeAssignment> getById(@PathVariable("employeeId") Integer employeeId,
-                                                      @PathVariable("flightId") Integer flightId,
-                                                      @PathVariable("date") LocalDate date) {
+    public ResponseEntity<EmployeeAssignmentView> getById(@PathVariable("employeeId") Integer employeeId,
+                                                          @PathVariable("flightId") Integer flightId,
+                                                          @PathVariable("date") LocalDate date,
+                                                          @RequestParam(value = "fields", required = false) String fields) {
         EmployeeAssignmentId id = new EmployeeAssignmentId();
         id.setEmployeeId(employeeId);
         id.setFlightId(flightId);
         id.setDate(date);
-        return ResponseEntity.ok(employeeAssignmentService.getById(id));
+        return ResponseEntity.ok(employeeAssignmentService.getViewById(id, fields));
     }
 
-    @Operation(summary = "Get employee assignments by date", description = "Get employee assignments by date")
+    @Operation(summary = "Get employee assignments by date", description = "Get employee assignments by date. " + FIELDS_DESCRIPTION)
     @ApiResponses({
             @ApiResponse(
                     responseCode = "200",
                     description = "List of employee assignments",
-                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = EmployeeAssignment.class))
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = EmployeeAssignmentView.class))
             ),
+            @ApiResponse(responseCode = "304", description = "Not modified since the ETag sent in If-None-Match"),
             @ApiResponse(
                     responseCode = "400",
                     description = "Bad request",
@@ -108,16 +194,22 @@ public class EmployeeAssignmentController {
             )
     })
     @GetMapping("/by-date")
-    public ResponseEntity<List<EmployeeAssignment>> getAssignmentsByDate(@RequestParam("date") LocalDate date) {
-        return ResponseEntity.ok(employeeAssignmentService.getAssignmentsByDate(date));
+    public ResponseEntity<List<EmployeeAssignmentView>> getAssignmentsByDate(@RequestParam("date") LocalDate date,
+                                                                             @RequestParam(value = "fields", required = false) String fields,
+                                                                             WebRequest request) {
+        String etag = resourceVersions.etag(request, ResourceVersions.employeeAssignments(date), ResourceVersions.EMPLOYEES, ResourceVersions.FLIGHTS);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).varyBy(HttpHeaders.ACCEPT).body(employeeAssignmentService.getAssignmentsByDate(date, fields));
     }
 
-    @Operation(summary = "Get employee assignments by employee and date range", description = "Get employee assignments by employee and date range")
+    @Operation(summary = "Get employee assignments by employee and date range", description = "Get employee assignments by employee and date range. " + FIELDS_DESCRIPTION)
     @ApiResponses({
             @ApiResponse(
                     responseCode = "200",
                     description = "List of employee assignments",
-                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = EmployeeAssignment.class))
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = EmployeeAssignmentView.class))
             ),
             @ApiResponse(
                     responseCode = "400",
@@ -131,18 +223,19 @@ public class EmployeeAssignmentController {
             )
     })
     @GetMapping("/by-employee")
-    public ResponseEntity<List<EmployeeAssignment>> getAssignmentsByEmployeeAndDateRange(@RequestParam("employeeId") Integer employeeId,
-                                                                                         @RequestParam("startDate") LocalDate startDate,
-                                                                                         @RequestParam("endDate") LocalDate endDate) {
-        return ResponseEntity.ok(employeeAssignmentService.getAssignmentsByEmployeeAndDateRange(employeeId, startDate, endDate));
+    public ResponseEntity<List<EmployeeAssignmentView>> getAssignmentsByEmployeeAndDateRange(@RequestParam("employeeId") Integer employeeId,
+                                                                                             @RequestParam("startDate") LocalDate startDate,
+                                                                                             @RequestParam("endDate") LocalDate endDate,
+                                                                                             @RequestParam(value = "fields", required = false) String fields) {
+        return ResponseEntity.ok(employeeAssignmentService.getAssignmentsByEmployeeAndDateRange(employeeId, startDate, endDate, fields));
     }
 
-    @Operation(summary = "Get employee assignments by flight and date range", description = "Get employee assignments by flight and date range")
+    @Operation(summary = "Get employee assignments by flight and date range", description = "Get employee assignments by flight and date range. " + FIELDS_DESCRIPTION)
     @ApiResponses({
             @ApiResponse(
                     responseCode = "200",
                     description = "List of employee assignments",
-                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = EmployeeAssignment.class))
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = EmployeeAssignmentView.class))
             ),
             @ApiResponse(
                     responseCode = "400",
@@ -156,10 +249,11 @@ public class EmployeeAssignmentController {
             )
     })
     @GetMapping("/by-flight")
-    public ResponseEntity<List<EmployeeAssignment>> getAssignmentsByFlightAndDateRange(@RequestParam("flightId") Integer flightId,
-                                                                                       @RequestParam("startDate") LocalDate startDate,
-                                                                                       @RequestParam("endDate") LocalDate endDate) {
-        return ResponseEntity.ok(employeeAssignmentService.getAssignmentsByFlightAndDateRange(flightId, startDate, endDate));
+    public ResponseEntity<List<EmployeeAssignmentView>> getAssignmentsByFlightAndDateRange(@RequestParam("flightId") Integer flightId,
+                                                                                           @RequestParam("startDate") LocalDate startDate,
+                                                                                           @RequestParam("endDate") LocalDate endDate,
+                                                                                           @RequestParam(value = "fields", required = false) String fields) {
+        return ResponseEntity.ok(employeeAssignmentService.getAssignmentsByFlightAndDateRange(flightId, startDate, endDate, fields));
     }
 
     @Operation(summary = "Update an employee assignment", description = "Update an employee assignment")
@@ -2,8 +2,11 @@ package com.antonio.skybase.controllers;
 
 import com.antonio.skybase.dtos.EmployeeDTO;
 import com.antonio.skybase.entities.Employee;
+import com.antonio.skybase.responses.CursorPage;
 import com.antonio.skybase.responses.ErrorResponse;
+import com.antonio.skybase.responses.MultiGetResult;
 import com.antonio.skybase.services.EmployeeService;
+import com.antonio.skybase.services.MultiGet;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -12,12 +15,14 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 
 @Tag(name = "Employee controller")
 @RestController
@@ -49,17 +54,59 @@ public class EmployeeController {
                 .toUri()).body(createdEmployee);
     }
 
-    @Operation(summary = "Get all employees", description = "Get all employees")
+    @Operation(summary = "Import employees", description = "Create up to " + EmployeeService.MAX_IMPORT_SIZE + " employees in one transaction. If any employee is invalid, none of them is created")
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "201",
+                    description = "Employees created",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = Employee.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Bad request",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
+            )
+    })
+    @PostMapping("/import")
+    public ResponseEntity<List<Employee>> importAll(@RequestBody List<EmployeeDTO> employeeDTOs) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(employeeService.importAll(employeeDTOs));
+    }
+
+    @Operation(summary = "Get all employees", description = "Get all employees, one page at a time, ordered by ID")
     @ApiResponses({
             @ApiResponse(
                     responseCode = "200",
-                    description = "List of employees",
+                    description = "Page of employees",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = Employee.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Bad request",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
             )
     })
     @GetMapping
-    public ResponseEntity<List<Employee>> getAll() {
-        return ResponseEntity.ok(employeeService.getAll());
+    public ResponseEntity<CursorPage<Employee>> getAll(@RequestParam(value = "cursor", required = false) String cursor,
+                                                       @RequestParam(value = "size", required = false) Integer size) {
+        return ResponseEntity.ok(employeeService.getPage(cursor, size));
+    }
+
+    @Operation(summary = "Get employees by IDs", description = "Get the employees with the given IDs (ids=1,2,3, at most " + MultiGet.MAX_IDS + ") with one query, in the order of the IDs. IDs that were not found are listed in missing")
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Found employees and missing IDs",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = MultiGetResult.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Bad request",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
+            )
+    })
+    @GetMapping(params = "ids")
+    public ResponseEntity<MultiGetResult<Employee, Integer>> getByIds(@RequestParam("ids") List<Integer> ids) {
+        return ResponseEntity.ok(employeeService.getByIds(ids));
     }
 
     @Operation(summary = "Get an employee by id", description = "Get an employee by id")
@@ -80,11 +127,11 @@ public class EmployeeController {
         return ResponseEntity.ok(employeeService.getById(id));
     }
 
-    @Operation(summary = "Get available employees by date", description = "Get available employees by date")
+    @Operation(summary = "Get available employees by date", description = "Get employees from the flight crew and cabin crew departments that are not assigned on the date, paginated")
     @ApiResponses({
             @ApiResponse(
                     responseCode = "200",
-                    description = "List of available employees",
+                    description = "Page of available employees",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = Employee.class))
             ),
             @ApiResponse(
@@ -94,11 +141,13 @@ public class EmployeeController {
             )
     })
     @GetMapping("/available")
-    public ResponseEntity<List<Employee>> getAvailableEmployees(@RequestParam("date") LocalDate date) {
-        return ResponseEntity.ok(employeeService.getAvailableEmployeesByDate(date));
+    public ResponseEntity<CursorPage<Employee>> getAvailableEmployees(@RequestParam("date") LocalDate date,
+                                                                      @RequestParam(value = "cursor", required = false) String cursor,
+                                                                      @RequestParam(value = "size", required = false) Integer size) {
+        return ResponseEntity.ok(employeeService.getAvailableEmployeesByDate(date, cursor, size));
     }
 
-    @Operation(summary = "Get employee availabilities by ID and date range", description = "Get employee availabilities by ID and date range")
+    @Operation(summary = "Get employee availabilities by ID and date range", description = "Get employee availabilities by ID and date range; with limit, only the first free days")
     @ApiResponses({
             @ApiResponse(
                     responseCode = "200",
@@ -117,10 +166,32 @@ public class EmployeeController {
             )
     })
     @GetMapping("/{id}/availabilities")
-    public ResponseEntity<List<LocalDate>> getEmployeeAvailabilities(@PathVariable("id") Integer id, @RequestParam("startDate") LocalDate startDate, @RequestParam("endDate") LocalDate endDate) {
+    public ResponseEntity<List<LocalDate>> getEmployeeAvailabilities(@PathVariable("id") Integer id, @RequestParam("startDate") LocalDate startDate, @RequestParam("endDate") LocalDate endDate,
+                                                                     @RequestParam(value = "limit", required = false) Integer limit) {
+        if (limit != null) {
+            return ResponseEntity.ok(employeeService.getFirstEmployeeAvailabilities(id, startDate, endDate, limit));
+        }
         return ResponseEntity.ok(employeeService.getEmployeeAvailabilities(id, startDate, endDate));
     }
 
+    @Operation(summary = "Get availabilities of several employees by date range", description = "Get the free days of each requested employee, keyed by employee ID")
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Map from employee ID to the list of dates representing its availabilities",
+                    content = @Content(mediaType = "application/json")
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Bad request",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
+            )
+    })
+    @GetMapping("/availabilities")
+    public ResponseEntity<Map<Integer, List<LocalDate>>> getEmployeeAvailabilities(@RequestParam("ids") List<Integer> ids, @RequestParam("startDate") LocalDate startDate, @RequestParam("endDate") LocalDate endDate) {
+        return ResponseEntity.ok(employeeService.getEmployeeAvailabilities(ids, startDate, endDate));
+    }
+
     @Operation(summary = "Update an employee", description = "Update an employee")
     @ApiResponses({
             @ApiResponse(
@@ -2,8 +2,13 @@ package com.antonio.skybase.controllers;
 
 import com.antonio.skybase.dtos.FlightDTO;
 import com.antonio.skybase.entities.Flight;
+import com.antonio.skybase.responses.CursorPage;
 import com.antonio.skybase.responses.ErrorResponse;
+import com.antonio.skybase.responses.MultiGetResult;
+import com.antonio.skybase.responses.FlightView;
 import com.antonio.skybase.services.FlightService;
+import com.antonio.skybase.services.MultiGet;
+import com.antonio.skybase.services.ResourceVersions;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -12,8 +17,11 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.util.List;
@@ -22,9 +30,15 @@ import java.util.List;
 @RestController
 @RequestMapping("/flights")
 public class FlightController {
+    private static final String FIELDS_DESCRIPTION = "Flights are returned as views that reference the airports by ID. " +
+            "The optional fields parameter selects a subset of the view fields, for example fields=number,departureTime; the ID is always included";
+
     @Autowired
     private FlightService flightService;
 
+    @Autowired
+    private ResourceVersions resourceVersions;
+
     @Operation(summary = "Create a new flight", description = "Create a new flight")
     @ApiResponses({
             @ApiResponse(
@@ -48,25 +62,80 @@ public class FlightController {
                 .toUri()).body(createdFlight);
     }
 
-    @Operation(summary = "Get all flights", description = "Get all flights")
+    @Operation(summary = "Import flights", description = "Create up to " + FlightService.MAX_IMPORT_SIZE + " flights in one transaction. If any flight is invalid, none of them is created")
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "201",
+                    description = "Flights created",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = Flight.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Bad request",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
+            )
+    })
+    @PostMapping("/import")
+    public ResponseEntity<List<Flight>> importAll(@RequestBody List<FlightDTO> flightDTOs) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(flightService.importAll(flightDTOs));
+    }
+
+    @Operation(summary = "Get all flights", description = "Get all flights, one page at a time, ordered by ID. " + FIELDS_DESCRIPTION)
     @ApiResponses({
             @ApiResponse(
                     responseCode = "200",
-                    description = "List of flights",
-                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = Flight.class))
+                    description = "Page of flights",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = FlightView.class))
+            ),
+            @ApiResponse(responseCode = "304", description = "Not modified since the ETag sent in If-None-Match"),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Bad request",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
             )
     })
     @GetMapping
-    public ResponseEntity<List<Flight>> getAll() {
-        return ResponseEntity.ok(flightService.getAll());
+    public ResponseEntity<CursorPage<FlightView>> getAll(@RequestParam(value = "cursor", required = false) String cursor,
+                                                         @RequestParam(value = "size", required = false) Integer size,
+                                                         @RequestParam(value = "fields", required = false) String fields,
+                                                         WebRequest request) {
+        String etag = resourceVersions.etag(request, ResourceVersions.FLIGHTS);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).varyBy(HttpHeaders.ACCEPT).body(flightService.getPage(cursor, size, fields));
     }
 
-    @Operation(summary = "Get a flight by id", description = "Get a flight by id")
+    @Operation(summary = "Get flights by IDs", description = "Get the flights with the given IDs (ids=1,2,3, at most " + MultiGet.MAX_IDS + ") with one query, in the order of the IDs. IDs that were not found are listed in missing. " + FIELDS_DESCRIPTION)
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Found flights and missing IDs",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = MultiGetResult.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Bad request",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
+            )
+    })
+    @GetMapping(params = "ids")
+    public ResponseEntity<MultiGetResult<FlightView, Integer>> getByIds(@RequestParam("ids") List<Integer> ids,
+                                                                        @RequestParam(value = "fields", required = false) String fields) {
+        return ResponseEntity.ok(flightService.getViewsByIds(ids, fields));
+    }
+
+    @Operation(summary = "Get a flight by id", description = "Get a flight by id. " + FIELDS_DESCRIPTION)
     @ApiResponses({
             @ApiResponse(
                     responseCode = "200",
                     description = "Flight found",
-                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = Flight.class))
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = FlightView.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Bad request",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
             ),
             @ApiResponse(
                     responseCode = "404",
@@ -75,8 +144,9 @@ public class FlightController {
             )
     })
     @GetMapping("/{id}")
-    public ResponseEntity<Flight> getById(@PathVariable("id") Integer id) {
-        return ResponseEntity.ok(flightService.getById(id));
+    public ResponseEntity<FlightView> getById(@PathVariable("id") Integer id,
+                                              @RequestParam(value = "fields", required = false) String fields) {
+        return ResponseEntity.ok(flightService.getViewById(id, fields));
     }
 
     @Operation(summary = "Update a flight", description = "Update a flight")
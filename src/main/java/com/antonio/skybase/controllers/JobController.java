@@ -3,7 +3,10 @@ package com.antonio.skybase.controllers;
 import com.antonio.skybase.dtos.JobDTO;
 import com.antonio.skybase.entities.Job;
 import com.antonio.skybase.responses.ErrorResponse;
+import com.antonio.skybase.responses.MultiGetResult;
 import com.antonio.skybase.services.JobService;
+import com.antonio.skybase.services.EncodedJson;
+import com.antonio.skybase.services.MultiGet;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -14,6 +17,7 @@ import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.util.List;
@@ -48,17 +52,45 @@ public class JobController {
                 .toUri()).body(createdJob);
     }
 
-    @Operation(summary = "Get all jobs", description = "Get all jobs")
+    @Operation(summary = "Get all jobs", description = "Get all jobs, one page at a time, ordered by ID")
     @ApiResponses({
             @ApiResponse(
                     responseCode = "200",
-                    description = "List of jobs",
+                    description = "Page of jobs",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = Job.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Bad request",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
             )
     })
     @GetMapping
-    public ResponseEntity<List<Job>> getAll() {
-        return ResponseEntity.ok(jobService.getAll());
+    public ResponseEntity<?> getAll(@RequestParam(value = "cursor", required = false) String cursor,
+                                    @RequestParam(value = "size", required = false) Integer size,
+                                    WebRequest request) {
+        if (EncodedJson.isAcceptable(request)) {
+            return jobService.getEncodedPage(cursor, size).toResponse(request, null);
+        }
+        return ResponseEntity.ok(jobService.getPage(cursor, size));
+    }
+
+    @Operation(summary = "Get jobs by IDs", description = "Get the jobs with the given IDs (ids=1,2,3, at most " + MultiGet.MAX_IDS + ") with one query, in the order of the IDs. IDs that were not found are listed in missing")
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Found jobs and missing IDs",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = MultiGetResult.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Bad request",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
+            )
+    })
+    @GetMapping(params = "ids")
+    public ResponseEntity<MultiGetResult<Job, Integer>> getByIds(@RequestParam("ids") List<Integer> ids) {
+        return ResponseEntity.ok(jobService.getByIds(ids));
     }
 
     @Operation(summary = "Get a job by id", description = "Get a job by id")
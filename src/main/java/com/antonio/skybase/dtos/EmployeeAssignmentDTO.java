@@ -1,11 +1,15 @@
 package com.antonio.skybase.dtos;
 
 import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 import java.time.LocalDate;
 
 @Data
+@NoArgsConstructor
+@AllArgsConstructor
 public class EmployeeAssignmentDTO {
     @NotNull(message = "Employee ID must not be null")
     private Integer employeeId;
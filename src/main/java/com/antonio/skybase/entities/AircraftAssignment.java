@@ -1,25 +1,54 @@
 package com.antonio.skybase.entities;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.springframework.data.domain.Persistable;
 
+// Aici cheia primara este (aircraft_id, date, flight_id) si acopera cautarile pe intervale pentru un avion;
+// cautarile dupa data si cele pentru un zbor au nevoie de indexuri separate. O aeronava are cel mult o asignare pe zi.
 @Entity
-@Table(name = "aircraft_assignments")
+@Table(name = "aircraft_assignments",
+        uniqueConstraints = @UniqueConstraint(name = "uk_aircraft_assignments_aircraft_date", columnNames = {"aircraft_id", "date"}),
+        indexes = {
+                @Index(name = "idx_aircraft_assignments_date", columnList = "date, aircraft_id, flight_id"),
+                @Index(name = "idx_aircraft_assignments_flight_date", columnList = "flight_id, date, aircraft_id")
+        })
 @Data
-public class AircraftAssignment {
+public class AircraftAssignment implements Persistable<AircraftAssignmentId> {
     @EmbeddedId
     private AircraftAssignmentId id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @MapsId("aircraftId")
     @JoinColumn(name = "aircraft_id", nullable = false)
     @NotNull(message = "Aircraft must not be null")
     private Aircraft aircraft;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @MapsId("flightId")
     @JoinColumn(name = "flight_id", nullable = false)
     @NotNull(message = "Flight must not be null")
     private Flight flight;
+
+    @Transient
+    @JsonIgnore
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private boolean persisted;
+
+    @Override
+    @JsonIgnore
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        persisted = true;
+    }
 }
\ No newline at end of file
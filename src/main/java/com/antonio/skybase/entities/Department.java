@@ -3,13 +3,30 @@ package com.antonio.skybase.entities;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import lombok.Data;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import java.util.List;
 
 @Entity
 @Table(name = "departments")
 @Data
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "departments")
 public class Department {
+    // Departamentele ale caror angajati pot fi asignati pe zboruri: echipaj de zbor si personal de cabina
+    public static final List<Integer> FLIGHT_DEPARTMENT_IDS = List.of(1, 2);
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "departments_ids")
+    @TableGenerator(
+            name = "departments_ids",
+            table = IdGenerators.TABLE,
+            pkColumnName = IdGenerators.SEGMENT_COLUMN,
+            valueColumnName = IdGenerators.VALUE_COLUMN,
+            pkColumnValue = "departments",
+            allocationSize = IdGenerators.ALLOCATION_SIZE
+    )
     private Integer id;
 
     @Column(nullable = false)
@@ -12,7 +12,15 @@ import lombok.Data;
 @Data
 public class Employee {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "employees_ids")
+    @TableGenerator(
+            name = "employees_ids",
+            table = IdGenerators.TABLE,
+            pkColumnName = IdGenerators.SEGMENT_COLUMN,
+            valueColumnName = IdGenerators.VALUE_COLUMN,
+            pkColumnValue = "employees",
+            allocationSize = IdGenerators.ALLOCATION_SIZE
+    )
     private Integer id;
 
     @Column(name = "first_name", nullable = false)
@@ -37,7 +45,7 @@ public class Employee {
     @Positive(message = "Salary must be positive")
     private Integer salary;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "job_id", nullable = false)
     @NotNull(message = "Job must not be null")
     private Job job;
@@ -46,7 +54,7 @@ public class Employee {
     @Positive(message = "Flight hours must be positive")
     private Integer flightHours;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "manager_id")
     private Employee manager;
 }
@@ -1,25 +1,54 @@
 package com.antonio.skybase.entities;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.springframework.data.domain.Persistable;
 
+// Cheia primara incepe cu data (Hibernate ordoneaza alfabetic coloanele cheii compuse), deci cautarile dupa data o folosesc direct.
+// Cautarile pe intervale de date pentru un angajat sau un zbor au nevoie de indexurile de mai jos, care acopera toata cheia.
+// Un angajat are cel mult o asignare pe zi; constrangerea unica serveste si cautarile dupa angajat si data.
 @Entity
-@Table(name = "employee_assignments")
+@Table(name = "employee_assignments",
+        uniqueConstraints = @UniqueConstraint(name = "uk_employee_assignments_employee_date", columnNames = {"employee_id", "date"}),
+        indexes = @Index(name = "idx_employee_assignments_flight_date", columnList = "flight_id, date, employee_id"))
 @Data
-public class EmployeeAssignment {
+public class EmployeeAssignment implements Persistable<EmployeeAssignmentId> {
     @EmbeddedId
     private EmployeeAssignmentId id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @MapsId("employeeId")
     @JoinColumn(name = "employee_id", nullable = false)
     @NotNull(message = "Employee must not be null")
     private Employee employee;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @MapsId("flightId")
     @JoinColumn(name = "flight_id", nullable = false)
     @NotNull(message = "Flight must not be null")
     private Flight flight;
+
+    // Cheia este atribuita de aplicatie, asa ca Spring Data nu poate deduce din ea daca randul este nou si ar face
+    // merge (SELECT + INSERT) la fiecare save. Randurile create in aplicatie sunt noi pana la persist, cele citite nu.
+    @Transient
+    @JsonIgnore
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private boolean persisted;
+
+    @Override
+    @JsonIgnore
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        persisted = true;
+    }
 }
\ No newline at end of file
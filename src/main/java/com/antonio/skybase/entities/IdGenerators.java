@@ -0,0 +1,14 @@
+package com.antonio.skybase.entities;
+
+// Id-urile tuturor entitatilor sunt alocate dintr-un tabel comun, cate un rand pentru fiecare tabel al unei entitati,
+// in blocuri de ALLOCATION_SIZE valori (optimizator pooled). Spre deosebire de IDENTITY, Hibernate cunoaste id-ul
+// inainte de insert si poate trimite insert-urile in batch-uri JDBC.
+public final class IdGenerators {
+    public static final String TABLE = "id_generators";
+    public static final String SEGMENT_COLUMN = "sequence_name";
+    public static final String VALUE_COLUMN = "next_val";
+    public static final int ALLOCATION_SIZE = 50;
+
+    private IdGenerators() {
+    }
+}
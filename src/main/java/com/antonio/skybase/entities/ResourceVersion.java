@@ -0,0 +1,24 @@
+package com.antonio.skybase.entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+// Contor de modificari pentru o resursa (un tabel sau asignarile dintr-o zi), marit de fiecare scriere in aceeasi
+// tranzactie cu datele. Din contoare sunt construite ETag-urile endpoint-urilor de citire. Randurile sunt citite si
+// scrise direct prin JDBC de ResourceVersions; entitatea exista pentru ca Hibernate sa creeze tabelul.
+@Entity
+@Table(name = ResourceVersion.TABLE)
+@Data
+public class ResourceVersion {
+    public static final String TABLE = "resource_versions";
+
+    @Id
+    @Column(length = 64)
+    private String name;
+
+    @Column(nullable = false)
+    private long version;
+}
@@ -0,0 +1,11 @@
+package com.antonio.skybase.exceptions;
+
+import java.sql.SQLTransientConnectionException;
+
+// Aruncata de BulkheadDataSource cand nicio conexiune nu se elibereaza in timp util. Ajunge la
+// GlobalExceptionHandler ca si cauza a unei DataAccessResourceFailureException sau CannotCreateTransactionException
+public class BulkheadRejectedException extends SQLTransientConnectionException {
+    public BulkheadRejectedException(String message, String sqlState) {
+        super(message, sqlState);
+    }
+}
@@ -1,14 +1,41 @@
 package com.antonio.skybase.repositories;
 
+import com.antonio.skybase.dtos.AircraftAssignmentDTO;
 import com.antonio.skybase.entities.AircraftAssignment;
 import com.antonio.skybase.entities.AircraftAssignmentId;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface AircraftAssignmentRepository extends JpaRepository<AircraftAssignment, AircraftAssignmentId> {
+public interface AircraftAssignmentRepository extends JpaRepository<AircraftAssignment, AircraftAssignmentId>, AircraftAssignmentViewRepository {
+    @EntityGraph(attributePaths = {"aircraft", "flight.departureAirport.city.country", "flight.arrivalAirport.city.country"})
+    Optional<AircraftAssignment> findById(AircraftAssignmentId id);
+    @EntityGraph(attributePaths = {"aircraft", "flight.departureAirport.city.country", "flight.arrivalAirport.city.country"})
     List<AircraftAssignment> findByIdDate(LocalDate date);
-    List<AircraftAssignment> findByIdAircraftIdAndIdDateBetween(Integer aircraftId, LocalDate startDate, LocalDate endDate);
-    List<AircraftAssignment> findByIdFlightIdAndIdDateBetween(Integer flightId, LocalDate startDate, LocalDate endDate);
+    boolean existsByIdAircraftIdAndIdDate(Integer aircraftId, LocalDate date);
+    @Modifying
+    @Transactional
+    @Query("UPDATE AircraftAssignment aa SET aa.id.aircraftId = :aircraftId, aa.id.flightId = :flightId, aa.id.date = :date WHERE aa.id = :id")
+    int updateKey(AircraftAssignmentId id, Integer aircraftId, Integer flightId, LocalDate date);
+    @Query("SELECT aa.id.date FROM AircraftAssignment aa WHERE aa.id.aircraftId = :aircraftId AND aa.id.date BETWEEN :startDate AND :endDate")
+    List<LocalDate> findAssignedDates(Integer aircraftId, LocalDate startDate, LocalDate endDate);
+    @Query("SELECT new com.antonio.skybase.dtos.AircraftAssignmentDTO(aa.id.aircraftId, aa.id.flightId, aa.id.date) " +
+            "FROM AircraftAssignment aa WHERE aa.id.aircraftId IN :aircraftIds AND aa.id.date BETWEEN :startDate AND :endDate")
+    List<AircraftAssignmentDTO> findKeysByAircraftIdsAndDateRange(Collection<Integer> aircraftIds, LocalDate startDate, LocalDate endDate);
+    // Ordinea cheii primare (aircraft_id, date, flight_id), deci randurile sunt citite in ordinea tabelei, fara sortare
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new com.antonio.skybase.dtos.AircraftAssignmentDTO(aa.id.aircraftId, aa.id.flightId, aa.id.date) " +
+            "FROM AircraftAssignment aa ORDER BY aa.id.aircraftId, aa.id.date")
+    Stream<AircraftAssignmentDTO> streamAllForExport();
 }
\ No newline at end of file
@@ -0,0 +1,25 @@
+package com.antonio.skybase.repositories;
+
+import com.antonio.skybase.entities.AircraftAssignmentId;
+import com.antonio.skybase.responses.AircraftAssignmentView;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+// Citiri ale view-urilor de asignare, cu campurile cerute prin fields (vezi ViewProjection)
+public interface AircraftAssignmentViewRepository {
+    List<AircraftAssignmentView> findViews(String fields, AircraftAssignmentId afterId, Limit limit);
+
+    Optional<AircraftAssignmentView> findViewById(String fields, AircraftAssignmentId id);
+
+    List<AircraftAssignmentView> findViewsByIds(String fields, Collection<AircraftAssignmentId> ids);
+
+    List<AircraftAssignmentView> findViewsByDate(String fields, LocalDate date);
+
+    List<AircraftAssignmentView> findViewsByAircraft(String fields, Integer aircraftId, LocalDate startDate, LocalDate endDate);
+
+    List<AircraftAssignmentView> findViewsByFlight(String fields, Integer flightId, LocalDate startDate, LocalDate endDate);
+}
@@ -0,0 +1,70 @@
+package com.antonio.skybase.repositories;
+
+import com.antonio.skybase.entities.AircraftAssignmentId;
+import com.antonio.skybase.responses.AircraftAssignmentView;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+// Ordonarile urmeaza indexurile folosite de fiecare cautare: paginile si cautarile dupa aeronava merg pe cheia primara
+// (aircraft_id, date, flight_id), cele dupa data pe idx_aircraft_assignments_date, iar cele dupa zbor pe
+// idx_aircraft_assignments_flight_date
+public class AircraftAssignmentViewRepositoryImpl implements AircraftAssignmentViewRepository {
+    private static final ViewProjection<AircraftAssignmentView> PROJECTION = new ViewProjection<>("AircraftAssignment aa", AircraftAssignmentView::new,
+            "aircraftId", "flightId", "date")
+            .field("aircraftId", "aa.id.aircraftId", AircraftAssignmentView::setAircraftId)
+            .field("flightId", "aa.id.flightId", AircraftAssignmentView::setFlightId)
+            .field("date", "aa.id.date", AircraftAssignmentView::setDate)
+            .field("registration", "aa.aircraft.registration", AircraftAssignmentView::setRegistration)
+            .field("aircraftType", "aa.aircraft.type", AircraftAssignmentView::setAircraftType)
+            .field("flightNumber", "aa.flight.number", AircraftAssignmentView::setFlightNumber);
+
+    // O aeronava are cel mult o asignare pe zi, deci (aircraft_id, date) identifica randul
+    private static final String ORDER_BY_KEY = "ORDER BY aa.id.aircraftId, aa.id.date";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<AircraftAssignmentView> findViews(String fields, AircraftAssignmentId afterId, Limit limit) {
+        if (afterId == null) {
+            return PROJECTION.find(entityManager, fields, ORDER_BY_KEY, Map.of(), limit);
+        }
+        return PROJECTION.find(entityManager, fields, "WHERE (aa.id.aircraftId, aa.id.date) > (:aircraftId, :date) " + ORDER_BY_KEY,
+                Map.of("aircraftId", afterId.getAircraftId(), "date", afterId.getDate()), limit);
+    }
+
+    @Override
+    public Optional<AircraftAssignmentView> findViewById(String fields, AircraftAssignmentId id) {
+        return PROJECTION.find(entityManager, fields, "WHERE aa.id = :id", Map.of("id", id), Limit.unlimited()).stream().findFirst();
+    }
+
+    @Override
+    public List<AircraftAssignmentView> findViewsByIds(String fields, Collection<AircraftAssignmentId> ids) {
+        return PROJECTION.find(entityManager, fields, "WHERE aa.id IN :ids", Map.of("ids", ids), Limit.unlimited());
+    }
+
+    @Override
+    public List<AircraftAssignmentView> findViewsByDate(String fields, LocalDate date) {
+        return PROJECTION.find(entityManager, fields, "WHERE aa.id.date = :date ORDER BY aa.id.aircraftId",
+                Map.of("date", date), Limit.unlimited());
+    }
+
+    @Override
+    public List<AircraftAssignmentView> findViewsByAircraft(String fields, Integer aircraftId, LocalDate startDate, LocalDate endDate) {
+        return PROJECTION.find(entityManager, fields, "WHERE aa.id.aircraftId = :aircraftId AND aa.id.date BETWEEN :startDate AND :endDate ORDER BY aa.id.date",
+                Map.of("aircraftId", aircraftId, "startDate", startDate, "endDate", endDate), Limit.unlimited());
+    }
+
+    @Override
+    public List<AircraftAssignmentView> findViewsByFlight(String fields, Integer flightId, LocalDate startDate, LocalDate endDate) {
+        return PROJECTION.find(entityManager, fields, "WHERE aa.id.flightId = :flightId AND aa.id.date BETWEEN :startDate AND :endDate ORDER BY aa.id.date, aa.id.aircraftId",
+                Map.of("flightId", flightId, "startDate", startDate, "endDate", endDate), Limit.unlimited());
+    }
+}
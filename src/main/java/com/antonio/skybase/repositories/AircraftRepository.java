@@ -1,15 +1,25 @@
 package com.antonio.skybase.repositories;
 
 import com.antonio.skybase.entities.Aircraft;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.time.LocalDate;
 import java.util.List;
 
 public interface AircraftRepository extends JpaRepository<Aircraft, Integer> {
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     boolean existsByRegistration(String registration);
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Aircraft findByRegistration(String registration);
-    @Query("SELECT a FROM Aircraft a WHERE a.id NOT IN (SELECT aa.id.aircraftId FROM AircraftAssignment aa WHERE aa.id.date = :date)")
-    List<Aircraft> findAvailableAircraftByDate(LocalDate date);
+    @Query("SELECT a FROM Aircraft a WHERE a.id > :afterId AND (:minRange IS NULL OR a.range >= :minRange) " +
+            "AND NOT EXISTS (SELECT aa FROM AircraftAssignment aa WHERE aa.id.aircraftId = a.id AND aa.id.date = :date) " +
+            "ORDER BY a.id")
+    List<Aircraft> findAvailableAircraftByDate(LocalDate date, Integer minRange, Integer afterId, Limit limit);
+    List<Aircraft> findAllByOrderByIdAsc(Limit limit);
+    List<Aircraft> findByIdGreaterThanOrderByIdAsc(Integer id, Limit limit);
 }
\ No newline at end of file
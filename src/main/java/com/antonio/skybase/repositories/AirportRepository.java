@@ -1,9 +1,30 @@
 package com.antonio.skybase.repositories;
 
 import com.antonio.skybase.entities.Airport;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.util.List;
+import java.util.Optional;
 
 public interface AirportRepository extends JpaRepository<Airport, Integer> {
+    // Interogare in loc de find: entitatea luata din cache-ul de nivel 2 ar ignora graful
+    @Query("SELECT a FROM Airport a WHERE a.id = :id")
+    @EntityGraph(attributePaths = {"city.country"})
+    Optional<Airport> findById(Integer id);
+    @EntityGraph(attributePaths = {"city.country"})
+    List<Airport> findAllById(Iterable<Integer> ids);
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     boolean existsByCode(String code);
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Airport findByCode(String code);
+    @EntityGraph(attributePaths = {"city.country"})
+    List<Airport> findAllByOrderByIdAsc(Limit limit);
+    @EntityGraph(attributePaths = {"city.country"})
+    List<Airport> findByIdGreaterThanOrderByIdAsc(Integer id, Limit limit);
 }
\ No newline at end of file
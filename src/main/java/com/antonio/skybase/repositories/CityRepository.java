@@ -1,7 +1,23 @@
 package com.antonio.skybase.repositories;
 
 import com.antonio.skybase.entities.City;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+import java.util.Optional;
 
 public interface CityRepository extends JpaRepository<City, Integer> {
-}
+    // Interogare in loc de find: entitatea luata din cache-ul de nivel 2 ar ignora graful
+    @Query("SELECT c FROM City c WHERE c.id = :id")
+    @EntityGraph(attributePaths = {"country"})
+    Optional<City> findById(Integer id);
+    @EntityGraph(attributePaths = {"country"})
+    List<City> findAllById(Iterable<Integer> ids);
+    @EntityGraph(attributePaths = {"country"})
+    List<City> findAllByOrderByIdAsc(Limit limit);
+    @EntityGraph(attributePaths = {"country"})
+    List<City> findByIdGreaterThanOrderByIdAsc(Integer id, Limit limit);
+}
\ No newline at end of file
@@ -1,9 +1,19 @@
 package com.antonio.skybase.repositories;
 
 import com.antonio.skybase.entities.Country;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.util.List;
 
 public interface CountryRepository extends JpaRepository<Country, Integer> {
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     boolean existsByCode(String code);
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Country findByCode(String code);
-}
+    List<Country> findAllByOrderByIdAsc(Limit limit);
+    List<Country> findByIdGreaterThanOrderByIdAsc(Integer id, Limit limit);
+}
\ No newline at end of file
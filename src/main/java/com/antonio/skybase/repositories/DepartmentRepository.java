@@ -1,7 +1,12 @@
 package com.antonio.skybase.repositories;
 
 import com.antonio.skybase.entities.Department;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.List;
+
 public interface DepartmentRepository extends JpaRepository<Department, Integer> {
+    List<Department> findAllByOrderByIdAsc(Limit limit);
+    List<Department> findByIdGreaterThanOrderByIdAsc(Integer id, Limit limit);
 }
\ No newline at end of file
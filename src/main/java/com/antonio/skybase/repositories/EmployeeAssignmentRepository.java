@@ -1,14 +1,42 @@
 package com.antonio.skybase.repositories;
 
+import com.antonio.skybase.dtos.EmployeeAssignmentDTO;
 import com.antonio.skybase.entities.EmployeeAssignment;
 import com.antonio.skybase.entities.EmployeeAssignmentId;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface EmployeeAssignmentRepository extends JpaRepository<EmployeeAssignment, EmployeeAssignmentId> {
+public interface EmployeeAssignmentRepository extends JpaRepository<EmployeeAssignment, EmployeeAssignmentId>, EmployeeAssignmentViewRepository {
+    @EntityGraph(attributePaths = {"employee.job.department", "flight.departureAirport.city.country", "flight.arrivalAirport.city.country"})
+    Optional<EmployeeAssignment> findById(EmployeeAssignmentId id);
+    @EntityGraph(attributePaths = {"employee.job.department", "flight.departureAirport.city.country", "flight.arrivalAirport.city.country"})
     List<EmployeeAssignment> findByIdDate(LocalDate date);
-    List<EmployeeAssignment> findByIdEmployeeIdAndIdDateBetween(Integer employeeId, LocalDate startDate, LocalDate endDate);
-    List<EmployeeAssignment> findByIdFlightIdAndIdDateBetween(Integer flightId, LocalDate startDate, LocalDate endDate);
+    boolean existsByIdEmployeeIdAndIdDate(Integer employeeId, LocalDate date);
+    @Modifying
+    @Transactional
+    @Query("UPDATE EmployeeAssignment ea SET ea.id.employeeId = :employeeId, ea.id.flightId = :flightId, ea.id.date = :date WHERE ea.id = :id")
+    int updateKey(EmployeeAssignmentId id, Integer employeeId, Integer flightId, LocalDate date);
+    @Query("SELECT ea.id.date FROM EmployeeAssignment ea WHERE ea.id.employeeId = :employeeId AND ea.id.date BETWEEN :startDate AND :endDate")
+    List<LocalDate> findAssignedDates(Integer employeeId, LocalDate startDate, LocalDate endDate);
+    @Query("SELECT new com.antonio.skybase.dtos.EmployeeAssignmentDTO(ea.id.employeeId, ea.id.flightId, ea.id.date) " +
+            "FROM EmployeeAssignment ea WHERE ea.id.employeeId IN :employeeIds AND ea.id.date BETWEEN :startDate AND :endDate")
+    List<EmployeeAssignmentDTO> findKeysByEmployeeIdsAndDateRange(Collection<Integer> employeeIds, LocalDate startDate, LocalDate endDate);
+    // Ordinea cheii unice (employee_id, date): indexul uk_employee_assignments_employee_date contine si restul cheii
+    // primare, deci randurile sunt citite direct din index, fara sortarea tabelei inainte de primul rand
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new com.antonio.skybase.dtos.EmployeeAssignmentDTO(ea.id.employeeId, ea.id.flightId, ea.id.date) " +
+            "FROM EmployeeAssignment ea ORDER BY ea.id.employeeId, ea.id.date")
+    Stream<EmployeeAssignmentDTO> streamAllForExport();
 }
\ No newline at end of file
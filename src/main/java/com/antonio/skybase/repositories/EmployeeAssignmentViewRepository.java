@@ -0,0 +1,25 @@
+package com.antonio.skybase.repositories;
+
+import com.antonio.skybase.entities.EmployeeAssignmentId;
+import com.antonio.skybase.responses.EmployeeAssignmentView;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+// Citiri ale view-urilor de asignare, cu campurile cerute prin fields (vezi ViewProjection)
+public interface EmployeeAssignmentViewRepository {
+    List<EmployeeAssignmentView> findViews(String fields, EmployeeAssignmentId afterId, Limit limit);
+
+    Optional<EmployeeAssignmentView> findViewById(String fields, EmployeeAssignmentId id);
+
+    List<EmployeeAssignmentView> findViewsByIds(String fields, Collection<EmployeeAssignmentId> ids);
+
+    List<EmployeeAssignmentView> findViewsByDate(String fields, LocalDate date);
+
+    List<EmployeeAssignmentView> findViewsByEmployee(String fields, Integer employeeId, LocalDate startDate, LocalDate endDate);
+
+    List<EmployeeAssignmentView> findViewsByFlight(String fields, Integer flightId, LocalDate startDate, LocalDate endDate);
+}
@@ -0,0 +1,71 @@
+package com.antonio.skybase.repositories;
+
+import com.antonio.skybase.entities.EmployeeAssignmentId;
+import com.antonio.skybase.responses.EmployeeAssignmentView;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+// Ordonarile urmeaza indexurile folosite de fiecare cautare: paginile si cautarile dupa angajat merg pe
+// uk_employee_assignments_employee_date, cele dupa data pe cheia primara (date, employee_id, flight_id), iar cele
+// dupa zbor pe idx_employee_assignments_flight_date
+public class EmployeeAssignmentViewRepositoryImpl implements EmployeeAssignmentViewRepository {
+    private static final ViewProjection<EmployeeAssignmentView> PROJECTION = new ViewProjection<>("EmployeeAssignment ea", EmployeeAssignmentView::new,
+            "employeeId", "flightId", "date")
+            .field("employeeId", "ea.id.employeeId", EmployeeAssignmentView::setEmployeeId)
+            .field("flightId", "ea.id.flightId", EmployeeAssignmentView::setFlightId)
+            .field("date", "ea.id.date", EmployeeAssignmentView::setDate)
+            .field("firstName", "ea.employee.firstName", EmployeeAssignmentView::setFirstName)
+            .field("lastName", "ea.employee.lastName", EmployeeAssignmentView::setLastName)
+            .field("jobId", "ea.employee.job.id", EmployeeAssignmentView::setJobId)
+            .field("flightNumber", "ea.flight.number", EmployeeAssignmentView::setFlightNumber);
+
+    // Un angajat are cel mult o asignare pe zi, deci (employee_id, date) identifica randul
+    private static final String ORDER_BY_KEY = "ORDER BY ea.id.employeeId, ea.id.date";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<EmployeeAssignmentView> findViews(String fields, EmployeeAssignmentId afterId, Limit limit) {
+        if (afterId == null) {
+            return PROJECTION.find(entityManager, fields, ORDER_BY_KEY, Map.of(), limit);
+        }
+        return PROJECTION.find(entityManager, fields, "WHERE (ea.id.employeeId, ea.id.date) > (:employeeId, :date) " + ORDER_BY_KEY,
+                Map.of("employeeId", afterId.getEmployeeId(), "date", afterId.getDate()), limit);
+    }
+
+    @Override
+    public Optional<EmployeeAssignmentView> findViewById(String fields, EmployeeAssignmentId id) {
+        return PROJECTION.find(entityManager, fields, "WHERE ea.id = :id", Map.of("id", id), Limit.unlimited()).stream().findFirst();
+    }
+
+    @Override
+    public List<EmployeeAssignmentView> findViewsByIds(String fields, Collection<EmployeeAssignmentId> ids) {
+        return PROJECTION.find(entityManager, fields, "WHERE ea.id IN :ids", Map.of("ids", ids), Limit.unlimited());
+    }
+
+    @Override
+    public List<EmployeeAssignmentView> findViewsByDate(String fields, LocalDate date) {
+        return PROJECTION.find(entityManager, fields, "WHERE ea.id.date = :date ORDER BY ea.id.employeeId, ea.id.flightId",
+                Map.of("date", date), Limit.unlimited());
+    }
+
+    @Override
+    public List<EmployeeAssignmentView> findViewsByEmployee(String fields, Integer employeeId, LocalDate startDate, LocalDate endDate) {
+        return PROJECTION.find(entityManager, fields, "WHERE ea.id.employeeId = :employeeId AND ea.id.date BETWEEN :startDate AND :endDate ORDER BY ea.id.date",
+                Map.of("employeeId", employeeId, "startDate", startDate, "endDate", endDate), Limit.unlimited());
+    }
+
+    @Override
+    public List<EmployeeAssignmentView> findViewsByFlight(String fields, Integer flightId, LocalDate startDate, LocalDate endDate) {
+        return PROJECTION.find(entityManager, fields, "WHERE ea.id.flightId = :flightId AND ea.id.date BETWEEN :startDate AND :endDate ORDER BY ea.id.date, ea.id.employeeId",
+                Map.of("flightId", flightId, "startDate", startDate, "endDate", endDate), Limit.unlimited());
+    }
+}
@@ -1,13 +1,30 @@
 package com.antonio.skybase.repositories;
 
 import com.antonio.skybase.entities.Employee;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface EmployeeRepository extends JpaRepository<Employee, Integer> {
-    @Query("SELECT e FROM Employee e WHERE e.id NOT IN (SELECT ea.id.employeeId FROM EmployeeAssignment ea WHERE ea.id.date = :date)")
-    List<Employee> findAvailableEmployeesByDate(LocalDate date);
+    @EntityGraph(attributePaths = {"job.department"})
+    Optional<Employee> findById(Integer id);
+    @EntityGraph(attributePaths = {"job.department"})
+    List<Employee> findAllById(Iterable<Integer> ids);
+    @EntityGraph(attributePaths = {"job.department"})
+    @Query("SELECT e FROM Employee e WHERE e.id > :afterId AND e.job.department.id IN :departmentIds " +
+            "AND NOT EXISTS (SELECT ea FROM EmployeeAssignment ea WHERE ea.id.employeeId = e.id AND ea.id.date = :date) " +
+            "ORDER BY e.id")
+    List<Employee> findAvailableEmployeesByDate(LocalDate date, Collection<Integer> departmentIds, Integer afterId, Limit limit);
+    @EntityGraph(attributePaths = {"job.department"})
+    List<Employee> findAllByOrderByIdAsc(Limit limit);
+    @EntityGraph(attributePaths = {"job.department"})
+    List<Employee> findByIdGreaterThanOrderByIdAsc(Integer id, Limit limit);
+    @EntityGraph(attributePaths = {"job.department"})
+    List<Employee> findByIdIn(Collection<Integer> ids);
 }
\ No newline at end of file
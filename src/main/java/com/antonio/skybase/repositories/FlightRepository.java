@@ -1,9 +1,19 @@
 package com.antonio.skybase.repositories;
 
 import com.antonio.skybase.entities.Flight;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
-public interface FlightRepository extends JpaRepository<Flight, Integer> {
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface FlightRepository extends JpaRepository<Flight, Integer>, FlightViewRepository {
+    @EntityGraph(attributePaths = {"departureAirport.city.country", "arrivalAirport.city.country"})
+    Optional<Flight> findById(Integer id);
     boolean existsByNumber(String number);
     Flight findByNumber(String number);
+    @Query("SELECT f.number FROM Flight f WHERE f.number IN :numbers")
+    List<String> findNumbersIn(Collection<String> numbers);
 }
\ No newline at end of file
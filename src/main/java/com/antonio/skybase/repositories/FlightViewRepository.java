@@ -0,0 +1,17 @@
+package com.antonio.skybase.repositories;
+
+import com.antonio.skybase.responses.FlightView;
+import org.springframework.data.domain.Limit;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+// Citiri ale view-urilor de zbor, cu campurile cerute prin fields (vezi ViewProjection)
+public interface FlightViewRepository {
+    List<FlightView> findViews(String fields, Integer afterId, Limit limit);
+
+    Optional<FlightView> findViewById(String fields, Integer id);
+
+    List<FlightView> findViewsByIds(String fields, Collection<Integer> ids);
+}
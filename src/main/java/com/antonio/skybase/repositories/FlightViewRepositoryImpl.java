@@ -0,0 +1,42 @@
+package com.antonio.skybase.repositories;
+
+import com.antonio.skybase.responses.FlightView;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.data.domain.Limit;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+public class FlightViewRepositoryImpl implements FlightViewRepository {
+    private static final ViewProjection<FlightView> PROJECTION = new ViewProjection<>("Flight f", FlightView::new, "id")
+            .field("id", "f.id", FlightView::setId)
+            .field("number", "f.number", FlightView::setNumber)
+            .field("departureAirportId", "f.departureAirport.id", FlightView::setDepartureAirportId)
+            .field("arrivalAirportId", "f.arrivalAirport.id", FlightView::setArrivalAirportId)
+            .field("departureTime", "f.departureTime", FlightView::setDepartureTime)
+            .field("arrivalTime", "f.arrivalTime", FlightView::setArrivalTime)
+            .field("distance", "f.distance", FlightView::setDistance);
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<FlightView> findViews(String fields, Integer afterId, Limit limit) {
+        return afterId == null
+                ? PROJECTION.find(entityManager, fields, "ORDER BY f.id", Map.of(), limit)
+                : PROJECTION.find(entityManager, fields, "WHERE f.id > :afterId ORDER BY f.id", Map.of("afterId", afterId), limit);
+    }
+
+    @Override
+    public Optional<FlightView> findViewById(String fields, Integer id) {
+        return PROJECTION.find(entityManager, fields, "WHERE f.id = :id", Map.of("id", id), Limit.unlimited()).stream().findFirst();
+    }
+
+    @Override
+    public List<FlightView> findViewsByIds(String fields, Collection<Integer> ids) {
+        return PROJECTION.find(entityManager, fields, "WHERE f.id IN :ids", Map.of("ids", ids), Limit.unlimited());
+    }
+}
@@ -1,7 +1,23 @@
 package com.antonio.skybase.repositories;
 
 import com.antonio.skybase.entities.Job;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+import java.util.Optional;
 
 public interface JobRepository extends JpaRepository<Job, Integer> {
+    // Interogare in loc de find: entitatea luata din cache-ul de nivel 2 ar ignora graful
+    @Query("SELECT j FROM Job j WHERE j.id = :id")
+    @EntityGraph(attributePaths = {"department"})
+    Optional<Job> findById(Integer id);
+    @EntityGraph(attributePaths = {"department"})
+    List<Job> findAllById(Iterable<Integer> ids);
+    @EntityGraph(attributePaths = {"department"})
+    List<Job> findAllByOrderByIdAsc(Limit limit);
+    @EntityGraph(attributePaths = {"department"})
+    List<Job> findByIdGreaterThanOrderByIdAsc(Integer id, Limit limit);
 }
\ No newline at end of file
@@ -0,0 +1,75 @@
+package com.antonio.skybase.repositories;
+
+import com.antonio.skybase.exceptions.BadRequestException;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import org.springframework.data.domain.Limit;
+
+import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+// Proiectie pe coloane pentru view-urile de raspuns. Fiecare camp al view-ului are o cale JPQL; query-ul selecteaza
+// doar campurile cerute prin parametrul fields (plus campurile cheie, mereu incluse), iar join-urile spre entitatile
+// asociate apar doar daca un camp cerut le foloseste. Campurile necerute raman null si nu sunt serializate.
+public class ViewProjection<V> {
+    private final String from;
+    private final Supplier<V> factory;
+    private final List<String> keyFields;
+    private final Map<String, Field<V>> fields = new LinkedHashMap<>();
+
+    private record Field<V>(String path, BiConsumer<V, Object> setter) {
+    }
+
+    public ViewProjection(String from, Supplier<V> factory, String... keyFields) {
+        this.from = from;
+        this.factory = factory;
+        this.keyFields = List.of(keyFields);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> ViewProjection<V> field(String name, String path, BiConsumer<V, T> setter) {
+        fields.put(name, new Field<>(path, (BiConsumer<V, Object>) setter));
+        return this;
+    }
+
+    // Lista de campuri separate prin virgula; fara lista, sunt selectate toate campurile view-ului
+    public List<String> resolve(String requested) {
+        if (requested == null || requested.isBlank()) {
+            return List.copyOf(fields.keySet());
+        }
+
+        Set<String> names = new HashSet<>(keyFields);
+        for (String name : requested.split(",")) {
+            String field = name.trim();
+            if (!fields.containsKey(field)) {
+                throw new BadRequestException("Unknown field " + field + ", expected one of " + String.join(", ", fields.keySet()));
+            }
+            names.add(field);
+        }
+        return fields.keySet().stream().filter(names::contains).toList();
+    }
+
+    public List<V> find(EntityManager entityManager, String requested, String clauses, Map<String, Object> parameters, Limit limit) {
+        List<String> selected = resolve(requested);
+        StringJoiner select = new StringJoiner(", ", "SELECT ", " FROM " + from + " " + clauses);
+        for (String name : selected) {
+            select.add(fields.get(name).path());
+        }
+
+        TypedQuery<Tuple> query = entityManager.createQuery(select.toString(), Tuple.class);
+        parameters.forEach(query::setParameter);
+        if (limit.isLimited()) {
+            query.setMaxResults(limit.max());
+        }
+
+        return query.getResultList().stream().map(tuple -> {
+            V view = factory.get();
+            for (int i = 0; i < selected.size(); i++) {
+                fields.get(selected.get(i)).setter().accept(view, tuple.get(i));
+            }
+            return view;
+        }).toList();
+    }
+}
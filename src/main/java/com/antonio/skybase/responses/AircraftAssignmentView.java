@@ -0,0 +1,18 @@
+package com.antonio.skybase.responses;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+// Asignarea fara grafurile aeronavei si zborului: cheia, plus inmatricularea si tipul aeronavei si numarul zborului
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class AircraftAssignmentView {
+    private Integer aircraftId;
+    private Integer flightId;
+    private LocalDate date;
+    private String registration;
+    private String aircraftType;
+    private String flightNumber;
+}
@@ -0,0 +1,18 @@
+package com.antonio.skybase.responses;
+
+import lombok.Data;
+
+@Data
+public class BulkItemResult<K> {
+    private int index;
+    private int status;
+    private K id;
+    private String message;
+
+    public BulkItemResult(int index, int status, K id, String message) {
+        this.index = index;
+        this.status = status;
+        this.id = id;
+        this.message = message;
+    }
+}
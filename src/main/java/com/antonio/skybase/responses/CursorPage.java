@@ -0,0 +1,18 @@
+package com.antonio.skybase.responses;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class CursorPage<T> {
+    private List<T> items;
+    private int size;
+    private String next;
+
+    public CursorPage(List<T> items, String next) {
+        this.items = items;
+        this.size = items.size();
+        this.next = next;
+    }
+}
@@ -0,0 +1,19 @@
+package com.antonio.skybase.responses;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+// Asignarea fara grafurile angajatului si zborului: cheia, plus numele angajatului, job-ul si numarul zborului
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class EmployeeAssignmentView {
+    private Integer employeeId;
+    private Integer flightId;
+    private LocalDate date;
+    private String firstName;
+    private String lastName;
+    private Integer jobId;
+    private String flightNumber;
+}
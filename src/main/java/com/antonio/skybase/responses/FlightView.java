@@ -0,0 +1,19 @@
+package com.antonio.skybase.responses;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+
+import java.time.LocalTime;
+
+// Zborul fara graful aeroporturilor: aeroporturile sunt referite prin ID
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class FlightView {
+    private Integer id;
+    private String number;
+    private Integer departureAirportId;
+    private Integer arrivalAirportId;
+    private LocalTime departureTime;
+    private LocalTime arrivalTime;
+    private Integer distance;
+}
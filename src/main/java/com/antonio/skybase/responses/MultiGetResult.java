@@ -0,0 +1,16 @@
+package com.antonio.skybase.responses;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class MultiGetResult<T, K> {
+    private List<T> items;
+    private List<K> missing;
+
+    public MultiGetResult(List<T> items, List<K> missing) {
+        this.items = items;
+        this.missing = missing;
+    }
+}
@@ -0,0 +1,22 @@
+package com.antonio.skybase.responses;
+
+import lombok.Data;
+
+@Data
+public class RegionStatistics {
+    private String name;
+    private long size;
+    private long hitCount;
+    private long missCount;
+    private long putCount;
+    private double hitRate;
+
+    public RegionStatistics(String name, long size, long hitCount, long missCount, long putCount) {
+        this.name = name;
+        this.size = size;
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.putCount = putCount;
+        this.hitRate = hitCount + missCount == 0 ? 0 : (double) hitCount / (hitCount + missCount);
+    }
+}
@@ -10,15 +10,32 @@ import com.antonio.skybase.exceptions.NotFoundException;
 import com.antonio.skybase.repositories.AircraftAssignmentRepository;
 import com.antonio.skybase.repositories.AircraftRepository;
 import com.antonio.skybase.repositories.FlightRepository;
+import com.antonio.skybase.responses.AircraftAssignmentView;
+import com.antonio.skybase.responses.BulkItemResult;
+import com.antonio.skybase.responses.CursorPage;
+import com.antonio.skybase.responses.MultiGetResult;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import jakarta.validation.Valid;
+import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDate;
-import java.util.List;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class AircraftAssignmentService {
+    public static final int MAX_BULK_SIZE = 5000;
+
     @Autowired
     private AircraftAssignmentRepository aircraftAssignmentRepository;
 
@@ -28,85 +45,272 @@ public class AircraftAssignmentService {
     @Autowired
     private FlightRepository flightRepository;
 
+    @Autowired
+    private ExportMappers exportMappers;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final AssignmentReservations reservations = new AssignmentReservations();
+
+    @Transactional
     public AircraftAssignment create(AircraftAssignmentDTO aircraftAssignmentDTO) {
-        Aircraft aircraft = aircraftRepository.findById(aircraftAssignmentDTO.getAircraftId())
-                .orElseThrow(() -> new NotFoundException("Aircraft with ID " + aircraftAssignmentDTO.getAircraftId() + " not found"));
-        Flight flight = flightRepository.findById(aircraftAssignmentDTO.getFlightId())
-                .orElseThrow(() -> new NotFoundException("Flight with ID " + aircraftAssignmentDTO.getFlightId() + " not found"));
+        AssignmentReservations.Key key = reserve(aircraftAssignmentDTO.getAircraftId(), aircraftAssignmentDTO.getDate());
+        try {
+            Aircraft aircraft = aircraftRepository.findById(aircraftAssignmentDTO.getAircraftId())
+                    .orElseThrow(() -> new NotFoundException("Aircraft with ID " + aircraftAssignmentDTO.getAircraftId() + " not found"));
+            Flight flight = flightRepository.findById(aircraftAssignmentDTO.getFlightId())
+                    .orElseThrow(() -> new NotFoundException("Flight with ID " + aircraftAssignmentDTO.getFlightId() + " not found"));
 
-        validateAircraftAvailability(aircraftAssignmentDTO.getAircraftId(), aircraftAssignmentDTO.getDate());
-        validateAircraftRange(aircraft.getRange(), flight.getDistance());
+            validateAircraftAvailability(aircraftAssignmentDTO.getAircraftId(), aircraftAssignmentDTO.getDate());
+            validateAircraftRange(aircraft.getRange(), flight.getDistance());
 
-        AircraftAssignmentId id = new AircraftAssignmentId();
-        id.setAircraftId(aircraftAssignmentDTO.getAircraftId());
-        id.setFlightId(aircraftAssignmentDTO.getFlightId());
-        id.setDate(aircraftAssignmentDTO.getDate());
+            AircraftAssignmentId id = new AircraftAssignmentId();
+            id.setAircraftId(aircraftAssignmentDTO.getAircraftId());
+            id.setFlightId(aircraftAssignmentDTO.getFlightId());
+            id.setDate(aircraftAssignmentDTO.getDate());
 
-        AircraftAssignment aircraftAssignment = new AircraftAssignment();
-        aircraftAssignment.setId(id);
-        aircraftAssignment.setAircraft(aircraft);
-        aircraftAssignment.setFlight(flight);
+            AircraftAssignment aircraftAssignment = new AircraftAssignment();
+            aircraftAssignment.setId(id);
+            aircraftAssignment.setAircraft(aircraft);
+            aircraftAssignment.setFlight(flight);
 
-        return aircraftAssignmentRepository.save(aircraftAssignment);
+            return saveReserved(aircraftAssignment);
+        } finally {
+            reservations.releaseAfterCompletion(List.of(key));
+        }
     }
 
-    public List<AircraftAssignment> getAll() {
-        return aircraftAssignmentRepository.findAll();
+    // Creare in bloc: resursele si zborurile referite sunt citite cu cate un query IN, iar disponibilitatea
+    // este verificata in memorie, inclusiv intre randurile aceleiasi cereri. Randurile valide sunt inserate
+    // cu persist si ajung in baza de date la flush, grupate in batch-uri JDBC (hibernate.jdbc.batch_size).
+    // Rezultatul contine cate o intrare pentru fiecare rand, in ordinea din cerere.
+    @Transactional
+    public List<BulkItemResult<AircraftAssignmentId>> createAll(List<AircraftAssignmentDTO> aircraftAssignmentDTOs) {
+        if (aircraftAssignmentDTOs.isEmpty() || aircraftAssignmentDTOs.size() > MAX_BULK_SIZE) {
+            throw new BadRequestException("Number of assignments must be between 1 and " + MAX_BULK_SIZE);
+        }
+
+        Set<Integer> aircraftIds = new HashSet<>();
+        Set<Integer> flightIds = new HashSet<>();
+        LocalDate startDate = null;
+        LocalDate endDate = null;
+        for (AircraftAssignmentDTO aircraftAssignmentDTO : aircraftAssignmentDTOs) {
+            if (aircraftAssignmentDTO.getAircraftId() == null || aircraftAssignmentDTO.getFlightId() == null || aircraftAssignmentDTO.getDate() == null) {
+                continue;
+            }
+            aircraftIds.add(aircraftAssignmentDTO.getAircraftId());
+            flightIds.add(aircraftAssignmentDTO.getFlightId());
+            if (startDate == null || aircraftAssignmentDTO.getDate().isBefore(startDate)) {
+                startDate = aircraftAssignmentDTO.getDate();
+            }
+            if (endDate == null || aircraftAssignmentDTO.getDate().isAfter(endDate)) {
+                endDate = aircraftAssignmentDTO.getDate();
+            }
+        }
+
+        Map<Integer, Aircraft> aircrafts = aircraftRepository.findAllById(aircraftIds).stream()
+                .collect(Collectors.toMap(Aircraft::getId, Function.identity()));
+        Map<Integer, Flight> flights = flightRepository.findAllById(flightIds).stream()
+                .collect(Collectors.toMap(Flight::getId, Function.identity()));
+        Map<Integer, Set<LocalDate>> assignedDates = new HashMap<>();
+        if (startDate != null) {
+            aircraftAssignmentRepository.findKeysByAircraftIdsAndDateRange(aircraftIds, startDate, endDate)
+                    .forEach(key -> assignedDates.computeIfAbsent(key.getAircraftId(), k -> new HashSet<>()).add(key.getDate()));
+        }
+
+        List<BulkItemResult<AircraftAssignmentId>> results = new ArrayList<>(aircraftAssignmentDTOs.size());
+        List<AssignmentReservations.Key> reservedKeys = new ArrayList<>();
+        try {
+            for (int index = 0; index < aircraftAssignmentDTOs.size(); index++) {
+                AircraftAssignmentDTO aircraftAssignmentDTO = aircraftAssignmentDTOs.get(index);
+                try {
+                    AircraftAssignment aircraftAssignment = buildValidated(aircraftAssignmentDTO, aircrafts, flights, assignedDates, reservedKeys);
+                    entityManager.persist(aircraftAssignment);
+                    results.add(new BulkItemResult<>(index, HttpStatus.CREATED.value(), aircraftAssignment.getId(), null));
+                } catch (NotFoundException ex) {
+                    results.add(new BulkItemResult<>(index, HttpStatus.NOT_FOUND.value(), null, ex.getMessage()));
+                } catch (BadRequestException ex) {
+                    results.add(new BulkItemResult<>(index, HttpStatus.BAD_REQUEST.value(), null, ex.getMessage()));
+                }
+            }
+
+            entityManager.flush();
+        } catch (ConstraintViolationException ex) {
+            // Alta instanta a aplicatiei a asignat intre timp aceeasi resursa in aceeasi zi
+            throw new BadRequestException("Assignments conflict with concurrently created assignments, none were saved");
+        } finally {
+            reservations.releaseAfterCompletion(reservedKeys);
+        }
+        return results;
+    }
+
+    // Paginile si cautarile intorc view-uri, cu doar campurile cerute prin fields
+    @Transactional(readOnly = true)
+    public CursorPage<AircraftAssignmentView> getPage(String cursor, Integer size, String fields) {
+        return new KeysetPaginator<>(
+                AircraftAssignmentService::viewKey,
+                AircraftAssignmentService::encodeCursorKey,
+                AircraftAssignmentService::decodeCursorKey,
+                limit -> aircraftAssignmentRepository.findViews(fields, null, limit),
+                (id, limit) -> aircraftAssignmentRepository.findViews(fields, id, limit)
+        ).getPage(cursor, size);
     }
 
-    public AircraftAssignment getById(AircraftAssignmentId id) {
-        return aircraftAssignmentRepository.findById(id)
+    // Export in flux (NDJSON, secventa CBOR sau Smile): randurile sunt citite printr-un cursor al bazei de date si scrise
+    // pe rand in output stream, fara a incarca tabela in memorie. Tranzactia tine cursorul deschis pe durata exportului.
+    @Transactional(readOnly = true)
+    public void export(OutputStream outputStream, ExportFormat format) throws IOException {
+        try (Stream<AircraftAssignmentDTO> rows = aircraftAssignmentRepository.streamAllForExport()) {
+            format.write(rows, exportMappers, outputStream);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public AircraftAssignmentView getViewById(AircraftAssignmentId id, String fields) {
+        return aircraftAssignmentRepository.findViewById(fields, id)
                 .orElseThrow(() -> new NotFoundException("AircraftAssignment with ID " + id + " not found"));
     }
 
-    public List<AircraftAssignment> getAssignmentsByDate(LocalDate date) {
-        return aircraftAssignmentRepository.findByIdDate(date);
+    // Cheile sunt date ca aircraftId/flightId/date, la fel ca in caile endpoint-urilor
+    @Transactional(readOnly = true)
+    public MultiGetResult<AircraftAssignmentView, AircraftAssignmentId> getViewsByIds(List<String> ids, String fields) {
+        List<AircraftAssignmentId> keys = ids.stream().map(AircraftAssignmentService::parseKey).toList();
+        return MultiGet.find(keys, found -> aircraftAssignmentRepository.findViewsByIds(fields, found), AircraftAssignmentService::viewKey);
     }
 
-    public List<AircraftAssignment> getAssignmentsByAircraftAndDateRange(Integer aircraftId, LocalDate startDate, LocalDate endDate) {
-        return aircraftAssignmentRepository.findByIdAircraftIdAndIdDateBetween(aircraftId, startDate, endDate);
+    @Transactional(readOnly = true)
+    public List<AircraftAssignmentView> getAssignmentsByDate(LocalDate date, String fields) {
+        return aircraftAssignmentRepository.findViewsByDate(fields, date);
     }
 
-    public List<AircraftAssignment> getAssignmentsByFlightAndDateRange(Integer flightId, LocalDate startDate, LocalDate endDate) {
-        return aircraftAssignmentRepository.findByIdFlightIdAndIdDateBetween(flightId, startDate, endDate);
+    @Transactional(readOnly = true)
+    public List<AircraftAssignmentView> getAssignmentsByAircraftAndDateRange(Integer aircraftId, LocalDate startDate, LocalDate endDate, String fields) {
+        return aircraftAssignmentRepository.findViewsByAircraft(fields, aircraftId, startDate, endDate);
     }
 
+    @Transactional(readOnly = true)
+    public List<AircraftAssignmentView> getAssignmentsByFlightAndDateRange(Integer flightId, LocalDate startDate, LocalDate endDate, String fields) {
+        return aircraftAssignmentRepository.findViewsByFlight(fields, flightId, startDate, endDate);
+    }
 
+
+    // Cheia este schimbata printr-un singur UPDATE, fara a citi, sterge si reinsera randul
+    @Transactional
     public AircraftAssignment update(AircraftAssignmentId id, @Valid AircraftAssignmentDTO aircraftAssignmentDTO) {
-        AircraftAssignment aircraftAssignment = aircraftAssignmentRepository.findById(id)
-                .orElseThrow(() -> new NotFoundException("AircraftAssignment with ID " + id + " not found"));
+        boolean rescheduled = !id.getAircraftId().equals(aircraftAssignmentDTO.getAircraftId()) || !id.getDate().equals(aircraftAssignmentDTO.getDate());
+        AssignmentReservations.Key key = rescheduled ? reserve(aircraftAssignmentDTO.getAircraftId(), aircraftAssignmentDTO.getDate()) : null;
+        try {
+            Aircraft aircraft = aircraftRepository.findById(aircraftAssignmentDTO.getAircraftId())
+                    .orElseThrow(() -> new NotFoundException("Aircraft with ID " + aircraftAssignmentDTO.getAircraftId() + " not found"));
+            Flight flight = flightRepository.findById(aircraftAssignmentDTO.getFlightId())
+                    .orElseThrow(() -> new NotFoundException("Flight with ID " + aircraftAssignmentDTO.getFlightId() + " not found"));
 
-        Aircraft aircraft = aircraftRepository.findById(aircraftAssignmentDTO.getAircraftId())
-                .orElseThrow(() -> new NotFoundException("Aircraft with ID " + aircraftAssignmentDTO.getAircraftId() + " not found"));
-        Flight flight = flightRepository.findById(aircraftAssignmentDTO.getFlightId())
-                .orElseThrow(() -> new NotFoundException("Flight with ID " + aircraftAssignmentDTO.getFlightId() + " not found"));
+            if (rescheduled) {
+                validateAircraftAvailability(aircraftAssignmentDTO.getAircraftId(), aircraftAssignmentDTO.getDate());
+            }
+            validateAircraftRange(aircraft.getRange(), flight.getDistance());
 
-        if (!aircraftAssignment.getId().getAircraftId().equals(aircraftAssignmentDTO.getAircraftId())) {
-            validateAircraftAvailability(aircraftAssignmentDTO.getAircraftId(), aircraftAssignmentDTO.getDate());
+            AircraftAssignmentId newId = new AircraftAssignmentId();
+            newId.setAircraftId(aircraftAssignmentDTO.getAircraftId());
+            newId.setFlightId(aircraftAssignmentDTO.getFlightId());
+            newId.setDate(aircraftAssignmentDTO.getDate());
+            updateKey(id, newId);
+
+            AircraftAssignment aircraftAssignment = new AircraftAssignment();
+            aircraftAssignment.setId(newId);
+            aircraftAssignment.setAircraft(aircraft);
+            aircraftAssignment.setFlight(flight);
+            return aircraftAssignment;
+        } finally {
+            if (key != null) {
+                reservations.releaseAfterCompletion(List.of(key));
+            }
+        }
+    }
+
+    @Transactional
+    public void delete(AircraftAssignmentId id) {
+        aircraftAssignmentRepository.deleteById(id);
+    }
+
+    private AircraftAssignment buildValidated(AircraftAssignmentDTO aircraftAssignmentDTO,
+                                              Map<Integer, Aircraft> aircrafts,
+                                              Map<Integer, Flight> flights,
+                                              Map<Integer, Set<LocalDate>> assignedDates,
+                                              List<AssignmentReservations.Key> reservedKeys) {
+        if (aircraftAssignmentDTO.getAircraftId() == null || aircraftAssignmentDTO.getFlightId() == null || aircraftAssignmentDTO.getDate() == null) {
+            throw new BadRequestException("Aircraft ID, flight ID and date must not be null");
+        }
+
+        Aircraft aircraft = aircrafts.get(aircraftAssignmentDTO.getAircraftId());
+        if (aircraft == null) {
+            throw new NotFoundException("Aircraft with ID " + aircraftAssignmentDTO.getAircraftId() + " not found");
+        }
+        Flight flight = flights.get(aircraftAssignmentDTO.getFlightId());
+        if (flight == null) {
+            throw new NotFoundException("Flight with ID " + aircraftAssignmentDTO.getFlightId() + " not found");
+        }
+
+        Set<LocalDate> aircraftDates = assignedDates.computeIfAbsent(aircraftAssignmentDTO.getAircraftId(), k -> new HashSet<>());
+        if (aircraftDates.contains(aircraftAssignmentDTO.getDate())) {
+            throw notAvailable(aircraftAssignmentDTO.getAircraftId(), aircraftAssignmentDTO.getDate());
         }
         validateAircraftRange(aircraft.getRange(), flight.getDistance());
 
-        AircraftAssignmentId newId = new AircraftAssignmentId();
-        newId.setAircraftId(aircraftAssignmentDTO.getAircraftId());
-        newId.setFlightId(aircraftAssignmentDTO.getFlightId());
-        newId.setDate(aircraftAssignmentDTO.getDate());
+        reservedKeys.add(reserve(aircraftAssignmentDTO.getAircraftId(), aircraftAssignmentDTO.getDate()));
 
-        aircraftAssignment.setId(newId);
+        AircraftAssignmentId id = new AircraftAssignmentId();
+        id.setAircraftId(aircraftAssignmentDTO.getAircraftId());
+        id.setFlightId(aircraftAssignmentDTO.getFlightId());
+        id.setDate(aircraftAssignmentDTO.getDate());
+
+        AircraftAssignment aircraftAssignment = new AircraftAssignment();
+        aircraftAssignment.setId(id);
         aircraftAssignment.setAircraft(aircraft);
         aircraftAssignment.setFlight(flight);
 
-        aircraftAssignmentRepository.deleteById(id);
-        return aircraftAssignmentRepository.save(aircraftAssignment);
+        aircraftDates.add(aircraftAssignmentDTO.getDate());
+        return aircraftAssignment;
     }
 
-    public void delete(AircraftAssignmentId id) {
-        aircraftAssignmentRepository.deleteById(id);
+    private AssignmentReservations.Key reserve(Integer aircraftId, LocalDate date) {
+        AssignmentReservations.Key key = new AssignmentReservations.Key(aircraftId, date);
+        if (!reservations.tryReserve(key)) {
+            // O alta cerere asigneaza chiar acum aceeasi resursa in aceeasi zi
+            throw notAvailable(aircraftId, date);
+        }
+        return key;
+    }
+
+    // Constrangerea unica (aircraft_id, date) opreste si dublele asignari create de alte instante ale aplicatiei
+    private AircraftAssignment saveReserved(AircraftAssignment aircraftAssignment) {
+        try {
+            return aircraftAssignmentRepository.saveAndFlush(aircraftAssignment);
+        } catch (DataIntegrityViolationException ex) {
+            throw notAvailable(aircraftAssignment.getId().getAircraftId(), aircraftAssignment.getId().getDate());
+        }
+    }
+
+    private void updateKey(AircraftAssignmentId id, AircraftAssignmentId newId) {
+        int updated;
+        try {
+            updated = aircraftAssignmentRepository.updateKey(id, newId.getAircraftId(), newId.getFlightId(), newId.getDate());
+        } catch (DataIntegrityViolationException ex) {
+            throw notAvailable(newId.getAircraftId(), newId.getDate());
+        }
+        if (updated == 0) {
+            throw new NotFoundException("AircraftAssignment with ID " + id + " not found");
+        }
+    }
+
+    private BadRequestException notAvailable(Integer aircraftId, LocalDate date) {
+        return new BadRequestException("Aircraft with ID " + aircraftId + " is not available on " + date);
     }
 
     private void validateAircraftAvailability(Integer aircraftId, LocalDate date) {
-        List<AircraftAssignment> assignments = aircraftAssignmentRepository.findByIdAircraftIdAndIdDateBetween(aircraftId, date, date);
-        if (!assignments.isEmpty()) {
-            throw new BadRequestException("Aircraft with ID " + aircraftId + " is not available on " + date);
+        if (aircraftAssignmentRepository.existsByIdAircraftIdAndIdDate(aircraftId, date)) {
+            throw notAvailable(aircraftId, date);
         }
     }
 
@@ -115,4 +319,38 @@ public class AircraftAssignmentService {
             throw new BadRequestException("Aircraft range is not enough for this flight");
         }
     }
+
+    private static AircraftAssignmentId viewKey(AircraftAssignmentView view) {
+        AircraftAssignmentId id = new AircraftAssignmentId();
+        id.setAircraftId(view.getAircraftId());
+        id.setFlightId(view.getFlightId());
+        id.setDate(view.getDate());
+        return id;
+    }
+
+    // O aeronava are cel mult o asignare pe zi, deci cursorul retine doar (aircraftId, date)
+    private static String encodeCursorKey(AircraftAssignmentId id) {
+        return id.getAircraftId() + "/" + id.getDate();
+    }
+
+    private static AircraftAssignmentId decodeCursorKey(String key) {
+        String[] parts = key.split("/");
+        AircraftAssignmentId id = new AircraftAssignmentId();
+        id.setAircraftId(Integer.valueOf(parts[0]));
+        id.setDate(LocalDate.parse(parts[1]));
+        return id;
+    }
+
+    private static AircraftAssignmentId parseKey(String key) {
+        try {
+            String[] parts = key.split("/");
+            AircraftAssignmentId id = new AircraftAssignmentId();
+            id.setAircraftId(Integer.valueOf(parts[0]));
+            id.setFlightId(Integer.valueOf(parts[1]));
+            id.setDate(LocalDate.parse(parts[2]));
+            return id;
+        } catch (RuntimeException ex) {
+            throw new BadRequestException("Invalid assignment ID " + key + ", expected aircraftId/flightId/date");
+        }
+    }
 }
\ No newline at end of file
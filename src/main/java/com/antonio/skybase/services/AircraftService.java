@@ -1,19 +1,21 @@
 package com.antonio.skybase.services;
 
 import com.antonio.skybase.entities.Aircraft;
-import com.antonio.skybase.entities.AircraftAssignment;
+import com.antonio.skybase.entities.Flight;
 import com.antonio.skybase.exceptions.BadRequestException;
 import com.antonio.skybase.exceptions.NotFoundException;
 import com.antonio.skybase.repositories.AircraftAssignmentRepository;
 import com.antonio.skybase.repositories.AircraftRepository;
+import com.antonio.skybase.responses.CursorPage;
+import com.antonio.skybase.responses.MultiGetResult;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
-import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.Map;
 
 @Service
 public class AircraftService {
@@ -23,6 +25,10 @@ public class AircraftService {
     @Autowired
     private AircraftAssignmentRepository aircraftAssignmentRepository;
 
+    @Autowired
+    private FlightService flightService;
+
+    @Transactional
     public Aircraft create(Aircraft aircraft) {
         if (aircraftRepository.existsByRegistration(aircraft.getRegistration())) {
             throw new BadRequestException("Aircraft with registration " + aircraft.getRegistration() + " already exists");
@@ -31,31 +37,63 @@ public class AircraftService {
         return aircraftRepository.save(aircraft);
     }
 
-    public List<Aircraft> getAll() {
-        return aircraftRepository.findAll();
+    @Transactional(readOnly = true)
+    public CursorPage<Aircraft> getPage(String cursor, Integer size) {
+        return KeysetPaginator.byId(Aircraft::getId, aircraftRepository::findAllByOrderByIdAsc, aircraftRepository::findByIdGreaterThanOrderByIdAsc)
+                .getPage(cursor, size);
     }
 
+    @Transactional(readOnly = true)
     public Aircraft getById(Integer id) {
         return aircraftRepository.findById(id).orElseThrow(() -> new NotFoundException("Aircraft with ID " + id + " not found"));
     }
 
-    public List<Aircraft> getAvailableAircraftByDate(LocalDate date) {
-        return aircraftRepository.findAvailableAircraftByDate(date);
+    @Transactional(readOnly = true)
+    public MultiGetResult<Aircraft, Integer> getByIds(List<Integer> ids) {
+        return MultiGet.find(ids, aircraftRepository::findAllById, Aircraft::getId);
+    }
+
+    // Cu flightId, doar aeronavele a caror autonomie acopera distanta zborului
+    @Transactional(readOnly = true)
+    public CursorPage<Aircraft> getAvailableAircraftByDate(LocalDate date, Integer flightId, String cursor, Integer size) {
+        Integer minRange = flightId == null ? null : validateFlightExists(flightId).getDistance();
+        return KeysetPaginator.byId(Aircraft::getId,
+                        limit -> aircraftRepository.findAvailableAircraftByDate(date, minRange, 0, limit),
+                        (afterId, limit) -> aircraftRepository.findAvailableAircraftByDate(date, minRange, afterId, limit))
+                .getPage(cursor, size);
     }
 
+    @Transactional(readOnly = true)
     public List<LocalDate> getAircraftAvailabilities(Integer id, LocalDate startDate, LocalDate endDate) {
-        List<AircraftAssignment> aircraftAssignments = aircraftAssignmentRepository.findByIdAircraftIdAndIdDateBetween(id, startDate, endDate);
+        return buildAircraftCalendar(id, startDate, endDate).getFreeDays();
+    }
+
+    @Transactional(readOnly = true)
+    public List<LocalDate> getFirstAircraftAvailabilities(Integer id, LocalDate startDate, LocalDate endDate, int count) {
+        return buildAircraftCalendar(id, startDate, endDate).getFirstFreeDays(count);
+    }
+
+    @Transactional(readOnly = true)
+    public Map<Integer, List<LocalDate>> getAircraftAvailabilities(List<Integer> ids, LocalDate startDate, LocalDate endDate) {
+        if (ids.size() > MultiGet.MAX_IDS) {
+            throw new BadRequestException("Number of aircraft must not exceed " + MultiGet.MAX_IDS);
+        }
+        Map<Integer, AvailabilityCalendar> calendars = new LinkedHashMap<>();
+        for (Integer id : ids) {
+            calendars.put(id, new AvailabilityCalendar(startDate, endDate));
+        }
 
-        List<LocalDate> assignedDates = aircraftAssignments.stream()
-                .map(assignment -> assignment.getId().getDate())
-                .toList();
+        if (!calendars.isEmpty()) {
+            aircraftAssignmentRepository.findKeysByAircraftIdsAndDateRange(calendars.keySet(), startDate, endDate)
+                    .forEach(assignment -> calendars.get(assignment.getAircraftId()).occupy(assignment.getDate()));
+        }
 
-        return Stream.iterate(startDate, date -> date.plusDays(1))
-                .limit(ChronoUnit.DAYS.between(startDate, endDate) + 1)
-                .filter(date -> !assignedDates.contains(date))
-                .collect(Collectors.toList());
+        Map<Integer, List<LocalDate>> availabilities = new LinkedHashMap<>();
+        calendars.forEach((id, calendar) -> availabilities.put(id, calendar.getFreeDays()));
+        return availabilities;
     }
 
+    @Transactional
     public Aircraft update(Integer id, Aircraft aircraft) {
         if (aircraftRepository.existsByRegistration(aircraft.getRegistration()) && !aircraftRepository.findByRegistration(aircraft.getRegistration()).getId().equals(id)) {
             throw new BadRequestException("Aircraft with registration " + aircraft.getRegistration() + " already exists");
@@ -69,7 +107,22 @@ public class AircraftService {
         return aircraftRepository.save(aircraftToUpdate);
     }
 
+    @Transactional
     public void delete(Integer id) {
         aircraftRepository.deleteById(id);
     }
+
+    private Flight validateFlightExists(Integer flightId) {
+        try {
+            return flightService.getById(flightId);
+        } catch (NotFoundException ex) {
+            throw new BadRequestException("Flight with ID " + flightId + " does not exist");
+        }
+    }
+
+    private AvailabilityCalendar buildAircraftCalendar(Integer id, LocalDate startDate, LocalDate endDate) {
+        AvailabilityCalendar calendar = new AvailabilityCalendar(startDate, endDate);
+        aircraftAssignmentRepository.findAssignedDates(id, startDate, endDate).forEach(calendar::occupy);
+        return calendar;
+    }
 }
\ No newline at end of file
@@ -1,14 +1,20 @@
 package com.antonio.skybase.services;
 
+import com.antonio.skybase.config.CacheConfig;
 import com.antonio.skybase.dtos.AirportDTO;
 import com.antonio.skybase.entities.Airport;
 import com.antonio.skybase.entities.City;
 import com.antonio.skybase.exceptions.BadRequestException;
 import com.antonio.skybase.exceptions.NotFoundException;
 import com.antonio.skybase.repositories.AirportRepository;
-import com.antonio.skybase.repositories.CityRepository;
+import com.antonio.skybase.responses.CursorPage;
+import com.antonio.skybase.responses.MultiGetResult;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -18,8 +24,16 @@ public class AirportService {
     private AirportRepository airportRepository;
 
     @Autowired
-    private CityRepository cityRepository;
+    private ObjectMapper objectMapper;
 
+    @Autowired
+    private ResourceVersions resourceVersions;
+
+    @Autowired
+    private CityService cityService;
+
+    @CacheEvict(cacheNames = {CacheConfig.AIRPORTS, CacheConfig.RESPONSES}, allEntries = true)
+    @Transactional
     public Airport create(AirportDTO airportDTO) {
         if (airportRepository.existsByCode(airportDTO.getCode())) {
             throw new BadRequestException("Airport with code " + airportDTO.getCode() + " already exists");
@@ -32,17 +46,37 @@ public class AirportService {
         airport.setCode(airportDTO.getCode());
         airport.setCity(city);
 
+        resourceVersions.increment(ResourceVersions.AIRPORTS);
         return airportRepository.save(airport);
     }
 
-    public List<Airport> getAll() {
-        return airportRepository.findAll();
+    @Cacheable(cacheNames = CacheConfig.AIRPORTS, key = "'page:' + @resourceVersions.tag('countries', 'cities', 'airports') + ':' + #cursor + ':' + #size")
+    @Transactional(readOnly = true)
+    public CursorPage<Airport> getPage(String cursor, Integer size) {
+        return KeysetPaginator.byId(Airport::getId, airportRepository::findAllByOrderByIdAsc, airportRepository::findByIdGreaterThanOrderByIdAsc)
+                .getPage(cursor, size);
     }
 
+    // Pagina deja serializata, pentru raspunsurile JSON ale endpoint-ului GET /airports
+    @Cacheable(cacheNames = CacheConfig.RESPONSES, key = "'airports:' + @resourceVersions.tag('countries', 'cities', 'airports') + ':' + #cursor + ':' + #size")
+    @Transactional(readOnly = true)
+    public EncodedJson getEncodedPage(String cursor, Integer size) {
+        return EncodedJson.encode(objectMapper, getPage(cursor, size));
+    }
+
+    @Cacheable(cacheNames = CacheConfig.AIRPORTS, key = "#id")
+    @Transactional(readOnly = true)
     public Airport getById(Integer id) {
         return airportRepository.findById(id).orElseThrow(() -> new NotFoundException("Airport with ID " + id + " not found"));
     }
 
+    @Transactional(readOnly = true)
+    public MultiGetResult<Airport, Integer> getByIds(List<Integer> ids) {
+        return MultiGet.find(ids, airportRepository::findAllById, Airport::getId);
+    }
+
+    @CacheEvict(cacheNames = {CacheConfig.AIRPORTS, CacheConfig.RESPONSES}, allEntries = true)
+    @Transactional
     public Airport update(Integer id, AirportDTO airportDTO) {
         if (airportRepository.existsByCode(airportDTO.getCode()) && !airportRepository.findByCode(airportDTO.getCode()).getId().equals(id)) {
             throw new BadRequestException("Airport with code " + airportDTO.getCode() + " already exists");
@@ -56,14 +90,22 @@ public class AirportService {
         airportToUpdate.setCode(airportDTO.getCode());
         airportToUpdate.setCity(city);
 
+        resourceVersions.increment(ResourceVersions.AIRPORTS);
         return airportRepository.save(airportToUpdate);
     }
 
+    @CacheEvict(cacheNames = {CacheConfig.AIRPORTS, CacheConfig.RESPONSES}, allEntries = true)
+    @Transactional
     public void delete(Integer id) {
         airportRepository.deleteById(id);
+        resourceVersions.increment(ResourceVersions.AIRPORTS);
     }
 
     private City validateCityExists(Integer cityId) {
-        return cityRepository.findById(cityId).orElseThrow(() -> new BadRequestException("City with ID " + cityId + " does not exist"));
+        try {
+            return cityService.getById(cityId);
+        } catch (NotFoundException ex) {
+            throw new BadRequestException("City with ID " + cityId + " does not exist");
+        }
     }
 }
\ No newline at end of file
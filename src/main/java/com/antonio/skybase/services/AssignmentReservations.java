@@ -0,0 +1,50 @@
+package com.antonio.skybase.services;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Rezervarile in curs ale perechilor (resursa, data) pe durata crearii unei asignari.
+// Doua cereri concurente pentru aceeasi resursa in aceeasi zi nu ajung amandoua la baza de date: a doua esueaza
+// imediat, fara sa astepte dupa prima. Cererile pentru perechi diferite nu se blocheaza intre ele.
+// Rezervarile sunt locale instantei; intre instante, dubla asignare este oprita de constrangerea unica din baza de date.
+public class AssignmentReservations {
+    public record Key(Integer resourceId, LocalDate date) {
+    }
+
+    private final Set<Key> reserved = ConcurrentHashMap.newKeySet();
+
+    public boolean tryReserve(Key key) {
+        return reserved.add(key);
+    }
+
+    public void release(Key key) {
+        reserved.remove(key);
+    }
+
+    // Intr-o tranzactie, rezervarile sunt eliberate abia dupa commit sau rollback, cand randurile sunt vizibile
+    // celorlalte cereri sau au disparut
+    public void releaseAfterCompletion(Collection<Key> keys) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            keys.forEach(reserved::remove);
+            return;
+        }
+
+        List<Key> toRelease = List.copyOf(keys);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                toRelease.forEach(reserved::remove);
+            }
+        });
+    }
+
+    public int size() {
+        return reserved.size();
+    }
+}
@@ -0,0 +1,69 @@
+package com.antonio.skybase.services;
+
+import com.antonio.skybase.exceptions.BadRequestException;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+// Calendarul de disponibilitate al unei resurse (angajat sau aeronava) pe un interval de date.
+// Zilele ocupate sunt tinute intr-un bitset indexat dupa epoch day, relativ la inceputul intervalului,
+// iar zilele libere se obtin cu nextClearBit, care sare peste cate 64 de zile ocupate odata.
+public class AvailabilityCalendar {
+    public static final int MAX_DAYS = 3660;
+
+    private final long startEpochDay;
+    private final int days;
+    private final BitSet occupiedDays;
+
+    public AvailabilityCalendar(LocalDate startDate, LocalDate endDate) {
+        if (endDate.isBefore(startDate)) {
+            throw new BadRequestException("End date must not be before start date");
+        }
+
+        long rangeDays = ChronoUnit.DAYS.between(startDate, endDate) + 1;
+        if (rangeDays > MAX_DAYS) {
+            throw new BadRequestException("Date range must not exceed " + MAX_DAYS + " days");
+        }
+
+        this.startEpochDay = startDate.toEpochDay();
+        this.days = (int) rangeDays;
+        this.occupiedDays = new BitSet(days);
+    }
+
+    public void occupy(LocalDate date) {
+        long index = date.toEpochDay() - startEpochDay;
+        if (index >= 0 && index < days) {
+            occupiedDays.set((int) index);
+        }
+    }
+
+    public boolean isFree(LocalDate date) {
+        long index = date.toEpochDay() - startEpochDay;
+        return index >= 0 && index < days && !occupiedDays.get((int) index);
+    }
+
+    public int countFreeDays() {
+        return days - occupiedDays.cardinality();
+    }
+
+    public List<LocalDate> getFreeDays() {
+        return getFirstFreeDays(days);
+    }
+
+    public List<LocalDate> getFirstFreeDays(int count) {
+        if (count < 1) {
+            throw new BadRequestException("Number of free days must be positive");
+        }
+
+        List<LocalDate> freeDays = new ArrayList<>(Math.min(count, countFreeDays()));
+        for (int index = occupiedDays.nextClearBit(0);
+             index < days && freeDays.size() < count;
+             index = occupiedDays.nextClearBit(index + 1)) {
+            freeDays.add(LocalDate.ofEpochDay(startEpochDay + index));
+        }
+        return freeDays;
+    }
+}
@@ -0,0 +1,48 @@
+package com.antonio.skybase.services;
+
+import com.antonio.skybase.config.CacheConfig;
+import com.antonio.skybase.responses.CacheStatistics;
+import com.antonio.skybase.responses.RegionStatistics;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.List;
+
+@Service
+public class CacheService {
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    public List<CacheStatistics> getStatistics() {
+        return CacheConfig.CACHE_NAMES.stream()
+                .map(name -> {
+                    Cache<Object, Object> cache = CacheConfig.nativeCache(cacheManager, name);
+                    CacheStats stats = cache.stats();
+                    return new CacheStatistics(name, cache.estimatedSize(), stats.hitCount(), stats.missCount(), stats.hitRate(), stats.evictionCount());
+                })
+                .toList();
+    }
+
+    // Regiunile cache-ului de nivel 2 al Hibernate (entitati si query cache)
+    public List<RegionStatistics> getSecondLevelStatistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        return Arrays.stream(statistics.getSecondLevelCacheRegionNames())
+                .sorted()
+                .map(name -> {
+                    CacheRegionStatistics region = statistics.getCacheRegionStatistics(name);
+                    return new RegionStatistics(name, region.getElementCountInMemory(), region.getHitCount(), region.getMissCount(), region.getPutCount());
+                })
+                .toList();
+    }
+}
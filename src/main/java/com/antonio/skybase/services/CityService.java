@@ -1,14 +1,20 @@
 package com.antonio.skybase.services;
 
+import com.antonio.skybase.config.CacheConfig;
 import com.antonio.skybase.dtos.CityDTO;
 import com.antonio.skybase.entities.City;
 import com.antonio.skybase.entities.Country;
 import com.antonio.skybase.exceptions.BadRequestException;
 import com.antonio.skybase.exceptions.NotFoundException;
 import com.antonio.skybase.repositories.CityRepository;
-import com.antonio.skybase.repositories.CountryRepository;
+import com.antonio.skybase.responses.CursorPage;
+import com.antonio.skybase.responses.MultiGetResult;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -18,37 +24,73 @@ public class CityService {
     private CityRepository cityRepository;
 
     @Autowired
-    private CountryRepository countryRepository;
+    private ObjectMapper objectMapper;
 
+    @Autowired
+    private ResourceVersions resourceVersions;
+
+    @Autowired
+    private CountryService countryService;
+
+    @CacheEvict(cacheNames = {CacheConfig.CITIES, CacheConfig.AIRPORTS, CacheConfig.RESPONSES}, allEntries = true)
+    @Transactional
     public City create(CityDTO cityDTO) {
         Country country = validateCountryExists(cityDTO.getCountryId());
         City city = new City();
         city.setName(cityDTO.getName());
         city.setCountry(country);
+        resourceVersions.increment(ResourceVersions.CITIES);
         return cityRepository.save(city);
     }
 
-    public List<City> getAll() {
-        return cityRepository.findAll();
+    @Cacheable(cacheNames = CacheConfig.CITIES, key = "'page:' + @resourceVersions.tag('countries', 'cities') + ':' + #cursor + ':' + #size")
+    @Transactional(readOnly = true)
+    public CursorPage<City> getPage(String cursor, Integer size) {
+        return KeysetPaginator.byId(City::getId, cityRepository::findAllByOrderByIdAsc, cityRepository::findByIdGreaterThanOrderByIdAsc)
+                .getPage(cursor, size);
     }
 
+    // Pagina deja serializata, pentru raspunsurile JSON ale endpoint-ului GET /cities
+    @Cacheable(cacheNames = CacheConfig.RESPONSES, key = "'cities:' + @resourceVersions.tag('countries', 'cities') + ':' + #cursor + ':' + #size")
+    @Transactional(readOnly = true)
+    public EncodedJson getEncodedPage(String cursor, Integer size) {
+        return EncodedJson.encode(objectMapper, getPage(cursor, size));
+    }
+
+    @Cacheable(cacheNames = CacheConfig.CITIES, key = "#id")
+    @Transactional(readOnly = true)
     public City getById(Integer id) {
         return cityRepository.findById(id).orElseThrow(() -> new NotFoundException("City with ID " + id + " not found"));
     }
 
+    @Transactional(readOnly = true)
+    public MultiGetResult<City, Integer> getByIds(List<Integer> ids) {
+        return MultiGet.find(ids, cityRepository::findAllById, City::getId);
+    }
+
+    @CacheEvict(cacheNames = {CacheConfig.CITIES, CacheConfig.AIRPORTS, CacheConfig.RESPONSES}, allEntries = true)
+    @Transactional
     public City update(Integer id, CityDTO cityDTO) {
         City cityToUpdate = cityRepository.findById(id).orElseThrow(() -> new NotFoundException("City with ID " + id + " not found"));
         Country country = validateCountryExists(cityDTO.getCountryId());
         cityToUpdate.setName(cityDTO.getName());
         cityToUpdate.setCountry(country);
+        resourceVersions.increment(ResourceVersions.CITIES);
         return cityRepository.save(cityToUpdate);
     }
 
+    @CacheEvict(cacheNames = {CacheConfig.CITIES, CacheConfig.AIRPORTS, CacheConfig.RESPONSES}, allEntries = true)
+    @Transactional
     public void delete(Integer id) {
         cityRepository.deleteById(id);
+        resourceVersions.increment(ResourceVersions.CITIES);
     }
 
     private Country validateCountryExists(Integer countryId) {
-        return countryRepository.findById(countryId).orElseThrow(() -> new BadRequestException("Country with ID " + countryId + " does not exist"));
+        try {
+            return countryService.getById(countryId);
+        } catch (NotFoundException ex) {
+            throw new BadRequestException("Country with ID " + countryId + " does not exist");
+        }
     }
 }
\ No newline at end of file
@@ -1,11 +1,18 @@
 package com.antonio.skybase.services;
 
+import com.antonio.skybase.config.CacheConfig;
 import com.antonio.skybase.entities.Country;
 import com.antonio.skybase.exceptions.BadRequestException;
 import com.antonio.skybase.exceptions.NotFoundException;
 import com.antonio.skybase.repositories.CountryRepository;
+import com.antonio.skybase.responses.CursorPage;
+import com.antonio.skybase.responses.MultiGetResult;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -14,22 +21,50 @@ public class CountryService {
     @Autowired
     private CountryRepository countryRepository;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ResourceVersions resourceVersions;
+
+    @CacheEvict(cacheNames = {CacheConfig.COUNTRIES, CacheConfig.CITIES, CacheConfig.AIRPORTS, CacheConfig.RESPONSES}, allEntries = true)
+    @Transactional
     public Country create(Country country) {
         if (countryRepository.existsByCode(country.getCode())) {
             throw new BadRequestException("Country with code " + country.getCode() + " already exists");
         }
 
+        resourceVersions.increment(ResourceVersions.COUNTRIES);
         return countryRepository.save(country);
     }
 
-    public List<Country> getAll() {
-        return countryRepository.findAll();
+    @Cacheable(cacheNames = CacheConfig.COUNTRIES, key = "'page:' + @resourceVersions.tag('countries') + ':' + #cursor + ':' + #size")
+    @Transactional(readOnly = true)
+    public CursorPage<Country> getPage(String cursor, Integer size) {
+        return KeysetPaginator.byId(Country::getId, countryRepository::findAllByOrderByIdAsc, countryRepository::findByIdGreaterThanOrderByIdAsc)
+                .getPage(cursor, size);
     }
 
+    // Pagina deja serializata, pentru raspunsurile JSON ale endpoint-ului GET /countries
+    @Cacheable(cacheNames = CacheConfig.RESPONSES, key = "'countries:' + @resourceVersions.tag('countries') + ':' + #cursor + ':' + #size")
+    @Transactional(readOnly = true)
+    public EncodedJson getEncodedPage(String cursor, Integer size) {
+        return EncodedJson.encode(objectMapper, getPage(cursor, size));
+    }
+
+    @Cacheable(cacheNames = CacheConfig.COUNTRIES, key = "#id")
+    @Transactional(readOnly = true)
     public Country getById(Integer id) {
         return countryRepository.findById(id).orElseThrow(() -> new NotFoundException("Country with ID " + id + " not found"));
     }
 
+    @Transactional(readOnly = true)
+    public MultiGetResult<Country, Integer> getByIds(List<Integer> ids) {
+        return MultiGet.find(ids, countryRepository::findAllById, Country::getId);
+    }
+
+    @CacheEvict(cacheNames = {CacheConfig.COUNTRIES, CacheConfig.CITIES, CacheConfig.AIRPORTS, CacheConfig.RESPONSES}, allEntries = true)
+    @Transactional
     public Country update(Integer id, Country country) {
         if (countryRepository.existsByCode(country.getCode()) && !countryRepository.findByCode(country.getCode()).getId().equals(id)) {
             throw new BadRequestException("Country with code " + country.getCode() + " already exists");
@@ -40,10 +75,14 @@ public class CountryService {
         countryToUpdate.setName(country.getName());
         countryToUpdate.setCode(country.getCode());
 
+        resourceVersions.increment(ResourceVersions.COUNTRIES);
         return countryRepository.save(countryToUpdate);
     }
 
+    @CacheEvict(cacheNames = {CacheConfig.COUNTRIES, CacheConfig.CITIES, CacheConfig.AIRPORTS, CacheConfig.RESPONSES}, allEntries = true)
+    @Transactional
     public void delete(Integer id) {
         countryRepository.deleteById(id);
+        resourceVersions.increment(ResourceVersions.COUNTRIES);
     }
 }
@@ -1,10 +1,17 @@
 package com.antonio.skybase.services;
 
+import com.antonio.skybase.config.CacheConfig;
 import com.antonio.skybase.entities.Department;
 import com.antonio.skybase.exceptions.NotFoundException;
 import com.antonio.skybase.repositories.DepartmentRepository;
+import com.antonio.skybase.responses.CursorPage;
+import com.antonio.skybase.responses.MultiGetResult;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -13,25 +20,57 @@ public class DepartmentService {
     @Autowired
     private DepartmentRepository departmentRepository;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ResourceVersions resourceVersions;
+
+    @CacheEvict(cacheNames = {CacheConfig.DEPARTMENTS, CacheConfig.JOBS, CacheConfig.RESPONSES}, allEntries = true)
+    @Transactional
     public Department create(Department department) {
+        resourceVersions.increment(ResourceVersions.DEPARTMENTS);
         return departmentRepository.save(department);
     }
 
-    public List<Department> getAll() {
-        return departmentRepository.findAll();
+    @Cacheable(cacheNames = CacheConfig.DEPARTMENTS, key = "'page:' + @resourceVersions.tag('departments') + ':' + #cursor + ':' + #size")
+    @Transactional(readOnly = true)
+    public CursorPage<Department> getPage(String cursor, Integer size) {
+        return KeysetPaginator.byId(Department::getId, departmentRepository::findAllByOrderByIdAsc, departmentRepository::findByIdGreaterThanOrderByIdAsc)
+                .getPage(cursor, size);
     }
 
+    // Pagina deja serializata, pentru raspunsurile JSON ale endpoint-ului GET /departments
+    @Cacheable(cacheNames = CacheConfig.RESPONSES, key = "'departments:' + @resourceVersions.tag('departments') + ':' + #cursor + ':' + #size")
+    @Transactional(readOnly = true)
+    public EncodedJson getEncodedPage(String cursor, Integer size) {
+        return EncodedJson.encode(objectMapper, getPage(cursor, size));
+    }
+
+    @Cacheable(cacheNames = CacheConfig.DEPARTMENTS, key = "#id")
+    @Transactional(readOnly = true)
     public Department getById(Integer id) {
         return departmentRepository.findById(id).orElseThrow(() -> new NotFoundException("Department with ID " + id + " not found"));
     }
 
+    @Transactional(readOnly = true)
+    public MultiGetResult<Department, Integer> getByIds(List<Integer> ids) {
+        return MultiGet.find(ids, departmentRepository::findAllById, Department::getId);
+    }
+
+    @CacheEvict(cacheNames = {CacheConfig.DEPARTMENTS, CacheConfig.JOBS, CacheConfig.RESPONSES}, allEntries = true)
+    @Transactional
     public Department update(Integer id, Department department) {
         Department departmentToUpdate = departmentRepository.findById(id).orElseThrow(() -> new NotFoundException("Department with ID " + id + " not found"));
         departmentToUpdate.setName(department.getName());
+        resourceVersions.increment(ResourceVersions.DEPARTMENTS);
         return departmentRepository.save(departmentToUpdate);
     }
 
+    @CacheEvict(cacheNames = {CacheConfig.DEPARTMENTS, CacheConfig.JOBS, CacheConfig.RESPONSES}, allEntries = true)
+    @Transactional
     public void delete(Integer id) {
         departmentRepository.deleteById(id);
+        resourceVersions.increment(ResourceVersions.DEPARTMENTS);
     }
 }
\ No newline at end of file
@@ -7,15 +7,32 @@ import com.antonio.skybase.exceptions.NotFoundException;
 import com.antonio.skybase.repositories.EmployeeAssignmentRepository;
 import com.antonio.skybase.repositories.EmployeeRepository;
 import com.antonio.skybase.repositories.FlightRepository;
+import com.antonio.skybase.responses.BulkItemResult;
+import com.antonio.skybase.responses.CursorPage;
+import com.antonio.skybase.responses.EmployeeAssignmentView;
+import com.antonio.skybase.responses.MultiGetResult;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import jakarta.validation.Valid;
+import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDate;
-import java.util.List;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class EmployeeAssignmentService {
+    public static final int MAX_BULK_SIZE = 5000;
+
     @Autowired
     private EmployeeAssignmentRepository employeeAssignmentRepository;
 
@@ -25,93 +42,321 @@ public class EmployeeAssignmentService {
     @Autowired
     private FlightRepository flightRepository;
 
+    @Autowired
+    private ExportMappers exportMappers;
+
+    @Autowired
+    private ResourceVersions resourceVersions;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final AssignmentReservations reservations = new AssignmentReservations();
+
+    @Transactional
     public EmployeeAssignment create(EmployeeAssignmentDTO employeeAssignmentDTO) {
-        Employee employee = employeeRepository.findById(employeeAssignmentDTO.getEmployeeId())
-                .orElseThrow(() -> new NotFoundException("Employee with ID " + employeeAssignmentDTO.getEmployeeId() + " not found"));
-        Flight flight = flightRepository.findById(employeeAssignmentDTO.getFlightId())
-                .orElseThrow(() -> new NotFoundException("Flight with ID " + employeeAssignmentDTO.getFlightId() + " not found"));
+        AssignmentReservations.Key key = reserve(employeeAssignmentDTO.getEmployeeId(), employeeAssignmentDTO.getDate());
+        try {
+            Employee employee = employeeRepository.findById(employeeAssignmentDTO.getEmployeeId())
+                    .orElseThrow(() -> new NotFoundException("Employee with ID " + employeeAssignmentDTO.getEmployeeId() + " not found"));
+            Flight flight = flightRepository.findById(employeeAssignmentDTO.getFlightId())
+                    .orElseThrow(() -> new NotFoundException("Flight with ID " + employeeAssignmentDTO.getFlightId() + " not found"));
 
-        validateEmployeeAvailability(employeeAssignmentDTO.getEmployeeId(), employeeAssignmentDTO.getDate());
-        validateEmployeeJob(employee.getJob());
+            validateEmployeeAvailability(employeeAssignmentDTO.getEmployeeId(), employeeAssignmentDTO.getDate());
+            validateEmployeeJob(employee.getJob());
 
-        EmployeeAssignmentId id = new EmployeeAssignmentId();
-        id.setEmployeeId(employeeAssignmentDTO.getEmployeeId());
-        id.setFlightId(employeeAssignmentDTO.getFlightId());
-        id.setDate(employeeAssignmentDTO.getDate());
+            EmployeeAssignmentId id = new EmployeeAssignmentId();
+            id.setEmployeeId(employeeAssignmentDTO.getEmployeeId());
+            id.setFlightId(employeeAssignmentDTO.getFlightId());
+            id.setDate(employeeAssignmentDTO.getDate());
 
-        EmployeeAssignment employeeAssignment = new EmployeeAssignment();
-        employeeAssignment.setId(id);
-        employeeAssignment.setEmployee(employee);
-        employeeAssignment.setFlight(flight);
+            EmployeeAssignment employeeAssignment = new EmployeeAssignment();
+            employeeAssignment.setId(id);
+            employeeAssignment.setEmployee(employee);
+            employeeAssignment.setFlight(flight);
+
+            resourceVersions.increment(ResourceVersions.employeeAssignments(id.getDate()));
+            return saveReserved(employeeAssignment);
+        } finally {
+            reservations.releaseAfterCompletion(List.of(key));
+        }
+    }
 
-        return employeeAssignmentRepository.save(employeeAssignment);
+    // Creare in bloc: resursele si zborurile referite sunt citite cu cate un query IN, iar disponibilitatea
+    // este verificata in memorie, inclusiv intre randurile aceleiasi cereri. Randurile valide sunt inserate
+    // cu persist si ajung in baza de date la flush, grupate in batch-uri JDBC (hibernate.jdbc.batch_size).
+    // Rezultatul contine cate o intrare pentru fiecare rand, in ordinea din cerere.
+    @Transactional
+    public List<BulkItemResult<EmployeeAssignmentId>> createAll(List<EmployeeAssignmentDTO> employeeAssignmentDTOs) {
+        if (employeeAssignmentDTOs.isEmpty() || employeeAssignmentDTOs.size() > MAX_BULK_SIZE) {
+            throw new BadRequestException("Number of assignments must be between 1 and " + MAX_BULK_SIZE);
+        }
+
+        Set<Integer> employeeIds = new HashSet<>();
+        Set<Integer> flightIds = new HashSet<>();
+        LocalDate startDate = null;
+        LocalDate endDate = null;
+        for (EmployeeAssignmentDTO employeeAssignmentDTO : employeeAssignmentDTOs) {
+            if (employeeAssignmentDTO.getEmployeeId() == null || employeeAssignmentDTO.getFlightId() == null || employeeAssignmentDTO.getDate() == null) {
+                continue;
+            }
+            employeeIds.add(employeeAssignmentDTO.getEmployeeId());
+            flightIds.add(employeeAssignmentDTO.getFlightId());
+            if (startDate == null || employeeAssignmentDTO.getDate().isBefore(startDate)) {
+                startDate = employeeAssignmentDTO.getDate();
+            }
+            if (endDate == null || employeeAssignmentDTO.getDate().isAfter(endDate)) {
+                endDate = employeeAssignmentDTO.getDate();
+            }
+        }
+
+        Map<Integer, Employee> employees = employeeRepository.findByIdIn(employeeIds).stream()
+                .collect(Collectors.toMap(Employee::getId, Function.identity()));
+        Map<Integer, Flight> flights = flightRepository.findAllById(flightIds).stream()
+                .collect(Collectors.toMap(Flight::getId, Function.identity()));
+        Map<Integer, Set<LocalDate>> assignedDates = new HashMap<>();
+        if (startDate != null) {
+            employeeAssignmentRepository.findKeysByEmployeeIdsAndDateRange(employeeIds, startDate, endDate)
+                    .forEach(key -> assignedDates.computeIfAbsent(key.getEmployeeId(), k -> new HashSet<>()).add(key.getDate()));
+        }
+
+        List<BulkItemResult<EmployeeAssignmentId>> results = new ArrayList<>(employeeAssignmentDTOs.size());
+        List<AssignmentReservations.Key> reservedKeys = new ArrayList<>();
+        try {
+            for (int index = 0; index < employeeAssignmentDTOs.size(); index++) {
+                EmployeeAssignmentDTO employeeAssignmentDTO = employeeAssignmentDTOs.get(index);
+                try {
+                    EmployeeAssignment employeeAssignment = buildValidated(employeeAssignmentDTO, employees, flights, assignedDates, reservedKeys);
+                    entityManager.persist(employeeAssignment);
+                    results.add(new BulkItemResult<>(index, HttpStatus.CREATED.value(), employeeAssignment.getId(), null));
+                } catch (NotFoundException ex) {
+                    results.add(new BulkItemResult<>(index, HttpStatus.NOT_FOUND.value(), null, ex.getMessage()));
+                } catch (BadRequestException ex) {
+                    results.add(new BulkItemResult<>(index, HttpStatus.BAD_REQUEST.value(), null, ex.getMessage()));
+                }
+            }
+
+            entityManager.flush();
+            resourceVersions.increment(results.stream()
+                    .filter(result -> result.getId() != null)
+                    .map(result -> ResourceVersions.employeeAssignments(result.getId().getDate()))
+                    .toList());
+        } catch (ConstraintViolationException ex) {
+            // Alta instanta a aplicatiei a asignat intre timp aceeasi resursa in aceeasi zi
+            throw new BadRequestException("Assignments conflict with concurrently created assignments, none were saved");
+        } finally {
+            reservations.releaseAfterCompletion(reservedKeys);
+        }
+        return results;
+    }
+
+    // Paginile si cautarile intorc view-uri, cu doar campurile cerute prin fields
+    @Transactional(readOnly = true)
+    public CursorPage<EmployeeAssignmentView> getPage(String cursor, Integer size, String fields) {
+        return new KeysetPaginator<>(
+                EmployeeAssignmentService::viewKey,
+                EmployeeAssignmentService::encodeCursorKey,
+                EmployeeAssignmentService::decodeCursorKey,
+                limit -> employeeAssignmentRepository.findViews(fields, null, limit),
+                (id, limit) -> employeeAssignmentRepository.findViews(fields, id, limit)
+        ).getPage(cursor, size);
     }
 
-    public List<EmployeeAssignment> getAll() {
-        return employeeAssignmentRepository.findAll();
+    // Export in flux (NDJSON, secventa CBOR sau Smile): randurile sunt citite printr-un cursor al bazei de date si scrise
+    // pe rand in output stream, fara a incarca tabela in memorie. Tranzactia tine cursorul deschis pe durata exportului.
+    @Transactional(readOnly = true)
+    public void export(OutputStream outputStream, ExportFormat format) throws IOException {
+        try (Stream<EmployeeAssignmentDTO> rows = employeeAssignmentRepository.streamAllForExport()) {
+            format.write(rows, exportMappers, outputStream);
+        }
     }
 
-    public EmployeeAssignment getById(EmployeeAssignmentId id) {
-        return employeeAssignmentRepository.findById(id)
+    @Transactional(readOnly = true)
+    public EmployeeAssignmentView getViewById(EmployeeAssignmentId id, String fields) {
+        return employeeAssignmentRepository.findViewById(fields, id)
                 .orElseThrow(() -> new NotFoundException("EmployeeAssignment with ID " + id + " not found"));
     }
 
-    public List<EmployeeAssignment> getAssignmentsByDate(LocalDate date) {
-        return employeeAssignmentRepository.findByIdDate(date);
+    // Cheile sunt date ca employeeId/flightId/date, la fel ca in caile endpoint-urilor
+    @Transactional(readOnly = true)
+    public MultiGetResult<EmployeeAssignmentView, EmployeeAssignmentId> getViewsByIds(List<String> ids, String fields) {
+        List<EmployeeAssignmentId> keys = ids.stream().map(EmployeeAssignmentService::parseKey).toList();
+        return MultiGet.find(keys, found -> employeeAssignmentRepository.findViewsByIds(fields, found), EmployeeAssignmentService::viewKey);
+    }
+
+    @Transactional(readOnly = true)
+    public List<EmployeeAssignmentView> getAssignmentsByDate(LocalDate date, String fields) {
+        return employeeAssignmentRepository.findViewsByDate(fields, date);
     }
 
-    public List<EmployeeAssignment> getAssignmentsByEmployeeAndDateRange(Integer employeeId, LocalDate startDate, LocalDate endDate) {
-        return employeeAssignmentRepository.findByIdEmployeeIdAndIdDateBetween(employeeId, startDate, endDate);
+    @Transactional(readOnly = true)
+    public List<EmployeeAssignmentView> getAssignmentsByEmployeeAndDateRange(Integer employeeId, LocalDate startDate, LocalDate endDate, String fields) {
+        return employeeAssignmentRepository.findViewsByEmployee(fields, employeeId, startDate, endDate);
     }
 
-    public List<EmployeeAssignment> getAssignmentsByFlightAndDateRange(Integer flightId, LocalDate startDate, LocalDate endDate) {
-        return employeeAssignmentRepository.findByIdFlightIdAndIdDateBetween(flightId, startDate, endDate);
+    @Transactional(readOnly = true)
+    public List<EmployeeAssignmentView> getAssignmentsByFlightAndDateRange(Integer flightId, LocalDate startDate, LocalDate endDate, String fields) {
+        return employeeAssignmentRepository.findViewsByFlight(fields, flightId, startDate, endDate);
     }
 
+    // Cheia este schimbata printr-un singur UPDATE, fara a citi, sterge si reinsera randul
+    @Transactional
     public EmployeeAssignment update(EmployeeAssignmentId id, @Valid EmployeeAssignmentDTO employeeAssignmentDTO) {
-        EmployeeAssignment employeeAssignment = employeeAssignmentRepository.findById(id)
-                .orElseThrow(() -> new NotFoundException("EmployeeAssignment with ID " + id + " not found"));
+        boolean rescheduled = !id.getEmployeeId().equals(employeeAssignmentDTO.getEmployeeId()) || !id.getDate().equals(employeeAssignmentDTO.getDate());
+        AssignmentReservations.Key key = rescheduled ? reserve(employeeAssignmentDTO.getEmployeeId(), employeeAssignmentDTO.getDate()) : null;
+        try {
+            Employee employee = employeeRepository.findById(employeeAssignmentDTO.getEmployeeId())
+                    .orElseThrow(() -> new NotFoundException("Employee with ID " + employeeAssignmentDTO.getEmployeeId() + " not found"));
+            Flight flight = flightRepository.findById(employeeAssignmentDTO.getFlightId())
+                    .orElseThrow(() -> new NotFoundException("Flight with ID " + employeeAssignmentDTO.getFlightId() + " not found"));
 
-        Employee employee = employeeRepository.findById(employeeAssignmentDTO.getEmployeeId())
-                .orElseThrow(() -> new NotFoundException("Employee with ID " + employeeAssignmentDTO.getEmployeeId() + " not found"));
-        Flight flight = flightRepository.findById(employeeAssignmentDTO.getFlightId())
-                .orElseThrow(() -> new NotFoundException("Flight with ID " + employeeAssignmentDTO.getFlightId() + " not found"));
+            if (rescheduled) {
+                validateEmployeeAvailability(employeeAssignmentDTO.getEmployeeId(), employeeAssignmentDTO.getDate());
+            }
+            validateEmployeeJob(employee.getJob());
 
-        if (!employeeAssignment.getId().getEmployeeId().equals(employeeAssignmentDTO.getEmployeeId())) {
-            validateEmployeeAvailability(employeeAssignmentDTO.getEmployeeId(), employeeAssignmentDTO.getDate());
+            EmployeeAssignmentId newId = new EmployeeAssignmentId();
+            newId.setEmployeeId(employeeAssignmentDTO.getEmployeeId());
+            newId.setFlightId(employeeAssignmentDTO.getFlightId());
+            newId.setDate(employeeAssignmentDTO.getDate());
+            updateKey(id, newId);
+            resourceVersions.increment(ResourceVersions.employeeAssignments(id.getDate()), ResourceVersions.employeeAssignments(newId.getDate()));
+
+            EmployeeAssignment employeeAssignment = new EmployeeAssignment();
+            employeeAssignment.setId(newId);
+            employeeAssignment.setEmployee(employee);
+            employeeAssignment.setFlight(flight);
+            return employeeAssignment;
+        } finally {
+            if (key != null) {
+                reservations.releaseAfterCompletion(List.of(key));
+            }
+        }
+    }
+
+    @Transactional
+    public void delete(EmployeeAssignmentId id) {
+        employeeAssignmentRepository.deleteById(id);
+        resourceVersions.increment(ResourceVersions.employeeAssignments(id.getDate()));
+    }
+
+    private EmployeeAssignment buildValidated(EmployeeAssignmentDTO employeeAssignmentDTO,
+                                              Map<Integer, Employee> employees,
+                                              Map<Integer, Flight> flights,
+                                              Map<Integer, Set<LocalDate>> assignedDates,
+                                              List<AssignmentReservations.Key> reservedKeys) {
+        if (employeeAssignmentDTO.getEmployeeId() == null || employeeAssignmentDTO.getFlightId() == null || employeeAssignmentDTO.getDate() == null) {
+            throw new BadRequestException("Employee ID, flight ID and date must not be null");
+        }
+
+        Employee employee = employees.get(employeeAssignmentDTO.getEmployeeId());
+        if (employee == null) {
+            throw new NotFoundException("Employee with ID " + employeeAssignmentDTO.getEmployeeId() + " not found");
+        }
+        Flight flight = flights.get(employeeAssignmentDTO.getFlightId());
+        if (flight == null) {
+            throw new NotFoundException("Flight with ID " + employeeAssignmentDTO.getFlightId() + " not found");
+        }
+
+        Set<LocalDate> employeeDates = assignedDates.computeIfAbsent(employeeAssignmentDTO.getEmployeeId(), k -> new HashSet<>());
+        if (employeeDates.contains(employeeAssignmentDTO.getDate())) {
+            throw notAvailable(employeeAssignmentDTO.getEmployeeId(), employeeAssignmentDTO.getDate());
         }
         validateEmployeeJob(employee.getJob());
 
-        EmployeeAssignmentId newId = new EmployeeAssignmentId();
-        newId.setEmployeeId(employeeAssignmentDTO.getEmployeeId());
-        newId.setFlightId(employeeAssignmentDTO.getFlightId());
-        newId.setDate(employeeAssignmentDTO.getDate());
+        reservedKeys.add(reserve(employeeAssignmentDTO.getEmployeeId(), employeeAssignmentDTO.getDate()));
+
+        EmployeeAssignmentId id = new EmployeeAssignmentId();
+        id.setEmployeeId(employeeAssignmentDTO.getEmployeeId());
+        id.setFlightId(employeeAssignmentDTO.getFlightId());
+        id.setDate(employeeAssignmentDTO.getDate());
 
-        employeeAssignment.setId(newId);
+        EmployeeAssignment employeeAssignment = new EmployeeAssignment();
+        employeeAssignment.setId(id);
         employeeAssignment.setEmployee(employee);
         employeeAssignment.setFlight(flight);
 
-        employeeAssignmentRepository.deleteById(id);
-        return employeeAssignmentRepository.save(employeeAssignment);
+        employeeDates.add(employeeAssignmentDTO.getDate());
+        return employeeAssignment;
     }
 
-    public void delete(EmployeeAssignmentId id) {
-        employeeAssignmentRepository.deleteById(id);
+    private AssignmentReservations.Key reserve(Integer employeeId, LocalDate date) {
+        AssignmentReservations.Key key = new AssignmentReservations.Key(employeeId, date);
+        if (!reservations.tryReserve(key)) {
+            // O alta cerere asigneaza chiar acum aceeasi resursa in aceeasi zi
+            throw notAvailable(employeeId, date);
+        }
+        return key;
+    }
+
+    // Constrangerea unica (employee_id, date) opreste si dublele asignari create de alte instante ale aplicatiei
+    private EmployeeAssignment saveReserved(EmployeeAssignment employeeAssignment) {
+        try {
+            return employeeAssignmentRepository.saveAndFlush(employeeAssignment);
+        } catch (DataIntegrityViolationException ex) {
+            throw notAvailable(employeeAssignment.getId().getEmployeeId(), employeeAssignment.getId().getDate());
+        }
+    }
+
+    private void updateKey(EmployeeAssignmentId id, EmployeeAssignmentId newId) {
+        int updated;
+        try {
+            updated = employeeAssignmentRepository.updateKey(id, newId.getEmployeeId(), newId.getFlightId(), newId.getDate());
+        } catch (DataIntegrityViolationException ex) {
+            throw notAvailable(newId.getEmployeeId(), newId.getDate());
+        }
+        if (updated == 0) {
+            throw new NotFoundException("EmployeeAssignment with ID " + id + " not found");
+        }
+    }
+
+    private BadRequestException notAvailable(Integer employeeId, LocalDate date) {
+        return new BadRequestException("Employee with ID " + employeeId + " is not available on " + date);
     }
 
     private void validateEmployeeAvailability(Integer employeeId, LocalDate date) {
-        List<EmployeeAssignment> assignments = employeeAssignmentRepository.findByIdEmployeeIdAndIdDateBetween(employeeId, date, date);
-        if (!assignments.isEmpty()) {
-            throw new BadRequestException("Employee with ID " + employeeId + " is not available on " + date);
+        if (employeeAssignmentRepository.existsByIdEmployeeIdAndIdDate(employeeId, date)) {
+            throw notAvailable(employeeId, date);
         }
     }
 
     private void validateEmployeeJob(Job job) {
-        if (!(
-                job.getDepartment().getId().equals(1) // Echipaj de zbor
-                || job.getDepartment().getId().equals(2) // Personal de cabina
-        )) {
+        if (!Department.FLIGHT_DEPARTMENT_IDS.contains(job.getDepartment().getId())) {
             throw new BadRequestException("Employee with job " + job.getTitle() + " cannot be assigned to a flight");
         }
     }
+
+    private static EmployeeAssignmentId viewKey(EmployeeAssignmentView view) {
+        EmployeeAssignmentId id = new EmployeeAssignmentId();
+        id.setEmployeeId(view.getEmployeeId());
+        id.setFlightId(view.getFlightId());
+        id.setDate(view.getDate());
+        return id;
+    }
+
+    // Un angajat are cel mult o asignare pe zi, deci cursorul retine doar (employeeId, date)
+    private static String encodeCursorKey(EmployeeAssignmentId id) {
+        return id.getEmployeeId() + "/" + id.getDate();
+    }
+
+    private static EmployeeAssignmentId decodeCursorKey(String key) {
+        String[] parts = key.split("/");
+        EmployeeAssignmentId id = new EmployeeAssignmentId();
+        id.setEmployeeId(Integer.valueOf(parts[0]));
+        id.setDate(LocalDate.parse(parts[1]));
+        return id;
+    }
+
+    private static EmployeeAssignmentId parseKey(String key) {
+        try {
+            String[] parts = key.split("/");
+            EmployeeAssignmentId id = new EmployeeAssignmentId();
+            id.setEmployeeId(Integer.valueOf(parts[0]));
+            id.setFlightId(Integer.valueOf(parts[1]));
+            id.setDate(LocalDate.parse(parts[2]));
+            return id;
+        } catch (RuntimeException ex) {
+            throw new BadRequestException("Invalid assignment ID " + key + ", expected employeeId/flightId/date");
+        }
+    }
 }
\ No newline at end of file
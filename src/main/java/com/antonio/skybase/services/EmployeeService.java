@@ -1,34 +1,51 @@
 package com.antonio.skybase.services;
 
 import com.antonio.skybase.dtos.EmployeeDTO;
+import com.antonio.skybase.entities.Department;
 import com.antonio.skybase.entities.Employee;
-import com.antonio.skybase.entities.EmployeeAssignment;
 import com.antonio.skybase.entities.Job;
 import com.antonio.skybase.exceptions.BadRequestException;
 import com.antonio.skybase.exceptions.NotFoundException;
 import com.antonio.skybase.repositories.EmployeeAssignmentRepository;
 import com.antonio.skybase.repositories.EmployeeRepository;
 import com.antonio.skybase.repositories.JobRepository;
+import com.antonio.skybase.responses.CursorPage;
+import com.antonio.skybase.responses.MultiGetResult;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
-import java.time.temporal.ChronoUnit;
-import java.util.List;
+import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 @Service
 public class EmployeeService {
+    public static final int MAX_IMPORT_SIZE = 5000;
+
     @Autowired
     private EmployeeRepository employeeRepository;
 
+    @Autowired
+    private ResourceVersions resourceVersions;
+
     @Autowired
     private JobRepository jobRepository;
 
+    @Autowired
+    private JobService jobService;
+
     @Autowired
     private EmployeeAssignmentRepository employeeAssignmentRepository;
 
+    @Autowired
+    private Validator validator;
+
+    @Transactional
     public Employee create(EmployeeDTO employeeDTO) {
         Job job = validateJobExists(employeeDTO.getJobId());
         Employee manager = employeeDTO.getManagerId() != null ? validateEmployeeExists(employeeDTO.getManagerId()) : null;
@@ -43,34 +60,124 @@ public class EmployeeService {
         employee.setFlightHours(employeeDTO.getFlightHours());
         employee.setManager(manager);
 
+        resourceVersions.increment(ResourceVersions.EMPLOYEES);
         return employeeRepository.save(employee);
     }
 
-    public List<Employee> getAll() {
-        return employeeRepository.findAll();
+    // Import in bloc, totul sau nimic. Job-urile si managerii (care trebuie sa existe deja) sunt cititi cu cate un query IN,
+    // iar pentru ca id-urile sunt alocate din tabelul de id-uri, insert-urile sunt trimise in batch-uri JDBC.
+    @Transactional
+    public List<Employee> importAll(List<EmployeeDTO> employeeDTOs) {
+        if (employeeDTOs.isEmpty() || employeeDTOs.size() > MAX_IMPORT_SIZE) {
+            throw new BadRequestException("Number of employees must be between 1 and " + MAX_IMPORT_SIZE);
+        }
+
+        Set<ConstraintViolation<EmployeeDTO>> violations = new HashSet<>();
+        employeeDTOs.forEach(employeeDTO -> violations.addAll(validator.validate(employeeDTO)));
+        if (!violations.isEmpty()) {
+            throw new ConstraintViolationException(violations);
+        }
+
+        Set<Integer> jobIds = new HashSet<>();
+        Set<Integer> managerIds = new HashSet<>();
+        for (EmployeeDTO employeeDTO : employeeDTOs) {
+            jobIds.add(employeeDTO.getJobId());
+            if (employeeDTO.getManagerId() != null) {
+                managerIds.add(employeeDTO.getManagerId());
+            }
+        }
+
+        Map<Integer, Job> jobs = jobRepository.findAllById(jobIds).stream()
+                .collect(Collectors.toMap(Job::getId, Function.identity()));
+        Map<Integer, Employee> managers = managerIds.isEmpty() ? Map.of() : employeeRepository.findAllById(managerIds).stream()
+                .collect(Collectors.toMap(Employee::getId, Function.identity()));
+
+        List<Employee> employees = new ArrayList<>(employeeDTOs.size());
+        for (EmployeeDTO employeeDTO : employeeDTOs) {
+            Job job = jobs.get(employeeDTO.getJobId());
+            if (job == null) {
+                throw new BadRequestException("Job with ID " + employeeDTO.getJobId() + " does not exist");
+            }
+            Employee manager = null;
+            if (employeeDTO.getManagerId() != null) {
+                manager = managers.get(employeeDTO.getManagerId());
+                if (manager == null) {
+                    throw new BadRequestException("Employee with ID " + employeeDTO.getManagerId() + " does not exist");
+                }
+            }
+
+            Employee employee = new Employee();
+            employee.setFirstName(employeeDTO.getFirstName());
+            employee.setLastName(employeeDTO.getLastName());
+            employee.setPhoneNumber(employeeDTO.getPhoneNumber());
+            employee.setEmail(employeeDTO.getEmail());
+            employee.setSalary(employeeDTO.getSalary());
+            employee.setJob(job);
+            employee.setFlightHours(employeeDTO.getFlightHours());
+            employee.setManager(manager);
+            employees.add(employee);
+        }
+
+        resourceVersions.increment(ResourceVersions.EMPLOYEES);
+        return employeeRepository.saveAll(employees);
     }
 
+    @Transactional(readOnly = true)
+    public CursorPage<Employee> getPage(String cursor, Integer size) {
+        return KeysetPaginator.byId(Employee::getId, employeeRepository::findAllByOrderByIdAsc, employeeRepository::findByIdGreaterThanOrderByIdAsc)
+                .getPage(cursor, size);
+    }
+
+    @Transactional(readOnly = true)
     public Employee getById(Integer id) {
         return employeeRepository.findById(id).orElseThrow(() -> new NotFoundException("Employee with ID " + id + " not found"));
     }
 
-    public List<Employee> getAvailableEmployeesByDate(LocalDate date) {
-        return employeeRepository.findAvailableEmployeesByDate(date);
+    @Transactional(readOnly = true)
+    public MultiGetResult<Employee, Integer> getByIds(List<Integer> ids) {
+        return MultiGet.find(ids, employeeRepository::findAllById, Employee::getId);
+    }
+
+    // Doar angajatii care pot fi asignati pe zboruri, paginat dupa id
+    @Transactional(readOnly = true)
+    public CursorPage<Employee> getAvailableEmployeesByDate(LocalDate date, String cursor, Integer size) {
+        return KeysetPaginator.byId(Employee::getId,
+                        limit -> employeeRepository.findAvailableEmployeesByDate(date, Department.FLIGHT_DEPARTMENT_IDS, 0, limit),
+                        (afterId, limit) -> employeeRepository.findAvailableEmployeesByDate(date, Department.FLIGHT_DEPARTMENT_IDS, afterId, limit))
+                .getPage(cursor, size);
     }
 
+    @Transactional(readOnly = true)
     public List<LocalDate> getEmployeeAvailabilities(Integer id, LocalDate startDate, LocalDate endDate) {
-        List<EmployeeAssignment> employeeAssignments = employeeAssignmentRepository.findByIdEmployeeIdAndIdDateBetween(id, startDate, endDate);
+        return buildEmployeeCalendar(id, startDate, endDate).getFreeDays();
+    }
 
-        List<LocalDate> assignedDates = employeeAssignments.stream()
-                .map(assignment -> assignment.getId().getDate())
-                .toList();
+    @Transactional(readOnly = true)
+    public List<LocalDate> getFirstEmployeeAvailabilities(Integer id, LocalDate startDate, LocalDate endDate, int count) {
+        return buildEmployeeCalendar(id, startDate, endDate).getFirstFreeDays(count);
+    }
 
-        return Stream.iterate(startDate, date -> date.plusDays(1))
-                .limit(ChronoUnit.DAYS.between(startDate, endDate) + 1)
-                .filter(date -> !assignedDates.contains(date))
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public Map<Integer, List<LocalDate>> getEmployeeAvailabilities(List<Integer> ids, LocalDate startDate, LocalDate endDate) {
+        if (ids.size() > MultiGet.MAX_IDS) {
+            throw new BadRequestException("Number of employees must not exceed " + MultiGet.MAX_IDS);
+        }
+        Map<Integer, AvailabilityCalendar> calendars = new LinkedHashMap<>();
+        for (Integer id : ids) {
+            calendars.put(id, new AvailabilityCalendar(startDate, endDate));
+        }
+
+        if (!calendars.isEmpty()) {
+            employeeAssignmentRepository.findKeysByEmployeeIdsAndDateRange(calendars.keySet(), startDate, endDate)
+                    .forEach(assignment -> calendars.get(assignment.getEmployeeId()).occupy(assignment.getDate()));
+        }
+
+        Map<Integer, List<LocalDate>> availabilities = new LinkedHashMap<>();
+        calendars.forEach((id, calendar) -> availabilities.put(id, calendar.getFreeDays()));
+        return availabilities;
     }
 
+    @Transactional
     public Employee update(Integer id, EmployeeDTO employeeDTO) {
         Employee employeeToUpdate = employeeRepository.findById(id).orElseThrow(() -> new NotFoundException("Employee with ID " + id + " not found"));
         Job job = validateJobExists(employeeDTO.getJobId());
@@ -85,18 +192,31 @@ public class EmployeeService {
         employeeToUpdate.setFlightHours(employeeDTO.getFlightHours());
         employeeToUpdate.setManager(manager);
 
+        resourceVersions.increment(ResourceVersions.EMPLOYEES);
         return employeeRepository.save(employeeToUpdate);
     }
 
+    @Transactional
     public void delete(Integer id) {
         employeeRepository.deleteById(id);
+        resourceVersions.increment(ResourceVersions.EMPLOYEES);
     }
 
     private Job validateJobExists(Integer jobId) {
-        return jobRepository.findById(jobId).orElseThrow(() -> new BadRequestException("Job with ID " + jobId + " does not exist"));
+        try {
+            return jobService.getById(jobId);
+        } catch (NotFoundException ex) {
+            throw new BadRequestException("Job with ID " + jobId + " does not exist");
+        }
     }
 
     private Employee validateEmployeeExists(Integer employeeId) {
         return employeeRepository.findById(employeeId).orElseThrow(() -> new BadRequestException("Employee with ID " + employeeId + " does not exist"));
     }
+
+    private AvailabilityCalendar buildEmployeeCalendar(Integer id, LocalDate startDate, LocalDate endDate) {
+        AvailabilityCalendar calendar = new AvailabilityCalendar(startDate, endDate);
+        employeeAssignmentRepository.findAssignedDates(id, startDate, endDate).forEach(calendar::occupy);
+        return calendar;
+    }
 }
\ No newline at end of file
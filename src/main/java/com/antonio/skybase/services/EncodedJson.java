@@ -0,0 +1,85 @@
+package com.antonio.skybase.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Comparator;
+import java.util.zip.GZIPOutputStream;
+
+// Corpul JSON al unui raspuns, deja serializat, impreuna cu varianta lui comprimata cu gzip. Serviciile il pastreaza in
+// cache-ul RESPONSES, iar controller-ele il trimit ca atare, fara Jackson, alegand varianta dupa Accept-Encoding.
+public record EncodedJson(byte[] json, byte[] gzip) {
+    private static final MediaType SMILE = MediaType.parseMediaType(ExportFormat.SMILE_VALUE);
+
+    public static EncodedJson encode(ObjectMapper objectMapper, Object value) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(value);
+            ByteArrayOutputStream gzip = new ByteArrayOutputStream(json.length / 4 + 64);
+            try (GZIPOutputStream output = new GZIPOutputStream(gzip)) {
+                output.write(json);
+            }
+            return new EncodedJson(json, gzip.toByteArray());
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Response could not be serialized", ex);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    // Dimensiunea in octeti, folosita drept greutate in cache
+    public int size() {
+        return json.length + gzip.length;
+    }
+
+    // Raspunsul poate fi JSON daca clientul nu cere un format binar (CBOR, Smile) inaintea lui
+    public static boolean isAcceptable(WebRequest request) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        if (accept == null || accept.isBlank()) {
+            return true;
+        }
+        for (MediaType type : MediaType.parseMediaTypes(accept).stream()
+                .sorted(Comparator.comparingDouble(MediaType::getQualityValue).reversed())
+                .toList()) {
+            if (type.getQualityValue() > 0 && type.includes(MediaType.APPLICATION_JSON)) {
+                return true;
+            }
+            if (type.includes(MediaType.APPLICATION_CBOR) || type.includes(SMILE)) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    public ResponseEntity<byte[]> toResponse(WebRequest request, String etag) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING);
+        if (etag != null) {
+            response.eTag(etag);
+        }
+        if (acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING))) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(gzip);
+        }
+        return response.body(json);
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length < 2 || !parts[1].trim().replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+}
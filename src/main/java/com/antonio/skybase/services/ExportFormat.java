@@ -0,0 +1,74 @@
+package com.antonio.skybase.services;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.MediaType;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+// Formatele exporturilor in flux, alese dupa header-ul Accept: NDJSON (un obiect JSON pe linie), secventa de
+// obiecte CBOR (RFC 8742) sau de obiecte Smile. ObjectMapper-ul fiecarui format vine din ExportMappers.
+public enum ExportFormat {
+    NDJSON(MediaType.APPLICATION_NDJSON_VALUE, false),
+    CBOR_SEQ(ExportFormat.CBOR_SEQ_VALUE, true),
+    SMILE(ExportFormat.SMILE_VALUE, true);
+
+    public static final String CBOR_SEQ_VALUE = "application/cbor-seq";
+    public static final String SMILE_VALUE = "application/x-jackson-smile";
+
+    private final MediaType mediaType;
+    private final boolean binary;
+
+    ExportFormat(String mediaType, boolean binary) {
+        this.mediaType = MediaType.parseMediaType(mediaType);
+        this.binary = binary;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    // Primul format acceptat, in ordinea preferintelor clientului; fara Accept sau pentru */* exportul este NDJSON.
+    // Daca niciun format nu este acceptat, raspunsul este 406
+    public static ExportFormat negotiate(String accept) throws HttpMediaTypeNotAcceptableException {
+        if (accept == null || accept.isBlank()) {
+            return NDJSON;
+        }
+        List<MediaType> accepted = MediaType.parseMediaTypes(accept).stream()
+                .sorted(Comparator.comparingDouble(MediaType::getQualityValue).reversed())
+                .toList();
+        for (MediaType type : accepted) {
+            for (ExportFormat format : values()) {
+                if (type.includes(format.mediaType)) {
+                    return format;
+                }
+            }
+        }
+        throw new HttpMediaTypeNotAcceptableException(Arrays.stream(values()).map(ExportFormat::getMediaType).toList());
+    }
+
+    public <T> void write(Stream<T> rows, ExportMappers mappers, OutputStream outputStream) throws IOException {
+        ObjectMapper mapper = mappers.get(this);
+        try (JsonGenerator generator = mapper.createGenerator(outputStream)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            if (!binary) {
+                generator.setRootValueSeparator(null);
+            }
+
+            Iterator<T> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                generator.writeObject(iterator.next());
+                if (!binary) {
+                    generator.writeRaw('\n');
+                }
+            }
+        }
+    }
+}
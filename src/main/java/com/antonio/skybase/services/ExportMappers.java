@@ -0,0 +1,16 @@
+package com.antonio.skybase.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+// ObjectMapper-ele exporturilor, construite o singura data in JacksonConfig: cel pentru JSON si cele ale convertorilor
+// CBOR si Smile, copii ale lui cu aceleasi module, deci cu aceeasi schema
+public record ExportMappers(ObjectMapper json, ObjectMapper cbor, ObjectMapper smile) {
+
+    public ObjectMapper get(ExportFormat format) {
+        return switch (format) {
+            case NDJSON -> json;
+            case CBOR_SEQ -> cbor;
+            case SMILE -> smile;
+        };
+    }
+}
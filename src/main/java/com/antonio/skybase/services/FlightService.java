@@ -7,19 +7,40 @@ import com.antonio.skybase.exceptions.BadRequestException;
 import com.antonio.skybase.exceptions.NotFoundException;
 import com.antonio.skybase.repositories.AirportRepository;
 import com.antonio.skybase.repositories.FlightRepository;
+import com.antonio.skybase.responses.CursorPage;
+import com.antonio.skybase.responses.FlightView;
+import com.antonio.skybase.responses.MultiGetResult;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class FlightService {
+    public static final int MAX_IMPORT_SIZE = 5000;
+
     @Autowired
     private FlightRepository flightRepository;
 
+    @Autowired
+    private ResourceVersions resourceVersions;
+
     @Autowired
     private AirportRepository airportRepository;
 
+    @Autowired
+    private AirportService airportService;
+
+    @Autowired
+    private Validator validator;
+
+    @Transactional
     public Flight create(FlightDTO flightDTO) {
         if (flightRepository.existsByNumber(flightDTO.getNumber())) {
             throw new BadRequestException("Flight with number " + flightDTO.getNumber() + " already exists");
@@ -36,17 +57,83 @@ public class FlightService {
         flight.setArrivalTime(flightDTO.getArrivalTime());
         flight.setDistance(flightDTO.getDistance());
 
+        resourceVersions.increment(ResourceVersions.FLIGHTS);
         return flightRepository.save(flight);
     }
 
-    public List<Flight> getAll() {
-        return flightRepository.findAll();
+    // Import in bloc, totul sau nimic. Aeroporturile si numerele de zbor existente sunt verificate cu cate un query IN,
+    // iar pentru ca id-urile sunt alocate din tabelul de id-uri, insert-urile sunt trimise in batch-uri JDBC.
+    @Transactional
+    public List<Flight> importAll(List<FlightDTO> flightDTOs) {
+        if (flightDTOs.isEmpty() || flightDTOs.size() > MAX_IMPORT_SIZE) {
+            throw new BadRequestException("Number of flights must be between 1 and " + MAX_IMPORT_SIZE);
+        }
+
+        Set<ConstraintViolation<FlightDTO>> violations = new HashSet<>();
+        flightDTOs.forEach(flightDTO -> violations.addAll(validator.validate(flightDTO)));
+        if (!violations.isEmpty()) {
+            throw new ConstraintViolationException(violations);
+        }
+
+        Set<String> numbers = new HashSet<>();
+        Set<Integer> airportIds = new HashSet<>();
+        for (FlightDTO flightDTO : flightDTOs) {
+            if (!numbers.add(flightDTO.getNumber())) {
+                throw new BadRequestException("Flight with number " + flightDTO.getNumber() + " appears more than once");
+            }
+            airportIds.add(flightDTO.getDepartureAirportId());
+            airportIds.add(flightDTO.getArrivalAirportId());
+        }
+
+        List<String> existingNumbers = flightRepository.findNumbersIn(numbers);
+        if (!existingNumbers.isEmpty()) {
+            throw new BadRequestException("Flight with number " + existingNumbers.get(0) + " already exists");
+        }
+
+        Map<Integer, Airport> airports = airportRepository.findAllById(airportIds).stream()
+                .collect(Collectors.toMap(Airport::getId, Function.identity()));
+
+        List<Flight> flights = new ArrayList<>(flightDTOs.size());
+        for (FlightDTO flightDTO : flightDTOs) {
+            Flight flight = new Flight();
+            flight.setNumber(flightDTO.getNumber());
+            flight.setDepartureAirport(findImportedAirport(airports, flightDTO.getDepartureAirportId()));
+            flight.setArrivalAirport(findImportedAirport(airports, flightDTO.getArrivalAirportId()));
+            flight.setDepartureTime(flightDTO.getDepartureTime());
+            flight.setArrivalTime(flightDTO.getArrivalTime());
+            flight.setDistance(flightDTO.getDistance());
+            flights.add(flight);
+        }
+
+        resourceVersions.increment(ResourceVersions.FLIGHTS);
+        return flightRepository.saveAll(flights);
+    }
+
+    // Paginile si citirile dupa ID intorc view-uri, cu doar campurile cerute prin fields
+    @Transactional(readOnly = true)
+    public CursorPage<FlightView> getPage(String cursor, Integer size, String fields) {
+        return KeysetPaginator.byId(FlightView::getId,
+                        limit -> flightRepository.findViews(fields, null, limit),
+                        (afterId, limit) -> flightRepository.findViews(fields, afterId, limit))
+                .getPage(cursor, size);
+    }
+
+    @Transactional(readOnly = true)
+    public FlightView getViewById(Integer id, String fields) {
+        return flightRepository.findViewById(fields, id).orElseThrow(() -> new NotFoundException("Flight with ID " + id + " not found"));
     }
 
+    @Transactional(readOnly = true)
+    public MultiGetResult<FlightView, Integer> getViewsByIds(List<Integer> ids, String fields) {
+        return MultiGet.find(ids, keys -> flightRepository.findViewsByIds(fields, keys), FlightView::getId);
+    }
+
+    @Transactional(readOnly = true)
     public Flight getById(Integer id) {
         return flightRepository.findById(id).orElseThrow(() -> new NotFoundException("Flight with ID " + id + " not found"));
     }
 
+    @Transactional
     public Flight update(Integer id, FlightDTO flightDTO) {
         if (flightRepository.existsByNumber(flightDTO.getNumber()) && !flightRepository.findByNumber(flightDTO.getNumber()).getId().equals(id)) {
             throw new BadRequestException("Flight with number " + flightDTO.getNumber() + " already exists");
@@ -64,14 +151,29 @@ public class FlightService {
         flightToUpdate.setArrivalTime(flightDTO.getArrivalTime());
         flightToUpdate.setDistance(flightDTO.getDistance());
 
+        resourceVersions.increment(ResourceVersions.FLIGHTS);
         return flightRepository.save(flightToUpdate);
     }
 
+    @Transactional
     public void delete(Integer id) {
         flightRepository.deleteById(id);
+        resourceVersions.increment(ResourceVersions.FLIGHTS);
     }
 
     private Airport validateAirportExists(Integer airportId) {
-        return airportRepository.findById(airportId).orElseThrow(() -> new BadRequestException("Airport with ID " + airportId + " does not exist"));
+        try {
+            return airportService.getById(airportId);
+        } catch (NotFoundException ex) {
+            throw new BadRequestException("Airport with ID " + airportId + " does not exist");
+        }
+    }
+
+    private static Airport findImportedAirport(Map<Integer, Airport> airports, Integer airportId) {
+        Airport airport = airports.get(airportId);
+        if (airport == null) {
+            throw new BadRequestException("Airport with ID " + airportId + " does not exist");
+        }
+        return airport;
     }
 }
\ No newline at end of file
@@ -1,14 +1,20 @@
 package com.antonio.skybase.services;
 
+import com.antonio.skybase.config.CacheConfig;
 import com.antonio.skybase.dtos.JobDTO;
 import com.antonio.skybase.entities.Department;
 import com.antonio.skybase.entities.Job;
 import com.antonio.skybase.exceptions.BadRequestException;
 import com.antonio.skybase.exceptions.NotFoundException;
-import com.antonio.skybase.repositories.DepartmentRepository;
 import com.antonio.skybase.repositories.JobRepository;
+import com.antonio.skybase.responses.CursorPage;
+import com.antonio.skybase.responses.MultiGetResult;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -18,8 +24,16 @@ public class JobService {
     private JobRepository jobRepository;
 
     @Autowired
-    private DepartmentRepository departmentRepository;
+    private ObjectMapper objectMapper;
 
+    @Autowired
+    private DepartmentService departmentService;
+
+    @Autowired
+    private ResourceVersions resourceVersions;
+
+    @CacheEvict(cacheNames = {CacheConfig.JOBS, CacheConfig.RESPONSES}, allEntries = true)
+    @Transactional
     public Job create(JobDTO jobDTO) {
         Department department = validateDepartmentExists(jobDTO.getDepartmentId());
         Job job = new Job();
@@ -27,17 +41,37 @@ public class JobService {
         job.setMinSalary(jobDTO.getMinSalary());
         job.setMaxSalary(jobDTO.getMaxSalary());
         job.setDepartment(department);
+        resourceVersions.increment(ResourceVersions.JOBS);
         return jobRepository.save(job);
     }
 
-    public List<Job> getAll() {
-        return jobRepository.findAll();
+    @Cacheable(cacheNames = CacheConfig.JOBS, key = "'page:' + @resourceVersions.tag('departments', 'jobs') + ':' + #cursor + ':' + #size")
+    @Transactional(readOnly = true)
+    public CursorPage<Job> getPage(String cursor, Integer size) {
+        return KeysetPaginator.byId(Job::getId, jobRepository::findAllByOrderByIdAsc, jobRepository::findByIdGreaterThanOrderByIdAsc)
+                .getPage(cursor, size);
     }
 
+    // Pagina deja serializata, pentru raspunsurile JSON ale endpoint-ului GET /jobs
+    @Cacheable(cacheNames = CacheConfig.RESPONSES, key = "'jobs:' + @resourceVersions.tag('departments', 'jobs') + ':' + #cursor + ':' + #size")
+    @Transactional(readOnly = true)
+    public EncodedJson getEncodedPage(String cursor, Integer size) {
+        return EncodedJson.encode(objectMapper, getPage(cursor, size));
+    }
+
+    @Cacheable(cacheNames = CacheConfig.JOBS, key = "#id")
+    @Transactional(readOnly = true)
     public Job getById(Integer id) {
         return jobRepository.findById(id).orElseThrow(() -> new NotFoundException("Job with ID " + id + " not found"));
     }
 
+    @Transactional(readOnly = true)
+    public MultiGetResult<Job, Integer> getByIds(List<Integer> ids) {
+        return MultiGet.find(ids, jobRepository::findAllById, Job::getId);
+    }
+
+    @CacheEvict(cacheNames = {CacheConfig.JOBS, CacheConfig.RESPONSES}, allEntries = true)
+    @Transactional
     public Job update(Integer id, JobDTO jobDTO) {
         Job jobToUpdate = jobRepository.findById(id).orElseThrow(() -> new NotFoundException("Job with ID " + id + " not found"));
         Department department = validateDepartmentExists(jobDTO.getDepartmentId());
@@ -45,14 +79,22 @@ public class JobService {
         jobToUpdate.setMinSalary(jobDTO.getMinSalary());
         jobToUpdate.setMaxSalary(jobDTO.getMaxSalary());
         jobToUpdate.setDepartment(department);
+        resourceVersions.increment(ResourceVersions.JOBS);
         return jobRepository.save(jobToUpdate);
     }
 
+    @CacheEvict(cacheNames = {CacheConfig.JOBS, CacheConfig.RESPONSES}, allEntries = true)
+    @Transactional
     public void delete(Integer id) {
         jobRepository.deleteById(id);
+        resourceVersions.increment(ResourceVersions.JOBS);
     }
 
     private Department validateDepartmentExists(Integer departmentId) {
-        return departmentRepository.findById(departmentId).orElseThrow(() -> new BadRequestException("Department with ID " + departmentId + " does not exist"));
+        try {
+            return departmentService.getById(departmentId);
+        } catch (NotFoundException ex) {
+            throw new BadRequestException("Department with ID " + departmentId + " does not exist");
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,82 @@
+package com.antonio.skybase.services;
+
+import com.antonio.skybase.exceptions.BadRequestException;
+import com.antonio.skybase.responses.CursorPage;
+import org.springframework.data.domain.Limit;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+// Paginare keyset (dupa cheia primara) comuna pentru toate serviciile.
+// Cursorul este cheia ultimului rand intors, codificata opac in Base64 URL-safe.
+public class KeysetPaginator<T, K> {
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 500;
+
+    private final Function<T, K> keyExtractor;
+    private final Function<K, String> keyEncoder;
+    private final Function<String, K> keyDecoder;
+    private final Function<Limit, List<T>> firstPageQuery;
+    private final BiFunction<K, Limit, List<T>> nextPageQuery;
+
+    public KeysetPaginator(Function<T, K> keyExtractor,
+                           Function<K, String> keyEncoder,
+                           Function<String, K> keyDecoder,
+                           Function<Limit, List<T>> firstPageQuery,
+                           BiFunction<K, Limit, List<T>> nextPageQuery) {
+        this.keyExtractor = keyExtractor;
+        this.keyEncoder = keyEncoder;
+        this.keyDecoder = keyDecoder;
+        this.firstPageQuery = firstPageQuery;
+        this.nextPageQuery = nextPageQuery;
+    }
+
+    public static <T> KeysetPaginator<T, Integer> byId(Function<T, Integer> idExtractor,
+                                                       Function<Limit, List<T>> firstPageQuery,
+                                                       BiFunction<Integer, Limit, List<T>> nextPageQuery) {
+        return new KeysetPaginator<>(idExtractor, String::valueOf, Integer::valueOf, firstPageQuery, nextPageQuery);
+    }
+
+    public CursorPage<T> getPage(String cursor, Integer size) {
+        int pageSize = resolvePageSize(size);
+        // Se cere un rand in plus pentru a sti daca exista o pagina urmatoare
+        Limit limit = Limit.of(pageSize + 1);
+
+        List<T> rows = cursor == null || cursor.isBlank()
+                ? firstPageQuery.apply(limit)
+                : nextPageQuery.apply(decodeCursor(cursor), limit);
+
+        if (rows.size() <= pageSize) {
+            return new CursorPage<>(rows, null);
+        }
+
+        List<T> items = rows.subList(0, pageSize);
+        return new CursorPage<>(items, encodeCursor(keyExtractor.apply(items.get(pageSize - 1))));
+    }
+
+    private int resolvePageSize(Integer size) {
+        if (size == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new BadRequestException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        return size;
+    }
+
+    private String encodeCursor(K key) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(keyEncoder.apply(key).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private K decodeCursor(String cursor) {
+        try {
+            return keyDecoder.apply(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (RuntimeException ex) {
+            throw new BadRequestException("Invalid cursor " + cursor);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.antonio.skybase.services;
+
+import com.antonio.skybase.exceptions.BadRequestException;
+import com.antonio.skybase.responses.MultiGetResult;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+// Citire dupa o lista de chei (?ids=...), comuna pentru toate serviciile. Toate cheile sunt cautate cu un singur
+// query IN; randurile sunt intoarse in ordinea cheilor cerute (duplicatele o singura data), iar cheile pentru care nu
+// exista rand sunt raportate in missing.
+public final class MultiGet {
+    public static final int MAX_IDS = 100;
+
+    private MultiGet() {
+    }
+
+    public static <T, K> MultiGetResult<T, K> find(List<K> ids, Function<Collection<K>, List<T>> query, Function<T, K> keyExtractor) {
+        if (ids == null || ids.isEmpty() || ids.size() > MAX_IDS) {
+            throw new BadRequestException("Number of IDs must be between 1 and " + MAX_IDS);
+        }
+        Set<K> keys = new LinkedHashSet<>(ids);
+        if (keys.contains(null)) {
+            throw new BadRequestException("IDs must not be empty");
+        }
+
+        Map<K, T> rows = new HashMap<>();
+        for (T row : query.apply(keys)) {
+            rows.put(keyExtractor.apply(row), row);
+        }
+
+        List<T> items = new ArrayList<>(rows.size());
+        List<K> missing = new ArrayList<>();
+        for (K key : keys) {
+            T row = rows.get(key);
+            if (row != null) {
+                items.add(row);
+            } else {
+                missing.add(key);
+            }
+        }
+        return new MultiGetResult<>(items, missing);
+    }
+}
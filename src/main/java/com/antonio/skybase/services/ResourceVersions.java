@@ -0,0 +1,153 @@
+package com.antonio.skybase.services;
+
+import com.antonio.skybase.entities.ResourceVersion;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.*;
+
+// Contoarele de modificari ale resurselor, pastrate in baza de date ca sa fie aceleasi pe toate instantele aplicatiei.
+// Serviciile le maresc in tranzactia fiecarei scrieri; endpoint-urile de citire construiesc din ele ETag-ul si raspund
+// cu 304 la If-None-Match fara query-ul resursei si fara serializare. Valorile citite sunt tinute in memorie cel mult
+// skybase.resource-versions.refresh, deci un 304 sau o pagina din cache nu ajung la baza de date; scrierile locale le
+// invalideaza dupa commit, iar cele ale altor instante sunt vazute dupa cel mult acest interval.
+// Contoarele sunt citite inaintea datelor, deci un raspuns nu poate avea date mai vechi decat ETag-ul sau.
+@Service
+public class ResourceVersions {
+    public static final String COUNTRIES = "countries";
+    public static final String CITIES = "cities";
+    public static final String AIRPORTS = "airports";
+    public static final String DEPARTMENTS = "departments";
+    public static final String JOBS = "jobs";
+    public static final String FLIGHTS = "flights";
+    public static final String EMPLOYEES = "employees";
+
+    private static final String UPDATE = "UPDATE " + ResourceVersion.TABLE + " SET version = version + 1 WHERE name = ?";
+    private static final String INSERT = "INSERT INTO " + ResourceVersion.TABLE + " (name, version) VALUES (?, 1)";
+    private static final String REQUEST_ATTRIBUTE = ResourceVersions.class.getName() + ".tags";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final Cache<String, Long> versions;
+
+    public ResourceVersions(@Value("${skybase.resource-versions.refresh:1s}") Duration refresh) {
+        versions = Caffeine.newBuilder()
+                .expireAfterWrite(refresh)
+                .maximumSize(10_000)
+                .build();
+    }
+
+    public static String employeeAssignments(LocalDate date) {
+        return "employee-assignments:" + date;
+    }
+
+    // Contoarele sunt marite cu un singur batch de UPDATE-uri, in ordine alfabetica, deci doua scrieri concurente le
+    // blocheaza in aceeasi ordine. Contoarele care nu exista inca sunt inserate, tot intr-un batch.
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void increment(Collection<String> names) {
+        List<String> sorted = List.copyOf(new TreeSet<>(names));
+        if (sorted.isEmpty()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                versions.invalidateAll(sorted);
+            }
+        });
+
+        int[] updated = jdbcTemplate.batchUpdate(UPDATE, sorted.stream().map(name -> new Object[]{name}).toList());
+        List<Object[]> missing = new ArrayList<>();
+        for (int i = 0; i < sorted.size(); i++) {
+            if (updated[i] == 0) {
+                missing.add(new Object[]{sorted.get(i)});
+            }
+        }
+        if (missing.isEmpty()) {
+            return;
+        }
+
+        try {
+            jdbcTemplate.batchUpdate(INSERT, missing);
+        } catch (DuplicateKeyException ex) {
+            // Alta tranzactie a inserat intre timp unul dintre contoare; se reiau pe rand
+            for (Object[] name : missing) {
+                if (jdbcTemplate.update(UPDATE, name) == 0) {
+                    jdbcTemplate.update(INSERT, name);
+                }
+            }
+        }
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void increment(String... names) {
+        increment(Arrays.asList(names));
+    }
+
+    // Versiunile contoarelor, de exemplu "3.12" (0 pentru un contor care nu a fost inca marit). In timpul unui request
+    // contoarele sunt citite o singura data, iar ETag-ul si cheile din cache folosesc aceleasi valori. Nu deschide o
+    // tranzactie: cand toate contoarele sunt in memorie nu este luata nicio conexiune din pool.
+    public String tag(String... names) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        String key = String.join(",", names);
+        @SuppressWarnings("unchecked")
+        Map<String, String> tags = attributes == null ? null : (Map<String, String>) attributes.getAttribute(REQUEST_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (tags != null && tags.containsKey(key)) {
+            return tags.get(key);
+        }
+
+        Map<String, Long> current = versions.getAll(List.of(names), this::load);
+        StringJoiner tag = new StringJoiner(".");
+        for (String name : names) {
+            tag.add(String.valueOf(current.get(name)));
+        }
+
+        if (attributes != null) {
+            if (tags == null) {
+                tags = new HashMap<>();
+                attributes.setAttribute(REQUEST_ATTRIBUTE, tags, RequestAttributes.SCOPE_REQUEST);
+            }
+            tags.put(key, tag.toString());
+        }
+        return tag.toString();
+    }
+
+    // ETag puternic pentru contoarele date; aceeasi resursa are reprezentari diferite in JSON, CBOR si Smile, cu sau
+    // fara gzip, deci ETag-ul depinde si de headerele Accept si Accept-Encoding
+    public String etag(WebRequest request, String... names) {
+        int representation = Objects.hash(request.getHeader(HttpHeaders.ACCEPT), request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        return "\"" + tag(names) + "-" + Integer.toHexString(representation) + "\"";
+    }
+
+    // Contoarele care lipsesc din memorie, citite cu un singur query; cele care nu exista inca in tabel au versiunea 0
+    private Map<String, Long> load(Set<? extends String> names) {
+        Map<String, Long> loaded = new HashMap<>();
+        for (String name : names) {
+            loaded.put(name, 0L);
+        }
+        new NamedParameterJdbcTemplate(jdbcTemplate).query("SELECT name, version FROM " + ResourceVersion.TABLE + " WHERE name IN (:names)",
+                new MapSqlParameterSource("names", names),
+                row -> {
+                    loaded.put(row.getString("name"), row.getLong("version"));
+                });
+        return loaded;
+    }
+}
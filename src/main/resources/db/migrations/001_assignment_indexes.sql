@@ -0,0 +1,12 @@
+-- Indexuri pentru cautarile asignarilor care nu sunt acoperite de cheia primara (dupa data, angajat + data, zbor + data).
+-- Hibernate le creeaza singur cand spring.jpa.hibernate.ddl-auto=update; scriptul este pentru bazele de date
+-- administrate manual. Pe MySQL 8 indexurile se construiesc online, fara sa blocheze scrierile.
+-- In tabelele create manual cheia primara a employee_assignments este (employee_id, flight_id, date), nu in ordinea
+-- alfabetica folosita de Hibernate (date primul), deci cautarea dupa data are nevoie de idx_employee_assignments_date.
+
+CREATE INDEX idx_employee_assignments_date ON employee_assignments (date, employee_id, flight_id) ALGORITHM = INPLACE LOCK = NONE;
+CREATE INDEX idx_employee_assignments_employee_date ON employee_assignments (employee_id, date, flight_id) ALGORITHM = INPLACE LOCK = NONE;
+CREATE INDEX idx_employee_assignments_flight_date ON employee_assignments (flight_id, date, employee_id) ALGORITHM = INPLACE LOCK = NONE;
+
+CREATE INDEX idx_aircraft_assignments_date ON aircraft_assignments (date, aircraft_id, flight_id) ALGORITHM = INPLACE LOCK = NONE;
+CREATE INDEX idx_aircraft_assignments_flight_date ON aircraft_assignments (flight_id, date, aircraft_id) ALGORITHM = INPLACE LOCK = NONE;
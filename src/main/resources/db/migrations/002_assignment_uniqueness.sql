@@ -0,0 +1,10 @@
+-- O resursa (angajat sau aeronava) poate avea cel mult o asignare pe zi.
+-- Inainte de rulare, asignarile duble existente trebuie rezolvate manual; le gasesti cu:
+--   SELECT employee_id, date, COUNT(*) FROM employee_assignments GROUP BY employee_id, date HAVING COUNT(*) > 1;
+--   SELECT aircraft_id, date, COUNT(*) FROM aircraft_assignments GROUP BY aircraft_id, date HAVING COUNT(*) > 1;
+
+-- Constrangerea unica inlocuieste indexul (employee_id, date, flight_id) din 001
+ALTER TABLE employee_assignments ADD CONSTRAINT uk_employee_assignments_employee_date UNIQUE (employee_id, date);
+DROP INDEX idx_employee_assignments_employee_date ON employee_assignments;
+
+ALTER TABLE aircraft_assignments ADD CONSTRAINT uk_aircraft_assignments_aircraft_date UNIQUE (aircraft_id, date);
@@ -0,0 +1,7 @@
+-- Contoarele de modificari din care sunt construite ETag-urile (ResourceVersions). Hibernate creeaza tabelul singur
+-- cand spring.jpa.hibernate.ddl-auto=update; scriptul este pentru bazele de date administrate manual.
+
+CREATE TABLE resource_versions (
+    name VARCHAR(64) NOT NULL PRIMARY KEY,
+    version BIGINT NOT NULL
+);
@@ -0,0 +1,209 @@
+package com.antonio.skybase;
+
+import com.antonio.skybase.dtos.AircraftAssignmentDTO;
+import com.antonio.skybase.entities.*;
+import com.antonio.skybase.exceptions.BadRequestException;
+import com.antonio.skybase.repositories.*;
+import com.antonio.skybase.responses.BulkItemResult;
+import com.antonio.skybase.services.AircraftAssignmentService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// Mai multe fire incearca simultan sa asigneze aceleasi aeronave in aceleasi zile, pe zboruri diferite,
+// atat prin creare individuala cat si in bloc. Fiecare pereche (aeronava, data) trebuie sa ajunga in baza de date o singura data.
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class AssignmentConcurrencyTest {
+    private static final int THREADS = 16;
+    private static final int DAYS = 5;
+    private static final LocalDate START_DATE = LocalDate.of(2025, 6, 1);
+
+    @Autowired
+    private AircraftAssignmentService aircraftAssignmentService;
+
+    @Autowired
+    private CountryRepository countryRepository;
+
+    @Autowired
+    private CityRepository cityRepository;
+
+    @Autowired
+    private AirportRepository airportRepository;
+
+    @Autowired
+    private FlightRepository flightRepository;
+
+    @Autowired
+    private AircraftRepository aircraftRepository;
+
+    @Autowired
+    private AircraftAssignmentRepository aircraftAssignmentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final List<Aircraft> aircraft = new ArrayList<>();
+    private final List<Flight> flights = new ArrayList<>();
+    private final List<Airport> airports = new ArrayList<>();
+
+    @BeforeAll
+    void seed() {
+        Country country = new Country();
+        country.setName("Stress Country");
+        country.setCode("S0");
+        countryRepository.save(country);
+
+        City city = new City();
+        city.setName("Stress City");
+        city.setCountry(country);
+        cityRepository.save(city);
+
+        for (int i = 0; i < 2; i++) {
+            Airport airport = new Airport();
+            airport.setName("Stress Airport " + i);
+            airport.setCode("SA" + i);
+            airport.setCity(city);
+            airports.add(airportRepository.save(airport));
+        }
+
+        for (int i = 0; i < 4; i++) {
+            Flight flight = new Flight();
+            flight.setNumber("SC" + i);
+            flight.setDepartureAirport(airports.get(0));
+            flight.setArrivalAirport(airports.get(1));
+            flight.setDepartureTime(LocalTime.of(8 + i, 0));
+            flight.setArrivalTime(LocalTime.of(9 + i, 0));
+            flight.setDistance(500);
+            flights.add(flightRepository.save(flight));
+
+            Aircraft newAircraft = new Aircraft();
+            newAircraft.setRegistration("YR-SC" + i);
+            newAircraft.setType("A320");
+            newAircraft.setRange(5000);
+            newAircraft.setCapacity(180);
+            aircraft.add(aircraftRepository.save(newAircraft));
+        }
+    }
+
+    @AfterAll
+    void cleanUp() {
+        aircraftAssignmentRepository.deleteAll();
+        aircraftRepository.deleteAll(aircraft);
+        flightRepository.deleteAll(flights);
+        airportRepository.deleteAll(airports);
+        cityRepository.delete(airports.get(0).getCity());
+        countryRepository.delete(airports.get(0).getCity().getCountry());
+    }
+
+    @Test
+    void testConcurrentAssignmentsNeverDoubleBook() throws Exception {
+        List<AircraftAssignmentDTO> slots = new ArrayList<>();
+        for (Aircraft resource : aircraft) {
+            for (int day = 0; day < DAYS; day++) {
+                slots.add(new AircraftAssignmentDTO(resource.getId(), null, START_DATE.plusDays(day)));
+            }
+        }
+
+        AtomicInteger created = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int thread = 0; thread < THREADS; thread++) {
+            int threadIndex = thread;
+            futures.add(executor.submit(() -> {
+                // Fiecare fir foloseste alt zbor si parcurge perechile in alta ordine
+                Integer flightId = flights.get(threadIndex % flights.size()).getId();
+                List<AircraftAssignmentDTO> requests = new ArrayList<>();
+                slots.forEach(slot -> requests.add(new AircraftAssignmentDTO(slot.getAircraftId(), flightId, slot.getDate())));
+                Collections.shuffle(requests, new Random(threadIndex));
+                start.await();
+
+                if (threadIndex % 2 == 0) {
+                    for (AircraftAssignmentDTO request : requests) {
+                        try {
+                            aircraftAssignmentService.create(request);
+                            created.incrementAndGet();
+                        } catch (BadRequestException ex) {
+                            rejected.incrementAndGet();
+                        }
+                    }
+                } else {
+                    try {
+                        for (BulkItemResult<AircraftAssignmentId> result : aircraftAssignmentService.createAll(requests)) {
+                            (result.getStatus() == 201 ? created : rejected).incrementAndGet();
+                        }
+                    } catch (BadRequestException ex) {
+                        rejected.addAndGet(requests.size());
+                    }
+                }
+                return null;
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertEquals(slots.size(), created.get());
+        assertEquals(THREADS * slots.size() - slots.size(), rejected.get());
+        assertEquals(slots.size(), aircraftAssignmentRepository.count());
+        Integer doubleBooked = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM (SELECT aircraft_id, date FROM aircraft_assignments GROUP BY aircraft_id, date HAVING COUNT(*) > 1) d",
+                Integer.class);
+        assertEquals(0, doubleBooked);
+
+        aircraftAssignmentRepository.deleteAll();
+    }
+
+    @Test
+    void testDatabaseRejectsDoubleBookingOutsideTheService() {
+        saveAssignment(aircraft.get(0), flights.get(0), START_DATE);
+
+        // Ocolind serviciul (ca o alta instanta a aplicatiei), doar constrangerea unica mai opreste dubla asignare
+        assertThrows(DataIntegrityViolationException.class,
+                () -> saveAssignment(aircraft.get(0), flights.get(1), START_DATE));
+
+        aircraftAssignmentRepository.deleteAll();
+    }
+
+    // Asignarile noi sunt inserate cu persist, care cere ca aeronava si zborul sa fie gestionate in aceeasi tranzactie
+    private void saveAssignment(Aircraft resource, Flight flight, LocalDate date) {
+        transactionTemplate.executeWithoutResult(status -> {
+            AircraftAssignmentId id = new AircraftAssignmentId();
+            id.setAircraftId(resource.getId());
+            id.setFlightId(flight.getId());
+            id.setDate(date);
+
+            AircraftAssignment assignment = new AircraftAssignment();
+            assignment.setId(id);
+            assignment.setAircraft(aircraftRepository.getReferenceById(resource.getId()));
+            assignment.setFlight(flightRepository.getReferenceById(flight.getId()));
+            aircraftAssignmentRepository.saveAndFlush(assignment);
+        });
+    }
+}
@@ -0,0 +1,42 @@
+package com.antonio.skybase;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Verifica planurile de executie ale cautarilor din repository-urile de asignari: fiecare trebuie sa foloseasca un index,
+// nu o scanare completa a tabelului
+@SpringBootTest
+class AssignmentIndexTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void testEmployeeAssignmentLookupsUseIndexes() {
+        assertPlanUses("UK_EMPLOYEE_ASSIGNMENTS_EMPLOYEE_DATE",
+                "SELECT date FROM employee_assignments WHERE employee_id = 1 AND date BETWEEN DATE '2024-01-01' AND DATE '2024-01-31'");
+        assertPlanUses("IDX_EMPLOYEE_ASSIGNMENTS_FLIGHT_DATE",
+                "SELECT employee_id FROM employee_assignments WHERE flight_id = 1 AND date BETWEEN DATE '2024-01-01' AND DATE '2024-01-31'");
+        assertPlanUses("PRIMARY_KEY",
+                "SELECT employee_id, flight_id FROM employee_assignments WHERE date = DATE '2024-01-01'");
+    }
+
+    @Test
+    void testAircraftAssignmentLookupsUseIndexes() {
+        assertPlanUses("UK_AIRCRAFT_ASSIGNMENTS_AIRCRAFT_DATE",
+                "SELECT date FROM aircraft_assignments WHERE aircraft_id = 1 AND date BETWEEN DATE '2024-01-01' AND DATE '2024-01-31'");
+        assertPlanUses("IDX_AIRCRAFT_ASSIGNMENTS_FLIGHT_DATE",
+                "SELECT aircraft_id FROM aircraft_assignments WHERE flight_id = 1 AND date BETWEEN DATE '2024-01-01' AND DATE '2024-01-31'");
+        assertPlanUses("IDX_AIRCRAFT_ASSIGNMENTS_DATE",
+                "SELECT aircraft_id, flight_id FROM aircraft_assignments WHERE date = DATE '2024-01-01'");
+    }
+
+    private void assertPlanUses(String index, String sql) {
+        String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class);
+        assertTrue(plan.contains(index), "Expected " + index + " in plan: " + plan);
+    }
+}
@@ -0,0 +1,136 @@
+package com.antonio.skybase;
+
+import com.antonio.skybase.config.QueryCountFilter;
+import com.antonio.skybase.services.ResourceVersions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// ETag-urile sunt construite din contoarele din baza de date, tinute in memorie: un If-None-Match valid primeste 304
+// fara niciun query, iar orice scriere, inclusiv una facuta de alta instanta a aplicatiei, schimba ETag-ul
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:skybase_etags;DB_CLOSE_DELAY=-1",
+        "skybase.resource-versions.refresh=" + ConditionalGetTest.REFRESH_MILLIS + "ms"
+})
+@AutoConfigureMockMvc
+class ConditionalGetTest {
+    static final long REFRESH_MILLIS = 200;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ResourceVersions resourceVersions;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void testWritesChangeTheEtagAndUnchangedPagesAreNotModified() throws Exception {
+        mockMvc.perform(post("/countries").contentType(MediaType.APPLICATION_JSON).content("{\"name\": \"Romania\", \"code\": \"RO\"}"))
+                .andExpect(status().isCreated());
+        String etag = etag("/countries");
+
+        mockMvc.perform(get("/countries").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(header().string(QueryCountFilter.COUNT_HEADER, "0"));
+
+        mockMvc.perform(post("/countries").contentType(MediaType.APPLICATION_JSON).content("{\"name\": \"Bulgaria\", \"code\": \"BG\"}"))
+                .andExpect(status().isCreated());
+        mockMvc.perform(get("/countries").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.size").value(2));
+        assertNotEquals(etag, etag("/countries"));
+    }
+
+    @Test
+    void testWritesFromAnotherInstanceBypassTheLocalPageCache() throws Exception {
+        mockMvc.perform(post("/countries").contentType(MediaType.APPLICATION_JSON).content("{\"name\": \"Moldova\", \"code\": \"MD\"}"))
+                .andExpect(status().isCreated());
+        String etag = etag("/cities");
+
+        // Alta instanta adauga un oras: cache-ul local nu este golit, dar contorul din baza de date creste si este
+        // citit din nou dupa intervalul de refresh
+        Integer countryId = jdbcTemplate.queryForObject("SELECT id FROM countries WHERE code = 'MD'", Integer.class);
+        jdbcTemplate.update("INSERT INTO cities (id, name, country_id) VALUES (?, 'Chisinau', ?)", 1_000_000, countryId);
+        incrementFromAnotherInstance(ResourceVersions.CITIES);
+
+        mockMvc.perform(get("/cities").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[?(@.name == 'Chisinau')]").exists());
+        assertNotEquals(etag, etag("/cities"));
+    }
+
+    @Test
+    void testWritesFromAnotherInstanceBypassTheLocalResponseCache() throws Exception {
+        mockMvc.perform(post("/departments").contentType(MediaType.APPLICATION_JSON).content("{\"name\": \"Security\"}"))
+                .andExpect(status().isCreated());
+        mockMvc.perform(get("/departments"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[?(@.name == 'Security')]").exists());
+
+        jdbcTemplate.update("INSERT INTO departments (id, name) VALUES (?, 'Catering')", 1_000_000);
+        incrementFromAnotherInstance(ResourceVersions.DEPARTMENTS);
+
+        mockMvc.perform(get("/departments"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[?(@.name == 'Catering')]").exists());
+    }
+
+    @Test
+    void testAssignmentEtagsArePerDate() throws Exception {
+        LocalDate changed = LocalDate.of(2025, 3, 1);
+        LocalDate unchanged = LocalDate.of(2025, 3, 2);
+        String changedEtag = etag("/employee-assignments/by-date?date=" + changed);
+        String unchangedEtag = etag("/employee-assignments/by-date?date=" + unchanged);
+
+        transactionTemplate.executeWithoutResult(status -> resourceVersions.increment(ResourceVersions.employeeAssignments(changed)));
+
+        assertNotEquals(changedEtag, etag("/employee-assignments/by-date?date=" + changed));
+        assertEquals(unchangedEtag, etag("/employee-assignments/by-date?date=" + unchanged));
+    }
+
+    @Test
+    void testEtagDependsOnTheRepresentation() throws Exception {
+        String json = etag("/flights");
+        String cbor = mockMvc.perform(get("/flights").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        assertNotEquals(json, cbor);
+    }
+
+    // Contorul este marit direct in baza de date, fara invalidarea locala, si devine vizibil dupa intervalul de refresh
+    private void incrementFromAnotherInstance(String name) throws InterruptedException {
+        if (jdbcTemplate.update("UPDATE resource_versions SET version = version + 1 WHERE name = ?", name) == 0) {
+            jdbcTemplate.update("INSERT INTO resource_versions (name, version) VALUES (?, 1)", name);
+        }
+        Thread.sleep(2 * REFRESH_MILLIS);
+    }
+
+    private String etag(String url) throws Exception {
+        return mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+}
@@ -0,0 +1,74 @@
+package com.antonio.skybase;
+
+import com.antonio.skybase.entities.Country;
+import com.antonio.skybase.repositories.CountryRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Raspunsurile CBOR si Smile au aceeasi structura ca JSON-ul, iar JSON ramane formatul implicit
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:skybase_negotiation;DB_CLOSE_DELAY=-1")
+@AutoConfigureMockMvc
+class ContentNegotiationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CountryRepository countryRepository;
+
+    private Country country;
+
+    @BeforeEach
+    void setUp() {
+        country = countryRepository.findAll().stream().findFirst().orElseGet(() -> {
+            Country created = new Country();
+            created.setName("Romania");
+            created.setCode("RO");
+            return countryRepository.save(created);
+        });
+    }
+
+    @Test
+    void testJsonIsTheDefaultFormat() throws Exception {
+        mockMvc.perform(get("/countries"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+        mockMvc.perform(get("/countries").header(HttpHeaders.ACCEPT, MediaType.ALL_VALUE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    void testBinaryFormatsHaveTheJsonSchema() throws Exception {
+        JsonNode json = read(objectMapper, MediaType.APPLICATION_JSON);
+
+        assertEquals(json, read(objectMapper.copyWith(new CBORFactory()), MediaType.APPLICATION_CBOR));
+        assertEquals(json, read(objectMapper.copyWith(new SmileFactory()), MediaType.parseMediaType("application/x-jackson-smile")));
+    }
+
+    private JsonNode read(ObjectMapper mapper, MediaType mediaType) throws Exception {
+        byte[] body = mockMvc.perform(get("/countries/" + country.getId()).accept(mediaType))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(mediaType))
+                .andReturn().getResponse().getContentAsByteArray();
+        return mapper.readTree(body);
+    }
+}
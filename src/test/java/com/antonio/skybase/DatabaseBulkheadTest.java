@@ -0,0 +1,51 @@
+package com.antonio.skybase;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.Statement;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Cand toate conexiunile pool-ului sunt ocupate, request-urile asteapta cel mult connection-timeout si primesc 503
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:skybase_bulkhead;DB_CLOSE_DELAY=-1",
+        "spring.datasource.hikari.maximum-pool-size=2",
+        "spring.datasource.hikari.connection-timeout=250",
+        "spring.threads.virtual.enabled=true"
+})
+@AutoConfigureMockMvc
+class DatabaseBulkheadTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void testRequestsAreRejectedWhenPoolIsExhausted() throws Exception {
+        mockMvc.perform(get("/aircraft")).andExpect(status().isOk());
+
+        try (Connection first = dataSource.getConnection(); Connection second = dataSource.getConnection();
+             Statement firstStatement = first.createStatement(); Statement secondStatement = second.createStatement()) {
+            firstStatement.execute("SELECT 1");
+            secondStatement.execute("SELECT 1");
+
+            mockMvc.perform(get("/aircraft"))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().string("Retry-After", "1"))
+                    .andExpect(jsonPath("$.messages[0]").value("Database is busy, please retry"));
+        }
+
+        mockMvc.perform(get("/aircraft")).andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,61 @@
+package com.antonio.skybase;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Metricile sunt expuse in format Prometheus pe portul de management
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:skybase_metrics;DB_CLOSE_DELAY=-1",
+        "management.server.port=0",
+        "management.endpoints.web.exposure.include=prometheus",
+        "management.metrics.distribution.percentiles-histogram.http.server.requests=true"
+})
+@AutoConfigureObservability(tracing = false)
+class MetricsEndpointTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @LocalManagementPort
+    private int managementPort;
+
+    @Test
+    void testPrometheusScrapeHasRequestPoolHibernateAndJvmMetrics() {
+        assertEquals(HttpStatus.OK, restTemplate.getForEntity("/flights", String.class).getStatusCode());
+        assertEquals(HttpStatus.OK, restTemplate.getForEntity("/employee-assignments", String.class).getStatusCode());
+
+        ResponseEntity<String> scrape = restTemplate.getForEntity("http://localhost:" + managementPort + "/actuator/prometheus", String.class);
+        assertEquals(HttpStatus.OK, scrape.getStatusCode());
+        String body = scrape.getBody();
+
+        assertTrue(hasLine(body, "http_server_requests_seconds_bucket{", "handler=\"FlightController.getAll\"", "resource=\"flights\""));
+        assertTrue(hasLine(body, "http_server_requests_seconds_count{", "handler=\"EmployeeAssignmentController.getAll\"", "resource=\"employee-assignments\""));
+        assertTrue(hasLine(body, "hikaricp_connections_active{", "pool=\"skybase-primary\""));
+        assertTrue(hasLine(body, "skybase_datasource_bulkhead_active{", "pool=\"skybase-primary\""));
+        assertTrue(hasLine(body, "skybase_datasource_bulkhead_rejected_total{", "pool=\"skybase-primary\""));
+        assertTrue(hasLine(body, "hibernate_query_executions_total{"));
+        assertTrue(hasLine(body, "hibernate_second_level_cache_requests_total{", "result=\"miss\""));
+        assertTrue(hasLine(body, "hibernate_flushes_total{"));
+        assertTrue(hasLine(body, "cache_gets_total{", "cache=\"responses\"", "result=\"hit\""));
+        assertTrue(hasLine(body, "skybase_cache_responses_size_bytes"));
+        assertTrue(hasLine(body, "jvm_memory_used_bytes{"));
+        assertTrue(hasLine(body, "jvm_gc_memory_allocated_bytes_total"));
+    }
+
+    private static boolean hasLine(String body, String prefix, String... tags) {
+        return Arrays.stream(body.split("\n"))
+                .filter(line -> line.startsWith(prefix))
+                .anyMatch(line -> Arrays.stream(tags).allMatch(line::contains));
+    }
+}
@@ -0,0 +1,42 @@
+package com.antonio.skybase;
+
+import com.antonio.skybase.config.QueryCountFilter;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Verificari pe headerele puse de QueryCountFilter, pentru testele MockMvc care pornesc contextul complet, de exemplu
+// mockMvc.perform(get("/flights")).andExpect(maxQueries(1)).andExpect(noRepeatedQueries())
+public final class QueryCountMatchers {
+
+    private QueryCountMatchers() {
+    }
+
+    public static ResultMatcher queries(int expected) {
+        return result -> assertEquals(expected, header(result, QueryCountFilter.COUNT_HEADER), "SQL statements executed for " + describe(result));
+    }
+
+    public static ResultMatcher maxQueries(int max) {
+        return result -> {
+            int count = header(result, QueryCountFilter.COUNT_HEADER);
+            assertTrue(count <= max, "Expected at most " + max + " SQL statements for " + describe(result) + " but " + count + " were executed");
+        };
+    }
+
+    public static ResultMatcher noRepeatedQueries() {
+        return result -> assertEquals(0, header(result, QueryCountFilter.REPEATED_HEADER), "Repeated SQL statement shapes (N+1) for " + describe(result));
+    }
+
+    private static int header(MvcResult result, String name) {
+        String value = result.getResponse().getHeader(name);
+        assertNotNull(value, name + " header is missing, is skybase.queries.headers enabled?");
+        return Integer.parseInt(value);
+    }
+
+    private static String describe(MvcResult result) {
+        return result.getRequest().getMethod() + " " + result.getRequest().getRequestURI();
+    }
+}
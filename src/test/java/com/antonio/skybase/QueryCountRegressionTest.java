@@ -0,0 +1,492 @@
+package com.antonio.skybase;
+
+import com.antonio.skybase.entities.*;
+import com.antonio.skybase.repositories.*;
+import com.jayway.jsonpath.JsonPath;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringJoiner;
+
+import static com.antonio.skybase.QueryCountMatchers.maxQueries;
+import static com.antonio.skybase.QueryCountMatchers.noRepeatedQueries;
+import static com.antonio.skybase.QueryCountMatchers.queries;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Fiecare endpoint de citire trebuie sa execute un singur select, indiferent cate randuri intoarce
+// si cat de adanc este graful serializat. Testul esueaza daca apare un N+1.
+// Contoarele de versiuni nu sunt tinute in memorie, ca fiecare request sa le citeasca si numarul de query-uri sa fie
+// acelasi indiferent de ordinea testelor
+@SpringBootTest(properties = "skybase.resource-versions.refresh=0s")
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryCountRegressionTest {
+    private static final LocalDate DATE = LocalDate.of(2024, 1, 15);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private CountryRepository countryRepository;
+
+    @Autowired
+    private CityRepository cityRepository;
+
+    @Autowired
+    private AirportRepository airportRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private AircraftRepository aircraftRepository;
+
+    @Autowired
+    private FlightRepository flightRepository;
+
+    @Autowired
+    private EmployeeAssignmentRepository employeeAssignmentRepository;
+
+    @Autowired
+    private AircraftAssignmentRepository aircraftAssignmentRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Statistics statistics;
+    private Airport[] airports;
+    private Employee[] employees;
+    private Employee captain;
+    private Flight flight;
+
+    @BeforeAll
+    void seed() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        airports = new Airport[4];
+        for (int i = 0; i < airports.length; i++) {
+            Country country = new Country();
+            country.setName("Country " + i);
+            country.setCode("Q" + i);
+            countryRepository.save(country);
+
+            City city = new City();
+            city.setName("City " + i);
+            city.setCountry(country);
+            cityRepository.save(city);
+
+            Airport airport = new Airport();
+            airport.setName("Airport " + i);
+            airport.setCode("QA" + i);
+            airport.setCity(city);
+            airports[i] = airportRepository.save(airport);
+        }
+
+        Department department = new Department();
+        department.setName("Flight Crew");
+        departmentRepository.save(department);
+
+        Job job = new Job();
+        job.setTitle("Captain");
+        job.setMinSalary(1000.0);
+        job.setMaxSalary(2000.0);
+        job.setDepartment(department);
+        jobRepository.save(job);
+
+        // Lant de manageri: fiecare angajat il are ca manager pe cel anterior
+        employees = new Employee[4];
+        for (int i = 0; i < employees.length; i++) {
+            Employee employee = new Employee();
+            employee.setFirstName("First " + i);
+            employee.setLastName("Last " + i);
+            employee.setPhoneNumber("07000000" + i);
+            employee.setEmail("employee" + i + "@skybase.com");
+            employee.setSalary(1500);
+            employee.setJob(job);
+            employee.setManager(i > 0 ? employees[i - 1] : null);
+            employees[i] = employeeRepository.save(employee);
+        }
+        captain = employees[employees.length - 1];
+
+        Flight[] flights = new Flight[2];
+        for (int i = 0; i < flights.length; i++) {
+            Flight newFlight = new Flight();
+            newFlight.setNumber("QC" + i);
+            newFlight.setDepartureAirport(airports[i]);
+            newFlight.setArrivalAirport(airports[i + 2]);
+            newFlight.setDepartureTime(LocalTime.of(8, 0));
+            newFlight.setArrivalTime(LocalTime.of(10, 0));
+            newFlight.setDistance(1000);
+            flights[i] = flightRepository.save(newFlight);
+        }
+        flight = flights[1];
+
+        // Asignarile noi sunt inserate cu persist, deci angajatii, aeronavele si zborurile trebuie sa fie gestionate
+        // in aceeasi tranzactie
+        transactionTemplate.executeWithoutResult(status -> seedAssignments(flights));
+    }
+
+    private void seedAssignments(Flight[] flights) {
+        for (int i = 0; i < employees.length; i++) {
+            EmployeeAssignmentId id = new EmployeeAssignmentId();
+            id.setEmployeeId(employees[i].getId());
+            id.setFlightId(flights[i % flights.length].getId());
+            id.setDate(DATE);
+
+            EmployeeAssignment employeeAssignment = new EmployeeAssignment();
+            employeeAssignment.setId(id);
+            employeeAssignment.setEmployee(employeeRepository.getReferenceById(employees[i].getId()));
+            employeeAssignment.setFlight(flightRepository.getReferenceById(flights[i % flights.length].getId()));
+            employeeAssignmentRepository.save(employeeAssignment);
+        }
+
+        for (int i = 0; i < flights.length; i++) {
+            Aircraft aircraft = new Aircraft();
+            aircraft.setRegistration("YR-QC" + i);
+            aircraft.setType("A320");
+            aircraft.setRange(5000);
+            aircraft.setCapacity(180);
+            aircraftRepository.save(aircraft);
+
+            AircraftAssignmentId id = new AircraftAssignmentId();
+            id.setAircraftId(aircraft.getId());
+            id.setFlightId(flights[i].getId());
+            id.setDate(DATE);
+
+            AircraftAssignment aircraftAssignment = new AircraftAssignment();
+            aircraftAssignment.setId(id);
+            aircraftAssignment.setAircraft(aircraft);
+            aircraftAssignment.setFlight(flightRepository.getReferenceById(flights[i].getId()));
+            aircraftAssignmentRepository.save(aircraftAssignment);
+        }
+    }
+
+    @AfterAll
+    void cleanUp() {
+        aircraftAssignmentRepository.deleteAll();
+        employeeAssignmentRepository.deleteAll();
+        aircraftRepository.deleteAll();
+        flightRepository.deleteAll();
+        employeeRepository.findAll().forEach(employee -> {
+            employee.setManager(null);
+            employeeRepository.save(employee);
+        });
+        employeeRepository.deleteAll();
+        jobRepository.deleteAll();
+        departmentRepository.deleteAll();
+        airportRepository.deleteAll();
+        cityRepository.deleteAll();
+        countryRepository.deleteAll();
+    }
+
+    @Test
+    void testReferenceDataPagesUseOneQuery() throws Exception {
+        assertSingleQueryAfterVersionCheck("/countries");
+        assertSingleQueryAfterVersionCheck("/cities").andExpect(jsonPath("$.items[0].country.code").exists());
+        assertSingleQueryAfterVersionCheck("/airports").andExpect(jsonPath("$.items[0].city.country.code").exists());
+        assertSingleQueryAfterVersionCheck("/jobs").andExpect(jsonPath("$.items[0].department.name").exists());
+    }
+
+    @Test
+    void testFlightEndpointsUseOneQuery() throws Exception {
+        assertSingleQueryAfterVersionCheck("/flights")
+                .andExpect(jsonPath("$.items[0].departureAirportId").exists())
+                .andExpect(jsonPath("$.items[0].departureAirport").doesNotExist());
+        assertSingleQuery("/flights/" + flight.getId())
+                .andExpect(jsonPath("$.arrivalAirportId").value(flight.getArrivalAirport().getId()));
+    }
+
+    @Test
+    void testEmployeeEndpointsUseOneQuery() throws Exception {
+        assertSingleQuery("/employees").andExpect(jsonPath("$.items[0].job.department.name").exists());
+        assertSingleQuery("/employees/" + captain.getId())
+                .andExpect(jsonPath("$.job.department.name").exists())
+                .andExpect(jsonPath("$.manager.id").exists());
+    }
+
+    @Test
+    void testEmployeeAssignmentEndpointsUseOneQuery() throws Exception {
+        assertSingleQuery("/employee-assignments")
+                .andExpect(jsonPath("$.size").value(4));
+        String next = JsonPath.read(assertSingleQuery("/employee-assignments?size=3")
+                .andReturn().getResponse().getContentAsString(), "$.next");
+        assertSingleQuery("/employee-assignments?size=3&cursor=" + next)
+                .andExpect(jsonPath("$.size").value(1))
+                .andExpect(jsonPath("$.items[0].employeeId").value(captain.getId()));
+        assertSingleQueryAfterVersionCheck("/employee-assignments/by-date?date=" + DATE)
+                .andExpect(jsonPath("$.length()").value(4))
+                .andExpect(jsonPath("$[0].lastName").exists())
+                .andExpect(jsonPath("$[0].flightNumber").exists())
+                .andExpect(jsonPath("$[0].employee").doesNotExist());
+        assertSingleQuery("/employee-assignments/by-flight?flightId=" + flight.getId() + "&startDate=" + DATE + "&endDate=" + DATE);
+        assertSingleQuery("/employee-assignments/by-employee?employeeId=" + captain.getId() + "&startDate=" + DATE + "&endDate=" + DATE)
+                .andExpect(jsonPath("$.length()").value(1));
+        assertSingleQuery("/employee-assignments/" + captain.getId() + "/" + flight.getId() + "/" + DATE)
+                .andExpect(jsonPath("$.firstName").value(captain.getFirstName()));
+    }
+
+    @Test
+    void testMultiGetUsesOneQuery() throws Exception {
+        assertSingleQuery("/airports?ids=" + airports[2].getId() + "," + airports[0].getId() + ",0")
+                .andExpect(jsonPath("$.items[0].id").value(airports[2].getId()))
+                .andExpect(jsonPath("$.items[1].city.country.code").exists())
+                .andExpect(jsonPath("$.missing[0]").value(0));
+        assertSingleQuery("/employees?ids=" + captain.getId() + "," + employees[0].getId())
+                .andExpect(jsonPath("$.items[0].job.department.name").exists())
+                .andExpect(jsonPath("$.items[1].id").value(employees[0].getId()));
+        assertSingleQuery("/flights?ids=" + flight.getId() + "&fields=number")
+                .andExpect(jsonPath("$.items[0].number").value(flight.getNumber()));
+
+        // Primul angajat este alocat pe celalalt zbor
+        assertSingleQuery("/employee-assignments?ids=" + captain.getId() + "/" + flight.getId() + "/" + DATE + ","
+                + employees[0].getId() + "/" + flight.getId() + "/" + DATE)
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].firstName").value(captain.getFirstName()))
+                .andExpect(jsonPath("$.missing[0].employeeId").value(employees[0].getId()));
+
+        StringJoiner ids = new StringJoiner(",");
+        aircraftAssignmentRepository.findAll().forEach(assignment ->
+                ids.add(assignment.getId().getAircraftId() + "/" + assignment.getId().getFlightId() + "/" + assignment.getId().getDate()));
+        assertSingleQuery("/aircraft-assignments?ids=" + ids)
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andExpect(jsonPath("$.items[0].registration").exists())
+                .andExpect(jsonPath("$.items[0].flightNumber").exists());
+    }
+
+    @Test
+    void testSparseFieldsetsSelectOnlyRequestedColumns() throws Exception {
+        // Doar cheia: fara join spre angajati sau zboruri
+        assertSingleQueryAfterVersionCheck("/employee-assignments/by-date?date=" + DATE + "&fields=date")
+                .andExpect(jsonPath("$[0].employeeId").exists())
+                .andExpect(jsonPath("$[0].firstName").doesNotExist());
+        assertEquals(1, statistics.getQueries().length);
+        assertFalse(statistics.getQueries()[0].contains("ea.employee."));
+        assertFalse(statistics.getQueries()[0].contains("ea.flight."));
+
+        assertSingleQuery("/aircraft-assignments/by-date?date=" + DATE + "&fields=date")
+                .andExpect(jsonPath("$[0].aircraftId").exists())
+                .andExpect(jsonPath("$[0].registration").doesNotExist());
+        assertFalse(statistics.getQueries()[0].contains("aa.aircraft."));
+        assertFalse(statistics.getQueries()[0].contains("aa.flight."));
+
+        assertSingleQuery("/flights/" + flight.getId() + "?fields=number")
+                .andExpect(jsonPath("$.id").value(flight.getId()))
+                .andExpect(jsonPath("$.number").value(flight.getNumber()))
+                .andExpect(jsonPath("$.distance").doesNotExist());
+        assertEquals("SELECT f.id, f.number FROM Flight f WHERE f.id = :id", statistics.getQueries()[0]);
+
+        mockMvc.perform(get("/flights?fields=number,airline")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testAircraftAssignmentEndpointsUseOneQuery() throws Exception {
+        String next = JsonPath.read(assertSingleQuery("/aircraft-assignments?size=1")
+                .andReturn().getResponse().getContentAsString(), "$.next");
+        assertSingleQuery("/aircraft-assignments?size=1&cursor=" + next)
+                .andExpect(jsonPath("$.size").value(1))
+                .andExpect(jsonPath("$.next").doesNotExist());
+        assertSingleQuery("/aircraft-assignments/by-date?date=" + DATE)
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].registration").value("YR-QC0"))
+                .andExpect(jsonPath("$[0].flightNumber").exists())
+                .andExpect(jsonPath("$[0].aircraft").doesNotExist());
+        assertSingleQuery("/aircraft-assignments/by-flight?flightId=" + flight.getId() + "&startDate=" + DATE + "&endDate=" + DATE)
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].flightNumber").value(flight.getNumber()));
+    }
+
+    @Test
+    void testAvailabilityEndpointsUseOneQuery() throws Exception {
+        assertSingleQuery("/employees/" + captain.getId() + "/availabilities?startDate=2024-01-01&endDate=2024-01-31")
+                .andExpect(jsonPath("$.length()").value(30));
+        assertSingleQuery("/employees/available?date=" + DATE);
+        assertSingleQuery("/employees/availabilities?ids=" + captain.getId() + "," + captain.getManager().getId() + "&startDate=2024-01-01&endDate=2024-01-31")
+                .andExpect(jsonPath("$.length()").value(2));
+    }
+
+    @Test
+    void testBulkAssignmentCreationBatchesInserts() throws Exception {
+        // Trei select-uri (angajati, zboruri, alocari existente), un singur batch de insert-uri si contoarele de versiuni
+        // ale celor doua zile (un batch de update-uri si, pentru contoarele noi, unul de insert-uri)
+        StringJoiner body = new StringJoiner(",", "[", "]");
+        List<EmployeeAssignmentId> ids = new ArrayList<>();
+        for (Employee employee : employees) {
+            for (int day = 1; day <= 2; day++) {
+                body.add("{\"employeeId\": " + employee.getId() + ", \"flightId\": " + flight.getId() + ", \"date\": \"2024-03-0" + day + "\"}");
+
+                EmployeeAssignmentId id = new EmployeeAssignmentId();
+                id.setEmployeeId(employee.getId());
+                id.setFlightId(flight.getId());
+                id.setDate(LocalDate.of(2024, 3, day));
+                ids.add(id);
+            }
+        }
+
+        statistics.clear();
+        mockMvc.perform(post("/employee-assignments/bulk").contentType(MediaType.APPLICATION_JSON).content(body.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.status != 201)]").isEmpty())
+                .andExpect(maxQueries(6))
+                .andExpect(noRepeatedQueries());
+        assertEquals(4, statistics.getPrepareStatementCount());
+        assertEquals(8, statistics.getEntityInsertCount());
+
+        employeeAssignmentRepository.deleteAllById(ids);
+    }
+
+    @Test
+    void testAssignmentWritesSkipMergeSelects() throws Exception {
+        Aircraft aircraft = new Aircraft();
+        aircraft.setRegistration("YR-QW0");
+        aircraft.setType("A320");
+        aircraft.setRange(5000);
+        aircraft.setCapacity(180);
+        aircraftRepository.save(aircraft);
+
+        // Aeronava, zborul, verificarea disponibilitatii si insert-ul, fara select-ul dinaintea unui merge
+        clearCaches();
+        statistics.clear();
+        mockMvc.perform(post("/aircraft-assignments").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"aircraftId\": " + aircraft.getId() + ", \"flightId\": " + flight.getId() + ", \"date\": \"2024-04-01\"}"))
+                .andExpect(status().isCreated());
+        assertEquals(4, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getEntityInsertCount());
+
+        // Reprogramarea schimba cheia cu un singur UPDATE, fara delete si insert
+        clearCaches();
+        statistics.clear();
+        mockMvc.perform(put("/aircraft-assignments/" + aircraft.getId() + "/" + flight.getId() + "/2024-04-01").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"aircraftId\": " + aircraft.getId() + ", \"flightId\": " + flight.getId() + ", \"date\": \"2024-04-02\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id.date").value("2024-04-02"));
+        assertEquals(4, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityInsertCount());
+        assertEquals(0, statistics.getEntityDeleteCount());
+
+        aircraftAssignmentRepository.deleteAll(aircraftAssignmentRepository.findAll().stream()
+                .filter(assignment -> assignment.getId().getAircraftId().equals(aircraft.getId())).toList());
+        aircraftRepository.delete(aircraft);
+    }
+
+    @Test
+    void testFlightImportBatchesInserts() throws Exception {
+        // Numerele existente si aeroporturile sunt verificate cu doua select-uri, iar id-urile sunt alocate din tabelul
+        // de id-uri in blocuri de 50, deci insert-ul este pregatit o singura data si executat in 3 batch-uri
+        StringJoiner body = new StringJoiner(",", "[", "]");
+        for (int i = 0; i < 120; i++) {
+            body.add("{\"number\": \"QI" + i + "\", \"departureAirportId\": " + airports[0].getId() +
+                    ", \"arrivalAirportId\": " + airports[1].getId() +
+                    ", \"departureTime\": \"08:00\", \"arrivalTime\": \"09:00\", \"distance\": 500}");
+        }
+
+        statistics.clear();
+        mockMvc.perform(post("/flights/import").contentType(MediaType.APPLICATION_JSON).content(body.toString()))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.length()").value(120));
+        assertEquals(3, statistics.getPrepareStatementCount());
+        assertEquals(120, statistics.getEntityInsertCount());
+
+        flightRepository.deleteAll(flightRepository.findAll().stream().filter(imported -> imported.getNumber().startsWith("QI")).toList());
+    }
+
+    @Test
+    void testReferenceDataIsServedFromCache() throws Exception {
+        Airport airport = airports[0];
+        assertSingleQuery("/airports/" + airport.getId());
+
+        statistics.clear();
+        mockMvc.perform(get("/airports/" + airport.getId())).andExpect(status().isOk());
+        mockMvc.perform(get("/airports")).andExpect(status().isOk());
+        mockMvc.perform(get("/airports")).andExpect(status().isOk());
+        // Pagina este citita o singura data, iar aeroportul vine din cache
+        assertEquals(1, statistics.getPrepareStatementCount());
+
+        // Modificarea orasului goleste si cache-ul aeroporturilor, care includ orasul
+        City city = airport.getCity();
+        mockMvc.perform(put("/cities/" + city.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"Renamed\", \"countryId\": " + city.getCountry().getId() + "}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/airports/" + airport.getId()))
+                .andExpect(jsonPath("$.city.name").value("Renamed"));
+
+        mockMvc.perform(put("/cities/" + city.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"" + city.getName() + "\", \"countryId\": " + city.getCountry().getId() + "}"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void testLookupQueriesAreServedFromSecondLevelCache() {
+        String code = airports[0].getCode();
+        clearCaches();
+        airportRepository.findByCode(code);
+
+        statistics.clear();
+        Airport airport = airportRepository.findByCode(code);
+        assertEquals(airports[0].getId(), airport.getId());
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getQueryCacheHitCount());
+    }
+
+    private void clearCaches() {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+    }
+
+    private ResultActions assertSingleQuery(String url) throws Exception {
+        return assertQueries(url, 1);
+    }
+
+    // Endpoint-urile cu ETag sau cu pagini versionate in cache citesc intai contoarele de versiuni (prin JDBC, nu prin
+    // Hibernate), apoi datele
+    private ResultActions assertSingleQueryAfterVersionCheck(String url) throws Exception {
+        return assertQueries(url, 2);
+    }
+
+    private ResultActions assertQueries(String url, int statements) throws Exception {
+        clearCaches();
+        statistics.clear();
+        ResultActions result = mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andExpect(queries(statements))
+                .andExpect(noRepeatedQueries());
+        assertEquals(1, statistics.getPrepareStatementCount(), "Statements executed for GET " + url);
+        return result;
+    }
+}
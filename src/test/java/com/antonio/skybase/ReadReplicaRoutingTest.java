@@ -0,0 +1,89 @@
+package com.antonio.skybase;
+
+import com.antonio.skybase.entities.Country;
+import com.antonio.skybase.services.CountryService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Doua baze H2 separate joaca rolul bazei principale si al replicii. Replica nu este sincronizata cu baza principala,
+// deci fiecare citire arata din ce baza a venit.
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:skybase_primary;DB_CLOSE_DELAY=-1",
+        "skybase.datasource.replica.url=jdbc:h2:mem:skybase_replica;DB_CLOSE_DELAY=-1",
+        "skybase.datasource.replica.username=sa",
+        "skybase.datasource.replica.password="
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ReadReplicaRoutingTest {
+    private static final int REPLICA_COUNTRY_ID = 9000;
+
+    @Autowired
+    private CountryService countryService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replicaDataSource;
+
+    @BeforeAll
+    void seedReplica() {
+        JdbcTemplate replica = new JdbcTemplate(replicaDataSource);
+        replica.execute("CREATE TABLE countries (id INTEGER PRIMARY KEY, code VARCHAR(255) NOT NULL, name VARCHAR(255) NOT NULL)");
+        replica.update("INSERT INTO countries (id, code, name) VALUES (?, 'RR', 'Replica Country')", REPLICA_COUNTRY_ID);
+    }
+
+    @AfterAll
+    void cleanUp() {
+        new JdbcTemplate(replicaDataSource).execute("DROP TABLE countries");
+        new JdbcTemplate(primaryDataSource).update("DELETE FROM countries WHERE code = 'PR'");
+    }
+
+    @Test
+    void testReadOnlyTransactionsUseReplica() {
+        transactionTemplate.setReadOnly(true);
+        assertEquals("SKYBASE_REPLICA", transactionTemplate.execute(status -> currentDatabase()));
+
+        transactionTemplate.setReadOnly(false);
+        assertEquals("SKYBASE_PRIMARY", transactionTemplate.execute(status -> currentDatabase()));
+
+        // Fara tranzactie, conexiunea nu este read-only
+        assertEquals("SKYBASE_PRIMARY", currentDatabase());
+    }
+
+    @Test
+    void testServiceReadsUseReplicaAndWritesUsePrimary() {
+        assertEquals("Replica Country", countryService.getById(REPLICA_COUNTRY_ID).getName());
+
+        Country country = new Country();
+        country.setName("Primary Country");
+        country.setCode("PR");
+        Integer id = countryService.create(country).getId();
+
+        assertEquals(1, new JdbcTemplate(primaryDataSource).queryForObject("SELECT COUNT(*) FROM countries WHERE id = ?", Integer.class, id));
+        assertEquals(0, new JdbcTemplate(replicaDataSource).queryForObject("SELECT COUNT(*) FROM countries WHERE id = ?", Integer.class, id));
+    }
+
+    private String currentDatabase() {
+        return jdbcTemplate.queryForObject("SELECT DATABASE()", String.class);
+    }
+}
@@ -0,0 +1,98 @@
+package com.antonio.skybase;
+
+import com.antonio.skybase.config.CacheConfig;
+import com.antonio.skybase.config.QueryCountFilter;
+import com.antonio.skybase.entities.Country;
+import com.antonio.skybase.services.CountryService;
+import com.github.benmanes.caffeine.cache.Cache;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Paginile datelor de referinta sunt serializate o singura data si trimise apoi din cache-ul de raspunsuri, ca JSON
+// sau gzip; orice scriere in resursa goleste cache-ul
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:skybase_responses;DB_CLOSE_DELAY=-1")
+@AutoConfigureMockMvc
+class ResponseCacheTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private CountryService countryService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void testPagesAreServedFromEncodedBytesUntilTheNextWrite() throws Exception {
+        Cache<Object, Object> responses = CacheConfig.nativeCache(cacheManager, CacheConfig.RESPONSES);
+        createDepartment("Ground Operations");
+
+        byte[] json = mockMvc.perform(get("/departments"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.size").value(1))
+                .andReturn().getResponse().getContentAsByteArray();
+        long hits = responses.stats().hitCount();
+
+        MvcResult gzipped = mockMvc.perform(get("/departments").header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().string(QueryCountFilter.COUNT_HEADER, "0"))
+                .andReturn();
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(gzipped.getResponse().getContentAsByteArray()))) {
+            assertArrayEquals(json, gzip.readAllBytes());
+        }
+        assertEquals(hits + 1, responses.stats().hitCount());
+        assertTrue(responses.policy().eviction().orElseThrow().weightedSize().orElseThrow() > json.length);
+
+        createDepartment("Maintenance");
+        mockMvc.perform(get("/departments"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.size").value(2));
+    }
+
+    @Test
+    void testWritesEvictTheResponsesOnlyAfterCommit() throws Exception {
+        Cache<Object, Object> responses = CacheConfig.nativeCache(cacheManager, CacheConfig.RESPONSES);
+        mockMvc.perform(get("/countries")).andExpect(status().isOk());
+        assertTrue(responses.estimatedSize() > 0);
+
+        // In timpul tranzactiei alte request-uri pot inca citi datele vechi, deci cache-ul este golit doar dupa commit
+        transactionTemplate.executeWithoutResult(status -> {
+            Country country = new Country();
+            country.setName("Serbia");
+            country.setCode("RS");
+            countryService.create(country);
+            assertTrue(responses.estimatedSize() > 0);
+        });
+        assertEquals(0, responses.estimatedSize());
+    }
+
+    private void createDepartment(String name) throws Exception {
+        mockMvc.perform(post("/departments").contentType(MediaType.APPLICATION_JSON).content("{\"name\": \"" + name + "\"}"))
+                .andExpect(status().isCreated());
+    }
+}
@@ -0,0 +1,49 @@
+package com.antonio.skybase.advice;
+
+import com.antonio.skybase.exceptions.BulkheadRejectedException;
+import com.antonio.skybase.responses.ErrorResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.sql.SQLNonTransientConnectionException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class GlobalExceptionHandlerTest {
+
+    private final GlobalExceptionHandler globalExceptionHandler = new GlobalExceptionHandler();
+
+    private final ServletWebRequest request = new ServletWebRequest(new MockHttpServletRequest("GET", "/aircraft"));
+
+    @Test
+    void testBulkheadRejectionAsksClientToRetry() {
+        CannotCreateTransactionException ex = new CannotCreateTransactionException("Could not open JPA EntityManager for transaction",
+                new DataAccessResourceFailureException("Unable to acquire JDBC Connection",
+                        new BulkheadRejectedException("No database connection available within 250ms (2 in use)", "08001")));
+
+        ResponseEntity<ErrorResponse> response = globalExceptionHandler.handleDatabaseUnavailableExceptions(ex, request);
+
+        assertEquals(503, response.getStatusCode().value());
+        assertEquals("1", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertEquals(List.of("Database is busy, please retry"), response.getBody().getMessages());
+    }
+
+    @Test
+    void testOtherConnectionFailuresAreNotRetried() {
+        CannotCreateTransactionException ex = new CannotCreateTransactionException("Could not open JPA EntityManager for transaction",
+                new SQLNonTransientConnectionException("Communications link failure", "08S01"));
+
+        ResponseEntity<ErrorResponse> response = globalExceptionHandler.handleDatabaseUnavailableExceptions(ex, request);
+
+        assertEquals(503, response.getStatusCode().value());
+        assertNull(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertEquals(List.of("Database is unavailable"), response.getBody().getMessages());
+    }
+}
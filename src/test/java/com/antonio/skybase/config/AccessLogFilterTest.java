@@ -0,0 +1,84 @@
+package com.antonio.skybase.config;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.slf4j.event.KeyValuePair;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AccessLogFilterTest {
+
+    private final Logger logger = (Logger) LoggerFactory.getLogger(AccessLogFilter.class);
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+
+    @BeforeEach
+    void setUp() {
+        appender.start();
+        logger.addAppender(appender);
+    }
+
+    @AfterEach
+    void tearDown() {
+        logger.detachAppender(appender);
+    }
+
+    @Test
+    void testSampledRequestIsLoggedWithQueryStatistics() throws Exception {
+        FilterChain chain = (request, response) -> QueryStatistics.record("select * from jobs", 2_000_000);
+
+        new QueryCountFilter(20, 5, false).doFilter(new MockHttpServletRequest("GET", "/jobs"), new MockHttpServletResponse(),
+                (request, response) -> new AccessLogFilter(0.5, Duration.ofSeconds(1), () -> 0.1).doFilter(request, response, chain));
+
+        assertEquals(1, appender.list.size());
+        List<KeyValuePair> keyValues = appender.list.get(0).getKeyValuePairs();
+        assertTrue(keyValues.contains(new KeyValuePair("url.path", "/jobs")));
+        assertTrue(keyValues.contains(new KeyValuePair("http.response.status_code", 200)));
+        assertTrue(keyValues.contains(new KeyValuePair("sql.statements", 1)));
+    }
+
+    @Test
+    void testRequestsOutsideSampleAreSkipped() throws Exception {
+        new AccessLogFilter(0.01, Duration.ofSeconds(1), () -> 0.5)
+                .doFilter(new MockHttpServletRequest("GET", "/jobs"), new MockHttpServletResponse(), (request, response) -> { });
+
+        assertTrue(appender.list.isEmpty());
+    }
+
+    @Test
+    void testServerErrorsAndSlowRequestsAreAlwaysLogged() throws Exception {
+        new AccessLogFilter(0, Duration.ofSeconds(1), () -> 0.5).doFilter(new MockHttpServletRequest("GET", "/flights"),
+                new MockHttpServletResponse(), (request, response) -> ((HttpServletResponse) response).setStatus(503));
+        new AccessLogFilter(0, Duration.ofNanos(1), () -> 0.5).doFilter(new MockHttpServletRequest("GET", "/flights"),
+                new MockHttpServletResponse(), (request, response) -> { });
+
+        assertEquals(2, appender.list.size());
+        assertTrue(appender.list.get(0).getKeyValuePairs().contains(new KeyValuePair("http.response.status_code", 503)));
+    }
+
+    @Test
+    void testUnhandledExceptionsAreLoggedAsServerErrors() {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertThrows(IllegalStateException.class, () -> new AccessLogFilter(0, Duration.ofSeconds(1), () -> 0.5)
+                .doFilter(new MockHttpServletRequest("GET", "/flights"), response, (req, res) -> {
+                    throw new IllegalStateException("boom");
+                }));
+
+        assertEquals(1, appender.list.size());
+        assertTrue(appender.list.get(0).getKeyValuePairs().contains(new KeyValuePair("http.response.status_code", 500)));
+    }
+}
@@ -0,0 +1,67 @@
+package com.antonio.skybase.config;
+
+import com.antonio.skybase.exceptions.BulkheadRejectedException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BulkheadDataSourceTest {
+
+    @Mock
+    private DataSource pool;
+
+    private BulkheadDataSource bulkheadDataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        MockitoAnnotations.openMocks(this);
+        when(pool.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+        bulkheadDataSource = new BulkheadDataSource("test", pool, 2, Duration.ofMillis(50));
+    }
+
+    @Test
+    void testConnectionsBeyondLimitTimeOut() throws SQLException {
+        bulkheadDataSource.getConnection();
+        bulkheadDataSource.getConnection();
+        assertEquals(2, bulkheadDataSource.getActiveConnections());
+
+        BulkheadRejectedException ex = assertThrows(BulkheadRejectedException.class, bulkheadDataSource::getConnection);
+        assertEquals("08001", ex.getSQLState());
+        verify(pool, times(2)).getConnection();
+    }
+
+    @Test
+    void testClosingReleasesPermitOnce() throws SQLException {
+        Connection connection = bulkheadDataSource.getConnection();
+        bulkheadDataSource.getConnection();
+
+        connection.close();
+        connection.close();
+        assertEquals(1, bulkheadDataSource.getActiveConnections());
+
+        bulkheadDataSource.getConnection();
+        assertThrows(SQLTransientConnectionException.class, bulkheadDataSource::getConnection);
+    }
+
+    @Test
+    void testFailedCheckoutReleasesPermit() throws SQLException {
+        when(pool.getConnection()).thenThrow(new SQLException("Pool closed"));
+
+        assertThrows(SQLException.class, bulkheadDataSource::getConnection);
+        assertEquals(0, bulkheadDataSource.getActiveConnections());
+    }
+}
@@ -0,0 +1,46 @@
+package com.antonio.skybase.config;
+
+import com.antonio.skybase.entities.IdGenerators;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class IdGeneratorInitializerTest {
+    private static final int LEGACY_ID = 100000;
+
+    @Autowired
+    private IdGeneratorInitializer idGeneratorInitializer;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM countries WHERE id = ?", LEGACY_ID);
+    }
+
+    @Test
+    void testGeneratorIsMovedAboveExistingIds() {
+        // Rand inserat cu un id alocat inainte de trecerea la tabelul de id-uri
+        jdbcTemplate.update("INSERT INTO countries (id, name, code) VALUES (?, 'Legacy', 'LG')", LEGACY_ID);
+
+        idGeneratorInitializer.alignWithExistingIds();
+        long nextValue = readNextValue("countries");
+        assertTrue(nextValue > LEGACY_ID + IdGenerators.ALLOCATION_SIZE);
+
+        // A doua rulare nu coboara valoarea
+        idGeneratorInitializer.alignWithExistingIds();
+        assertTrue(readNextValue("countries") >= nextValue);
+    }
+
+    private long readNextValue(String segment) {
+        return jdbcTemplate.queryForObject(
+                "SELECT " + IdGenerators.VALUE_COLUMN + " FROM " + IdGenerators.TABLE + " WHERE " + IdGenerators.SEGMENT_COLUMN + " = ?",
+                Long.class, segment);
+    }
+}
@@ -0,0 +1,54 @@
+package com.antonio.skybase.config;
+
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class QueryCountFilterTest {
+
+    @Test
+    void testHeadersAreWrittenBeforeBody() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = (request, servletResponse) -> {
+            for (int i = 0; i < 6; i++) {
+                QueryStatistics.record("select * from employees where manager_id=?", 1_000_000);
+            }
+            QueryStatistics.record("select * from jobs", 500_000);
+            servletResponse.getWriter().write("[]");
+            servletResponse.flushBuffer();
+            // Dupa commit, instructiunea este doar logata
+            QueryStatistics.record("select * from flights", 1_000_000);
+        };
+
+        new QueryCountFilter(20, 5, true).doFilter(new MockHttpServletRequest("GET", "/employees"), response, chain);
+
+        assertEquals("7", response.getHeader(QueryCountFilter.COUNT_HEADER));
+        assertEquals("6.500", response.getHeader(QueryCountFilter.TIME_HEADER));
+        assertEquals("1", response.getHeader(QueryCountFilter.REPEATED_HEADER));
+    }
+
+    @Test
+    void testHeadersForResponsesWithoutBody() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = (request, servletResponse) -> QueryStatistics.record("delete from jobs where id=?", 1_000_000);
+
+        new QueryCountFilter(20, 5, true).doFilter(new MockHttpServletRequest("DELETE", "/jobs/1"), response, chain);
+
+        assertEquals("1", response.getHeader(QueryCountFilter.COUNT_HEADER));
+        assertEquals("0", response.getHeader(QueryCountFilter.REPEATED_HEADER));
+    }
+
+    @Test
+    void testHeadersCanBeDisabled() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = (request, servletResponse) -> QueryStatistics.record("select * from jobs", 1_000_000);
+
+        new QueryCountFilter(20, 5, false).doFilter(new MockHttpServletRequest("GET", "/jobs"), response, chain);
+
+        assertNull(response.getHeader(QueryCountFilter.COUNT_HEADER));
+    }
+}
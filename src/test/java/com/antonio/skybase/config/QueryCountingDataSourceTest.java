@@ -0,0 +1,124 @@
+package com.antonio.skybase.config;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.slf4j.LoggerFactory;
+import org.slf4j.event.KeyValuePair;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class QueryCountingDataSourceTest {
+
+    @Mock
+    private DataSource target;
+
+    @Mock
+    private Connection connection;
+
+    private QueryCountingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        MockitoAnnotations.openMocks(this);
+        when(target.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(anyString())).thenAnswer(invocation -> mock(PreparedStatement.class));
+        when(connection.createStatement()).thenAnswer(invocation -> mock(Statement.class));
+        dataSource = new QueryCountingDataSource(target, Duration.ZERO);
+    }
+
+    @Test
+    void testPreparedStatementExecutionsAreCounted() throws SQLException {
+        try (QueryStatistics statistics = QueryStatistics.start()) {
+            Connection counted = dataSource.getConnection();
+            for (int i = 0; i < 6; i++) {
+                PreparedStatement statement = counted.prepareStatement("select * from jobs where id=?");
+                statement.setInt(1, i);
+                statement.executeQuery();
+            }
+            PreparedStatement batch = counted.prepareStatement("insert into flights (id) values (?)");
+            batch.addBatch();
+            batch.addBatch();
+            batch.executeBatch();
+
+            assertEquals(7, statistics.getCount());
+            assertTrue(statistics.getTime().toNanos() > 0);
+            assertEquals(Map.of("select * from jobs where id=?", 6), statistics.getRepeatedShapes(5));
+        }
+    }
+
+    @Test
+    void testLiteralsAreNormalizedIntoOneShape() throws SQLException {
+        try (QueryStatistics statistics = QueryStatistics.start()) {
+            Statement statement = dataSource.getConnection().createStatement();
+            statement.execute("select * from airports where code = 'OTP' and id in (1, 2, 3)");
+            statement.execute("select  *  from airports where code = 'CLJ' and id in (4)");
+
+            assertEquals(Map.of("select * from airports where code = ? and id in (?)", 2), statistics.getRepeatedShapes(2));
+        }
+    }
+
+    @Test
+    void testSlowStatementsAreLoggedWithParameters() throws SQLException {
+        Logger logger = (Logger) LoggerFactory.getLogger(QueryCountingDataSource.class);
+        ListAppender<ILoggingEvent> appender = new ListAppender<>();
+        appender.start();
+        logger.addAppender(appender);
+        try {
+            PreparedStatement statement = new QueryCountingDataSource(target, Duration.ofNanos(1)).getConnection()
+                    .prepareStatement("select * from employees where email=? and manager_id=?");
+            statement.setString(1, "pilot@skybase.com");
+            statement.setNull(2, Types.INTEGER);
+            statement.executeQuery();
+
+            assertEquals(1, appender.list.size());
+            List<KeyValuePair> keyValues = appender.list.get(0).getKeyValuePairs();
+            assertTrue(keyValues.contains(new KeyValuePair("sql.statement", "select * from employees where email=? and manager_id=?")));
+            assertTrue(keyValues.contains(new KeyValuePair("sql.parameters", Arrays.asList("pilot@skybase.com", "null"))));
+        } finally {
+            logger.detachAppender(appender);
+        }
+    }
+
+    @Test
+    void testStatementsOutsideRequestAreNotCounted() throws SQLException {
+        dataSource.getConnection().prepareStatement("select 1").execute();
+
+        try (QueryStatistics statistics = QueryStatistics.start()) {
+            assertEquals(0, statistics.getCount());
+        }
+        verify(connection).prepareStatement("select 1");
+    }
+
+    @Test
+    void testNestedStatisticsRestoreOuterScope() {
+        try (QueryStatistics outer = QueryStatistics.start()) {
+            try (QueryStatistics inner = QueryStatistics.start()) {
+                QueryStatistics.record("select 1", 10);
+                assertEquals(1, inner.getCount());
+            }
+            QueryStatistics.record("select 1", 10);
+            assertEquals(1, outer.getCount());
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.antonio.skybase.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class VirtualThreadPinningMonitorTest {
+    private final Object lock = new Object();
+
+    private VirtualThreadPinningMonitor monitor;
+
+    @BeforeEach
+    void setUp() {
+        monitor = new VirtualThreadPinningMonitor(Duration.ofMillis(10));
+        monitor.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        monitor.stop();
+    }
+
+    @Test
+    void testPinnedVirtualThreadIsReported() throws Exception {
+        // Un thread virtual care doarme intr-un bloc synchronized ramane fixat pe thread-ul purtator
+        Thread.ofVirtual().start(() -> {
+            synchronized (lock) {
+                try {
+                    Thread.sleep(50);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }).join();
+
+        // Evenimentele JFR ajung la monitor asincron, aproximativ o data pe secunda
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (monitor.getPinnedEvents() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(100);
+        }
+        assertTrue(monitor.getPinnedEvents() > 0);
+        assertEquals(0, monitor.getDriverPinnedEvents());
+    }
+}
@@ -3,20 +3,31 @@ package com.antonio.skybase.controllers;
 import com.antonio.skybase.dtos.AircraftAssignmentDTO;
 import com.antonio.skybase.entities.AircraftAssignment;
 import com.antonio.skybase.entities.AircraftAssignmentId;
+import com.antonio.skybase.responses.AircraftAssignmentView;
+import com.antonio.skybase.responses.CursorPage;
+import com.antonio.skybase.responses.MultiGetResult;
 import com.antonio.skybase.services.AircraftAssignmentService;
+import com.antonio.skybase.services.ExportFormat;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -83,48 +94,80 @@ class AircraftAssignmentControllerTest {
 
     @Test
     void testGetAllAircraftAssignments() throws Exception {
-        AircraftAssignmentId id1 = new AircraftAssignmentId();
-        id1.setAircraftId(1);
-        id1.setFlightId(1);
-        id1.setDate(LocalDate.of(2023, 10, 10));
+        AircraftAssignmentView aircraftAssignment1 = view(1, 1, LocalDate.of(2023, 10, 10));
+        aircraftAssignment1.setRegistration("YR-ABC");
+        AircraftAssignmentView aircraftAssignment2 = view(2, 2, LocalDate.of(2023, 10, 11));
 
-        AircraftAssignmentId id2 = new AircraftAssignmentId();
-        id2.setAircraftId(2);
-        id2.setFlightId(2);
-        id2.setDate(LocalDate.of(2023, 10, 11));
+        when(aircraftAssignmentService.getPage(null, null, null)).thenReturn(new CursorPage<>(List.of(aircraftAssignment1, aircraftAssignment2), null));
 
-        AircraftAssignment aircraftAssignment1 = new AircraftAssignment();
-        aircraftAssignment1.setId(id1);
+        mockMvc.perform(get("/aircraft-assignments"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.size").value(2))
+                .andExpect(jsonPath("$.items[0].aircraftId").value(1))
+                .andExpect(jsonPath("$.items[0].flightId").value(1))
+                .andExpect(jsonPath("$.items[0].registration").value("YR-ABC"))
+                .andExpect(jsonPath("$.items[1].aircraftId").value(2))
+                .andExpect(jsonPath("$.items[1].flightId").value(2))
+                .andExpect(jsonPath("$.items[1].registration").doesNotExist());
+    }
 
-        AircraftAssignment aircraftAssignment2 = new AircraftAssignment();
-        aircraftAssignment2.setId(id2);
+    @Test
+    void testGetAircraftAssignmentsPageWithCursor() throws Exception {
+        AircraftAssignmentView aircraftAssignment = view(2, 2, LocalDate.of(2023, 10, 11));
 
-        when(aircraftAssignmentService.getAll()).thenReturn(List.of(aircraftAssignment1, aircraftAssignment2));
+        when(aircraftAssignmentService.getPage("abc", 1, "flightNumber")).thenReturn(new CursorPage<>(List.of(aircraftAssignment), "def"));
 
-        mockMvc.perform(get("/aircraft-assignments"))
+        mockMvc.perform(get("/aircraft-assignments").param("cursor", "abc").param("size", "1").param("fields", "flightNumber"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].id.aircraftId").value(1))
-                .andExpect(jsonPath("$[0].id.flightId").value(1))
-                .andExpect(jsonPath("$[1].id.aircraftId").value(2))
-                .andExpect(jsonPath("$[1].id.flightId").value(2));
+                .andExpect(jsonPath("$.items[0].aircraftId").value(2))
+                .andExpect(jsonPath("$.next").value("def"));
     }
 
     @Test
     void testGetAircraftAssignmentById() throws Exception {
-        AircraftAssignmentId id = new AircraftAssignmentId();
-        id.setAircraftId(1);
-        id.setFlightId(1);
-        id.setDate(LocalDate.of(2023, 10, 10));
-
-        AircraftAssignment aircraftAssignment = new AircraftAssignment();
-        aircraftAssignment.setId(id);
+        AircraftAssignmentView aircraftAssignment = view(1, 1, LocalDate.of(2023, 10, 10));
 
-        when(aircraftAssignmentService.getById(any(AircraftAssignmentId.class))).thenReturn(aircraftAssignment);
+        when(aircraftAssignmentService.getViewById(any(AircraftAssignmentId.class), eq(null))).thenReturn(aircraftAssignment);
 
         mockMvc.perform(get("/aircraft-assignments/1/1/2023-10-10"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.id.aircraftId").value(1))
-                .andExpect(jsonPath("$.id.flightId").value(1));
+                .andExpect(jsonPath("$.aircraftId").value(1))
+                .andExpect(jsonPath("$.flightId").value(1))
+                .andExpect(jsonPath("$.registration").doesNotExist());
+    }
+
+    @Test
+    void testGetAircraftAssignmentsByIds() throws Exception {
+        AircraftAssignmentId missing = new AircraftAssignmentId();
+        missing.setAircraftId(2);
+        missing.setFlightId(1);
+        missing.setDate(LocalDate.of(2023, 10, 10));
+
+        when(aircraftAssignmentService.getViewsByIds(List.of("2/1/2023-10-10", "1/1/2023-10-10"), null))
+                .thenReturn(new MultiGetResult<>(List.of(view(1, 1, LocalDate.of(2023, 10, 10))), List.of(missing)));
+
+        mockMvc.perform(get("/aircraft-assignments").param("ids", "2/1/2023-10-10,1/1/2023-10-10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].aircraftId").value(1))
+                .andExpect(jsonPath("$.missing[0].aircraftId").value(2));
+    }
+
+    @Test
+    void testGetAircraftAssignmentsByAircraftAndDateRange() throws Exception {
+        AircraftAssignmentView aircraftAssignment = view(1, 3, LocalDate.of(2023, 10, 12));
+        aircraftAssignment.setFlightNumber("RO301");
+
+        when(aircraftAssignmentService.getAssignmentsByAircraftAndDateRange(1, LocalDate.of(2023, 10, 1), LocalDate.of(2023, 10, 31), "flightNumber"))
+                .thenReturn(List.of(aircraftAssignment));
+
+        mockMvc.perform(get("/aircraft-assignments/by-aircraft")
+                        .param("aircraftId", "1")
+                        .param("startDate", "2023-10-01")
+                        .param("endDate", "2023-10-31")
+                        .param("fields", "flightNumber"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].flightId").value(3))
+                .andExpect(jsonPath("$[0].flightNumber").value("RO301"));
     }
 
     @Test
@@ -147,9 +190,48 @@ class AircraftAssignmentControllerTest {
                 .andExpect(jsonPath("$.id.flightId").value(1));
     }
 
+    @Test
+    void testExportAircraftAssignments() throws Exception {
+        doAnswer(invocation -> {
+            OutputStream outputStream = invocation.getArgument(0);
+            outputStream.write("{\"aircraftId\":1,\"flightId\":1,\"date\":\"2023-10-10\"}\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(aircraftAssignmentService).export(any(OutputStream.class), eq(ExportFormat.NDJSON));
+
+        mockMvc.perform(get("/aircraft-assignments/export"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string("{\"aircraftId\":1,\"flightId\":1,\"date\":\"2023-10-10\"}\n"));
+    }
+
+    @Test
+    void testExportAircraftAssignmentsNegotiatesBinaryFormat() throws Exception {
+        mockMvc.perform(get("/aircraft-assignments/export").header(HttpHeaders.ACCEPT, "application/x-ndjson;q=0.5, application/cbor-seq"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(ExportFormat.CBOR_SEQ_VALUE));
+
+        verify(aircraftAssignmentService).export(any(OutputStream.class), eq(ExportFormat.CBOR_SEQ));
+    }
+
+    @Test
+    void testExportAircraftAssignmentsRejectsUnsupportedFormat() throws Exception {
+        mockMvc.perform(get("/aircraft-assignments/export").header(HttpHeaders.ACCEPT, "text/csv"))
+                .andExpect(status().isNotAcceptable());
+
+        verifyNoInteractions(aircraftAssignmentService);
+    }
+
     @Test
     void testDeleteAircraftAssignment() throws Exception {
         mockMvc.perform(delete("/aircraft-assignments/1/1/2023-10-10"))
                 .andExpect(status().isNoContent());
     }
-}
\ No newline at end of file
+
+    private static AircraftAssignmentView view(Integer aircraftId, Integer flightId, LocalDate date) {
+        AircraftAssignmentView view = new AircraftAssignmentView();
+        view.setAircraftId(aircraftId);
+        view.setFlightId(flightId);
+        view.setDate(date);
+        return view;
+    }
+}
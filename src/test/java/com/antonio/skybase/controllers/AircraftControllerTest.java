@@ -1,6 +1,8 @@
 package com.antonio.skybase.controllers;
 
 import com.antonio.skybase.entities.Aircraft;
+import com.antonio.skybase.responses.CursorPage;
+import com.antonio.skybase.responses.MultiGetResult;
 import com.antonio.skybase.services.AircraftService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -11,7 +13,9 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
@@ -105,20 +109,21 @@ class AircraftControllerTest {
         aircraft2.setRange(4000);
         aircraft2.setCapacity(180);
 
-        when(aircraftService.getAll()).thenReturn(List.of(aircraft1, aircraft2));
+        when(aircraftService.getPage(null, null)).thenReturn(new CursorPage<>(List.of(aircraft1, aircraft2), null));
 
         mockMvc.perform(get("/aircraft"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].id").value(1))
-                .andExpect(jsonPath("$[0].registration").value("ABC123"))
-                .andExpect(jsonPath("$[0].type").value("Boeing 737"))
-                .andExpect(jsonPath("$[0].range").value(5000))
-                .andExpect(jsonPath("$[0].capacity").value(200))
-                .andExpect(jsonPath("$[1].id").value(2))
-                .andExpect(jsonPath("$[1].registration").value("DEF456"))
-                .andExpect(jsonPath("$[1].type").value("Airbus A320"))
-                .andExpect(jsonPath("$[1].range").value(4000))
-                .andExpect(jsonPath("$[1].capacity").value(180));
+                .andExpect(jsonPath("$.size").value(2))
+                .andExpect(jsonPath("$.items[0].id").value(1))
+                .andExpect(jsonPath("$.items[0].registration").value("ABC123"))
+                .andExpect(jsonPath("$.items[0].type").value("Boeing 737"))
+                .andExpect(jsonPath("$.items[0].range").value(5000))
+                .andExpect(jsonPath("$.items[0].capacity").value(200))
+                .andExpect(jsonPath("$.items[1].id").value(2))
+                .andExpect(jsonPath("$.items[1].registration").value("DEF456"))
+                .andExpect(jsonPath("$.items[1].type").value("Airbus A320"))
+                .andExpect(jsonPath("$.items[1].range").value(4000))
+                .andExpect(jsonPath("$.items[1].capacity").value(180));
     }
 
     @Test
@@ -141,6 +146,66 @@ class AircraftControllerTest {
                 .andExpect(jsonPath("$.capacity").value(200));
     }
 
+    @Test
+    void testGetAircraftByIds() throws Exception {
+        Aircraft aircraft = new Aircraft();
+        aircraft.setId(2);
+        aircraft.setRegistration("YR-TEST");
+
+        when(aircraftService.getByIds(List.of(2, 5))).thenReturn(new MultiGetResult<>(List.of(aircraft), List.of(5)));
+
+        mockMvc.perform(get("/aircraft").param("ids", "2,5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].id").value(2))
+                .andExpect(jsonPath("$.missing[0]").value(5));
+    }
+
+    @Test
+    void testGetAvailableAircraftForFlight() throws Exception {
+        Aircraft aircraft = new Aircraft();
+        aircraft.setId(1);
+        aircraft.setRange(5000);
+
+        when(aircraftService.getAvailableAircraftByDate(LocalDate.of(2023, 10, 1), 5, null, 20))
+                .thenReturn(new CursorPage<>(List.of(aircraft), null));
+
+        mockMvc.perform(get("/aircraft/available")
+                        .param("date", "2023-10-01")
+                        .param("flightId", "5")
+                        .param("size", "20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.size").value(1))
+                .andExpect(jsonPath("$.items[0].range").value(5000));
+    }
+
+    @Test
+    void testGetFirstAircraftAvailabilities() throws Exception {
+        when(aircraftService.getFirstAircraftAvailabilities(1, LocalDate.of(2023, 10, 1), LocalDate.of(2023, 10, 31), 2))
+                .thenReturn(List.of(LocalDate.of(2023, 10, 2), LocalDate.of(2023, 10, 4)));
+
+        mockMvc.perform(get("/aircraft/1/availabilities")
+                        .param("startDate", "2023-10-01")
+                        .param("endDate", "2023-10-31")
+                        .param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2));
+    }
+
+    @Test
+    void testGetAircraftAvailabilitiesForSeveralAircraft() throws Exception {
+        when(aircraftService.getAircraftAvailabilities(List.of(1, 2), LocalDate.of(2023, 10, 1), LocalDate.of(2023, 10, 3)))
+                .thenReturn(Map.of(1, List.of(LocalDate.of(2023, 10, 2)), 2, List.of()));
+
+        mockMvc.perform(get("/aircraft/availabilities")
+                        .param("ids", "1,2")
+                        .param("startDate", "2023-10-01")
+                        .param("endDate", "2023-10-03"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.1.length()").value(1))
+                .andExpect(jsonPath("$.2").isEmpty());
+    }
+
     @Test
     void testUpdateAircraft() throws Exception {
         Aircraft aircraft = new Aircraft();
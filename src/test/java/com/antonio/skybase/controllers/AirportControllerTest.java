@@ -2,7 +2,12 @@ package com.antonio.skybase.controllers;
 
 import com.antonio.skybase.dtos.AirportDTO;
 import com.antonio.skybase.entities.Airport;
+import com.antonio.skybase.responses.CursorPage;
+import com.antonio.skybase.responses.MultiGetResult;
 import com.antonio.skybase.services.AirportService;
+import com.antonio.skybase.services.EncodedJson;
+import com.antonio.skybase.services.ResourceVersions;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
@@ -11,6 +16,7 @@ import org.mockito.MockitoAnnotations;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -24,15 +30,21 @@ class AirportControllerTest {
 
     private MockMvc mockMvc;
 
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
     @Mock
     private AirportService airportService;
 
+    @Mock
+    private ResourceVersions resourceVersions;
+
     @InjectMocks
     private AirportController airportController;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        when(resourceVersions.etag(any(WebRequest.class), any(String[].class))).thenReturn("\"1-0\"");
         mockMvc = MockMvcBuilders.standaloneSetup(airportController).build();
     }
 
@@ -98,16 +110,17 @@ class AirportControllerTest {
         airport2.setName("Airport 2");
         airport2.setCode("A2");
 
-        when(airportService.getAll()).thenReturn(List.of(airport1, airport2));
+        when(airportService.getEncodedPage(null, null)).thenReturn(EncodedJson.encode(objectMapper, new CursorPage<>(List.of(airport1, airport2), null)));
 
         mockMvc.perform(get("/airports"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].id").value(1))
-                .andExpect(jsonPath("$[0].name").value("Airport 1"))
-                .andExpect(jsonPath("$[0].code").value("A1"))
-                .andExpect(jsonPath("$[1].id").value(2))
-                .andExpect(jsonPath("$[1].name").value("Airport 2"))
-                .andExpect(jsonPath("$[1].code").value("A2"));
+                .andExpect(jsonPath("$.size").value(2))
+                .andExpect(jsonPath("$.items[0].id").value(1))
+                .andExpect(jsonPath("$.items[0].name").value("Airport 1"))
+                .andExpect(jsonPath("$.items[0].code").value("A1"))
+                .andExpect(jsonPath("$.items[1].id").value(2))
+                .andExpect(jsonPath("$.items[1].name").value("Airport 2"))
+                .andExpect(jsonPath("$.items[1].code").value("A2"));
     }
 
     @Test
@@ -126,6 +139,21 @@ class AirportControllerTest {
                 .andExpect(jsonPath("$.code").value("TST"));
     }
 
+    @Test
+    void testGetAirportsByIds() throws Exception {
+        Airport airport = new Airport();
+        airport.setId(2);
+        airport.setName("Test Airport");
+
+        when(airportService.getByIds(List.of(2, 5))).thenReturn(new MultiGetResult<>(List.of(airport), List.of(5)));
+
+        mockMvc.perform(get("/airports").param("ids", "2,5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].id").value(2))
+                .andExpect(jsonPath("$.missing[0]").value(5));
+    }
+
     @Test
     void testUpdateAirport() throws Exception {
         Airport airport = new Airport();
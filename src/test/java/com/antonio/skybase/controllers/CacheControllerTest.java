@@ -0,0 +1,57 @@
+package com.antonio.skybase.controllers;
+
+import com.antonio.skybase.responses.CacheStatistics;
+import com.antonio.skybase.responses.RegionStatistics;
+import com.antonio.skybase.services.CacheService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class CacheControllerTest {
+
+    private MockMvc mockMvc;
+
+    @Mock
+    private CacheService cacheService;
+
+    @InjectMocks
+    private CacheController cacheController;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        mockMvc = MockMvcBuilders.standaloneSetup(cacheController).build();
+    }
+
+    @Test
+    void testGetStatistics() throws Exception {
+        when(cacheService.getStatistics()).thenReturn(List.of(new CacheStatistics("countries", 3, 9, 3, 0.75, 0)));
+
+        mockMvc.perform(get("/caches"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("countries"))
+                .andExpect(jsonPath("$[0].hitCount").value(9))
+                .andExpect(jsonPath("$[0].hitRate").value(0.75));
+    }
+
+    @Test
+    void testGetSecondLevelStatistics() throws Exception {
+        when(cacheService.getSecondLevelStatistics()).thenReturn(List.of(new RegionStatistics("airports", 2, 3, 1, 2)));
+
+        mockMvc.perform(get("/caches/second-level"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("airports"))
+                .andExpect(jsonPath("$[0].putCount").value(2))
+                .andExpect(jsonPath("$[0].hitRate").value(0.75));
+    }
+}
@@ -2,7 +2,12 @@ package com.antonio.skybase.controllers;
 
 import com.antonio.skybase.dtos.CityDTO;
 import com.antonio.skybase.entities.City;
+import com.antonio.skybase.responses.CursorPage;
+import com.antonio.skybase.responses.MultiGetResult;
 import com.antonio.skybase.services.CityService;
+import com.antonio.skybase.services.EncodedJson;
+import com.antonio.skybase.services.ResourceVersions;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
@@ -11,6 +16,7 @@ import org.mockito.MockitoAnnotations;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -24,15 +30,21 @@ class CityControllerTest {
 
     private MockMvc mockMvc;
 
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
     @Mock
     private CityService cityService;
 
+    @Mock
+    private ResourceVersions resourceVersions;
+
     @InjectMocks
     private CityController cityController;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        when(resourceVersions.etag(any(WebRequest.class), any(String[].class))).thenReturn("\"1-0\"");
         mockMvc = MockMvcBuilders.standaloneSetup(cityController).build();
     }
 
@@ -78,14 +90,15 @@ class CityControllerTest {
         city2.setId(2);
         city2.setName("City 2");
 
-        when(cityService.getAll()).thenReturn(List.of(city1, city2));
+        when(cityService.getEncodedPage(null, null)).thenReturn(EncodedJson.encode(objectMapper, new CursorPage<>(List.of(city1, city2), null)));
 
         mockMvc.perform(get("/cities"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].id").value(1))
-                .andExpect(jsonPath("$[0].name").value("City 1"))
-                .andExpect(jsonPath("$[1].id").value(2))
-                .andExpect(jsonPath("$[1].name").value("City 2"));
+                .andExpect(jsonPath("$.size").value(2))
+                .andExpect(jsonPath("$.items[0].id").value(1))
+                .andExpect(jsonPath("$.items[0].name").value("City 1"))
+                .andExpect(jsonPath("$.items[1].id").value(2))
+                .andExpect(jsonPath("$.items[1].name").value("City 2"));
     }
 
     @Test
@@ -102,6 +115,21 @@ class CityControllerTest {
                 .andExpect(jsonPath("$.name").value("Test City"));
     }
 
+    @Test
+    void testGetCitiesByIds() throws Exception {
+        City city = new City();
+        city.setId(2);
+        city.setName("Test City");
+
+        when(cityService.getByIds(List.of(2, 5))).thenReturn(new MultiGetResult<>(List.of(city), List.of(5)));
+
+        mockMvc.perform(get("/cities").param("ids", "2,5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].id").value(2))
+                .andExpect(jsonPath("$.missing[0]").value(5));
+    }
+
     @Test
     void testUpdateCity() throws Exception {
         City city = new City();
@@ -1,21 +1,30 @@
 package com.antonio.skybase.controllers;
 
 import com.antonio.skybase.entities.Country;
+import com.antonio.skybase.responses.CursorPage;
+import com.antonio.skybase.responses.MultiGetResult;
 import com.antonio.skybase.services.CountryService;
+import com.antonio.skybase.services.EncodedJson;
+import com.antonio.skybase.services.ResourceVersions;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.Arrays;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -24,15 +33,21 @@ class CountryControllerTest {
 
     private MockMvc mockMvc;
 
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
     @Mock
     private CountryService countryService;
 
+    @Mock
+    private ResourceVersions resourceVersions;
+
     @InjectMocks
     private CountryController countryController;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        when(resourceVersions.etag(any(WebRequest.class), any(String[].class))).thenReturn("\"1-0\"");
         mockMvc = MockMvcBuilders.standaloneSetup(countryController).build();
     }
 
@@ -92,16 +107,51 @@ class CountryControllerTest {
 
         List<Country> countries = Arrays.asList(country1, country2);
 
-        when(countryService.getAll()).thenReturn(countries);
+        when(countryService.getEncodedPage(null, null)).thenReturn(EncodedJson.encode(objectMapper, new CursorPage<>(countries, null)));
 
         mockMvc.perform(get("/countries"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].id").value(1))
-                .andExpect(jsonPath("$[0].name").value("Country 1"))
-                .andExpect(jsonPath("$[0].code").value("C1"))
-                .andExpect(jsonPath("$[1].id").value(2))
-                .andExpect(jsonPath("$[1].name").value("Country 2"))
-                .andExpect(jsonPath("$[1].code").value("C2"));
+                .andExpect(jsonPath("$.size").value(2))
+                .andExpect(jsonPath("$.items[0].id").value(1))
+                .andExpect(jsonPath("$.items[0].name").value("Country 1"))
+                .andExpect(jsonPath("$.items[0].code").value("C1"))
+                .andExpect(jsonPath("$.items[1].id").value(2))
+                .andExpect(jsonPath("$.items[1].name").value("Country 2"))
+                .andExpect(jsonPath("$.items[1].code").value("C2"))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1-0\""));
+    }
+
+    @Test
+    void testGetAllCountriesNotModified() throws Exception {
+        mockMvc.perform(get("/countries").header(HttpHeaders.IF_NONE_MATCH, "\"1-0\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        verify(countryService, never()).getEncodedPage(any(), any());
+        verify(countryService, never()).getPage(any(), any());
+    }
+
+    @Test
+    void testGetAllCountriesGzipped() throws Exception {
+        EncodedJson page = EncodedJson.encode(objectMapper, new CursorPage<>(List.of(new Country()), null));
+        when(countryService.getEncodedPage(null, null)).thenReturn(page);
+
+        mockMvc.perform(get("/countries").header(HttpHeaders.ACCEPT_ENCODING, "br, gzip;q=0.8"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().bytes(page.gzip()));
+    }
+
+    @Test
+    void testGetAllCountriesInBinaryFormatSkipsEncodedPage() throws Exception {
+        when(countryService.getPage(null, null)).thenReturn(new CursorPage<>(List.of(new Country()), null));
+
+        mockMvc.perform(get("/countries").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR));
+
+        verify(countryService, never()).getEncodedPage(any(), any());
     }
 
     @Test
@@ -120,6 +170,21 @@ class CountryControllerTest {
                 .andExpect(jsonPath("$.code").value("TC"));
     }
 
+    @Test
+    void testGetCountriesByIds() throws Exception {
+        Country country = new Country();
+        country.setId(2);
+        country.setName("Test Country");
+
+        when(countryService.getByIds(List.of(2, 5))).thenReturn(new MultiGetResult<>(List.of(country), List.of(5)));
+
+        mockMvc.perform(get("/countries").param("ids", "2,5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].id").value(2))
+                .andExpect(jsonPath("$.missing[0]").value(5));
+    }
+
     @Test
     void testUpdateCountry() throws Exception {
         Country country = new Country();
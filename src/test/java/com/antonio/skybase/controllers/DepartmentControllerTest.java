@@ -1,7 +1,11 @@
 package com.antonio.skybase.controllers;
 
 import com.antonio.skybase.entities.Department;
+import com.antonio.skybase.responses.CursorPage;
+import com.antonio.skybase.responses.MultiGetResult;
 import com.antonio.skybase.services.DepartmentService;
+import com.antonio.skybase.services.EncodedJson;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
@@ -23,6 +27,8 @@ class DepartmentControllerTest {
 
     private MockMvc mockMvc;
 
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
     @Mock
     private DepartmentService departmentService;
 
@@ -69,14 +75,15 @@ class DepartmentControllerTest {
         department2.setId(2);
         department2.setName("Department 2");
 
-        when(departmentService.getAll()).thenReturn(List.of(department1, department2));
+        when(departmentService.getEncodedPage(null, null)).thenReturn(EncodedJson.encode(objectMapper, new CursorPage<>(List.of(department1, department2), null)));
 
         mockMvc.perform(get("/departments"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].id").value(1))
-                .andExpect(jsonPath("$[0].name").value("Department 1"))
-                .andExpect(jsonPath("$[1].id").value(2))
-                .andExpect(jsonPath("$[1].name").value("Department 2"));
+                .andExpect(jsonPath("$.size").value(2))
+                .andExpect(jsonPath("$.items[0].id").value(1))
+                .andExpect(jsonPath("$.items[0].name").value("Department 1"))
+                .andExpect(jsonPath("$.items[1].id").value(2))
+                .andExpect(jsonPath("$.items[1].name").value("Department 2"));
     }
 
     @Test
@@ -93,6 +100,21 @@ class DepartmentControllerTest {
                 .andExpect(jsonPath("$.name").value("Test Department"));
     }
 
+    @Test
+    void testGetDepartmentsByIds() throws Exception {
+        Department department = new Department();
+        department.setId(2);
+        department.setName("Test Department");
+
+        when(departmentService.getByIds(List.of(2, 5))).thenReturn(new MultiGetResult<>(List.of(department), List.of(5)));
+
+        mockMvc.perform(get("/departments").param("ids", "2,5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].id").value(2))
+                .andExpect(jsonPath("$.missing[0]").value(5));
+    }
+
     @Test
     void testUpdateDepartment() throws Exception {
         Department department = new Department();
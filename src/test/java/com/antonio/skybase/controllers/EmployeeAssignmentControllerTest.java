@@ -3,7 +3,13 @@ package com.antonio.skybase.controllers;
 import com.antonio.skybase.dtos.EmployeeAssignmentDTO;
 import com.antonio.skybase.entities.EmployeeAssignment;
 import com.antonio.skybase.entities.EmployeeAssignmentId;
+import com.antonio.skybase.responses.BulkItemResult;
+import com.antonio.skybase.responses.CursorPage;
+import com.antonio.skybase.responses.EmployeeAssignmentView;
+import com.antonio.skybase.responses.MultiGetResult;
 import com.antonio.skybase.services.EmployeeAssignmentService;
+import com.antonio.skybase.services.ResourceVersions;
+import com.antonio.skybase.services.ExportFormat;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
@@ -12,11 +18,17 @@ import org.mockito.MockitoAnnotations;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -28,12 +40,16 @@ class EmployeeAssignmentControllerTest {
     @Mock
     private EmployeeAssignmentService employeeAssignmentService;
 
+    @Mock
+    private ResourceVersions resourceVersions;
+
     @InjectMocks
     private EmployeeAssignmentController employeeAssignmentController;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        when(resourceVersions.etag(any(WebRequest.class), any(String[].class))).thenReturn("\"1-0\"");
         mockMvc = MockMvcBuilders.standaloneSetup(employeeAssignmentController).build();
     }
 
@@ -82,49 +98,98 @@ class EmployeeAssignmentControllerTest {
     }
 
     @Test
-    void testGetAllEmployeeAssignments() throws Exception {
-        EmployeeAssignmentId id1 = new EmployeeAssignmentId();
-        id1.setEmployeeId(1);
-        id1.setFlightId(1);
-        id1.setDate(LocalDate.of(2023, 10, 10));
+    void testCreateEmployeeAssignmentsInBulk() throws Exception {
+        EmployeeAssignmentId id = new EmployeeAssignmentId();
+        id.setEmployeeId(1);
+        id.setFlightId(1);
+        id.setDate(LocalDate.of(2023, 10, 10));
 
-        EmployeeAssignmentId id2 = new EmployeeAssignmentId();
-        id2.setEmployeeId(2);
-        id2.setFlightId(2);
-        id2.setDate(LocalDate.of(2023, 10, 11));
+        when(employeeAssignmentService.createAll(anyList())).thenReturn(List.of(
+                new BulkItemResult<>(0, 201, id, null),
+                new BulkItemResult<>(1, 404, null, "Flight with ID 9 not found")
+        ));
 
-        EmployeeAssignment employeeAssignment1 = new EmployeeAssignment();
-        employeeAssignment1.setId(id1);
+        mockMvc.perform(post("/employee-assignments/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"employeeId\": 1, \"flightId\": 1, \"date\": \"2023-10-10\"}, " +
+                                "{\"employeeId\": 1, \"flightId\": 9, \"date\": \"2023-10-11\"}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].status").value(201))
+                .andExpect(jsonPath("$[0].id.employeeId").value(1))
+                .andExpect(jsonPath("$[1].status").value(404))
+                .andExpect(jsonPath("$[1].message").value("Flight with ID 9 not found"));
+    }
 
-        EmployeeAssignment employeeAssignment2 = new EmployeeAssignment();
-        employeeAssignment2.setId(id2);
+    @Test
+    void testGetAllEmployeeAssignments() throws Exception {
+        EmployeeAssignmentView employeeAssignment1 = view(1, 1, LocalDate.of(2023, 10, 10));
+        employeeAssignment1.setFirstName("John");
+        EmployeeAssignmentView employeeAssignment2 = view(2, 2, LocalDate.of(2023, 10, 11));
 
-        when(employeeAssignmentService.getAll()).thenReturn(List.of(employeeAssignment1, employeeAssignment2));
+        when(employeeAssignmentService.getPage(null, null, null)).thenReturn(new CursorPage<>(List.of(employeeAssignment1, employeeAssignment2), null));
 
         mockMvc.perform(get("/employee-assignments"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].id.employeeId").value(1))
-                .andExpect(jsonPath("$[0].id.flightId").value(1))
-                .andExpect(jsonPath("$[1].id.employeeId").value(2))
-                .andExpect(jsonPath("$[1].id.flightId").value(2));
+                .andExpect(jsonPath("$.size").value(2))
+                .andExpect(jsonPath("$.items[0].employeeId").value(1))
+                .andExpect(jsonPath("$.items[0].flightId").value(1))
+                .andExpect(jsonPath("$.items[0].firstName").value("John"))
+                .andExpect(jsonPath("$.items[1].employeeId").value(2))
+                .andExpect(jsonPath("$.items[1].flightId").value(2))
+                .andExpect(jsonPath("$.items[1].firstName").doesNotExist());
     }
 
     @Test
-    void testGetEmployeeAssignmentById() throws Exception {
-        EmployeeAssignmentId id = new EmployeeAssignmentId();
-        id.setEmployeeId(1);
-        id.setFlightId(1);
-        id.setDate(LocalDate.of(2023, 10, 10));
+    void testGetEmployeeAssignmentsPageWithCursor() throws Exception {
+        EmployeeAssignmentView employeeAssignment = view(2, 2, LocalDate.of(2023, 10, 11));
 
-        EmployeeAssignment employeeAssignment = new EmployeeAssignment();
-        employeeAssignment.setId(id);
+        when(employeeAssignmentService.getPage("abc", 1, "flightNumber")).thenReturn(new CursorPage<>(List.of(employeeAssignment), "def"));
+
+        mockMvc.perform(get("/employee-assignments").param("cursor", "abc").param("size", "1").param("fields", "flightNumber"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].employeeId").value(2))
+                .andExpect(jsonPath("$.next").value("def"));
+    }
+
+    @Test
+    void testGetEmployeeAssignmentById() throws Exception {
+        EmployeeAssignmentView employeeAssignment = view(1, 1, LocalDate.of(2023, 10, 10));
 
-        when(employeeAssignmentService.getById(any(EmployeeAssignmentId.class))).thenReturn(employeeAssignment);
+        when(employeeAssignmentService.getViewById(any(EmployeeAssignmentId.class), eq(null))).thenReturn(employeeAssignment);
 
         mockMvc.perform(get("/employee-assignments/1/1/2023-10-10"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.id.employeeId").value(1))
-                .andExpect(jsonPath("$.id.flightId").value(1));
+                .andExpect(jsonPath("$.employeeId").value(1))
+                .andExpect(jsonPath("$.flightId").value(1))
+                .andExpect(jsonPath("$.firstName").doesNotExist());
+    }
+
+    @Test
+    void testGetEmployeeAssignmentsByIds() throws Exception {
+        EmployeeAssignmentId missing = new EmployeeAssignmentId();
+        missing.setEmployeeId(1);
+        missing.setFlightId(1);
+        missing.setDate(LocalDate.of(2023, 10, 10));
+
+        when(employeeAssignmentService.getViewsByIds(List.of("2/1/2023-10-10", "1/1/2023-10-10"), null))
+                .thenReturn(new MultiGetResult<>(List.of(view(2, 1, LocalDate.of(2023, 10, 10))), List.of(missing)));
+
+        mockMvc.perform(get("/employee-assignments").param("ids", "2/1/2023-10-10,1/1/2023-10-10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].employeeId").value(2))
+                .andExpect(jsonPath("$.missing[0].employeeId").value(1));
+    }
+
+    @Test
+    void testGetEmployeeAssignmentsByDate() throws Exception {
+        LocalDate date = LocalDate.of(2023, 10, 10);
+        when(employeeAssignmentService.getAssignmentsByDate(date, "lastName")).thenReturn(List.of(view(1, 1, date), view(2, 1, date)));
+
+        mockMvc.perform(get("/employee-assignments/by-date").param("date", "2023-10-10").param("fields", "lastName"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[1].employeeId").value(2));
     }
 
     @Test
@@ -147,9 +212,31 @@ class EmployeeAssignmentControllerTest {
                 .andExpect(jsonPath("$.id.flightId").value(1));
     }
 
+    @Test
+    void testExportEmployeeAssignments() throws Exception {
+        doAnswer(invocation -> {
+            OutputStream outputStream = invocation.getArgument(0);
+            outputStream.write("{\"employeeId\":1,\"flightId\":1,\"date\":\"2023-10-10\"}\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(employeeAssignmentService).export(any(OutputStream.class), eq(ExportFormat.NDJSON));
+
+        mockMvc.perform(get("/employee-assignments/export"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string("{\"employeeId\":1,\"flightId\":1,\"date\":\"2023-10-10\"}\n"));
+    }
+
     @Test
     void testDeleteEmployeeAssignment() throws Exception {
         mockMvc.perform(delete("/employee-assignments/1/1/2023-10-10"))
                 .andExpect(status().isNoContent());
     }
-}
\ No newline at end of file
+
+    private static EmployeeAssignmentView view(Integer employeeId, Integer flightId, LocalDate date) {
+        EmployeeAssignmentView view = new EmployeeAssignmentView();
+        view.setEmployeeId(employeeId);
+        view.setFlightId(flightId);
+        view.setDate(date);
+        return view;
+    }
+}
@@ -2,6 +2,8 @@ package com.antonio.skybase.controllers;
 
 import com.antonio.skybase.dtos.EmployeeDTO;
 import com.antonio.skybase.entities.Employee;
+import com.antonio.skybase.responses.CursorPage;
+import com.antonio.skybase.responses.MultiGetResult;
 import com.antonio.skybase.services.EmployeeService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -12,7 +14,9 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
@@ -110,22 +114,23 @@ class EmployeeControllerTest {
         employee2.setEmail("jane.doe@example.com");
         employee2.setSalary(60000);
 
-        when(employeeService.getAll()).thenReturn(List.of(employee1, employee2));
+        when(employeeService.getPage(null, null)).thenReturn(new CursorPage<>(List.of(employee1, employee2), null));
 
         mockMvc.perform(get("/employees"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].id").value(1))
-                .andExpect(jsonPath("$[0].firstName").value("John"))
-                .andExpect(jsonPath("$[0].lastName").value("Doe"))
-                .andExpect(jsonPath("$[0].phoneNumber").value("1234567890"))
-                .andExpect(jsonPath("$[0].email").value("john.doe@example.com"))
-                .andExpect(jsonPath("$[0].salary").value(50000))
-                .andExpect(jsonPath("$[1].id").value(2))
-                .andExpect(jsonPath("$[1].firstName").value("Jane"))
-                .andExpect(jsonPath("$[1].lastName").value("Doe"))
-                .andExpect(jsonPath("$[1].phoneNumber").value("0987654321"))
-                .andExpect(jsonPath("$[1].email").value("jane.doe@example.com"))
-                .andExpect(jsonPath("$[1].salary").value(60000));
+                .andExpect(jsonPath("$.size").value(2))
+                .andExpect(jsonPath("$.items[0].id").value(1))
+                .andExpect(jsonPath("$.items[0].firstName").value("John"))
+                .andExpect(jsonPath("$.items[0].lastName").value("Doe"))
+                .andExpect(jsonPath("$.items[0].phoneNumber").value("1234567890"))
+                .andExpect(jsonPath("$.items[0].email").value("john.doe@example.com"))
+                .andExpect(jsonPath("$.items[0].salary").value(50000))
+                .andExpect(jsonPath("$.items[1].id").value(2))
+                .andExpect(jsonPath("$.items[1].firstName").value("Jane"))
+                .andExpect(jsonPath("$.items[1].lastName").value("Doe"))
+                .andExpect(jsonPath("$.items[1].phoneNumber").value("0987654321"))
+                .andExpect(jsonPath("$.items[1].email").value("jane.doe@example.com"))
+                .andExpect(jsonPath("$.items[1].salary").value(60000));
     }
 
     @Test
@@ -150,6 +155,65 @@ class EmployeeControllerTest {
                 .andExpect(jsonPath("$.salary").value(50000));
     }
 
+    @Test
+    void testGetEmployeesByIds() throws Exception {
+        Employee employee = new Employee();
+        employee.setId(2);
+        employee.setFirstName("Test");
+
+        when(employeeService.getByIds(List.of(2, 5))).thenReturn(new MultiGetResult<>(List.of(employee), List.of(5)));
+
+        mockMvc.perform(get("/employees").param("ids", "2,5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].id").value(2))
+                .andExpect(jsonPath("$.missing[0]").value(5));
+    }
+
+    @Test
+    void testGetAvailableEmployees() throws Exception {
+        Employee employee = new Employee();
+        employee.setId(1);
+        employee.setFirstName("John");
+
+        when(employeeService.getAvailableEmployeesByDate(LocalDate.of(2023, 10, 1), "Mg", null))
+                .thenReturn(new CursorPage<>(List.of(employee), "Mw"));
+
+        mockMvc.perform(get("/employees/available")
+                        .param("date", "2023-10-01")
+                        .param("cursor", "Mg"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].firstName").value("John"))
+                .andExpect(jsonPath("$.next").value("Mw"));
+    }
+
+    @Test
+    void testGetFirstEmployeeAvailabilities() throws Exception {
+        when(employeeService.getFirstEmployeeAvailabilities(1, LocalDate.of(2023, 10, 1), LocalDate.of(2023, 10, 31), 2))
+                .thenReturn(List.of(LocalDate.of(2023, 10, 2), LocalDate.of(2023, 10, 4)));
+
+        mockMvc.perform(get("/employees/1/availabilities")
+                        .param("startDate", "2023-10-01")
+                        .param("endDate", "2023-10-31")
+                        .param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2));
+    }
+
+    @Test
+    void testGetEmployeeAvailabilitiesForSeveralEmployees() throws Exception {
+        when(employeeService.getEmployeeAvailabilities(List.of(1, 2), LocalDate.of(2023, 10, 1), LocalDate.of(2023, 10, 3)))
+                .thenReturn(Map.of(1, List.of(LocalDate.of(2023, 10, 2)), 2, List.of()));
+
+        mockMvc.perform(get("/employees/availabilities")
+                        .param("ids", "1,2")
+                        .param("startDate", "2023-10-01")
+                        .param("endDate", "2023-10-03"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.1.length()").value(1))
+                .andExpect(jsonPath("$.2").isEmpty());
+    }
+
     @Test
     void testUpdateEmployee() throws Exception {
         Employee employee = new Employee();
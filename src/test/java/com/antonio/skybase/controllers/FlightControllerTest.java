@@ -2,7 +2,11 @@ package com.antonio.skybase.controllers;
 
 import com.antonio.skybase.dtos.FlightDTO;
 import com.antonio.skybase.entities.Flight;
+import com.antonio.skybase.responses.CursorPage;
+import com.antonio.skybase.responses.FlightView;
+import com.antonio.skybase.responses.MultiGetResult;
 import com.antonio.skybase.services.FlightService;
+import com.antonio.skybase.services.ResourceVersions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
@@ -11,12 +15,14 @@ import org.mockito.MockitoAnnotations;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.request.WebRequest;
 
 import java.time.LocalTime;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -28,12 +34,16 @@ class FlightControllerTest {
     @Mock
     private FlightService flightService;
 
+    @Mock
+    private ResourceVersions resourceVersions;
+
     @InjectMocks
     private FlightController flightController;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        when(resourceVersions.etag(any(WebRequest.class), any(String[].class))).thenReturn("\"1-0\"");
         mockMvc = MockMvcBuilders.standaloneSetup(flightController).build();
     }
 
@@ -74,43 +84,64 @@ class FlightControllerTest {
     }
 
     @Test
-    void testGetAllFlights() throws Exception {
+    void testImportFlights() throws Exception {
         Flight flight1 = new Flight();
         flight1.setId(1);
+        flight1.setNumber("FL1");
+
+        Flight flight2 = new Flight();
+        flight2.setId(2);
+        flight2.setNumber("FL2");
+
+        when(flightService.importAll(anyList())).thenReturn(List.of(flight1, flight2));
+
+        mockMvc.perform(post("/flights/import")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"number\": \"FL1\", \"departureAirportId\": 1, \"arrivalAirportId\": 2, \"departureTime\": \"10:00:00\", \"arrivalTime\": \"12:00:00\", \"distance\": 500}, " +
+                                "{\"number\": \"FL2\", \"departureAirportId\": 2, \"arrivalAirportId\": 1, \"departureTime\": \"14:00:00\", \"arrivalTime\": \"16:00:00\", \"distance\": 500}]"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[1].number").value("FL2"));
+    }
+
+    @Test
+    void testGetAllFlights() throws Exception {
+        FlightView flight1 = new FlightView();
+        flight1.setId(1);
         flight1.setNumber("FL123");
-        flight1.setDepartureTime(LocalTime.of(10, 0));
-        flight1.setArrivalTime(LocalTime.of(12, 0));
+        flight1.setDepartureAirportId(1);
+        flight1.setArrivalAirportId(2);
         flight1.setDistance(500);
 
-        Flight flight2 = new Flight();
+        FlightView flight2 = new FlightView();
         flight2.setId(2);
         flight2.setNumber("FL124");
-        flight2.setDepartureTime(LocalTime.of(14, 0));
-        flight2.setArrivalTime(LocalTime.of(16, 0));
+        flight2.setDepartureAirportId(2);
+        flight2.setArrivalAirportId(1);
         flight2.setDistance(600);
 
-        when(flightService.getAll()).thenReturn(List.of(flight1, flight2));
+        when(flightService.getPage(null, null, null)).thenReturn(new CursorPage<>(List.of(flight1, flight2), null));
 
         mockMvc.perform(get("/flights"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].id").value(1))
-                .andExpect(jsonPath("$[0].number").value("FL123"))
-                .andExpect(jsonPath("$[0].distance").value(500))
-                .andExpect(jsonPath("$[1].id").value(2))
-                .andExpect(jsonPath("$[1].number").value("FL124"))
-                .andExpect(jsonPath("$[1].distance").value(600));
+                .andExpect(jsonPath("$.size").value(2))
+                .andExpect(jsonPath("$.items[0].id").value(1))
+                .andExpect(jsonPath("$.items[0].number").value("FL123"))
+                .andExpect(jsonPath("$.items[0].departureAirportId").value(1))
+                .andExpect(jsonPath("$.items[0].distance").value(500))
+                .andExpect(jsonPath("$.items[1].id").value(2))
+                .andExpect(jsonPath("$.items[1].number").value("FL124"))
+                .andExpect(jsonPath("$.items[1].distance").value(600));
     }
 
     @Test
     void testGetFlightById() throws Exception {
-        Flight flight = new Flight();
+        FlightView flight = new FlightView();
         flight.setId(1);
         flight.setNumber("FL123");
-        flight.setDepartureTime(LocalTime.of(10, 0));
-        flight.setArrivalTime(LocalTime.of(12, 0));
         flight.setDistance(500);
 
-        when(flightService.getById(anyInt())).thenReturn(flight);
+        when(flightService.getViewById(1, null)).thenReturn(flight);
 
         mockMvc.perform(get("/flights/1"))
                 .andExpect(status().isOk())
@@ -119,6 +150,35 @@ class FlightControllerTest {
                 .andExpect(jsonPath("$.distance").value(500));
     }
 
+    @Test
+    void testGetFlightsByIds() throws Exception {
+        FlightView flight = new FlightView();
+        flight.setId(3);
+        flight.setNumber("RO123");
+
+        when(flightService.getViewsByIds(List.of(3, 1), "number")).thenReturn(new MultiGetResult<>(List.of(flight), List.of(1)));
+
+        mockMvc.perform(get("/flights").param("ids", "3,1").param("fields", "number"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].number").value("RO123"))
+                .andExpect(jsonPath("$.missing[0]").value(1));
+    }
+
+    @Test
+    void testGetFlightByIdWithFields() throws Exception {
+        FlightView flight = new FlightView();
+        flight.setId(1);
+        flight.setNumber("FL123");
+
+        when(flightService.getViewById(1, "number")).thenReturn(flight);
+
+        mockMvc.perform(get("/flights/1").param("fields", "number"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.number").value("FL123"))
+                .andExpect(jsonPath("$.distance").doesNotExist())
+                .andExpect(jsonPath("$.departureAirportId").doesNotExist());
+    }
+
     @Test
     void testUpdateFlight() throws Exception {
         Flight flight = new Flight();
@@ -2,7 +2,11 @@ package com.antonio.skybase.controllers;
 
 import com.antonio.skybase.dtos.JobDTO;
 import com.antonio.skybase.entities.Job;
+import com.antonio.skybase.responses.CursorPage;
+import com.antonio.skybase.responses.MultiGetResult;
 import com.antonio.skybase.services.JobService;
+import com.antonio.skybase.services.EncodedJson;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
@@ -24,6 +28,8 @@ class JobControllerTest {
 
     private MockMvc mockMvc;
 
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
     @Mock
     private JobService jobService;
 
@@ -102,18 +108,19 @@ class JobControllerTest {
         job2.setMinSalary(60000.0);
         job2.setMaxSalary(120000.0);
 
-        when(jobService.getAll()).thenReturn(List.of(job1, job2));
+        when(jobService.getEncodedPage(null, null)).thenReturn(EncodedJson.encode(objectMapper, new CursorPage<>(List.of(job1, job2), null)));
 
         mockMvc.perform(get("/jobs"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].id").value(1))
-                .andExpect(jsonPath("$[0].title").value("Job 1"))
-                .andExpect(jsonPath("$[0].minSalary").value(50000.0))
-                .andExpect(jsonPath("$[0].maxSalary").value(100000.0))
-                .andExpect(jsonPath("$[1].id").value(2))
-                .andExpect(jsonPath("$[1].title").value("Job 2"))
-                .andExpect(jsonPath("$[1].minSalary").value(60000.0))
-                .andExpect(jsonPath("$[1].maxSalary").value(120000.0));
+                .andExpect(jsonPath("$.size").value(2))
+                .andExpect(jsonPath("$.items[0].id").value(1))
+                .andExpect(jsonPath("$.items[0].title").value("Job 1"))
+                .andExpect(jsonPath("$.items[0].minSalary").value(50000.0))
+                .andExpect(jsonPath("$.items[0].maxSalary").value(100000.0))
+                .andExpect(jsonPath("$.items[1].id").value(2))
+                .andExpect(jsonPath("$.items[1].title").value("Job 2"))
+                .andExpect(jsonPath("$.items[1].minSalary").value(60000.0))
+                .andExpect(jsonPath("$.items[1].maxSalary").value(120000.0));
     }
 
     @Test
@@ -134,6 +141,21 @@ class JobControllerTest {
                 .andExpect(jsonPath("$.maxSalary").value(100000.0));
     }
 
+    @Test
+    void testGetJobsByIds() throws Exception {
+        Job job = new Job();
+        job.setId(2);
+        job.setTitle("Test Job");
+
+        when(jobService.getByIds(List.of(2, 5))).thenReturn(new MultiGetResult<>(List.of(job), List.of(5)));
+
+        mockMvc.perform(get("/jobs").param("ids", "2,5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].id").value(2))
+                .andExpect(jsonPath("$.missing[0]").value(5));
+    }
+
     @Test
     void testUpdateJob() throws Exception {
         Job job = new Job();
@@ -0,0 +1,401 @@
+package com.antonio.skybase.dataset;
+
+import com.antonio.skybase.entities.Department;
+import com.antonio.skybase.entities.IdGenerators;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+// Genereaza un set de date sintetic, determinist pentru un spec si un seed dat, si il incarca direct prin JDBC,
+// in batch-uri, intr-o baza de date MySQL sau H2 cu schema deja creata de aplicatie. Datele respecta regulile aplicatiei:
+// doar angajatii din departamentele de zbor au asignari, o resursa are cel mult o asignare pe zi, iar o aeronava
+// este asignata doar pe zboruri cu distanta cel mult egala cu raza ei.
+// Id-urile sunt luate deasupra celor existente, iar tabelul id_generators este mutat peste ele, deci datele pot fi
+// adaugate peste o baza de date folosita deja. Cache-urile aplicatiei nu vad randurile inserate pe aceasta cale.
+//
+// Rulare: mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.antonio.skybase.dataset.DatasetGenerator
+//         -Dexec.args="<jdbc-url> <user> <password> [small|medium|large] [seed]"
+public class DatasetGenerator {
+    private static final int BATCH_SIZE = 5_000;
+    private static final int COMMIT_SIZE = 50_000;
+    private static final int MANAGER_FANOUT = 8;
+    private static final int JOBS_PER_DEPARTMENT = 3;
+    private static final int GROUND_DEPARTMENTS = 4;
+    private static final int MIN_DISTANCE = 300;
+    private static final int MAX_DISTANCE = 12_000;
+
+    private record AircraftType(String name, int range, int capacity) {
+    }
+
+    private static final List<AircraftType> AIRCRAFT_TYPES = List.of(
+            new AircraftType("ATR 72", 1_500, 70),
+            new AircraftType("B737-800", 5_600, 189),
+            new AircraftType("A320", 6_100, 180),
+            new AircraftType("A321", 7_400, 220),
+            new AircraftType("A330-300", 11_750, 290),
+            new AircraftType("B787-9", 14_000, 296)
+    );
+
+    // Id-uri consecutive alocate unui tip de entitate
+    public record IdRange(int first, int count) {
+        public int get(int index) {
+            return first + index;
+        }
+
+        public List<Integer> toList() {
+            return IntStream.range(first, first + count).boxed().toList();
+        }
+    }
+
+    public record Dataset(DatasetSpec spec,
+                          IdRange airports,
+                          IdRange flights,
+                          IdRange flightCrew,
+                          IdRange groundStaff,
+                          IdRange aircraft,
+                          long employeeAssignments,
+                          long aircraftAssignments) {
+    }
+
+    private final DataSource dataSource;
+
+    public DatasetGenerator(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    public static void main(String[] args) throws SQLException {
+        if (args.length < 3) {
+            System.err.println("Usage: DatasetGenerator <jdbc-url> <user> <password> [small|medium|large] [seed]");
+            System.exit(1);
+        }
+
+        DatasetSpec spec = DatasetSpec.named(args.length > 3 ? args[3] : "small", args.length > 4 ? Long.parseLong(args[4]) : 42);
+        long start = System.nanoTime();
+        Dataset dataset = new DatasetGenerator(new DriverManagerDataSource(args[0], args[1], args[2])).generate(spec);
+        System.out.printf("Generated %s dataset (seed %d) in %d s: %d airports, %d flights, %d employees, %d aircraft, " +
+                        "%d employee assignments, %d aircraft assignments%n",
+                spec.name(), spec.seed(), (System.nanoTime() - start) / 1_000_000_000,
+                dataset.airports().count(), dataset.flights().count(), dataset.flightCrew().count() + dataset.groundStaff().count(),
+                dataset.aircraft().count(), dataset.employeeAssignments(), dataset.aircraftAssignments());
+    }
+
+    public Dataset generate(DatasetSpec spec) throws SQLException {
+        SplittableRandom random = new SplittableRandom(spec.seed());
+        try (Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                String quote = connection.getMetaData().getIdentifierQuoteString();
+
+                ensureFlightDepartments(connection);
+                IdRange countries = insertCountries(connection, spec);
+                IdRange cities = insertCities(connection, spec, countries);
+                IdRange airports = insertAirports(connection, spec, cities);
+                int[] flightJobs = insertJobs(connection, Department.FLIGHT_DEPARTMENT_IDS, random);
+                int[] groundJobs = insertJobs(connection, insertGroundDepartments(connection).toList(), random);
+
+                int[] distances = new int[spec.flights()];
+                IdRange flights = insertFlights(connection, spec, airports, distances, random);
+                IdRange employees = insertEmployees(connection, spec, flightJobs, groundJobs, random);
+                int[] ranges = new int[spec.aircraft()];
+                IdRange aircraft = insertAircraft(connection, spec, quote, ranges, random);
+
+                long employeeAssignments = insertEmployeeAssignments(connection, spec, flights, employees, random);
+                long aircraftAssignments = insertAircraftAssignments(connection, spec, flights, distances, aircraft, ranges, random);
+
+                return new Dataset(spec, airports, flights,
+                        new IdRange(employees.first(), spec.flightCrew()),
+                        new IdRange(employees.first() + spec.flightCrew(), spec.groundStaff()),
+                        aircraft, employeeAssignments, aircraftAssignments);
+            } catch (SQLException | RuntimeException ex) {
+                connection.rollback();
+                throw ex;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        }
+    }
+
+    // Validarea asignarilor accepta doar angajati din departamentele cu id-urile din Department.FLIGHT_DEPARTMENT_IDS
+    private void ensureFlightDepartments(Connection connection) throws SQLException {
+        for (Integer id : Department.FLIGHT_DEPARTMENT_IDS) {
+            if (queryLong(connection, "SELECT COUNT(*) FROM departments WHERE id = ?", id) == 0) {
+                try (BatchWriter writer = new BatchWriter(connection, "INSERT INTO departments (id, name) VALUES (?, ?)")) {
+                    writer.add(id, "Flight Department " + id);
+                }
+            }
+        }
+    }
+
+    private IdRange insertCountries(Connection connection, DatasetSpec spec) throws SQLException {
+        IdRange ids = reserveIds(connection, "countries", spec.countries());
+        List<String> codes = freeCodes(connection, "countries", 2, spec.countries());
+        try (BatchWriter writer = new BatchWriter(connection, "INSERT INTO countries (id, code, name) VALUES (?, ?, ?)")) {
+            for (int i = 0; i < ids.count(); i++) {
+                writer.add(ids.get(i), codes.get(i), "Country " + codes.get(i));
+            }
+        }
+        return ids;
+    }
+
+    private IdRange insertCities(Connection connection, DatasetSpec spec, IdRange countries) throws SQLException {
+        IdRange ids = reserveIds(connection, "cities", countries.count() * spec.citiesPerCountry());
+        try (BatchWriter writer = new BatchWriter(connection, "INSERT INTO cities (id, name, country_id) VALUES (?, ?, ?)")) {
+            for (int i = 0; i < ids.count(); i++) {
+                writer.add(ids.get(i), "City " + ids.get(i), countries.get(i / spec.citiesPerCountry()));
+            }
+        }
+        return ids;
+    }
+
+    private IdRange insertAirports(Connection connection, DatasetSpec spec, IdRange cities) throws SQLException {
+        IdRange ids = reserveIds(connection, "airports", cities.count() * spec.airportsPerCity());
+        List<String> codes = freeCodes(connection, "airports", 3, ids.count());
+        try (BatchWriter writer = new BatchWriter(connection, "INSERT INTO airports (id, code, name, city_id) VALUES (?, ?, ?, ?)")) {
+            for (int i = 0; i < ids.count(); i++) {
+                writer.add(ids.get(i), codes.get(i), "Airport " + codes.get(i), cities.get(i / spec.airportsPerCity()));
+            }
+        }
+        return ids;
+    }
+
+    private IdRange insertGroundDepartments(Connection connection) throws SQLException {
+        IdRange ids = reserveIds(connection, "departments", GROUND_DEPARTMENTS);
+        try (BatchWriter writer = new BatchWriter(connection, "INSERT INTO departments (id, name) VALUES (?, ?)")) {
+            for (int i = 0; i < ids.count(); i++) {
+                writer.add(ids.get(i), "Ground Department " + ids.get(i));
+            }
+        }
+        return ids;
+    }
+
+    // Intoarce, pentru fiecare job, id-ul urmat de salariul minim si maxim
+    private int[] insertJobs(Connection connection, List<Integer> departmentIds, SplittableRandom random) throws SQLException {
+        IdRange ids = reserveIds(connection, "jobs", departmentIds.size() * JOBS_PER_DEPARTMENT);
+        int[] jobs = new int[ids.count() * 3];
+        try (BatchWriter writer = new BatchWriter(connection,
+                "INSERT INTO jobs (id, title, min_salary, max_salary, department_id) VALUES (?, ?, ?, ?, ?)")) {
+            for (int i = 0; i < ids.count(); i++) {
+                int minSalary = 2_000 + 500 * random.nextInt(10);
+                int maxSalary = minSalary + 1_000 + 500 * random.nextInt(10);
+                writer.add(ids.get(i), "Job " + ids.get(i), (double) minSalary, (double) maxSalary, departmentIds.get(i / JOBS_PER_DEPARTMENT));
+                jobs[3 * i] = ids.get(i);
+                jobs[3 * i + 1] = minSalary;
+                jobs[3 * i + 2] = maxSalary;
+            }
+        }
+        return jobs;
+    }
+
+    private IdRange insertFlights(Connection connection, DatasetSpec spec, IdRange airports, int[] distances, SplittableRandom random) throws SQLException {
+        IdRange ids = reserveIds(connection, "flights", spec.flights());
+        try (BatchWriter writer = new BatchWriter(connection,
+                "INSERT INTO flights (id, number, departure_airport_id, arrival_airport_id, departure_time, arrival_time, distance) VALUES (?, ?, ?, ?, ?, ?, ?)")) {
+            for (int i = 0; i < ids.count(); i++) {
+                int departure = random.nextInt(airports.count());
+                int arrival = (departure + 1 + random.nextInt(airports.count() - 1)) % airports.count();
+                distances[i] = random.nextInt(MIN_DISTANCE, MAX_DISTANCE + 1);
+                LocalTime departureTime = LocalTime.of(random.nextInt(24), 5 * random.nextInt(12));
+                // Aproximativ 800 km pe ora, plus decolarea si aterizarea
+                LocalTime arrivalTime = departureTime.plusMinutes(30 + distances[i] * 60L / 800);
+                writer.add(ids.get(i), "SG" + ids.get(i), airports.get(departure), airports.get(arrival), departureTime, arrivalTime, distances[i]);
+            }
+        }
+        return ids;
+    }
+
+    // Primii spec.flightCrew() angajati lucreaza in departamentele de zbor, restul la sol.
+    // Managerii formeaza un arbore: angajatul i il are ca manager pe angajatul (i - 1) / MANAGER_FANOUT.
+    private IdRange insertEmployees(Connection connection, DatasetSpec spec, int[] flightJobs, int[] groundJobs, SplittableRandom random) throws SQLException {
+        IdRange ids = reserveIds(connection, "employees", spec.flightCrew() + spec.groundStaff());
+        try (BatchWriter writer = new BatchWriter(connection,
+                "INSERT INTO employees (id, first_name, last_name, phone_number, email, salary, job_id, flight_hours, manager_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+            for (int i = 0; i < ids.count(); i++) {
+                boolean flightCrew = i < spec.flightCrew();
+                int[] jobs = flightCrew ? flightJobs : groundJobs;
+                int job = 3 * random.nextInt(jobs.length / 3);
+                int salary = random.nextInt(jobs[job + 1], jobs[job + 2] + 1);
+                writer.add(ids.get(i), "First" + ids.get(i), "Last" + ids.get(i), String.format("07%08d", ids.get(i) % 100_000_000),
+                        "employee" + ids.get(i) + "@skybase.com", salary, jobs[job],
+                        flightCrew ? 1 + random.nextInt(20_000) : null,
+                        i == 0 ? null : ids.get((i - 1) / MANAGER_FANOUT));
+            }
+        }
+        return ids;
+    }
+
+    private IdRange insertAircraft(Connection connection, DatasetSpec spec, String quote, int[] ranges, SplittableRandom random) throws SQLException {
+        IdRange ids = reserveIds(connection, "aircraft", spec.aircraft());
+        // range este cuvant rezervat in MySQL
+        try (BatchWriter writer = new BatchWriter(connection,
+                "INSERT INTO aircraft (id, registration, type, " + quote + "range" + quote + ", capacity) VALUES (?, ?, ?, ?, ?)")) {
+            for (int i = 0; i < ids.count(); i++) {
+                AircraftType type = AIRCRAFT_TYPES.get(random.nextInt(AIRCRAFT_TYPES.size()));
+                ranges[i] = type.range();
+                writer.add(ids.get(i), "SG-" + Integer.toString(ids.get(i), 36).toUpperCase(), type.name(), type.range(), type.capacity());
+            }
+        }
+        return ids;
+    }
+
+    private long insertEmployeeAssignments(Connection connection, DatasetSpec spec, IdRange flights, IdRange employees, SplittableRandom random) throws SQLException {
+        try (BatchWriter writer = new BatchWriter(connection, "INSERT INTO employee_assignments (employee_id, flight_id, date) VALUES (?, ?, ?)")) {
+            for (int i = 0; i < spec.flightCrew(); i++) {
+                for (int day = 0; day < spec.days(); day++) {
+                    if (random.nextDouble() < spec.assignmentDensity()) {
+                        writer.add(employees.get(i), flights.get(random.nextInt(flights.count())), spec.startDate().plusDays(day));
+                    }
+                }
+            }
+            return writer.rows();
+        }
+    }
+
+    // Zborurile sunt sortate dupa distanta, asa ca zborurile pe care le poate opera o aeronava formeaza un prefix
+    private long insertAircraftAssignments(Connection connection, DatasetSpec spec, IdRange flights, int[] distances,
+                                           IdRange aircraft, int[] ranges, SplittableRandom random) throws SQLException {
+        Integer[] byDistance = IntStream.range(0, distances.length).boxed().toArray(Integer[]::new);
+        Arrays.sort(byDistance, (first, second) -> Integer.compare(distances[first], distances[second]));
+        int[] sortedDistances = Arrays.stream(byDistance).mapToInt(index -> distances[index]).toArray();
+
+        try (BatchWriter writer = new BatchWriter(connection, "INSERT INTO aircraft_assignments (aircraft_id, flight_id, date) VALUES (?, ?, ?)")) {
+            for (int i = 0; i < aircraft.count(); i++) {
+                int reachable = upperBound(sortedDistances, ranges[i]);
+                for (int day = 0; day < spec.days(); day++) {
+                    if (random.nextDouble() < spec.assignmentDensity() && reachable > 0) {
+                        writer.add(aircraft.get(i), flights.get(byDistance[random.nextInt(reachable)]), spec.startDate().plusDays(day));
+                    }
+                }
+            }
+            return writer.rows();
+        }
+    }
+
+    // Id-urile sunt luate deasupra celui mai mare id existent si a valorii din id_generators (peste care Hibernate
+    // nu a alocat inca nimic), iar valoarea din id_generators este mutata peste blocul rezervat
+    private IdRange reserveIds(Connection connection, String table, int count) throws SQLException {
+        long current = queryLong(connection, "SELECT COALESCE(MAX(" + IdGenerators.VALUE_COLUMN + "), 0) FROM " + IdGenerators.TABLE +
+                " WHERE " + IdGenerators.SEGMENT_COLUMN + " = ?", table);
+        long maxId = queryLong(connection, "SELECT COALESCE(MAX(id), 0) FROM " + table);
+        int first = (int) Math.max(current, maxId) + 1;
+        long nextValue = (long) first + count + IdGenerators.ALLOCATION_SIZE;
+
+        String update = current == 0 && queryLong(connection, "SELECT COUNT(*) FROM " + IdGenerators.TABLE + " WHERE " + IdGenerators.SEGMENT_COLUMN + " = ?", table) == 0
+                ? "INSERT INTO " + IdGenerators.TABLE + " (" + IdGenerators.VALUE_COLUMN + ", " + IdGenerators.SEGMENT_COLUMN + ") VALUES (?, ?)"
+                : "UPDATE " + IdGenerators.TABLE + " SET " + IdGenerators.VALUE_COLUMN + " = ? WHERE " + IdGenerators.SEGMENT_COLUMN + " = ?";
+        try (PreparedStatement statement = connection.prepareStatement(update)) {
+            statement.setLong(1, nextValue);
+            statement.setString(2, table);
+            statement.executeUpdate();
+        }
+        connection.commit();
+        return new IdRange(first, count);
+    }
+
+    // Coduri din litere mari (AA, AB, ... sau AAA, AAB, ...) care nu sunt deja folosite in tabel
+    private List<String> freeCodes(Connection connection, String table, int length, int count) throws SQLException {
+        Set<String> used = new HashSet<>();
+        try (PreparedStatement statement = connection.prepareStatement("SELECT code FROM " + table);
+             ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                used.add(resultSet.getString(1));
+            }
+        }
+
+        List<String> codes = new ArrayList<>(count);
+        int combinations = (int) Math.pow(26, length);
+        for (int index = 0; index < combinations && codes.size() < count; index++) {
+            char[] code = new char[length];
+            for (int position = length - 1, rest = index; position >= 0; position--, rest /= 26) {
+                code[position] = (char) ('A' + rest % 26);
+            }
+            if (!used.contains(new String(code))) {
+                codes.add(new String(code));
+            }
+        }
+        if (codes.size() < count) {
+            throw new IllegalStateException("Not enough free " + length + "-letter codes in " + table + " for " + count + " rows");
+        }
+        return codes;
+    }
+
+    private static long queryLong(Connection connection, String sql, Object... parameters) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int i = 0; i < parameters.length; i++) {
+                statement.setObject(i + 1, parameters[i]);
+            }
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                return resultSet.getLong(1);
+            }
+        }
+    }
+
+    private static int upperBound(int[] sorted, int value) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (sorted[middle] <= value) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    // Trimite insert-urile in batch-uri de BATCH_SIZE randuri si face commit la fiecare COMMIT_SIZE randuri,
+    // ca tranzactiile sa ramana mici si la zeci de milioane de randuri
+    private static final class BatchWriter implements AutoCloseable {
+        private final Connection connection;
+        private final PreparedStatement statement;
+        private long rows;
+
+        BatchWriter(Connection connection, String sql) throws SQLException {
+            this.connection = connection;
+            this.statement = connection.prepareStatement(sql);
+        }
+
+        void add(Object... values) throws SQLException {
+            for (int i = 0; i < values.length; i++) {
+                statement.setObject(i + 1, values[i]);
+            }
+            statement.addBatch();
+            rows++;
+            if (rows % BATCH_SIZE == 0) {
+                statement.executeBatch();
+            }
+            if (rows % COMMIT_SIZE == 0) {
+                connection.commit();
+            }
+        }
+
+        long rows() {
+            return rows;
+        }
+
+        @Override
+        public void close() throws SQLException {
+            try {
+                statement.executeBatch();
+                connection.commit();
+            } finally {
+                statement.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.antonio.skybase.dataset;
+
+import com.antonio.skybase.entities.Country;
+import com.antonio.skybase.services.CountryService;
+import com.antonio.skybase.services.EmployeeService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Setul de date mic este generat de doua ori, cu acelasi seed, peste aceeasi baza de date
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:skybase_dataset;DB_CLOSE_DELAY=-1")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class DatasetGeneratorTest {
+    private static final long SEED = 7;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private CountryService countryService;
+
+    private DatasetSpec spec;
+    private DatasetGenerator.Dataset first;
+    private DatasetGenerator.Dataset second;
+
+    @BeforeAll
+    void generate() throws SQLException {
+        spec = DatasetSpec.small(SEED);
+        DatasetGenerator generator = new DatasetGenerator(dataSource);
+        first = generator.generate(spec);
+        second = generator.generate(spec);
+    }
+
+    @Test
+    void testDatasetHasRequestedVolumes() {
+        assertEquals(spec.countries() * spec.citiesPerCountry() * spec.airportsPerCity(), first.airports().count());
+        assertEquals(2 * first.employeeAssignments(), count("SELECT COUNT(*) FROM employee_assignments"));
+        assertEquals(2 * first.aircraftAssignments(), count("SELECT COUNT(*) FROM aircraft_assignments"));
+        assertEquals(2L * spec.flights(), count("SELECT COUNT(*) FROM flights"));
+
+        // Aproximativ densitatea ceruta din toate perechile (resursa, zi) posibile
+        double density = (double) first.employeeAssignments() / ((long) spec.flightCrew() * spec.days());
+        assertEquals(spec.assignmentDensity(), density, 0.02);
+    }
+
+    @Test
+    void testSameSeedGeneratesSameDataset() {
+        assertEquals(first.employeeAssignments(), second.employeeAssignments());
+        assertEquals(first.aircraftAssignments(), second.aircraftAssignments());
+        assertEquals(employeeAssignmentFingerprint(first), employeeAssignmentFingerprint(second));
+        assertEquals(aircraftAssignmentFingerprint(first), aircraftAssignmentFingerprint(second));
+    }
+
+    @Test
+    void testDatasetRespectsAssignmentRules() {
+        assertEquals(0, count("SELECT COUNT(*) FROM aircraft_assignments aa JOIN aircraft a ON a.id = aa.aircraft_id " +
+                "JOIN flights f ON f.id = aa.flight_id WHERE a.\"range\" < f.distance"));
+        assertEquals(0, count("SELECT COUNT(*) FROM employee_assignments ea JOIN employees e ON e.id = ea.employee_id " +
+                "JOIN jobs j ON j.id = e.job_id WHERE j.department_id NOT IN (1, 2)"));
+        assertEquals(0, count("SELECT COUNT(*) FROM (SELECT employee_id, date FROM employee_assignments GROUP BY employee_id, date HAVING COUNT(*) > 1) d"));
+        assertEquals(0, count("SELECT COUNT(*) FROM (SELECT aircraft_id, date FROM aircraft_assignments GROUP BY aircraft_id, date HAVING COUNT(*) > 1) d"));
+        assertEquals(0, count("SELECT COUNT(*) FROM employees e JOIN employees m ON m.id = e.manager_id WHERE m.id >= e.id"));
+    }
+
+    @Test
+    void testApplicationWorksOnGeneratedDataset() {
+        Integer employeeId = first.flightCrew().get(0);
+        long assigned = count("SELECT COUNT(*) FROM employee_assignments WHERE employee_id = " + employeeId);
+        assertEquals(spec.days() - assigned, employeeService.getEmployeeAvailabilities(employeeId, spec.startDate(), spec.endDate()).size());
+
+        Map<Integer, ?> availabilities = employeeService.getEmployeeAvailabilities(first.flightCrew().toList().subList(0, 10), spec.startDate(), spec.endDate());
+        assertEquals(10, availabilities.size());
+
+        // Generatorul de id-uri al aplicatiei a fost mutat peste randurile inserate direct
+        long generatedMaxId = count("SELECT MAX(id) FROM countries");
+        Country country = new Country();
+        country.setName("After Dataset");
+        country.setCode("ZZ");
+        assertTrue(countryService.create(country).getId() > generatedMaxId);
+    }
+
+    private long employeeAssignmentFingerprint(DatasetGenerator.Dataset dataset) {
+        return count("SELECT SUM(CAST((employee_id - " + dataset.flightCrew().first() + ") AS BIGINT) * 100000 + (flight_id - " + dataset.flights().first() + ") * 1000 " +
+                "+ DATEDIFF('DAY', DATE '" + spec.startDate() + "', date)) FROM employee_assignments " +
+                "WHERE employee_id BETWEEN " + dataset.flightCrew().first() + " AND " + (dataset.flightCrew().first() + dataset.flightCrew().count() - 1));
+    }
+
+    private long aircraftAssignmentFingerprint(DatasetGenerator.Dataset dataset) {
+        return count("SELECT SUM(CAST((aircraft_id - " + dataset.aircraft().first() + ") AS BIGINT) * 100000 + (flight_id - " + dataset.flights().first() + ") * 1000 " +
+                "+ DATEDIFF('DAY', DATE '" + spec.startDate() + "', date)) FROM aircraft_assignments " +
+                "WHERE aircraft_id BETWEEN " + dataset.aircraft().first() + " AND " + (dataset.aircraft().first() + dataset.aircraft().count() - 1));
+    }
+
+    private long count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+}
@@ -0,0 +1,47 @@
+package com.antonio.skybase.dataset;
+
+import java.time.LocalDate;
+
+// Dimensiunile unui set de date generat. Acelasi spec si acelasi seed produc intotdeauna aceleasi date.
+// assignmentDensity este probabilitatea ca o resursa (angajat din echipajul de zbor sau aeronava) sa fie asignata
+// intr-o anumita zi; o resursa are cel mult o asignare pe zi.
+public record DatasetSpec(String name,
+                          int countries,
+                          int citiesPerCountry,
+                          int airportsPerCity,
+                          int flights,
+                          int flightCrew,
+                          int groundStaff,
+                          int aircraft,
+                          LocalDate startDate,
+                          int days,
+                          double assignmentDensity,
+                          long seed) {
+
+    public static DatasetSpec small(long seed) {
+        return new DatasetSpec("small", 5, 4, 1, 200, 400, 100, 50, LocalDate.of(2025, 1, 1), 90, 0.5, seed);
+    }
+
+    // Aproximativ 1.000 de aeroporturi, 10.000 de zboruri si angajati, 1,5 milioane de asignari
+    public static DatasetSpec medium(long seed) {
+        return new DatasetSpec("medium", 50, 10, 2, 10_000, 8_000, 2_000, 500, LocalDate.of(2025, 1, 1), 365, 0.5, seed);
+    }
+
+    // Aproximativ 4.000 de aeroporturi, 40.000 de zboruri, 50.000 de angajati si 19 milioane de asignari
+    public static DatasetSpec large(long seed) {
+        return new DatasetSpec("large", 100, 20, 2, 40_000, 40_000, 10_000, 3_000, LocalDate.of(2025, 1, 1), 730, 0.6, seed);
+    }
+
+    public static DatasetSpec named(String name, long seed) {
+        return switch (name) {
+            case "small" -> small(seed);
+            case "medium" -> medium(seed);
+            case "large" -> large(seed);
+            default -> throw new IllegalArgumentException("Unknown dataset " + name + ", expected small, medium or large");
+        };
+    }
+
+    public LocalDate endDate() {
+        return startDate.plusDays(days - 1L);
+    }
+}
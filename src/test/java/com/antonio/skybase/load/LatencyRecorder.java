@@ -0,0 +1,70 @@
+package com.antonio.skybase.load;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+// Latentele si erorile unui endpoint in fereastra masurata; percentilele sunt calculate exact, prin sortare
+public class LatencyRecorder {
+    private long[] latencies = new long[1024];
+    private int count;
+    private int errors;
+
+    public record Summary(String endpoint,
+                          int count,
+                          int errors,
+                          double errorRate,
+                          double throughput,
+                          double p50Millis,
+                          double p99Millis,
+                          double p999Millis,
+                          double maxMillis) {
+    }
+
+    public synchronized void record(long latencyNanos, boolean success) {
+        if (count == latencies.length) {
+            latencies = Arrays.copyOf(latencies, count * 2);
+        }
+        latencies[count++] = latencyNanos;
+        if (!success) {
+            errors++;
+        }
+    }
+
+    public synchronized void copyTo(LatencyRecorder other) {
+        other.add(latencies, count, errors);
+    }
+
+    private synchronized void add(long[] otherLatencies, int otherCount, int otherErrors) {
+        if (count + otherCount > latencies.length) {
+            latencies = Arrays.copyOf(latencies, Math.max(count + otherCount, count * 2));
+        }
+        System.arraycopy(otherLatencies, 0, latencies, count, otherCount);
+        count += otherCount;
+        errors += otherErrors;
+    }
+
+    public synchronized Summary summarize(String endpoint, Duration window) {
+        long[] sorted = Arrays.copyOf(latencies, count);
+        Arrays.sort(sorted);
+        return new Summary(endpoint, count, errors,
+                count == 0 ? 0 : (double) errors / count,
+                count / (window.toNanos() / 1e9),
+                millis(percentile(sorted, 0.50)),
+                millis(percentile(sorted, 0.99)),
+                millis(percentile(sorted, 0.999)),
+                millis(count == 0 ? 0 : sorted[count - 1]));
+    }
+
+    // Nearest-rank: cea mai mica valoare sub care se afla cel putin fractiunea ceruta din masuratori
+    static long percentile(long[] sorted, double fraction) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(fraction * sorted.length);
+        return sorted[Math.max(rank, 1) - 1];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+}
@@ -0,0 +1,66 @@
+package com.antonio.skybase.load;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyRecorderTest {
+
+    @Test
+    void testSummaryPercentiles() {
+        LatencyRecorder recorder = new LatencyRecorder();
+        // 1..2000 ms, in ordine inversa, cu o eroare la fiecare 100 de masuratori
+        for (int i = 2000; i >= 1; i--) {
+            recorder.record(Duration.ofMillis(i).toNanos(), i % 100 != 0);
+        }
+
+        LatencyRecorder.Summary summary = recorder.summarize("GET /countries", Duration.ofSeconds(10));
+        assertEquals(2000, summary.count());
+        assertEquals(20, summary.errors());
+        assertEquals(0.01, summary.errorRate(), 1e-9);
+        assertEquals(200.0, summary.throughput(), 1e-9);
+        assertEquals(1000.0, summary.p50Millis(), 1e-9);
+        assertEquals(1980.0, summary.p99Millis(), 1e-9);
+        assertEquals(1998.0, summary.p999Millis(), 1e-9);
+        assertEquals(2000.0, summary.maxMillis(), 1e-9);
+    }
+
+    @Test
+    void testEmptySummary() {
+        LatencyRecorder.Summary summary = new LatencyRecorder().summarize("GET /countries", Duration.ofSeconds(10));
+
+        assertEquals(0, summary.count());
+        assertEquals(0, summary.errorRate());
+        assertEquals(0, summary.p99Millis());
+    }
+
+    @Test
+    void testCopyToMergesRecorders() {
+        LatencyRecorder first = new LatencyRecorder();
+        LatencyRecorder second = new LatencyRecorder();
+        LatencyRecorder total = new LatencyRecorder();
+        first.record(Duration.ofMillis(10).toNanos(), true);
+        second.record(Duration.ofMillis(30).toNanos(), false);
+        second.record(Duration.ofMillis(20).toNanos(), true);
+
+        first.copyTo(total);
+        second.copyTo(total);
+
+        LatencyRecorder.Summary summary = total.summarize("total", Duration.ofSeconds(1));
+        assertEquals(3, summary.count());
+        assertEquals(1, summary.errors());
+        assertEquals(20.0, summary.p50Millis(), 1e-9);
+        assertEquals(30.0, summary.maxMillis(), 1e-9);
+    }
+
+    @Test
+    void testBudgetViolations() {
+        LoadEndpoint endpoint = new LoadEndpoint("GET /countries", 1, Duration.ofMillis(100), 0.01, () -> true);
+
+        assertEquals(List.of(), endpoint.violations(new LatencyRecorder.Summary("GET /countries", 100, 1, 0.01, 10, 5, 100, 150, 150)));
+        assertEquals(2, endpoint.violations(new LatencyRecorder.Summary("GET /countries", 100, 2, 0.02, 10, 5, 101, 150, 150)).size());
+    }
+}
@@ -0,0 +1,200 @@
+package com.antonio.skybase.load;
+
+import com.antonio.skybase.SkybaseApplication;
+import com.antonio.skybase.dataset.DatasetGenerator;
+import com.antonio.skybase.dataset.DatasetSpec;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// Porneste aplicatia pe un port aleator, pe o baza H2 in memorie umpluta cu setul de date sintetic, si ruleaza mixul
+// de trafic din TrafficMix. Pentru fiecare endpoint afiseaza throughput-ul, percentilele latentei si rata de erori;
+// daca un endpoint isi depaseste bugetul, procesul se termina cu codul 1, deci build-ul Maven esueaza.
+// Cu threads=virtual,platform acelasi scenariu ruleaza pe rand in ambele moduri ale aplicatiei, pentru comparatie.
+//
+// Rulare: mvn -Pload-test -DskipTests test -Dload.args="rate=50 warmup=10s duration=60s dataset=small threads=virtual"
+public class LoadDriver {
+    private static final long SEED = 42;
+
+    record Options(double rate, Duration warmup, Duration duration, Duration timeout, String dataset, List<String> threads, File result) {
+
+        static Options parse(String[] args) {
+            Map<String, String> values = new LinkedHashMap<>(Map.of(
+                    "rate", "50",
+                    "warmup", "10s",
+                    "duration", "60s",
+                    "timeout", "5s",
+                    "dataset", "small",
+                    "threads", "virtual",
+                    "result", "target/load-test-result.json"));
+            for (String arg : args) {
+                String[] keyValue = arg.split("=", 2);
+                if (keyValue.length != 2 || !values.containsKey(keyValue[0])) {
+                    throw new IllegalArgumentException("Unknown option " + arg + ", expected one of " + values.keySet());
+                }
+                values.put(keyValue[0], keyValue[1]);
+            }
+            return new Options(Double.parseDouble(values.get("rate")),
+                    duration(values.get("warmup")),
+                    duration(values.get("duration")),
+                    duration(values.get("timeout")),
+                    values.get("dataset"),
+                    List.of(values.get("threads").split(",")),
+                    new File(values.get("result")));
+        }
+
+        // 500ms, 10s, 2m
+        static Duration duration(String value) {
+            String lower = value.toLowerCase(Locale.ROOT);
+            if (lower.endsWith("ms")) {
+                return Duration.ofMillis(Long.parseLong(lower.substring(0, lower.length() - 2)));
+            }
+            return Duration.parse("PT" + lower.toUpperCase(Locale.ROOT));
+        }
+    }
+
+    record Run(String threads, List<LatencyRecorder.Summary> endpoints, LatencyRecorder.Summary total, List<String> violations) {
+    }
+
+    public static void main(String[] args) throws Exception {
+        // Altfel devtools ar reporni main-ul fara argumente, intr-un class loader nou
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        Options options = Options.parse(args);
+        if (options.threads().size() > 1) {
+            System.exit(compare(args, options));
+        }
+
+        Run run = run(options, options.threads().get(0));
+        print(run);
+        write(options.result(), List.of(run));
+        if (!run.violations().isEmpty()) {
+            System.out.println();
+            System.out.println("Latency budgets exceeded:");
+            run.violations().forEach(violation -> System.out.println("  " + violation));
+            System.exit(1);
+        }
+        System.exit(0);
+    }
+
+    // Fiecare mod ruleaza intr-un JVM separat, ca al doilea sa nu porneasca cu codul deja compilat de JIT
+    private static int compare(String[] args, Options options) throws IOException, InterruptedException {
+        List<String> common = Arrays.stream(args)
+                .filter(arg -> !arg.startsWith("threads=") && !arg.startsWith("result="))
+                .toList();
+        List<Run> runs = new ArrayList<>();
+        int exitCode = 0;
+        for (String threads : options.threads()) {
+            File result = new File(options.result().getAbsoluteFile().getParentFile(), "load-test-result-" + threads + ".json");
+            List<String> command = new ArrayList<>(List.of(
+                    Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                    "-classpath", System.getProperty("java.class.path"),
+                    LoadDriver.class.getName()));
+            command.addAll(common);
+            command.add("threads=" + threads);
+            command.add("result=" + result.getPath());
+
+            exitCode = Math.max(exitCode, new ProcessBuilder(command).inheritIO().start().waitFor());
+            if (result.exists()) {
+                runs.addAll(List.of(new ObjectMapper().readValue(result, Run[].class)));
+            }
+        }
+
+        System.out.println();
+        System.out.printf(Locale.ROOT, "%-10s %8s %8s %9s %9s %9s%n", "Threads", "req/s", "errors", "p50 ms", "p99 ms", "p999 ms");
+        runs.forEach(run -> System.out.printf(Locale.ROOT, "%-10s %8.1f %7.2f%% %9.1f %9.1f %9.1f%n", run.threads(), run.total().throughput(),
+                run.total().errorRate() * 100, run.total().p50Millis(), run.total().p99Millis(), run.total().p999Millis()));
+        write(options.result(), runs);
+        return exitCode;
+    }
+
+    static Run run(Options options, String threads) throws SQLException {
+        if (!threads.equals("virtual") && !threads.equals("platform")) {
+            throw new IllegalArgumentException("Unknown threads mode " + threads + ", expected virtual or platform");
+        }
+
+        SpringApplication application = new SpringApplication(SkybaseApplication.class);
+        application.setDefaultProperties(Map.of(
+                "server.port", "0",
+                "management.server.port", "0",
+                "spring.datasource.url", "jdbc:h2:mem:skybase_load_" + threads + ";DB_CLOSE_DELAY=-1",
+                "spring.threads.virtual.enabled", String.valueOf(threads.equals("virtual")),
+                "spring.jpa.show-sql", "false",
+                "spring.docker.compose.enabled", "false",
+                "spring.main.banner-mode", "off",
+                "logging.level.root", "WARN"
+        ));
+
+        try (ConfigurableApplicationContext context = application.run();
+             ExecutorService clientExecutor = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient client = HttpClient.newBuilder()
+                     .version(HttpClient.Version.HTTP_1_1)
+                     .connectTimeout(options.timeout())
+                     .executor(clientExecutor)
+                     .build()) {
+            DataSource dataSource = context.getBean(DataSource.class);
+            DatasetGenerator.Dataset dataset = new DatasetGenerator(dataSource).generate(DatasetSpec.named(options.dataset(), SEED));
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+
+            TrafficMix mix = new TrafficMix(URI.create("http://localhost:" + port), client, options.timeout(), dataset, new JdbcTemplate(dataSource), SEED);
+            List<LoadEndpoint> endpoints = mix.endpoints();
+            System.out.printf(Locale.ROOT, "Running %s dataset with %s threads: %.0f req/s, %ds warmup, %ds measured%n",
+                    options.dataset(), threads, options.rate(), options.warmup().toSeconds(), options.duration().toSeconds());
+            Map<LoadEndpoint, LatencyRecorder> recorders = new LoadGenerator(endpoints, SEED)
+                    .run(options.rate(), options.warmup(), options.duration());
+
+            List<LatencyRecorder.Summary> summaries = new ArrayList<>();
+            List<String> violations = new ArrayList<>();
+            LatencyRecorder total = new LatencyRecorder();
+            recorders.forEach((endpoint, recorder) -> {
+                LatencyRecorder.Summary summary = recorder.summarize(endpoint.name(), options.duration());
+                summaries.add(summary);
+                violations.addAll(endpoint.violations(summary));
+                recorder.copyTo(total);
+            });
+            return new Run(threads, summaries, total.summarize("total", options.duration()), violations);
+        }
+    }
+
+    private static void print(Run run) {
+        System.out.println();
+        System.out.println("Threads: " + run.threads());
+        System.out.printf(Locale.ROOT, "%-36s %8s %8s %9s %9s %9s %9s %9s%n", "Endpoint", "req/s", "errors", "p50 ms", "p99 ms", "p999 ms", "max ms", "count");
+        run.endpoints().forEach(LoadDriver::printRow);
+        printRow(run.total());
+    }
+
+    private static void printRow(LatencyRecorder.Summary summary) {
+        System.out.printf(Locale.ROOT, "%-36s %8.1f %7.2f%% %9.1f %9.1f %9.1f %9.1f %9d%n", summary.endpoint(), summary.throughput(),
+                summary.errorRate() * 100, summary.p50Millis(), summary.p99Millis(), summary.p999Millis(), summary.maxMillis(), summary.count());
+    }
+
+    private static void write(File result, List<Run> runs) throws IOException {
+        File directory = result.getAbsoluteFile().getParentFile();
+        if (directory != null && !directory.exists() && !directory.mkdirs()) {
+            throw new IOException("Could not create " + directory);
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(result, runs);
+        System.out.println();
+        System.out.println("Results written to " + result.getAbsolutePath());
+    }
+}
@@ -0,0 +1,27 @@
+package com.antonio.skybase.load;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+// Un tip de request din mixul de trafic: ponderea lui in mix si bugetele de latenta si de erori
+public record LoadEndpoint(String name, int weight, Duration p99Budget, double maxErrorRate, Operation operation) {
+
+    @FunctionalInterface
+    public interface Operation {
+        // Trimite request-ul si intoarce true daca raspunsul este cel asteptat
+        boolean call() throws Exception;
+    }
+
+    public List<String> violations(LatencyRecorder.Summary summary) {
+        List<String> violations = new ArrayList<>();
+        double budgetMillis = p99Budget.toNanos() / 1e6;
+        if (summary.p99Millis() > budgetMillis) {
+            violations.add(String.format("%s: p99 %.1f ms exceeds budget of %.1f ms", name, summary.p99Millis(), budgetMillis));
+        }
+        if (summary.errorRate() > maxErrorRate) {
+            violations.add(String.format("%s: error rate %.2f%% exceeds budget of %.2f%%", name, summary.errorRate() * 100, maxErrorRate * 100));
+        }
+        return violations;
+    }
+}
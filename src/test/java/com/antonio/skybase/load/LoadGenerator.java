@@ -0,0 +1,77 @@
+package com.antonio.skybase.load;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.LockSupport;
+
+// Generator de incarcare in model deschis: request-urile sosesc ca un proces Poisson cu rata data, fiecare pe propriul
+// virtual thread, indiferent cat dureaza cele aflate deja in executie. Latenta este masurata de la momentul programat
+// al sosirii, nu de la trimiterea efectiva, astfel incat intarzierile generatorului nu ascund latenta serverului.
+public class LoadGenerator {
+    private final List<LoadEndpoint> endpoints;
+    private final int totalWeight;
+    private final SplittableRandom random;
+
+    public LoadGenerator(List<LoadEndpoint> endpoints, long seed) {
+        this.endpoints = endpoints;
+        this.totalWeight = endpoints.stream().mapToInt(LoadEndpoint::weight).sum();
+        this.random = new SplittableRandom(seed);
+    }
+
+    // Request-urile sosite in warmup sunt trimise, dar nu sunt masurate
+    public Map<LoadEndpoint, LatencyRecorder> run(double ratePerSecond, Duration warmup, Duration duration) {
+        Map<LoadEndpoint, LatencyRecorder> recorders = new LinkedHashMap<>();
+        endpoints.forEach(endpoint -> recorders.put(endpoint, new LatencyRecorder()));
+
+        double meanIntervalNanos = 1e9 / ratePerSecond;
+        long start = System.nanoTime();
+        long measuredFrom = start + warmup.toNanos();
+        long end = measuredFrom + duration.toNanos();
+        double next = start;
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            while (next < end) {
+                long scheduled = (long) next;
+                long delay = scheduled - System.nanoTime();
+                if (delay > 0) {
+                    LockSupport.parkNanos(delay);
+                }
+
+                LoadEndpoint endpoint = pick();
+                LatencyRecorder recorder = scheduled >= measuredFrom ? recorders.get(endpoint) : null;
+                executor.execute(() -> send(endpoint, scheduled, recorder));
+
+                next += -Math.log(1 - random.nextDouble()) * meanIntervalNanos;
+            }
+        }
+        return recorders;
+    }
+
+    private void send(LoadEndpoint endpoint, long scheduled, LatencyRecorder recorder) {
+        boolean success;
+        try {
+            success = endpoint.operation().call();
+        } catch (Exception ex) {
+            success = false;
+        }
+        if (recorder != null) {
+            recorder.record(System.nanoTime() - scheduled, success);
+        }
+    }
+
+    private LoadEndpoint pick() {
+        int value = random.nextInt(totalWeight);
+        for (LoadEndpoint endpoint : endpoints) {
+            value -= endpoint.weight();
+            if (value < 0) {
+                return endpoint;
+            }
+        }
+        throw new IllegalStateException("Endpoint weights must be positive");
+    }
+}
@@ -0,0 +1,53 @@
+package com.antonio.skybase.load;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoadGeneratorTest {
+
+    @Test
+    void testSlowResponsesDoNotThrottleArrivals() {
+        // Fiecare request dureaza 200 ms; intr-un model inchis cu putini clienti rata ar scadea, aici nu
+        LoadEndpoint slow = new LoadEndpoint("slow", 1, Duration.ofMillis(500), 0, () -> {
+            Thread.sleep(200);
+            return true;
+        });
+
+        LatencyRecorder.Summary summary = new LoadGenerator(List.of(slow), 1)
+                .run(200, Duration.ofMillis(200), Duration.ofSeconds(1))
+                .get(slow)
+                .summarize("slow", Duration.ofSeconds(1));
+
+        assertTrue(summary.count() > 120 && summary.count() < 300, "count " + summary.count());
+        assertTrue(summary.p50Millis() >= 200, "p50 " + summary.p50Millis());
+        assertEquals(0, summary.errors());
+    }
+
+    @Test
+    void testMixFollowsWeightsAndCountsFailures() {
+        AtomicInteger calls = new AtomicInteger();
+        LoadEndpoint reads = new LoadEndpoint("reads", 3, Duration.ofSeconds(1), 0, () -> true);
+        LoadEndpoint writes = new LoadEndpoint("writes", 1, Duration.ofSeconds(1), 0, () -> {
+            if (calls.incrementAndGet() % 2 == 0) {
+                throw new IllegalStateException("Rejected");
+            }
+            return false;
+        });
+
+        Map<LoadEndpoint, LatencyRecorder> recorders = new LoadGenerator(List.of(reads, writes), 1)
+                .run(2000, Duration.ZERO, Duration.ofMillis(500));
+        LatencyRecorder.Summary readSummary = recorders.get(reads).summarize("reads", Duration.ofMillis(500));
+        LatencyRecorder.Summary writeSummary = recorders.get(writes).summarize("writes", Duration.ofMillis(500));
+
+        double readShare = (double) readSummary.count() / (readSummary.count() + writeSummary.count());
+        assertEquals(0.75, readShare, 0.05);
+        assertEquals(0, readSummary.errors());
+        assertEquals(writeSummary.count(), writeSummary.errors());
+    }
+}
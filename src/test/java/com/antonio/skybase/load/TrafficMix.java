@@ -0,0 +1,159 @@
+package com.antonio.skybase.load;
+
+import com.antonio.skybase.dataset.DatasetGenerator;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Mixul de trafic rulat peste setul de date generat: asignari de echipaj (adaugari si stergeri), citiri de
+// disponibilitati si citiri de date de referinta. Adaugarile folosesc doar sloturi (angajat, zi) libere, iar
+// stergerile elibereaza sloturi adaugate anterior, deci mixul poate rula oricat fara sa produca erori de validare.
+public class TrafficMix {
+    private static final int FREE_SLOTS = 50_000;
+    private static final int AVAILABILITY_WINDOW_DAYS = 30;
+
+    private record Slot(int employeeId, int flightId, LocalDate date) {
+    }
+
+    private final URI baseUri;
+    private final HttpClient client;
+    private final Duration timeout;
+    private final DatasetGenerator.Dataset dataset;
+    private final Queue<Slot> freeSlots = new ConcurrentLinkedQueue<>();
+    private final Queue<Slot> createdSlots = new ConcurrentLinkedQueue<>();
+
+    public TrafficMix(URI baseUri, HttpClient client, Duration timeout, DatasetGenerator.Dataset dataset, JdbcTemplate jdbcTemplate, long seed) {
+        this.baseUri = baseUri;
+        this.client = client;
+        this.timeout = timeout;
+        this.dataset = dataset;
+        loadFreeSlots(jdbcTemplate, new SplittableRandom(seed));
+    }
+
+    // Ponderile sunt procente din trafic; bugetele se aplica p99-ului si ratei de erori din fereastra masurata
+    public List<LoadEndpoint> endpoints() {
+        return List.of(
+                new LoadEndpoint("POST /employee-assignments", 15, Duration.ofMillis(300), 0.001, this::createAssignment),
+                new LoadEndpoint("DELETE /employee-assignments", 5, Duration.ofMillis(300), 0.001, this::deleteAssignment),
+                new LoadEndpoint("GET /employees/{id}/availabilities", 35, Duration.ofMillis(200), 0.001, this::employeeAvailabilities),
+                new LoadEndpoint("GET /aircraft/available", 15, Duration.ofMillis(300), 0.001, this::availableAircraft),
+                new LoadEndpoint("GET /airports/{id}", 20, Duration.ofMillis(150), 0.001, this::airport),
+                new LoadEndpoint("GET /countries", 10, Duration.ofMillis(150), 0.001, this::countries)
+        );
+    }
+
+    // Cand nu mai exista sloturi libere (sau adaugate), request-ul este inlocuit cu operatia inversa
+    private boolean createAssignment() throws Exception {
+        Slot slot = freeSlots.poll();
+        if (slot == null) {
+            slot = createdSlots.poll();
+            return slot != null && delete(slot);
+        }
+        return create(slot);
+    }
+
+    private boolean deleteAssignment() throws Exception {
+        Slot slot = createdSlots.poll();
+        if (slot == null) {
+            slot = freeSlots.poll();
+            return slot != null && create(slot);
+        }
+        return delete(slot);
+    }
+
+    private boolean create(Slot slot) throws Exception {
+        String body = String.format("{\"employeeId\":%d,\"flightId\":%d,\"date\":\"%s\"}", slot.employeeId(), slot.flightId(), slot.date());
+        boolean created = false;
+        try {
+            created = send(request("/employee-assignments")
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body))) == 201;
+        } finally {
+            (created ? createdSlots : freeSlots).add(slot);
+        }
+        return created;
+    }
+
+    private boolean delete(Slot slot) throws Exception {
+        boolean deleted = false;
+        try {
+            deleted = send(request("/employee-assignments/" + slot.employeeId() + "/" + slot.flightId() + "/" + slot.date()).DELETE()) == 204;
+        } finally {
+            (deleted ? freeSlots : createdSlots).add(slot);
+        }
+        return deleted;
+    }
+
+    private boolean employeeAvailabilities() throws Exception {
+        LocalDate startDate = randomDate(dataset.spec().days() - AVAILABILITY_WINDOW_DAYS);
+        return send(request("/employees/" + random(dataset.flightCrew()) + "/availabilities?startDate=" + startDate
+                + "&endDate=" + startDate.plusDays(AVAILABILITY_WINDOW_DAYS - 1)).GET()) == 200;
+    }
+
+    private boolean availableAircraft() throws Exception {
+        return send(request("/aircraft/available?date=" + randomDate(dataset.spec().days())
+                + "&flightId=" + random(dataset.flights()) + "&size=50").GET()) == 200;
+    }
+
+    private boolean airport() throws Exception {
+        return send(request("/airports/" + random(dataset.airports())).GET()) == 200;
+    }
+
+    private boolean countries() throws Exception {
+        return send(request("/countries?size=50").GET()) == 200;
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(baseUri.resolve(path)).timeout(timeout);
+    }
+
+    private int send(HttpRequest.Builder request) throws Exception {
+        return client.send(request.build(), HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private int random(DatasetGenerator.IdRange range) {
+        return range.get(ThreadLocalRandom.current().nextInt(range.count()));
+    }
+
+    private LocalDate randomDate(int days) {
+        return dataset.spec().startDate().plusDays(ThreadLocalRandom.current().nextInt(Math.max(days, 1)));
+    }
+
+    // Sloturile ocupate sunt marcate intr-un BitSet (angajat x zi), apoi sunt alese aleator sloturi nemarcate
+    private void loadFreeSlots(JdbcTemplate jdbcTemplate, SplittableRandom random) {
+        DatasetGenerator.IdRange crew = dataset.flightCrew();
+        LocalDate startDate = dataset.spec().startDate();
+        int days = dataset.spec().days();
+        BitSet occupied = new BitSet(crew.count() * days);
+        jdbcTemplate.query("SELECT employee_id, date FROM employee_assignments WHERE employee_id BETWEEN ? AND ? AND date BETWEEN ? AND ?",
+                resultSet -> {
+                    int employee = resultSet.getInt(1) - crew.first();
+                    int day = (int) ChronoUnit.DAYS.between(startDate, resultSet.getObject(2, LocalDate.class));
+                    occupied.set(employee * days + day);
+                },
+                crew.first(), crew.get(crew.count() - 1), startDate, dataset.spec().endDate());
+
+        int wanted = Math.min(FREE_SLOTS, crew.count() * days - occupied.cardinality());
+        for (int found = 0; found < wanted; ) {
+            int index = random.nextInt(crew.count() * days);
+            if (!occupied.get(index)) {
+                occupied.set(index);
+                found++;
+                freeSlots.add(new Slot(crew.get(index / days), dataset.flights().get(random.nextInt(dataset.flights().count())),
+                        startDate.plusDays(index % days)));
+            }
+        }
+    }
+}
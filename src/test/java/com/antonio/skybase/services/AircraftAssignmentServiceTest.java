@@ -5,20 +5,36 @@ import com.antonio.skybase.entities.Aircraft;
 import com.antonio.skybase.entities.AircraftAssignment;
 import com.antonio.skybase.entities.AircraftAssignmentId;
 import com.antonio.skybase.entities.Flight;
+import com.antonio.skybase.exceptions.BadRequestException;
 import com.antonio.skybase.exceptions.NotFoundException;
 import com.antonio.skybase.repositories.AircraftAssignmentRepository;
 import com.antonio.skybase.repositories.AircraftRepository;
 import com.antonio.skybase.repositories.FlightRepository;
+import com.antonio.skybase.responses.BulkItemResult;
+import com.antonio.skybase.responses.AircraftAssignmentView;
+import com.antonio.skybase.responses.CursorPage;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
-import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -36,6 +52,16 @@ class AircraftAssignmentServiceTest {
     @Mock
     private FlightRepository flightRepository;
 
+    @Mock
+    private EntityManager entityManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    @Spy
+    private ExportMappers exportMappers = new ExportMappers(objectMapper, objectMapper.copyWith(new CBORFactory()),
+            objectMapper.copyWith(new SmileFactory()));
+
     @InjectMocks
     private AircraftAssignmentService aircraftAssignmentService;
 
@@ -71,7 +97,7 @@ class AircraftAssignmentServiceTest {
 
         when(aircraftRepository.findById(anyInt())).thenReturn(Optional.of(aircraft));
         when(flightRepository.findById(anyInt())).thenReturn(Optional.of(flight));
-        when(aircraftAssignmentRepository.save(any(AircraftAssignment.class))).thenReturn(aircraftAssignment);
+        when(aircraftAssignmentRepository.saveAndFlush(any(AircraftAssignment.class))).thenReturn(aircraftAssignment);
 
         AircraftAssignment createdAircraftAssignment = aircraftAssignmentService.create(aircraftAssignmentDTO);
 
@@ -94,32 +120,122 @@ class AircraftAssignmentServiceTest {
     }
 
     @Test
-    void testGetAllAircraftAssignments() {
-        AircraftAssignmentId id1 = new AircraftAssignmentId();
-        id1.setAircraftId(1);
-        id1.setFlightId(1);
-        id1.setDate(LocalDate.of(2023, 10, 10));
+    void testConcurrentCreationForSameAircraftAndDateFailsFast() {
+        AircraftAssignmentDTO aircraftAssignmentDTO = new AircraftAssignmentDTO();
+        aircraftAssignmentDTO.setAircraftId(1);
+        aircraftAssignmentDTO.setFlightId(1);
+        aircraftAssignmentDTO.setDate(LocalDate.of(2023, 10, 10));
 
-        AircraftAssignmentId id2 = new AircraftAssignmentId();
-        id2.setAircraftId(2);
-        id2.setFlightId(2);
-        id2.setDate(LocalDate.of(2023, 10, 11));
+        Aircraft aircraft = new Aircraft();
+        aircraft.setId(1);
+        aircraft.setRange(1000);
+
+        Flight flight = new Flight();
+        flight.setId(1);
+        flight.setDistance(500);
+
+        when(aircraftRepository.findById(1)).thenAnswer(invocation -> {
+            // A doua cerere pentru aceeasi aeronava si zi soseste cat timp prima este in curs
+            assertThrows(BadRequestException.class, () -> aircraftAssignmentService.create(aircraftAssignmentDTO));
+            return Optional.of(aircraft);
+        });
+        when(flightRepository.findById(1)).thenReturn(Optional.of(flight));
+        when(aircraftAssignmentRepository.saveAndFlush(any(AircraftAssignment.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        assertNotNull(aircraftAssignmentService.create(aircraftAssignmentDTO));
+        verify(aircraftRepository, times(1)).findById(1);
+        verify(aircraftAssignmentRepository, times(1)).saveAndFlush(any(AircraftAssignment.class));
+    }
 
-        AircraftAssignment aircraftAssignment1 = new AircraftAssignment();
-        aircraftAssignment1.setId(id1);
+    @Test
+    void testCreateAircraftAssignmentRejectedByUniqueConstraint() {
+        AircraftAssignmentDTO aircraftAssignmentDTO = new AircraftAssignmentDTO();
+        aircraftAssignmentDTO.setAircraftId(1);
+        aircraftAssignmentDTO.setFlightId(1);
+        aircraftAssignmentDTO.setDate(LocalDate.of(2023, 10, 10));
 
-        AircraftAssignment aircraftAssignment2 = new AircraftAssignment();
-        aircraftAssignment2.setId(id2);
+        Aircraft aircraft = new Aircraft();
+        aircraft.setId(1);
+        aircraft.setRange(1000);
 
-        List<AircraftAssignment> aircraftAssignments = Arrays.asList(aircraftAssignment1, aircraftAssignment2);
+        Flight flight = new Flight();
+        flight.setId(1);
+        flight.setDistance(500);
 
-        when(aircraftAssignmentRepository.findAll()).thenReturn(aircraftAssignments);
+        when(aircraftRepository.findById(1)).thenReturn(Optional.of(aircraft));
+        when(flightRepository.findById(1)).thenReturn(Optional.of(flight));
+        when(aircraftAssignmentRepository.saveAndFlush(any(AircraftAssignment.class)))
+                .thenThrow(new DataIntegrityViolationException("uk_aircraft_assignments_aircraft_date"))
+                .thenAnswer(invocation -> invocation.getArgument(0));
 
-        List<AircraftAssignment> result = aircraftAssignmentService.getAll();
+        assertThrows(BadRequestException.class, () -> aircraftAssignmentService.create(aircraftAssignmentDTO));
+        // Rezervarea a fost eliberata
+        assertNotNull(aircraftAssignmentService.create(aircraftAssignmentDTO));
+    }
 
-        assertEquals(2, result.size());
-        assertEquals(1, result.get(0).getId().getAircraftId());
-        assertEquals(2, result.get(1).getId().getAircraftId());
+    @Test
+    void testCreateAircraftAssignmentsInBulk() {
+        Aircraft aircraft = new Aircraft();
+        aircraft.setId(1);
+        aircraft.setRange(5000);
+
+        Flight shortFlight = new Flight();
+        shortFlight.setId(1);
+        shortFlight.setDistance(1000);
+
+        Flight longFlight = new Flight();
+        longFlight.setId(2);
+        longFlight.setDistance(9000);
+
+        List<AircraftAssignmentDTO> aircraftAssignmentDTOs = List.of(
+                new AircraftAssignmentDTO(1, 1, LocalDate.of(2023, 10, 10)),
+                new AircraftAssignmentDTO(1, 2, LocalDate.of(2023, 10, 11)),
+                new AircraftAssignmentDTO(1, 1, LocalDate.of(2023, 10, 12)),
+                new AircraftAssignmentDTO(1, 1, LocalDate.of(2023, 10, 13))
+        );
+
+        when(aircraftRepository.findAllById(Set.of(1))).thenReturn(List.of(aircraft));
+        when(flightRepository.findAllById(Set.of(1, 2))).thenReturn(List.of(shortFlight, longFlight));
+        when(aircraftAssignmentRepository.findKeysByAircraftIdsAndDateRange(Set.of(1), LocalDate.of(2023, 10, 10), LocalDate.of(2023, 10, 13)))
+                .thenReturn(List.of(new AircraftAssignmentDTO(1, 2, LocalDate.of(2023, 10, 12))));
+
+        List<BulkItemResult<AircraftAssignmentId>> results = aircraftAssignmentService.createAll(aircraftAssignmentDTOs);
+
+        assertEquals(List.of(201, 400, 400, 201), results.stream().map(BulkItemResult::getStatus).toList());
+        assertEquals("Aircraft range is not enough for this flight", results.get(1).getMessage());
+        verify(entityManager, times(2)).persist(any(AircraftAssignment.class));
+        verify(entityManager, times(1)).flush();
+    }
+
+    @Test
+    void testGetAircraftAssignmentsPageSeeksOnAircraftAndDate() {
+        AircraftAssignmentView aircraftAssignment1 = new AircraftAssignmentView();
+        aircraftAssignment1.setAircraftId(1);
+        aircraftAssignment1.setFlightId(7);
+        aircraftAssignment1.setDate(LocalDate.of(2023, 10, 10));
+
+        AircraftAssignmentView aircraftAssignment2 = new AircraftAssignmentView();
+        aircraftAssignment2.setAircraftId(1);
+        aircraftAssignment2.setFlightId(3);
+        aircraftAssignment2.setDate(LocalDate.of(2023, 10, 11));
+
+        // Cursorul retine doar cheia unica (aircraftId, date)
+        AircraftAssignmentId afterId = new AircraftAssignmentId();
+        afterId.setAircraftId(1);
+        afterId.setDate(LocalDate.of(2023, 10, 10));
+
+        when(aircraftAssignmentRepository.findViews("registration", null, Limit.of(2)))
+                .thenReturn(List.of(aircraftAssignment1, aircraftAssignment2));
+        when(aircraftAssignmentRepository.findViews("registration", afterId, Limit.of(2)))
+                .thenReturn(List.of(aircraftAssignment2));
+
+        CursorPage<AircraftAssignmentView> firstPage = aircraftAssignmentService.getPage(null, 1, "registration");
+        CursorPage<AircraftAssignmentView> secondPage = aircraftAssignmentService.getPage(firstPage.getNext(), 1, "registration");
+
+        assertEquals(List.of(aircraftAssignment1), firstPage.getItems());
+        assertNotNull(firstPage.getNext());
+        assertEquals(List.of(aircraftAssignment2), secondPage.getItems());
+        assertNull(secondPage.getNext());
     }
 
     @Test
@@ -129,17 +245,19 @@ class AircraftAssignmentServiceTest {
         id.setFlightId(1);
         id.setDate(LocalDate.of(2023, 10, 10));
 
-        AircraftAssignment aircraftAssignment = new AircraftAssignment();
-        aircraftAssignment.setId(id);
+        AircraftAssignmentView aircraftAssignment = new AircraftAssignmentView();
+        aircraftAssignment.setAircraftId(1);
+        aircraftAssignment.setFlightId(1);
+        aircraftAssignment.setDate(LocalDate.of(2023, 10, 10));
 
-        when(aircraftAssignmentRepository.findById(any(AircraftAssignmentId.class))).thenReturn(Optional.of(aircraftAssignment));
+        when(aircraftAssignmentRepository.findViewById(null, id)).thenReturn(Optional.of(aircraftAssignment));
 
-        AircraftAssignment result = aircraftAssignmentService.getById(id);
+        AircraftAssignmentView result = aircraftAssignmentService.getViewById(id, null);
 
         assertNotNull(result);
-        assertEquals(1, result.getId().getAircraftId());
-        assertEquals(1, result.getId().getFlightId());
-        assertEquals(LocalDate.of(2023, 10, 10), result.getId().getDate());
+        assertEquals(1, result.getAircraftId());
+        assertEquals(1, result.getFlightId());
+        assertEquals(LocalDate.of(2023, 10, 10), result.getDate());
     }
 
     @Test
@@ -149,9 +267,9 @@ class AircraftAssignmentServiceTest {
         id.setFlightId(1);
         id.setDate(LocalDate.of(2023, 10, 10));
 
-        when(aircraftAssignmentRepository.findById(any(AircraftAssignmentId.class))).thenReturn(Optional.empty());
+        when(aircraftAssignmentRepository.findViewById(null, id)).thenReturn(Optional.empty());
 
-        assertThrows(NotFoundException.class, () -> aircraftAssignmentService.getById(id));
+        assertThrows(NotFoundException.class, () -> aircraftAssignmentService.getViewById(id, null));
     }
 
     @Test
@@ -163,7 +281,7 @@ class AircraftAssignmentServiceTest {
 
         AircraftAssignmentDTO aircraftAssignmentDTO = new AircraftAssignmentDTO();
         aircraftAssignmentDTO.setAircraftId(1);
-        aircraftAssignmentDTO.setFlightId(1);
+        aircraftAssignmentDTO.setFlightId(2);
         aircraftAssignmentDTO.setDate(LocalDate.of(2023, 10, 10));
 
         Aircraft aircraft = new Aircraft();
@@ -171,25 +289,21 @@ class AircraftAssignmentServiceTest {
         aircraft.setRange(1000);
 
         Flight flight = new Flight();
-        flight.setId(1);
+        flight.setId(2);
         flight.setDistance(500);
 
-        AircraftAssignment aircraftAssignment = new AircraftAssignment();
-        aircraftAssignment.setId(id);
-        aircraftAssignment.setAircraft(aircraft);
-        aircraftAssignment.setFlight(flight);
-
-        when(aircraftAssignmentRepository.findById(any(AircraftAssignmentId.class))).thenReturn(Optional.of(aircraftAssignment));
         when(aircraftRepository.findById(anyInt())).thenReturn(Optional.of(aircraft));
         when(flightRepository.findById(anyInt())).thenReturn(Optional.of(flight));
-        when(aircraftAssignmentRepository.save(any(AircraftAssignment.class))).thenReturn(aircraftAssignment);
+        when(aircraftAssignmentRepository.updateKey(id, 1, 2, LocalDate.of(2023, 10, 10))).thenReturn(1);
 
         AircraftAssignment updatedAircraftAssignment = aircraftAssignmentService.update(id, aircraftAssignmentDTO);
 
         assertNotNull(updatedAircraftAssignment);
         assertEquals(1, updatedAircraftAssignment.getId().getAircraftId());
-        assertEquals(1, updatedAircraftAssignment.getId().getFlightId());
+        assertEquals(2, updatedAircraftAssignment.getId().getFlightId());
         assertEquals(LocalDate.of(2023, 10, 10), updatedAircraftAssignment.getId().getDate());
+        verify(aircraftAssignmentRepository, never()).deleteById(any(AircraftAssignmentId.class));
+        verify(aircraftAssignmentRepository, never()).saveAndFlush(any(AircraftAssignment.class));
     }
 
     @Test
@@ -204,9 +318,66 @@ class AircraftAssignmentServiceTest {
         aircraftAssignmentDTO.setFlightId(1);
         aircraftAssignmentDTO.setDate(LocalDate.of(2023, 10, 10));
 
-        when(aircraftAssignmentRepository.findById(any(AircraftAssignmentId.class))).thenReturn(Optional.empty());
+        when(aircraftRepository.findById(1)).thenReturn(Optional.empty());
 
         assertThrows(NotFoundException.class, () -> aircraftAssignmentService.update(id, aircraftAssignmentDTO));
+        verify(aircraftAssignmentRepository, never()).updateKey(any(), any(), any(), any());
+    }
+
+    @Test
+    void testRescheduleAircraftAssignmentRejectedByUniqueConstraint() {
+        AircraftAssignmentId id = new AircraftAssignmentId();
+        id.setAircraftId(1);
+        id.setFlightId(1);
+        id.setDate(LocalDate.of(2023, 10, 10));
+
+        Aircraft aircraft = new Aircraft();
+        aircraft.setId(1);
+        aircraft.setRange(1000);
+
+        Flight flight = new Flight();
+        flight.setId(1);
+        flight.setDistance(500);
+
+        when(aircraftRepository.findById(1)).thenReturn(Optional.of(aircraft));
+        when(flightRepository.findById(1)).thenReturn(Optional.of(flight));
+        when(aircraftAssignmentRepository.updateKey(id, 1, 1, LocalDate.of(2023, 10, 11)))
+                .thenThrow(new DataIntegrityViolationException("uk_aircraft_assignments_aircraft_date"));
+
+        assertThrows(BadRequestException.class, () -> aircraftAssignmentService.update(id, new AircraftAssignmentDTO(1, 1, LocalDate.of(2023, 10, 11))));
+    }
+
+    @Test
+    void testExportAircraftAssignments() throws Exception {
+        when(aircraftAssignmentRepository.streamAllForExport()).thenReturn(Stream.of(
+                new AircraftAssignmentDTO(1, 1, LocalDate.of(2023, 10, 10)),
+                new AircraftAssignmentDTO(2, 1, LocalDate.of(2023, 10, 11))
+        ));
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        aircraftAssignmentService.export(outputStream, ExportFormat.NDJSON);
+
+        assertEquals("""
+                {"aircraftId":1,"flightId":1,"date":"2023-10-10"}
+                {"aircraftId":2,"flightId":1,"date":"2023-10-11"}
+                """, outputStream.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testExportAircraftAssignmentsAsCborSequence() throws Exception {
+        List<AircraftAssignmentDTO> rows = List.of(
+                new AircraftAssignmentDTO(1, 1, LocalDate.of(2023, 10, 10)),
+                new AircraftAssignmentDTO(2, 1, LocalDate.of(2023, 10, 11))
+        );
+        when(aircraftAssignmentRepository.streamAllForExport()).thenReturn(rows.stream());
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        aircraftAssignmentService.export(outputStream, ExportFormat.CBOR_SEQ);
+
+        ObjectMapper cborMapper = objectMapper.copyWith(new CBORFactory());
+        try (MappingIterator<AircraftAssignmentDTO> decoded = cborMapper.readerFor(AircraftAssignmentDTO.class).readValues(outputStream.toByteArray())) {
+            assertEquals(rows, decoded.readAll());
+        }
     }
 
     @Test
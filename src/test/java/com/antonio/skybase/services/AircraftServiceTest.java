@@ -1,23 +1,33 @@
 package com.antonio.skybase.services;
 
+import com.antonio.skybase.dtos.AircraftAssignmentDTO;
 import com.antonio.skybase.entities.Aircraft;
+import com.antonio.skybase.entities.Flight;
 import com.antonio.skybase.exceptions.BadRequestException;
 import com.antonio.skybase.exceptions.NotFoundException;
+import com.antonio.skybase.repositories.AircraftAssignmentRepository;
 import com.antonio.skybase.repositories.AircraftRepository;
+import com.antonio.skybase.responses.CursorPage;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Limit;
 
-import java.util.Arrays;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 class AircraftServiceTest {
@@ -25,6 +35,12 @@ class AircraftServiceTest {
     @Mock
     private AircraftRepository aircraftRepository;
 
+    @Mock
+    private AircraftAssignmentRepository aircraftAssignmentRepository;
+
+    @Mock
+    private FlightService flightService;
+
     @InjectMocks
     private AircraftService aircraftService;
 
@@ -66,31 +82,6 @@ class AircraftServiceTest {
         assertThrows(BadRequestException.class, () -> aircraftService.create(aircraft));
     }
 
-    @Test
-    void testGetAllAircraft() {
-        Aircraft aircraft1 = new Aircraft();
-        aircraft1.setRegistration("ABC123");
-        aircraft1.setType("Boeing 737");
-        aircraft1.setRange(5000);
-        aircraft1.setCapacity(200);
-
-        Aircraft aircraft2 = new Aircraft();
-        aircraft2.setRegistration("DEF456");
-        aircraft2.setType("Airbus A320");
-        aircraft2.setRange(4000);
-        aircraft2.setCapacity(180);
-
-        List<Aircraft> aircraftList = Arrays.asList(aircraft1, aircraft2);
-
-        when(aircraftRepository.findAll()).thenReturn(aircraftList);
-
-        List<Aircraft> result = aircraftService.getAll();
-
-        assertEquals(2, result.size());
-        assertEquals("ABC123", result.get(0).getRegistration());
-        assertEquals("DEF456", result.get(1).getRegistration());
-    }
-
     @Test
     void testGetAircraftById() {
         Aircraft aircraft = new Aircraft();
@@ -116,6 +107,111 @@ class AircraftServiceTest {
         assertThrows(NotFoundException.class, () -> aircraftService.getById(1));
     }
 
+    @Test
+    void testGetAvailableAircraftForFlight() {
+        LocalDate date = LocalDate.of(2023, 10, 1);
+        Flight flight = new Flight();
+        flight.setDistance(3000);
+        Aircraft aircraft1 = new Aircraft();
+        aircraft1.setId(1);
+        Aircraft aircraft2 = new Aircraft();
+        aircraft2.setId(2);
+
+        when(flightService.getById(5)).thenReturn(flight);
+        when(aircraftRepository.findAvailableAircraftByDate(date, 3000, 0, Limit.of(2))).thenReturn(List.of(aircraft1, aircraft2));
+
+        CursorPage<Aircraft> page = aircraftService.getAvailableAircraftByDate(date, 5, null, 1);
+
+        assertEquals(List.of(aircraft1), page.getItems());
+        assertNotNull(page.getNext());
+    }
+
+    @Test
+    void testGetAvailableAircraftWithoutFlight() {
+        LocalDate date = LocalDate.of(2023, 10, 1);
+
+        when(aircraftRepository.findAvailableAircraftByDate(eq(date), isNull(), eq(0), any(Limit.class))).thenReturn(List.of());
+
+        assertEquals(0, aircraftService.getAvailableAircraftByDate(date, null, null, null).getSize());
+        verifyNoInteractions(flightService);
+    }
+
+    @Test
+    void testGetAvailableAircraftForInvalidFlight() {
+        when(flightService.getById(5)).thenThrow(new NotFoundException("Flight with ID 5 not found"));
+
+        assertThrows(BadRequestException.class, () -> aircraftService.getAvailableAircraftByDate(LocalDate.of(2023, 10, 1), 5, null, null));
+    }
+
+    @Test
+    void testGetAircraftAvailabilities() {
+        LocalDate startDate = LocalDate.of(2023, 10, 1);
+        LocalDate endDate = LocalDate.of(2023, 10, 5);
+
+        when(aircraftAssignmentRepository.findAssignedDates(1, startDate, endDate))
+                .thenReturn(List.of(LocalDate.of(2023, 10, 2), LocalDate.of(2023, 10, 4)));
+
+        List<LocalDate> result = aircraftService.getAircraftAvailabilities(1, startDate, endDate);
+
+        assertEquals(List.of(LocalDate.of(2023, 10, 1), LocalDate.of(2023, 10, 3), LocalDate.of(2023, 10, 5)), result);
+    }
+
+    @Test
+    void testGetFirstAircraftAvailabilities() {
+        LocalDate startDate = LocalDate.of(2023, 10, 1);
+        LocalDate endDate = LocalDate.of(2023, 10, 31);
+
+        when(aircraftAssignmentRepository.findAssignedDates(1, startDate, endDate))
+                .thenReturn(List.of(LocalDate.of(2023, 10, 1), LocalDate.of(2023, 10, 3)));
+
+        List<LocalDate> result = aircraftService.getFirstAircraftAvailabilities(1, startDate, endDate, 2);
+
+        assertEquals(List.of(LocalDate.of(2023, 10, 2), LocalDate.of(2023, 10, 4)), result);
+    }
+
+    @Test
+    void testGetAircraftAvailabilitiesForSeveralAircraft() {
+        LocalDate startDate = LocalDate.of(2023, 10, 1);
+        LocalDate endDate = LocalDate.of(2023, 10, 3);
+
+        when(aircraftAssignmentRepository.findKeysByAircraftIdsAndDateRange(Set.of(1, 2), startDate, endDate)).thenReturn(List.of(
+                new AircraftAssignmentDTO(1, 10, LocalDate.of(2023, 10, 1)),
+                new AircraftAssignmentDTO(1, 11, LocalDate.of(2023, 10, 3)),
+                new AircraftAssignmentDTO(2, 10, LocalDate.of(2023, 10, 2))
+        ));
+
+        Map<Integer, List<LocalDate>> result = aircraftService.getAircraftAvailabilities(List.of(1, 2), startDate, endDate);
+
+        assertEquals(List.of(LocalDate.of(2023, 10, 2)), result.get(1));
+        assertEquals(List.of(LocalDate.of(2023, 10, 1), LocalDate.of(2023, 10, 3)), result.get(2));
+        verify(aircraftAssignmentRepository, times(1)).findKeysByAircraftIdsAndDateRange(Set.of(1, 2), startDate, endDate);
+    }
+
+    @Test
+    void testGetAircraftAvailabilitiesRejectsTooManyAircraft() {
+        List<Integer> ids = IntStream.rangeClosed(1, MultiGet.MAX_IDS + 1).boxed().toList();
+
+        assertThrows(BadRequestException.class,
+                () -> aircraftService.getAircraftAvailabilities(ids, LocalDate.of(2023, 10, 1), LocalDate.of(2023, 10, 3)));
+        verifyNoInteractions(aircraftAssignmentRepository);
+    }
+
+    @Test
+    void testGetAircraftAvailabilitiesRejectsReversedRange() {
+        assertThrows(BadRequestException.class,
+                () -> aircraftService.getAircraftAvailabilities(List.of(1, 2), LocalDate.of(2023, 10, 3), LocalDate.of(2023, 10, 1)));
+        verifyNoInteractions(aircraftAssignmentRepository);
+    }
+
+    @Test
+    void testGetAircraftAvailabilitiesRejectsTooLongRange() {
+        LocalDate startDate = LocalDate.of(2023, 10, 1);
+
+        assertThrows(BadRequestException.class,
+                () -> aircraftService.getAircraftAvailabilities(List.of(1, 2), startDate, startDate.plusDays(AvailabilityCalendar.MAX_DAYS)));
+        verifyNoInteractions(aircraftAssignmentRepository);
+    }
+
     @Test
     void testUpdateAircraft() {
         Aircraft existingAircraft = new Aircraft();
@@ -6,15 +6,12 @@ import com.antonio.skybase.entities.City;
 import com.antonio.skybase.exceptions.BadRequestException;
 import com.antonio.skybase.exceptions.NotFoundException;
 import com.antonio.skybase.repositories.AirportRepository;
-import com.antonio.skybase.repositories.CityRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
-import java.util.Arrays;
-import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -29,7 +26,10 @@ class AirportServiceTest {
     private AirportRepository airportRepository;
 
     @Mock
-    private CityRepository cityRepository;
+    private CityService cityService;
+
+    @Mock
+    private ResourceVersions resourceVersions;
 
     @InjectMocks
     private AirportService airportService;
@@ -56,7 +56,7 @@ class AirportServiceTest {
         airport.setCode("TST");
         airport.setCity(city);
 
-        when(cityRepository.findById(anyInt())).thenReturn(Optional.of(city));
+        when(cityService.getById(anyInt())).thenReturn(city);
         when(airportRepository.existsByCode(anyString())).thenReturn(false);
         when(airportRepository.save(any(Airport.class))).thenReturn(airport);
 
@@ -87,40 +87,11 @@ class AirportServiceTest {
         airportDTO.setCode("TST");
         airportDTO.setCityId(1);
 
-        when(cityRepository.findById(anyInt())).thenReturn(Optional.empty());
+        when(cityService.getById(anyInt())).thenThrow(new NotFoundException("City not found"));
 
         assertThrows(BadRequestException.class, () -> airportService.create(airportDTO));
     }
 
-    @Test
-    void testGetAllAirports() {
-        City city = new City();
-        city.setId(1);
-        city.setName("Test City");
-
-        Airport airport1 = new Airport();
-        airport1.setId(1);
-        airport1.setName("Airport 1");
-        airport1.setCode("A1");
-        airport1.setCity(city);
-
-        Airport airport2 = new Airport();
-        airport2.setId(2);
-        airport2.setName("Airport 2");
-        airport2.setCode("A2");
-        airport2.setCity(city);
-
-        List<Airport> airports = Arrays.asList(airport1, airport2);
-
-        when(airportRepository.findAll()).thenReturn(airports);
-
-        List<Airport> result = airportService.getAll();
-
-        assertEquals(2, result.size());
-        assertEquals("Airport 1", result.get(0).getName());
-        assertEquals("Airport 2", result.get(1).getName());
-    }
-
     @Test
     void testGetAirportById() {
         City city = new City();
@@ -168,7 +139,7 @@ class AirportServiceTest {
         airportDTO.setCityId(1);
 
         when(airportRepository.findById(anyInt())).thenReturn(Optional.of(airport));
-        when(cityRepository.findById(anyInt())).thenReturn(Optional.of(city));
+        when(cityService.getById(anyInt())).thenReturn(city);
         when(airportRepository.save(any(Airport.class))).thenReturn(airport);
 
         Airport updatedAirport = airportService.update(1, airportDTO);
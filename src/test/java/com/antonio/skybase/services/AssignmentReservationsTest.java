@@ -0,0 +1,39 @@
+package com.antonio.skybase.services;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AssignmentReservationsTest {
+
+    private final AssignmentReservations reservations = new AssignmentReservations();
+
+    @Test
+    void testSameKeyCannotBeReservedTwice() {
+        AssignmentReservations.Key key = new AssignmentReservations.Key(1, LocalDate.of(2024, 1, 1));
+
+        assertTrue(reservations.tryReserve(key));
+        assertFalse(reservations.tryReserve(new AssignmentReservations.Key(1, LocalDate.of(2024, 1, 1))));
+        assertTrue(reservations.tryReserve(new AssignmentReservations.Key(1, LocalDate.of(2024, 1, 2))));
+        assertTrue(reservations.tryReserve(new AssignmentReservations.Key(2, LocalDate.of(2024, 1, 1))));
+
+        reservations.release(key);
+        assertTrue(reservations.tryReserve(key));
+    }
+
+    @Test
+    void testReleaseWithoutTransactionIsImmediate() {
+        List<AssignmentReservations.Key> keys = List.of(
+                new AssignmentReservations.Key(1, LocalDate.of(2024, 1, 1)),
+                new AssignmentReservations.Key(2, LocalDate.of(2024, 1, 1))
+        );
+        keys.forEach(reservations::tryReserve);
+
+        reservations.releaseAfterCompletion(keys);
+
+        assertEquals(0, reservations.size());
+    }
+}
@@ -0,0 +1,73 @@
+package com.antonio.skybase.services;
+
+import com.antonio.skybase.exceptions.BadRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AvailabilityCalendarTest {
+
+    private static final LocalDate START = LocalDate.of(2024, 2, 27);
+    private static final LocalDate END = LocalDate.of(2024, 3, 3);
+
+    @Test
+    void testFreeDays() {
+        AvailabilityCalendar calendar = new AvailabilityCalendar(START, END);
+        calendar.occupy(LocalDate.of(2024, 2, 28));
+        calendar.occupy(LocalDate.of(2024, 3, 1));
+
+        assertEquals(List.of(
+                LocalDate.of(2024, 2, 27),
+                LocalDate.of(2024, 2, 29),
+                LocalDate.of(2024, 3, 2),
+                LocalDate.of(2024, 3, 3)
+        ), calendar.getFreeDays());
+        assertEquals(4, calendar.countFreeDays());
+        assertFalse(calendar.isFree(LocalDate.of(2024, 3, 1)));
+        assertTrue(calendar.isFree(LocalDate.of(2024, 3, 2)));
+    }
+
+    @Test
+    void testFirstFreeDays() {
+        AvailabilityCalendar calendar = new AvailabilityCalendar(START, END);
+        calendar.occupy(LocalDate.of(2024, 2, 27));
+        calendar.occupy(LocalDate.of(2024, 2, 29));
+
+        assertEquals(List.of(LocalDate.of(2024, 2, 28), LocalDate.of(2024, 3, 1)), calendar.getFirstFreeDays(2));
+        assertEquals(4, calendar.getFirstFreeDays(10).size());
+        assertThrows(BadRequestException.class, () -> calendar.getFirstFreeDays(0));
+    }
+
+    @Test
+    void testDatesOutsideRangeAreIgnored() {
+        AvailabilityCalendar calendar = new AvailabilityCalendar(START, END);
+        calendar.occupy(START.minusDays(1));
+        calendar.occupy(END.plusDays(1));
+
+        assertEquals(6, calendar.countFreeDays());
+        assertFalse(calendar.isFree(END.plusDays(1)));
+    }
+
+    @Test
+    void testFullyOccupiedRangeSpanningSeveralWords() {
+        LocalDate start = LocalDate.of(2024, 1, 1);
+        LocalDate end = start.plusDays(199);
+        AvailabilityCalendar calendar = new AvailabilityCalendar(start, end);
+        for (LocalDate date = start; !date.isAfter(end); date = date.plusDays(1)) {
+            if (!date.equals(LocalDate.of(2024, 6, 1))) {
+                calendar.occupy(date);
+            }
+        }
+
+        assertEquals(List.of(LocalDate.of(2024, 6, 1)), calendar.getFreeDays());
+    }
+
+    @Test
+    void testInvalidRange() {
+        assertThrows(BadRequestException.class, () -> new AvailabilityCalendar(END, START));
+        assertThrows(BadRequestException.class, () -> new AvailabilityCalendar(START, START.plusDays(AvailabilityCalendar.MAX_DAYS)));
+    }
+}
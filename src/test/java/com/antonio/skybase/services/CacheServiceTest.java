@@ -0,0 +1,85 @@
+package com.antonio.skybase.services;
+
+import com.antonio.skybase.config.CacheConfig;
+import com.antonio.skybase.responses.CacheStatistics;
+import com.antonio.skybase.responses.RegionStatistics;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CacheServiceTest {
+
+    @Spy
+    private CacheManager cacheManager = new CacheConfig().cacheManager(new MockEnvironment()
+            .withProperty("skybase.cache.specs.countries", "maximumSize=1"));
+
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+
+    @InjectMocks
+    private CacheService cacheService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void testGetStatistics() {
+        Cache countries = cacheManager.getCache(CacheConfig.COUNTRIES);
+        countries.put(1, "Romania");
+        countries.get(1);
+        countries.get(2);
+
+        List<CacheStatistics> statistics = cacheService.getStatistics();
+
+        assertEquals(CacheConfig.CACHE_NAMES.size(), statistics.size());
+        CacheStatistics countryStatistics = statistics.get(0);
+        assertEquals(CacheConfig.COUNTRIES, countryStatistics.getName());
+        assertEquals(1, countryStatistics.getHitCount());
+        assertEquals(1, countryStatistics.getMissCount());
+        assertEquals(0.5, countryStatistics.getHitRate());
+    }
+
+    @Test
+    void testGetSecondLevelStatistics() {
+        SessionFactory sessionFactory = mock(SessionFactory.class);
+        Statistics hibernateStatistics = mock(Statistics.class);
+        CacheRegionStatistics countries = mock(CacheRegionStatistics.class);
+        CacheRegionStatistics airports = mock(CacheRegionStatistics.class);
+        when(entityManagerFactory.unwrap(SessionFactory.class)).thenReturn(sessionFactory);
+        when(sessionFactory.getStatistics()).thenReturn(hibernateStatistics);
+        when(hibernateStatistics.getSecondLevelCacheRegionNames()).thenReturn(new String[]{"countries", "airports"});
+        when(hibernateStatistics.getCacheRegionStatistics("countries")).thenReturn(countries);
+        when(hibernateStatistics.getCacheRegionStatistics("airports")).thenReturn(airports);
+        when(airports.getElementCountInMemory()).thenReturn(2L);
+        when(airports.getHitCount()).thenReturn(3L);
+        when(airports.getMissCount()).thenReturn(1L);
+        when(airports.getPutCount()).thenReturn(2L);
+
+        List<RegionStatistics> statistics = cacheService.getSecondLevelStatistics();
+
+        assertEquals(2, statistics.size());
+        RegionStatistics airportStatistics = statistics.get(0);
+        assertEquals("airports", airportStatistics.getName());
+        assertEquals(2, airportStatistics.getSize());
+        assertEquals(0.75, airportStatistics.getHitRate());
+        assertEquals(0, statistics.get(1).getHitRate());
+    }
+}
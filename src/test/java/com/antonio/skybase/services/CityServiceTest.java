@@ -6,15 +6,12 @@ import com.antonio.skybase.entities.Country;
 import com.antonio.skybase.exceptions.BadRequestException;
 import com.antonio.skybase.exceptions.NotFoundException;
 import com.antonio.skybase.repositories.CityRepository;
-import com.antonio.skybase.repositories.CountryRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
-import java.util.Arrays;
-import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -28,7 +25,10 @@ class CityServiceTest {
     private CityRepository cityRepository;
 
     @Mock
-    private CountryRepository countryRepository;
+    private CountryService countryService;
+
+    @Mock
+    private ResourceVersions resourceVersions;
 
     @InjectMocks
     private CityService cityService;
@@ -54,7 +54,7 @@ class CityServiceTest {
         city.setName("Test City");
         city.setCountry(country);
 
-        when(countryRepository.findById(anyInt())).thenReturn(Optional.of(country));
+        when(countryService.getById(anyInt())).thenReturn(country);
         when(cityRepository.save(any(City.class))).thenReturn(city);
 
         City createdCity = cityService.create(cityDTO);
@@ -70,39 +70,11 @@ class CityServiceTest {
         cityDTO.setName("Test City");
         cityDTO.setCountryId(1);
 
-        when(countryRepository.findById(anyInt())).thenReturn(Optional.empty());
+        when(countryService.getById(anyInt())).thenThrow(new NotFoundException("Country not found"));
 
         assertThrows(BadRequestException.class, () -> cityService.create(cityDTO));
     }
 
-    @Test
-    void testGetAllCities() {
-        Country country = new Country();
-        country.setId(1);
-        country.setName("Test Country");
-        country.setCode("TC");
-
-        City city1 = new City();
-        city1.setId(1);
-        city1.setName("City 1");
-        city1.setCountry(country);
-
-        City city2 = new City();
-        city2.setId(2);
-        city2.setName("City 2");
-        city2.setCountry(country);
-
-        List<City> cities = Arrays.asList(city1, city2);
-
-        when(cityRepository.findAll()).thenReturn(cities);
-
-        List<City> result = cityService.getAll();
-
-        assertEquals(2, result.size());
-        assertEquals("City 1", result.get(0).getName());
-        assertEquals("City 2", result.get(1).getName());
-    }
-
     @Test
     void testGetCityById() {
         Country country = new Country();
@@ -148,7 +120,7 @@ class CityServiceTest {
         cityDTO.setCountryId(1);
 
         when(cityRepository.findById(anyInt())).thenReturn(Optional.of(city));
-        when(countryRepository.findById(anyInt())).thenReturn(Optional.of(country));
+        when(countryService.getById(anyInt())).thenReturn(country);
         when(cityRepository.save(any(City.class))).thenReturn(city);
 
         City updatedCity = cityService.update(1, cityDTO);
@@ -169,7 +141,7 @@ class CityServiceTest {
         cityDTO.setCountryId(1);
 
         when(cityRepository.findById(anyInt())).thenReturn(Optional.of(city));
-        when(countryRepository.findById(anyInt())).thenReturn(Optional.empty());
+        when(countryService.getById(anyInt())).thenThrow(new NotFoundException("Country not found"));
 
         assertThrows(BadRequestException.class, () -> cityService.update(1, cityDTO));
     }
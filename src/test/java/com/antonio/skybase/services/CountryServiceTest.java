@@ -4,15 +4,21 @@ import com.antonio.skybase.entities.Country;
 import com.antonio.skybase.exceptions.BadRequestException;
 import com.antonio.skybase.exceptions.NotFoundException;
 import com.antonio.skybase.repositories.CountryRepository;
+import com.antonio.skybase.responses.CursorPage;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.data.domain.Limit;
 
-import java.util.Arrays;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Optional;
+import java.util.zip.GZIPInputStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -25,6 +31,12 @@ class CountryServiceTest {
     @Mock
     private CountryRepository countryRepository;
 
+    @Mock
+    private ResourceVersions resourceVersions;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
     @InjectMocks
     private CountryService countryService;
 
@@ -61,26 +73,43 @@ class CountryServiceTest {
     }
 
     @Test
-    void testGetAllCountries() {
+    void testGetCountriesPage() {
         Country country1 = new Country();
+        country1.setId(1);
         country1.setName("Country 1");
         country1.setCode("C1");
 
         Country country2 = new Country();
+        country2.setId(2);
         country2.setName("Country 2");
         country2.setCode("C2");
 
-        List<Country> countries = Arrays.asList(country1, country2);
+        when(countryRepository.findAllByOrderByIdAsc(Limit.of(2))).thenReturn(List.of(country1, country2));
+        when(countryRepository.findByIdGreaterThanOrderByIdAsc(1, Limit.of(2))).thenReturn(List.of(country2));
+
+        CursorPage<Country> firstPage = countryService.getPage(null, 1);
+        CursorPage<Country> secondPage = countryService.getPage(firstPage.getNext(), 1);
+
+        assertEquals(List.of(country1), firstPage.getItems());
+        assertEquals(List.of(country2), secondPage.getItems());
+        assertNull(secondPage.getNext());
+    }
+
+    @Test
+    void testGetEncodedCountriesPage() throws Exception {
+        Country country = new Country();
+        country.setId(1);
+        country.setName("Country 1");
+        country.setCode("C1");
 
-        when(countryRepository.findAll()).thenReturn(countries);
+        when(countryRepository.findAllByOrderByIdAsc(Limit.of(51))).thenReturn(List.of(country));
 
-        List<Country> result = countryService.getAll();
+        EncodedJson page = countryService.getEncodedPage(null, null);
 
-        assertEquals(2, result.size());
-        assertEquals("Country 1", result.get(0).getName());
-        assertEquals("C1", result.get(0).getCode());
-        assertEquals("Country 2", result.get(1).getName());
-        assertEquals("C2", result.get(1).getCode());
+        assertEquals("{\"items\":[{\"id\":1,\"name\":\"Country 1\",\"code\":\"C1\"}],\"size\":1,\"next\":null}", new String(page.json(), StandardCharsets.UTF_8));
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(page.gzip()))) {
+            assertArrayEquals(page.json(), gzip.readAllBytes());
+        }
     }
 
     @Test
@@ -159,5 +188,6 @@ class CountryServiceTest {
         countryService.delete(1);
 
         verify(countryRepository, times(1)).deleteById(1);
+        verify(resourceVersions).increment(ResourceVersions.COUNTRIES);
     }
 }
\ No newline at end of file
@@ -9,8 +9,6 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
-import java.util.Arrays;
-import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -23,6 +21,9 @@ class DepartmentServiceTest {
     @Mock
     private DepartmentRepository departmentRepository;
 
+    @Mock
+    private ResourceVersions resourceVersions;
+
     @InjectMocks
     private DepartmentService departmentService;
 
@@ -49,27 +50,6 @@ class DepartmentServiceTest {
         assertEquals("Test Department", createdDepartment.getName());
     }
 
-    @Test
-    void testGetAllDepartments() {
-        Department department1 = new Department();
-        department1.setId(1);
-        department1.setName("Department 1");
-
-        Department department2 = new Department();
-        department2.setId(2);
-        department2.setName("Department 2");
-
-        List<Department> departments = Arrays.asList(department1, department2);
-
-        when(departmentRepository.findAll()).thenReturn(departments);
-
-        List<Department> result = departmentService.getAll();
-
-        assertEquals(2, result.size());
-        assertEquals("Department 1", result.get(0).getName());
-        assertEquals("Department 2", result.get(1).getName());
-    }
-
     @Test
     void testGetDepartmentById() {
         Department department = new Department();
@@ -116,5 +96,6 @@ class DepartmentServiceTest {
         departmentService.delete(1);
 
         verify(departmentRepository, times(1)).deleteById(1);
+        verify(resourceVersions).increment(ResourceVersions.DEPARTMENTS);
     }
 }
\ No newline at end of file
@@ -2,20 +2,35 @@ package com.antonio.skybase.services;
 
 import com.antonio.skybase.dtos.EmployeeAssignmentDTO;
 import com.antonio.skybase.entities.*;
+import com.antonio.skybase.exceptions.BadRequestException;
 import com.antonio.skybase.exceptions.NotFoundException;
 import com.antonio.skybase.repositories.EmployeeAssignmentRepository;
 import com.antonio.skybase.repositories.EmployeeRepository;
 import com.antonio.skybase.repositories.FlightRepository;
+import com.antonio.skybase.responses.BulkItemResult;
+import com.antonio.skybase.responses.CursorPage;
+import com.antonio.skybase.responses.EmployeeAssignmentView;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import jakarta.persistence.EntityManager;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.data.domain.Limit;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
-import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -33,6 +48,19 @@ class EmployeeAssignmentServiceTest {
     @Mock
     private FlightRepository flightRepository;
 
+    @Mock
+    private EntityManager entityManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    @Spy
+    private ExportMappers exportMappers = new ExportMappers(objectMapper, objectMapper.copyWith(new CBORFactory()),
+            objectMapper.copyWith(new SmileFactory()));
+
+    @Mock
+    private ResourceVersions resourceVersions;
+
     @InjectMocks
     private EmployeeAssignmentService employeeAssignmentService;
 
@@ -76,7 +104,7 @@ class EmployeeAssignmentServiceTest {
 
         when(employeeRepository.findById(anyInt())).thenReturn(Optional.of(employee));
         when(flightRepository.findById(anyInt())).thenReturn(Optional.of(flight));
-        when(employeeAssignmentRepository.save(any(EmployeeAssignment.class))).thenReturn(employeeAssignment);
+        when(employeeAssignmentRepository.saveAndFlush(any(EmployeeAssignment.class))).thenReturn(employeeAssignment);
 
         EmployeeAssignment createdEmployeeAssignment = employeeAssignmentService.create(employeeAssignmentDTO);
 
@@ -99,32 +127,103 @@ class EmployeeAssignmentServiceTest {
     }
 
     @Test
-    void testGetAllEmployeeAssignments() {
-        EmployeeAssignmentId id1 = new EmployeeAssignmentId();
-        id1.setEmployeeId(1);
-        id1.setFlightId(1);
-        id1.setDate(LocalDate.of(2023, 10, 10));
+    void testCreateEmployeeAssignmentsInBulk() {
+        Department department = new Department();
+        department.setId(1);
 
-        EmployeeAssignmentId id2 = new EmployeeAssignmentId();
-        id2.setEmployeeId(2);
-        id2.setFlightId(2);
-        id2.setDate(LocalDate.of(2023, 10, 11));
+        Job job = new Job();
+        job.setTitle("Captain");
+        job.setDepartment(department);
 
-        EmployeeAssignment employeeAssignment1 = new EmployeeAssignment();
-        employeeAssignment1.setId(id1);
+        Employee employee = new Employee();
+        employee.setId(1);
+        employee.setJob(job);
 
-        EmployeeAssignment employeeAssignment2 = new EmployeeAssignment();
-        employeeAssignment2.setId(id2);
+        Flight flight = new Flight();
+        flight.setId(1);
 
-        List<EmployeeAssignment> employeeAssignments = Arrays.asList(employeeAssignment1, employeeAssignment2);
+        List<EmployeeAssignmentDTO> employeeAssignmentDTOs = List.of(
+                new EmployeeAssignmentDTO(1, 1, LocalDate.of(2023, 10, 10)),
+                new EmployeeAssignmentDTO(1, 1, LocalDate.of(2023, 10, 10)),
+                new EmployeeAssignmentDTO(1, 1, LocalDate.of(2023, 10, 11)),
+                new EmployeeAssignmentDTO(2, 1, LocalDate.of(2023, 10, 12)),
+                new EmployeeAssignmentDTO(1, 2, LocalDate.of(2023, 10, 12)),
+                new EmployeeAssignmentDTO(1, null, LocalDate.of(2023, 10, 12))
+        );
+
+        when(employeeRepository.findByIdIn(Set.of(1, 2))).thenReturn(List.of(employee));
+        when(flightRepository.findAllById(Set.of(1, 2))).thenReturn(List.of(flight));
+        when(employeeAssignmentRepository.findKeysByEmployeeIdsAndDateRange(Set.of(1, 2), LocalDate.of(2023, 10, 10), LocalDate.of(2023, 10, 12)))
+                .thenReturn(List.of(new EmployeeAssignmentDTO(1, 2, LocalDate.of(2023, 10, 11))));
+
+        List<BulkItemResult<EmployeeAssignmentId>> results = employeeAssignmentService.createAll(employeeAssignmentDTOs);
+
+        assertEquals(List.of(201, 400, 400, 404, 404, 400), results.stream().map(BulkItemResult::getStatus).toList());
+        assertEquals(LocalDate.of(2023, 10, 10), results.get(0).getId().getDate());
+        assertEquals("Employee with ID 1 is not available on 2023-10-10", results.get(1).getMessage());
+        verify(entityManager, times(1)).persist(any(EmployeeAssignment.class));
+        verify(entityManager, times(1)).flush();
+        verify(employeeRepository, never()).findById(anyInt());
+    }
 
-        when(employeeAssignmentRepository.findAll()).thenReturn(employeeAssignments);
+    @Test
+    void testBulkCreationConflictingWithAnotherInstance() {
+        Department department = new Department();
+        department.setId(1);
 
-        List<EmployeeAssignment> result = employeeAssignmentService.getAll();
+        Job job = new Job();
+        job.setTitle("Captain");
+        job.setDepartment(department);
 
-        assertEquals(2, result.size());
-        assertEquals(1, result.get(0).getId().getEmployeeId());
-        assertEquals(2, result.get(1).getId().getEmployeeId());
+        Employee employee = new Employee();
+        employee.setId(1);
+        employee.setJob(job);
+
+        Flight flight = new Flight();
+        flight.setId(1);
+
+        List<EmployeeAssignmentDTO> employeeAssignmentDTOs = List.of(new EmployeeAssignmentDTO(1, 1, LocalDate.of(2023, 10, 10)));
+
+        when(employeeRepository.findByIdIn(Set.of(1))).thenReturn(List.of(employee));
+        when(flightRepository.findAllById(Set.of(1))).thenReturn(List.of(flight));
+        doThrow(new ConstraintViolationException("Unique index violation", null, "uk_employee_assignments_employee_date"))
+                .doNothing()
+                .when(entityManager).flush();
+
+        assertThrows(BadRequestException.class, () -> employeeAssignmentService.createAll(employeeAssignmentDTOs));
+        // Rezervarile cererii esuate au fost eliberate
+        assertEquals(201, employeeAssignmentService.createAll(employeeAssignmentDTOs).get(0).getStatus());
+    }
+
+    @Test
+    void testGetEmployeeAssignmentsPage() {
+        EmployeeAssignmentView employeeAssignment1 = new EmployeeAssignmentView();
+        employeeAssignment1.setEmployeeId(1);
+        employeeAssignment1.setFlightId(1);
+        employeeAssignment1.setDate(LocalDate.of(2023, 10, 10));
+
+        EmployeeAssignmentView employeeAssignment2 = new EmployeeAssignmentView();
+        employeeAssignment2.setEmployeeId(2);
+        employeeAssignment2.setFlightId(2);
+        employeeAssignment2.setDate(LocalDate.of(2023, 10, 11));
+
+        // Cursorul retine doar cheia unica (employeeId, date)
+        EmployeeAssignmentId afterId = new EmployeeAssignmentId();
+        afterId.setEmployeeId(1);
+        afterId.setDate(LocalDate.of(2023, 10, 10));
+
+        when(employeeAssignmentRepository.findViews("firstName", null, Limit.of(2)))
+                .thenReturn(List.of(employeeAssignment1, employeeAssignment2));
+        when(employeeAssignmentRepository.findViews("firstName", afterId, Limit.of(2)))
+                .thenReturn(List.of(employeeAssignment2));
+
+        CursorPage<EmployeeAssignmentView> firstPage = employeeAssignmentService.getPage(null, 1, "firstName");
+        CursorPage<EmployeeAssignmentView> secondPage = employeeAssignmentService.getPage(firstPage.getNext(), 1, "firstName");
+
+        assertEquals(List.of(employeeAssignment1), firstPage.getItems());
+        assertNotNull(firstPage.getNext());
+        assertEquals(List.of(employeeAssignment2), secondPage.getItems());
+        assertNull(secondPage.getNext());
     }
 
     @Test
@@ -134,17 +233,19 @@ class EmployeeAssignmentServiceTest {
         id.setFlightId(1);
         id.setDate(LocalDate.of(2023, 10, 10));
 
-        EmployeeAssignment employeeAssignment = new EmployeeAssignment();
-        employeeAssignment.setId(id);
+        EmployeeAssignmentView employeeAssignment = new EmployeeAssignmentView();
+        employeeAssignment.setEmployeeId(1);
+        employeeAssignment.setFlightId(1);
+        employeeAssignment.setDate(LocalDate.of(2023, 10, 10));
 
-        when(employeeAssignmentRepository.findById(any(EmployeeAssignmentId.class))).thenReturn(Optional.of(employeeAssignment));
+        when(employeeAssignmentRepository.findViewById(null, id)).thenReturn(Optional.of(employeeAssignment));
 
-        EmployeeAssignment result = employeeAssignmentService.getById(id);
+        EmployeeAssignmentView result = employeeAssignmentService.getViewById(id, null);
 
         assertNotNull(result);
-        assertEquals(1, result.getId().getEmployeeId());
-        assertEquals(1, result.getId().getFlightId());
-        assertEquals(LocalDate.of(2023, 10, 10), result.getId().getDate());
+        assertEquals(1, result.getEmployeeId());
+        assertEquals(1, result.getFlightId());
+        assertEquals(LocalDate.of(2023, 10, 10), result.getDate());
     }
 
     @Test
@@ -154,9 +255,9 @@ class EmployeeAssignmentServiceTest {
         id.setFlightId(1);
         id.setDate(LocalDate.of(2023, 10, 10));
 
-        when(employeeAssignmentRepository.findById(any(EmployeeAssignmentId.class))).thenReturn(Optional.empty());
+        when(employeeAssignmentRepository.findViewById(null, id)).thenReturn(Optional.empty());
 
-        assertThrows(NotFoundException.class, () -> employeeAssignmentService.getById(id));
+        assertThrows(NotFoundException.class, () -> employeeAssignmentService.getViewById(id, null));
     }
 
     @Test
@@ -168,7 +269,7 @@ class EmployeeAssignmentServiceTest {
 
         EmployeeAssignmentDTO employeeAssignmentDTO = new EmployeeAssignmentDTO();
         employeeAssignmentDTO.setEmployeeId(1);
-        employeeAssignmentDTO.setFlightId(1);
+        employeeAssignmentDTO.setFlightId(2);
         employeeAssignmentDTO.setDate(LocalDate.of(2023, 10, 10));
 
         Department department = new Department();
@@ -185,24 +286,20 @@ class EmployeeAssignmentServiceTest {
         employee.setJob(job);
 
         Flight flight = new Flight();
-        flight.setId(1);
+        flight.setId(2);
 
-        EmployeeAssignment employeeAssignment = new EmployeeAssignment();
-        employeeAssignment.setId(id);
-        employeeAssignment.setEmployee(employee);
-        employeeAssignment.setFlight(flight);
-
-        when(employeeAssignmentRepository.findById(any(EmployeeAssignmentId.class))).thenReturn(Optional.of(employeeAssignment));
         when(employeeRepository.findById(anyInt())).thenReturn(Optional.of(employee));
         when(flightRepository.findById(anyInt())).thenReturn(Optional.of(flight));
-        when(employeeAssignmentRepository.save(any(EmployeeAssignment.class))).thenReturn(employeeAssignment);
+        when(employeeAssignmentRepository.updateKey(id, 1, 2, LocalDate.of(2023, 10, 10))).thenReturn(1);
 
         EmployeeAssignment updatedEmployeeAssignment = employeeAssignmentService.update(id, employeeAssignmentDTO);
 
         assertNotNull(updatedEmployeeAssignment);
         assertEquals(1, updatedEmployeeAssignment.getId().getEmployeeId());
-        assertEquals(1, updatedEmployeeAssignment.getId().getFlightId());
+        assertEquals(2, updatedEmployeeAssignment.getId().getFlightId());
         assertEquals(LocalDate.of(2023, 10, 10), updatedEmployeeAssignment.getId().getDate());
+        verify(employeeAssignmentRepository, never()).deleteById(any(EmployeeAssignmentId.class));
+        verify(employeeAssignmentRepository, never()).saveAndFlush(any(EmployeeAssignment.class));
     }
 
     @Test
@@ -217,9 +314,27 @@ class EmployeeAssignmentServiceTest {
         employeeAssignmentDTO.setFlightId(1);
         employeeAssignmentDTO.setDate(LocalDate.of(2023, 10, 10));
 
-        when(employeeAssignmentRepository.findById(any(EmployeeAssignmentId.class))).thenReturn(Optional.empty());
+        when(employeeRepository.findById(1)).thenReturn(Optional.empty());
 
         assertThrows(NotFoundException.class, () -> employeeAssignmentService.update(id, employeeAssignmentDTO));
+        verify(employeeAssignmentRepository, never()).updateKey(any(), any(), any(), any());
+        verifyNoInteractions(resourceVersions);
+    }
+
+    @Test
+    void testExportEmployeeAssignments() throws Exception {
+        when(employeeAssignmentRepository.streamAllForExport()).thenReturn(Stream.of(
+                new EmployeeAssignmentDTO(1, 1, LocalDate.of(2023, 10, 10)),
+                new EmployeeAssignmentDTO(2, 1, LocalDate.of(2023, 10, 11))
+        ));
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        employeeAssignmentService.export(outputStream, ExportFormat.NDJSON);
+
+        assertEquals("""
+                {"employeeId":1,"flightId":1,"date":"2023-10-10"}
+                {"employeeId":2,"flightId":1,"date":"2023-10-11"}
+                """, outputStream.toString(StandardCharsets.UTF_8));
     }
 
     @Test
@@ -234,5 +349,6 @@ class EmployeeAssignmentServiceTest {
         employeeAssignmentService.delete(id);
 
         verify(employeeAssignmentRepository, times(1)).deleteById(id);
+        verify(resourceVersions).increment(ResourceVersions.employeeAssignments(LocalDate.of(2023, 10, 10)));
     }
 }
\ No newline at end of file
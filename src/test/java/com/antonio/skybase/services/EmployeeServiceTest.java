@@ -1,25 +1,37 @@
 package com.antonio.skybase.services;
 
+import com.antonio.skybase.dtos.EmployeeAssignmentDTO;
 import com.antonio.skybase.dtos.EmployeeDTO;
+import com.antonio.skybase.entities.Department;
 import com.antonio.skybase.entities.Employee;
 import com.antonio.skybase.entities.Job;
 import com.antonio.skybase.exceptions.BadRequestException;
 import com.antonio.skybase.exceptions.NotFoundException;
+import com.antonio.skybase.repositories.EmployeeAssignmentRepository;
 import com.antonio.skybase.repositories.EmployeeRepository;
 import com.antonio.skybase.repositories.JobRepository;
+import com.antonio.skybase.responses.CursorPage;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.data.domain.Limit;
 
-import java.util.Arrays;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.*;
 
 class EmployeeServiceTest {
@@ -30,6 +42,18 @@ class EmployeeServiceTest {
     @Mock
     private JobRepository jobRepository;
 
+    @Mock
+    private JobService jobService;
+
+    @Mock
+    private EmployeeAssignmentRepository employeeAssignmentRepository;
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Mock
+    private ResourceVersions resourceVersions;
+
     @InjectMocks
     private EmployeeService employeeService;
 
@@ -61,7 +85,7 @@ class EmployeeServiceTest {
         employee.setSalary(50000);
         employee.setJob(job);
 
-        when(jobRepository.findById(anyInt())).thenReturn(Optional.of(job));
+        when(jobService.getById(anyInt())).thenReturn(job);
         when(employeeRepository.save(any(Employee.class))).thenReturn(employee);
 
         Employee createdEmployee = employeeService.create(employeeDTO);
@@ -85,44 +109,44 @@ class EmployeeServiceTest {
         employeeDTO.setSalary(50000);
         employeeDTO.setJobId(1);
 
-        when(jobRepository.findById(anyInt())).thenReturn(Optional.empty());
+        when(jobService.getById(anyInt())).thenThrow(new NotFoundException("Job not found"));
 
         assertThrows(BadRequestException.class, () -> employeeService.create(employeeDTO));
     }
 
     @Test
-    void testGetAllEmployees() {
+    void testImportEmployees() {
         Job job = new Job();
         job.setId(1);
-        job.setTitle("Test Job");
 
-        Employee employee1 = new Employee();
-        employee1.setId(1);
-        employee1.setFirstName("John");
-        employee1.setLastName("Doe");
-        employee1.setPhoneNumber("1234567890");
-        employee1.setEmail("john.doe@example.com");
-        employee1.setSalary(50000);
-        employee1.setJob(job);
+        Employee manager = new Employee();
+        manager.setId(7);
 
-        Employee employee2 = new Employee();
-        employee2.setId(2);
-        employee2.setFirstName("Jane");
-        employee2.setLastName("Doe");
-        employee2.setPhoneNumber("0987654321");
-        employee2.setEmail("jane.doe@example.com");
-        employee2.setSalary(60000);
-        employee2.setJob(job);
+        List<EmployeeDTO> employeeDTOs = List.of(newEmployeeDTO("first", 1, null), newEmployeeDTO("second", 1, 7));
+
+        when(jobRepository.findAllById(Set.of(1))).thenReturn(List.of(job));
+        when(employeeRepository.findAllById(Set.of(7))).thenReturn(List.of(manager));
+        when(employeeRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
 
-        List<Employee> employees = Arrays.asList(employee1, employee2);
+        List<Employee> importedEmployees = employeeService.importAll(employeeDTOs);
 
-        when(employeeRepository.findAll()).thenReturn(employees);
+        assertEquals(2, importedEmployees.size());
+        assertNull(importedEmployees.get(0).getManager());
+        assertEquals(manager, importedEmployees.get(1).getManager());
+        assertEquals(job, importedEmployees.get(1).getJob());
+        verify(jobRepository, never()).findById(anyInt());
+    }
+
+    @Test
+    void testImportEmployeesWithInvalidManager() {
+        Job job = new Job();
+        job.setId(1);
 
-        List<Employee> result = employeeService.getAll();
+        when(jobRepository.findAllById(Set.of(1))).thenReturn(List.of(job));
+        when(employeeRepository.findAllById(Set.of(7))).thenReturn(List.of());
 
-        assertEquals(2, result.size());
-        assertEquals("John", result.get(0).getFirstName());
-        assertEquals("Jane", result.get(1).getFirstName());
+        assertThrows(BadRequestException.class, () -> employeeService.importAll(List.of(newEmployeeDTO("first", 1, 7))));
+        verify(employeeRepository, never()).saveAll(anyList());
     }
 
     @Test
@@ -156,6 +180,96 @@ class EmployeeServiceTest {
         assertThrows(NotFoundException.class, () -> employeeService.getById(1));
     }
 
+    @Test
+    void testGetAvailableEmployeesByDate() {
+        LocalDate date = LocalDate.of(2023, 10, 1);
+        Employee employee1 = new Employee();
+        employee1.setId(3);
+        Employee employee2 = new Employee();
+        employee2.setId(7);
+
+        when(employeeRepository.findAvailableEmployeesByDate(date, Department.FLIGHT_DEPARTMENT_IDS, 0, Limit.of(2)))
+                .thenReturn(List.of(employee1, employee2));
+        when(employeeRepository.findAvailableEmployeesByDate(date, Department.FLIGHT_DEPARTMENT_IDS, 3, Limit.of(2)))
+                .thenReturn(List.of(employee2));
+
+        CursorPage<Employee> page = employeeService.getAvailableEmployeesByDate(date, null, 1);
+        assertEquals(List.of(employee1), page.getItems());
+
+        CursorPage<Employee> nextPage = employeeService.getAvailableEmployeesByDate(date, page.getNext(), 1);
+        assertEquals(List.of(employee2), nextPage.getItems());
+        assertNull(nextPage.getNext());
+    }
+
+    @Test
+    void testGetEmployeeAvailabilities() {
+        LocalDate startDate = LocalDate.of(2023, 10, 1);
+        LocalDate endDate = LocalDate.of(2023, 10, 5);
+
+        when(employeeAssignmentRepository.findAssignedDates(1, startDate, endDate))
+                .thenReturn(List.of(LocalDate.of(2023, 10, 2), LocalDate.of(2023, 10, 4)));
+
+        List<LocalDate> result = employeeService.getEmployeeAvailabilities(1, startDate, endDate);
+
+        assertEquals(List.of(LocalDate.of(2023, 10, 1), LocalDate.of(2023, 10, 3), LocalDate.of(2023, 10, 5)), result);
+    }
+
+    @Test
+    void testGetFirstEmployeeAvailabilities() {
+        LocalDate startDate = LocalDate.of(2023, 10, 1);
+        LocalDate endDate = LocalDate.of(2023, 10, 31);
+
+        when(employeeAssignmentRepository.findAssignedDates(1, startDate, endDate))
+                .thenReturn(List.of(LocalDate.of(2023, 10, 1), LocalDate.of(2023, 10, 3)));
+
+        List<LocalDate> result = employeeService.getFirstEmployeeAvailabilities(1, startDate, endDate, 2);
+
+        assertEquals(List.of(LocalDate.of(2023, 10, 2), LocalDate.of(2023, 10, 4)), result);
+    }
+
+    @Test
+    void testGetEmployeeAvailabilitiesForSeveralEmployees() {
+        LocalDate startDate = LocalDate.of(2023, 10, 1);
+        LocalDate endDate = LocalDate.of(2023, 10, 3);
+
+        when(employeeAssignmentRepository.findKeysByEmployeeIdsAndDateRange(Set.of(1, 2), startDate, endDate)).thenReturn(List.of(
+                new EmployeeAssignmentDTO(1, 10, LocalDate.of(2023, 10, 1)),
+                new EmployeeAssignmentDTO(1, 11, LocalDate.of(2023, 10, 3)),
+                new EmployeeAssignmentDTO(2, 10, LocalDate.of(2023, 10, 2))
+        ));
+
+        Map<Integer, List<LocalDate>> result = employeeService.getEmployeeAvailabilities(List.of(1, 2), startDate, endDate);
+
+        assertEquals(List.of(LocalDate.of(2023, 10, 2)), result.get(1));
+        assertEquals(List.of(LocalDate.of(2023, 10, 1), LocalDate.of(2023, 10, 3)), result.get(2));
+        verify(employeeAssignmentRepository, times(1)).findKeysByEmployeeIdsAndDateRange(Set.of(1, 2), startDate, endDate);
+    }
+
+    @Test
+    void testGetEmployeeAvailabilitiesRejectsTooManyEmployees() {
+        List<Integer> ids = IntStream.rangeClosed(1, MultiGet.MAX_IDS + 1).boxed().toList();
+
+        assertThrows(BadRequestException.class,
+                () -> employeeService.getEmployeeAvailabilities(ids, LocalDate.of(2023, 10, 1), LocalDate.of(2023, 10, 3)));
+        verifyNoInteractions(employeeAssignmentRepository);
+    }
+
+    @Test
+    void testGetEmployeeAvailabilitiesRejectsReversedRange() {
+        assertThrows(BadRequestException.class,
+                () -> employeeService.getEmployeeAvailabilities(List.of(1, 2), LocalDate.of(2023, 10, 3), LocalDate.of(2023, 10, 1)));
+        verifyNoInteractions(employeeAssignmentRepository);
+    }
+
+    @Test
+    void testGetEmployeeAvailabilitiesRejectsTooLongRange() {
+        LocalDate startDate = LocalDate.of(2023, 10, 1);
+
+        assertThrows(BadRequestException.class,
+                () -> employeeService.getEmployeeAvailabilities(List.of(1, 2), startDate, startDate.plusDays(AvailabilityCalendar.MAX_DAYS)));
+        verifyNoInteractions(employeeAssignmentRepository);
+    }
+
     @Test
     void testUpdateEmployee() {
         Job job = new Job();
@@ -180,7 +294,7 @@ class EmployeeServiceTest {
         employeeDTO.setJobId(1);
 
         when(employeeRepository.findById(anyInt())).thenReturn(Optional.of(employee));
-        when(jobRepository.findById(anyInt())).thenReturn(Optional.of(job));
+        when(jobService.getById(anyInt())).thenReturn(job);
         when(employeeRepository.save(any(Employee.class))).thenReturn(employee);
 
         Employee updatedEmployee = employeeService.update(1, employeeDTO);
@@ -213,7 +327,7 @@ class EmployeeServiceTest {
         employeeDTO.setJobId(1);
 
         when(employeeRepository.findById(anyInt())).thenReturn(Optional.of(employee));
-        when(jobRepository.findById(anyInt())).thenReturn(Optional.empty());
+        when(jobService.getById(anyInt())).thenThrow(new NotFoundException("Job not found"));
 
         assertThrows(BadRequestException.class, () -> employeeService.update(1, employeeDTO));
     }
@@ -226,4 +340,16 @@ class EmployeeServiceTest {
 
         verify(employeeRepository, times(1)).deleteById(1);
     }
-}
\ No newline at end of file
+
+    private static EmployeeDTO newEmployeeDTO(String name, Integer jobId, Integer managerId) {
+        EmployeeDTO employeeDTO = new EmployeeDTO();
+        employeeDTO.setFirstName(name);
+        employeeDTO.setLastName(name);
+        employeeDTO.setPhoneNumber("0700000000");
+        employeeDTO.setEmail(name + "@skybase.com");
+        employeeDTO.setSalary(1000);
+        employeeDTO.setJobId(jobId);
+        employeeDTO.setManagerId(managerId);
+        return employeeDTO;
+    }
+}
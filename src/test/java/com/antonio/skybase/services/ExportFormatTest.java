@@ -0,0 +1,31 @@
+package com.antonio.skybase.services;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ExportFormatTest {
+
+    @Test
+    void testNegotiateDefaultsToNdjson() throws Exception {
+        assertEquals(ExportFormat.NDJSON, ExportFormat.negotiate(null));
+        assertEquals(ExportFormat.NDJSON, ExportFormat.negotiate("*/*"));
+        assertEquals(ExportFormat.NDJSON, ExportFormat.negotiate("text/csv, */*;q=0.1"));
+    }
+
+    @Test
+    void testNegotiateFollowsClientPreference() throws Exception {
+        assertEquals(ExportFormat.SMILE, ExportFormat.negotiate("application/x-ndjson;q=0.5, application/x-jackson-smile"));
+        assertEquals(ExportFormat.CBOR_SEQ, ExportFormat.negotiate("application/cbor-seq"));
+    }
+
+    @Test
+    void testNegotiateRejectsUnsupportedFormats() {
+        HttpMediaTypeNotAcceptableException ex = assertThrows(HttpMediaTypeNotAcceptableException.class, () -> ExportFormat.negotiate("text/csv"));
+        assertTrue(ex.getSupportedMediaTypes().contains(MediaType.APPLICATION_NDJSON));
+    }
+}
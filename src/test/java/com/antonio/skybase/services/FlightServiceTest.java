@@ -7,20 +7,25 @@ import com.antonio.skybase.exceptions.BadRequestException;
 import com.antonio.skybase.exceptions.NotFoundException;
 import com.antonio.skybase.repositories.AirportRepository;
 import com.antonio.skybase.repositories.FlightRepository;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 
 import java.time.LocalTime;
-import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.*;
 
 class FlightServiceTest {
@@ -31,6 +36,15 @@ class FlightServiceTest {
     @Mock
     private AirportRepository airportRepository;
 
+    @Mock
+    private AirportService airportService;
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Mock
+    private ResourceVersions resourceVersions;
+
     @InjectMocks
     private FlightService flightService;
 
@@ -66,8 +80,8 @@ class FlightServiceTest {
         flight.setArrivalTime(LocalTime.of(12, 0));
         flight.setDistance(500);
 
-        when(airportRepository.findById(1)).thenReturn(Optional.of(departureAirport));
-        when(airportRepository.findById(2)).thenReturn(Optional.of(arrivalAirport));
+        when(airportService.getById(1)).thenReturn(departureAirport);
+        when(airportService.getById(2)).thenReturn(arrivalAirport);
         when(flightRepository.save(any(Flight.class))).thenReturn(flight);
 
         Flight createdFlight = flightService.create(flightDTO);
@@ -91,48 +105,48 @@ class FlightServiceTest {
         flightDTO.setArrivalTime(LocalTime.of(12, 0));
         flightDTO.setDistance(500);
 
-        when(airportRepository.findById(1)).thenReturn(Optional.empty());
+        when(airportService.getById(1)).thenThrow(new NotFoundException("Airport not found"));
 
         assertThrows(BadRequestException.class, () -> flightService.create(flightDTO));
     }
 
     @Test
-    void testGetAllFlights() {
+    void testImportFlights() {
         Airport departureAirport = new Airport();
         departureAirport.setId(1);
-        departureAirport.setName("Departure Airport");
 
         Airport arrivalAirport = new Airport();
         arrivalAirport.setId(2);
-        arrivalAirport.setName("Arrival Airport");
 
-        Flight flight1 = new Flight();
-        flight1.setId(1);
-        flight1.setNumber("FL123");
-        flight1.setDepartureAirport(departureAirport);
-        flight1.setArrivalAirport(arrivalAirport);
-        flight1.setDepartureTime(LocalTime.of(10, 0));
-        flight1.setArrivalTime(LocalTime.of(12, 0));
-        flight1.setDistance(500);
-
-        Flight flight2 = new Flight();
-        flight2.setId(2);
-        flight2.setNumber("FL124");
-        flight2.setDepartureAirport(departureAirport);
-        flight2.setArrivalAirport(arrivalAirport);
-        flight2.setDepartureTime(LocalTime.of(14, 0));
-        flight2.setArrivalTime(LocalTime.of(16, 0));
-        flight2.setDistance(600);
-
-        List<Flight> flights = Arrays.asList(flight1, flight2);
-
-        when(flightRepository.findAll()).thenReturn(flights);
-
-        List<Flight> result = flightService.getAll();
-
-        assertEquals(2, result.size());
-        assertEquals("FL123", result.get(0).getNumber());
-        assertEquals("FL124", result.get(1).getNumber());
+        List<FlightDTO> flightDTOs = List.of(newFlightDTO("FL1", 1, 2), newFlightDTO("FL2", 2, 1));
+
+        when(flightRepository.findNumbersIn(Set.of("FL1", "FL2"))).thenReturn(List.of());
+        when(airportRepository.findAllById(Set.of(1, 2))).thenReturn(List.of(departureAirport, arrivalAirport));
+        when(flightRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        List<Flight> importedFlights = flightService.importAll(flightDTOs);
+
+        assertEquals(2, importedFlights.size());
+        assertEquals(departureAirport, importedFlights.get(0).getDepartureAirport());
+        assertEquals(departureAirport, importedFlights.get(1).getArrivalAirport());
+        verify(airportRepository, never()).findById(anyInt());
+    }
+
+    @Test
+    void testImportFlightsWithExistingNumber() {
+        when(flightRepository.findNumbersIn(Set.of("FL1", "FL2"))).thenReturn(List.of("FL2"));
+
+        assertThrows(BadRequestException.class, () -> flightService.importAll(List.of(newFlightDTO("FL1", 1, 2), newFlightDTO("FL2", 2, 1))));
+        verify(flightRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void testImportFlightsWithInvalidFlight() {
+        FlightDTO invalidFlightDTO = newFlightDTO("FL2", 2, 1);
+        invalidFlightDTO.setDistance(-1);
+
+        assertThrows(ConstraintViolationException.class, () -> flightService.importAll(List.of(newFlightDTO("FL1", 1, 2), invalidFlightDTO)));
+        verify(flightRepository, never()).saveAll(anyList());
     }
 
     @Test
@@ -199,8 +213,8 @@ class FlightServiceTest {
         flightDTO.setDistance(500);
 
         when(flightRepository.findById(anyInt())).thenReturn(Optional.of(flight));
-        when(airportRepository.findById(1)).thenReturn(Optional.of(departureAirport));
-        when(airportRepository.findById(2)).thenReturn(Optional.of(arrivalAirport));
+        when(airportService.getById(1)).thenReturn(departureAirport);
+        when(airportService.getById(2)).thenReturn(arrivalAirport);
         when(flightRepository.save(any(Flight.class))).thenReturn(flight);
 
         Flight updatedFlight = flightService.update(1, flightDTO);
@@ -232,7 +246,7 @@ class FlightServiceTest {
         flightDTO.setDistance(500);
 
         when(flightRepository.findById(anyInt())).thenReturn(Optional.of(flight));
-        when(airportRepository.findById(1)).thenReturn(Optional.empty());
+        when(airportService.getById(1)).thenThrow(new NotFoundException("Airport not found"));
 
         assertThrows(BadRequestException.class, () -> flightService.update(1, flightDTO));
     }
@@ -245,4 +259,15 @@ class FlightServiceTest {
 
         verify(flightRepository, times(1)).deleteById(1);
     }
-}
\ No newline at end of file
+
+    private static FlightDTO newFlightDTO(String number, Integer departureAirportId, Integer arrivalAirportId) {
+        FlightDTO flightDTO = new FlightDTO();
+        flightDTO.setNumber(number);
+        flightDTO.setDepartureAirportId(departureAirportId);
+        flightDTO.setArrivalAirportId(arrivalAirportId);
+        flightDTO.setDepartureTime(LocalTime.of(10, 0));
+        flightDTO.setArrivalTime(LocalTime.of(12, 0));
+        flightDTO.setDistance(500);
+        return flightDTO;
+    }
+}
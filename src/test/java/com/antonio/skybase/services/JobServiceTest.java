@@ -5,7 +5,6 @@ import com.antonio.skybase.entities.Department;
 import com.antonio.skybase.entities.Job;
 import com.antonio.skybase.exceptions.BadRequestException;
 import com.antonio.skybase.exceptions.NotFoundException;
-import com.antonio.skybase.repositories.DepartmentRepository;
 import com.antonio.skybase.repositories.JobRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -13,8 +12,6 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
-import java.util.Arrays;
-import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -28,7 +25,10 @@ class JobServiceTest {
     private JobRepository jobRepository;
 
     @Mock
-    private DepartmentRepository departmentRepository;
+    private DepartmentService departmentService;
+
+    @Mock
+    private ResourceVersions resourceVersions;
 
     @InjectMocks
     private JobService jobService;
@@ -57,7 +57,7 @@ class JobServiceTest {
         job.setMaxSalary(100000.0);
         job.setDepartment(department);
 
-        when(departmentRepository.findById(anyInt())).thenReturn(Optional.of(department));
+        when(departmentService.getById(anyInt())).thenReturn(department);
         when(jobRepository.save(any(Job.class))).thenReturn(job);
 
         Job createdJob = jobService.create(jobDTO);
@@ -77,42 +77,11 @@ class JobServiceTest {
         jobDTO.setMaxSalary(100000.0);
         jobDTO.setDepartmentId(1);
 
-        when(departmentRepository.findById(anyInt())).thenReturn(Optional.empty());
+        when(departmentService.getById(anyInt())).thenThrow(new NotFoundException("Department not found"));
 
         assertThrows(BadRequestException.class, () -> jobService.create(jobDTO));
     }
 
-    @Test
-    void testGetAllJobs() {
-        Department department = new Department();
-        department.setId(1);
-        department.setName("Test Department");
-
-        Job job1 = new Job();
-        job1.setId(1);
-        job1.setTitle("Job 1");
-        job1.setMinSalary(50000.0);
-        job1.setMaxSalary(100000.0);
-        job1.setDepartment(department);
-
-        Job job2 = new Job();
-        job2.setId(2);
-        job2.setTitle("Job 2");
-        job2.setMinSalary(60000.0);
-        job2.setMaxSalary(120000.0);
-        job2.setDepartment(department);
-
-        List<Job> jobs = Arrays.asList(job1, job2);
-
-        when(jobRepository.findAll()).thenReturn(jobs);
-
-        List<Job> result = jobService.getAll();
-
-        assertEquals(2, result.size());
-        assertEquals("Job 1", result.get(0).getTitle());
-        assertEquals("Job 2", result.get(1).getTitle());
-    }
-
     @Test
     void testGetJobById() {
         Department department = new Department();
@@ -164,7 +133,7 @@ class JobServiceTest {
         jobDTO.setDepartmentId(1);
 
         when(jobRepository.findById(anyInt())).thenReturn(Optional.of(job));
-        when(departmentRepository.findById(anyInt())).thenReturn(Optional.of(department));
+        when(departmentService.getById(anyInt())).thenReturn(department);
         when(jobRepository.save(any(Job.class))).thenReturn(job);
 
         Job updatedJob = jobService.update(1, jobDTO);
@@ -191,7 +160,7 @@ class JobServiceTest {
         jobDTO.setDepartmentId(1);
 
         when(jobRepository.findById(anyInt())).thenReturn(Optional.of(job));
-        when(departmentRepository.findById(anyInt())).thenReturn(Optional.empty());
+        when(departmentService.getById(anyInt())).thenThrow(new NotFoundException("Department not found"));
 
         assertThrows(BadRequestException.class, () -> jobService.update(1, jobDTO));
     }
@@ -203,5 +172,6 @@ class JobServiceTest {
         jobService.delete(1);
 
         verify(jobRepository, times(1)).deleteById(1);
+        verify(resourceVersions).increment(ResourceVersions.JOBS);
     }
 }
\ No newline at end of file
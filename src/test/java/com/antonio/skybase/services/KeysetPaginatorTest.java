@@ -0,0 +1,70 @@
+package com.antonio.skybase.services;
+
+import com.antonio.skybase.exceptions.BadRequestException;
+import com.antonio.skybase.responses.CursorPage;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KeysetPaginatorTest {
+
+    private final List<Integer> rows = IntStream.rangeClosed(1, 5).boxed().toList();
+
+    private final KeysetPaginator<Integer, Integer> paginator = KeysetPaginator.byId(
+            id -> id,
+            limit -> rows.stream().limit(limit.max()).toList(),
+            (after, limit) -> rows.stream().filter(id -> id > after).limit(limit.max()).toList()
+    );
+
+    @Test
+    void testFirstPageHasNextCursor() {
+        CursorPage<Integer> page = paginator.getPage(null, 2);
+
+        assertEquals(List.of(1, 2), page.getItems());
+        assertEquals(2, page.getSize());
+        assertNotNull(page.getNext());
+    }
+
+    @Test
+    void testFollowingCursorsVisitsEveryRowOnce() {
+        CursorPage<Integer> first = paginator.getPage(null, 2);
+        CursorPage<Integer> second = paginator.getPage(first.getNext(), 2);
+        CursorPage<Integer> third = paginator.getPage(second.getNext(), 2);
+
+        assertEquals(List.of(3, 4), second.getItems());
+        assertEquals(List.of(5), third.getItems());
+        assertNull(third.getNext());
+    }
+
+    @Test
+    void testDefaultPageSize() {
+        KeysetPaginator<Integer, Integer> recording = KeysetPaginator.byId(
+                id -> id,
+                limit -> {
+                    assertEquals(Limit.of(KeysetPaginator.DEFAULT_PAGE_SIZE + 1), limit);
+                    return rows;
+                },
+                (after, limit) -> List.of()
+        );
+
+        CursorPage<Integer> page = recording.getPage(null, null);
+
+        assertEquals(5, page.getSize());
+        assertNull(page.getNext());
+    }
+
+    @Test
+    void testPageSizeOutOfBounds() {
+        assertThrows(BadRequestException.class, () -> paginator.getPage(null, 0));
+        assertThrows(BadRequestException.class, () -> paginator.getPage(null, KeysetPaginator.MAX_PAGE_SIZE + 1));
+    }
+
+    @Test
+    void testInvalidCursor() {
+        assertThrows(BadRequestException.class, () -> paginator.getPage("not a cursor!", 2));
+    }
+}
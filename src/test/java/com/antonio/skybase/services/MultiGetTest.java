@@ -0,0 +1,52 @@
+package com.antonio.skybase.services;
+
+import com.antonio.skybase.exceptions.BadRequestException;
+import com.antonio.skybase.responses.MultiGetResult;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MultiGetTest {
+
+    private final List<Collection<Integer>> queries = new ArrayList<>();
+
+    // Randurile vin in ordinea cheii primare, ca dintr-un query IN
+    private List<Integer> findAllById(Collection<Integer> ids) {
+        queries.add(ids);
+        return ids.stream().filter(id -> id <= 5).sorted().toList();
+    }
+
+    @Test
+    void testItemsFollowRequestedOrderAndMissingIdsAreReported() {
+        MultiGetResult<Integer, Integer> result = MultiGet.find(List.of(4, 9, 1, 3, 7), this::findAllById, id -> id);
+
+        assertEquals(List.of(4, 1, 3), result.getItems());
+        assertEquals(List.of(9, 7), result.getMissing());
+        assertEquals(1, queries.size());
+    }
+
+    @Test
+    void testDuplicateIdsAreQueriedAndReturnedOnce() {
+        MultiGetResult<Integer, Integer> result = MultiGet.find(List.of(2, 2, 8, 2, 8), this::findAllById, id -> id);
+
+        assertEquals(List.of(2), result.getItems());
+        assertEquals(List.of(8), result.getMissing());
+        assertEquals(List.of(2, 8), List.copyOf(queries.get(0)));
+    }
+
+    @Test
+    void testNumberOfIdsIsLimited() {
+        List<Integer> tooMany = IntStream.rangeClosed(1, MultiGet.MAX_IDS + 1).boxed().toList();
+
+        assertThrows(BadRequestException.class, () -> MultiGet.find(tooMany, this::findAllById, id -> id));
+        assertThrows(BadRequestException.class, () -> MultiGet.find(List.of(), this::findAllById, id -> id));
+        assertThrows(BadRequestException.class, () -> MultiGet.find(Collections.singletonList(null), this::findAllById, id -> id));
+        assertTrue(queries.isEmpty());
+    }
+}